@@ -1,129 +1,225 @@
 package main;
 
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import main.controller.ProjectController;
+import main.controller.ProjectLifecycleScheduler;
 import main.controller.UserController.ApplicantController;
 import main.controller.UserController.ManagerController;
 import main.controller.UserController.OfficerController;
-import main.entity.Enum.MaritalStatus;
-import main.entity.Enum.Role;
-import main.entity.User.Applicant;
-import main.entity.User.HDBOfficer;
 import main.repository.ApplicantRepository;
-import main.repository.ApplicationRepository;
-import main.repository.BookingRepository;
-import main.repository.EnquiryRepository;
-import main.repository.ProjectRepository;
-import main.repository.RegistrationRepository;
-import main.utility.CSVRead;
+import main.repository.Repositories;
+import main.utility.StringPool;
 /**
  * The {@code Initialize} class is responsible for bootstrapping the system.
  * It loads all necessary data into memory from the respective CSV files,
  * including applicants, officers, managers, projects, enquiries, applications,
  * flat bookings, and registrations.
+ * <p>
+ * Loading is split into stages that form a dependency graph: applicants, officers and managers
+ * are independent, projects need officers and managers, and the four files that refer to projects
+ * (enquiries, bookings, applications and registrations) only need users and projects.
+ * Independent stages run in parallel on a thread pool. Setting the system property
+ * {@code bto.startup=sequential} runs the same graph one stage at a time, in declaration order,
+ * on the calling thread.
+ * <p>
+ * The four project-related record types are stored per project under {@code data/projects}
+ * (see {@link main.repository.ProjectPartitions}), and each loader reads all project directories in parallel.
+ * Data is loaded through the repositories selected in {@link Repositories}; setting
+ * {@code bto.storage=memory} selects the in-memory backend instead of the CSV files, and
+ * {@code bto.storage=jdbc} an embedded SQL database at {@code bto.jdbc.url}, filled from the CSV files on first use.
+ * {@code bto.storage=log} keeps applicants and applications in log-structured stores under {@code data/log}.
+ * Independently of the backend, {@code bto.applicants=offheap} keeps the loaded applicants outside the heap
+ * (see {@link main.entity.User.ApplicantTable}).
+ * Setting {@code bto.import.applicants} to the path of a CSV roster imports those applicants once everything is loaded.
  */
 public class Initialize {
-    private static final String APPLICANT_UPDATED_FILE_PATH = "data/ApplicantUpdatedList.csv";
-    private static final String OFFICER_FILE_PATH = "data/OfficerUpdatedList.csv";
-    private static final String MANAGER_FILE_PATH = "data/ManagerUpdatedList.csv";
-    private static final String PROJECT_UPDATE_FILE_PATH = "data/ProjectUpdatedList.csv";
+    /** System property selecting the startup mode; {@code sequential} disables parallel loading. */
+    private static final String STARTUP_MODE_PROPERTY = "bto.startup";
+
+    /**
+     * System property selecting the storage backend; {@code memory} keeps all data in memory only,
+     * {@code jdbc} uses a database and {@code log} uses log-structured stores for applicants and applications.
+     */
+    private static final String STORAGE_PROPERTY = "bto.storage";
+
+    /** System property holding the JDBC URL of the database used by {@code bto.storage=jdbc}. */
+    private static final String JDBC_URL_PROPERTY = "bto.jdbc.url";
+
+    /** System property selecting where loaded applicants are kept; {@code offheap} keeps them outside the heap. */
+    private static final String APPLICANT_TABLE_PROPERTY = "bto.applicants";
+
+    /** System property holding the path of an applicant roster to import after loading. */
+    private static final String IMPORT_APPLICANTS_PROPERTY = "bto.import.applicants";
+
+    /** Database used by {@code bto.storage=jdbc} when no URL is given. */
+    private static final String DEFAULT_JDBC_URL = "jdbc:h2:./data/bto";
 
     private boolean isInitialized = false;
 
+    /** Time taken by each stage in milliseconds, reported once startup completes. */
+    private final Map<String, Long> stageTimings = new ConcurrentHashMap<>();
+
+    /** Stage names in declaration order, so timings are reported in a stable order. */
+    private final List<String> stageNames = new ArrayList<>();
+
     public void initialize() {
         if (isInitialized) return;
 
         System.out.println("Initializing and loading system data...");
+        long start = System.nanoTime();
+
+        if ("memory".equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY))) {
+            System.out.println("Using in-memory storage; no data is read from or written to disk.");
+            Repositories.useInMemory();
+        } else if ("jdbc".equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY))) {
+            String url = System.getProperty(JDBC_URL_PROPERTY, DEFAULT_JDBC_URL);
+            if (Repositories.useJdbc(url)) {
+                System.out.println("Using database storage at " + url + ".");
+            } else {
+                System.out.println("Falling back to CSV storage.");
+            }
+        } else if ("log".equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY))) {
+            if (Repositories.useLogStructured()) {
+                System.out.println("Storing applicants and applications in data/log.");
+            } else {
+                System.out.println("Falling back to CSV storage.");
+            }
+        }
 
-        //Load Applicant
-        if (ApplicantRepository.updatedApplicantsFileHasData()) {
-            ApplicantRepository.loadAllApplicants(APPLICANT_UPDATED_FILE_PATH);
-        } else {
-            ApplicantRepository.loadAllApplicants(APPLICANT_UPDATED_FILE_PATH);
-            ApplicantRepository.saveApplicantsToCSV(ApplicantController.getApplicantList()); 
+        if ("offheap".equalsIgnoreCase(System.getProperty(APPLICANT_TABLE_PROPERTY))) {
+            System.out.println("Keeping applicants outside the heap.");
+            ApplicantController.useOffHeapTable();
         }
 
-        // Load officer data from CSV and initialize the controller
-        var officerRaw = CSVRead.CSVRead(OFFICER_FILE_PATH, true);
+        boolean sequential = "sequential".equalsIgnoreCase(System.getProperty(STARTUP_MODE_PROPERTY));
+        ExecutorService pool = sequential ? null
+            : Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        Executor executor = sequential ? Runnable::run : pool;
+
+        try {
+            CompletableFuture<Void> applicants = stage("applicants", executor, this::loadApplicants);
+            CompletableFuture<Void> officers = stage("officers", executor, this::loadOfficers);
+            CompletableFuture<Void> managers = stage("managers", executor, this::loadManagers);
+            CompletableFuture<Void> projects = stage("projects", executor, this::loadProjects, officers, managers);
+
+            CompletableFuture<Void> enquiries = stage("enquiries", executor, this::loadEnquiries, applicants, projects);
+            CompletableFuture<Void> bookings = stage("bookings", executor, this::loadBookings, applicants, projects);
+            CompletableFuture<Void> applications = stage("applications", executor, this::loadApplications, applicants, projects);
+            CompletableFuture<Void> registrations = stage("registrations", executor, this::loadRegistrations, projects);
+
+            CompletableFuture.allOf(enquiries, bookings, applications, registrations).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println("Error loading system data: " + cause.getMessage());
+            throw e;
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
 
-        // Initialize officers with loaded data
-        for (var row : officerRaw) {
-            // Creating Applicants from CSV data and adding to the controller
-            String userId = row.get("NRIC");
-            String password = row.get("Password");
-            String name = row.get("Name");
-            Role role = Role.OFFICER;
-            MaritalStatus maritalStatus = MaritalStatus.valueOf(row.get("Marital Status").toUpperCase());
-            int age = Integer.parseInt(row.get("Age"));
+        // Log how many records were loaded
+        System.out.println("Total officers loaded: " + OfficerController.getOfficerList().size());
+        System.out.println("Total managers loaded: " + ManagerController.getManagerList().size());
+        System.out.println("Total projects loaded: " + ProjectController.projects.size());
+        System.out.println(StringPool.getSummary());
 
-            OfficerController.addOfficer(userId, password, name, role, maritalStatus, age);
+        String roster = System.getProperty(IMPORT_APPLICANTS_PROPERTY);
+        if (roster != null) {
+            ApplicantRepository.importApplicants(roster).print("Applicants from " + roster);
         }
 
-        // Log how many officers were loaded
-        System.out.println("Total officers loaded: " + OfficerController.getOfficerList().size());
+        // Close projects whose application period ended while the system was down
+        ProjectLifecycleScheduler.runDueClosings();
 
-        // Load managers data from CSV and initialize the controller
-        var managerRaw = CSVRead.CSVRead(MANAGER_FILE_PATH, true);
+        printStageTimings(sequential, (System.nanoTime() - start) / 1_000_000);
+        isInitialized = true;
+    }
 
-        // Initialize ManagerController with loaded data
-        for (var row : managerRaw) {
-            // Creating Managers from CSV data and adding to the controller
-            String userId = row.get("NRIC");
-            String password = row.get("Password");
-            String name = row.get("Name");
-            Role role = Role.MANAGER;
-            MaritalStatus maritalStatus = MaritalStatus.valueOf(row.get("Marital Status").toUpperCase());
-            int age = Integer.parseInt(row.get("Age"));
+    /**
+     * Declares a load stage that runs on the executor once all its dependencies have completed.
+     *
+     * @param name         the stage name used in timings and error messages
+     * @param executor     the executor to run the stage on
+     * @param task         the loading work
+     * @param dependencies the stages that must complete first
+     * @return a future completing when the stage has finished
+     */
+    private CompletableFuture<Void> stage(String name, Executor executor, Runnable task, CompletableFuture<?>... dependencies) {
+        stageNames.add(name);
+        Runnable timedTask = () -> {
+            long stageStart = System.nanoTime();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Failed to load " + name + ": " + e.getMessage(), e);
+            }
+            stageTimings.put(name, (System.nanoTime() - stageStart) / 1_000_000);
+        };
+        if (dependencies.length == 0) {
+            return CompletableFuture.runAsync(timedTask, executor);
+        }
+        return CompletableFuture.allOf(dependencies).thenRunAsync(timedTask, executor);
+    }
 
-            ManagerController.addManager(userId, password, name, role, maritalStatus, age);
+    /**
+     * Prints how long each stage took, in declaration order.
+     */
+    private void printStageTimings(boolean sequential, long totalMillis) {
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        for (String name : stageNames) {
+            ordered.put(name, stageTimings.get(name));
         }
+        StringBuilder sb = new StringBuilder("Startup ")
+            .append(sequential ? "(sequential)" : "(parallel)")
+            .append(" completed in ").append(totalMillis).append(" ms [");
+        String separator = "";
+        for (Map.Entry<String, Long> entry : ordered.entrySet()) {
+            sb.append(separator).append(entry.getKey()).append(' ').append(entry.getValue()).append(" ms");
+            separator = ", ";
+        }
+        System.out.println(sb.append(']'));
+    }
 
-        // Log how many managers were loaded
-        System.out.println("Total managers loaded: " + ManagerController.getManagerList().size());
+    private void loadApplicants() {
+        Repositories.applicants().loadAllApplicants();
+    }
 
-        //Load Project
-        if (ProjectRepository.updatedProjectFileHasData()) {
-            ProjectRepository.loadProjectsFromCSV(PROJECT_UPDATE_FILE_PATH);
-        } else {
-            ProjectRepository.loadProjectsFromCSV(PROJECT_UPDATE_FILE_PATH);
-            ProjectRepository.saveProjectsToCSV(); 
-        }
-        System.out.println("Total projects loaded: " + ProjectController.projects.size());
+    private void loadOfficers() {
+        Repositories.officers().loadAllOfficers();
+    }
 
+    private void loadManagers() {
+        Repositories.managers().loadAllManagers();
+    }
 
-        for(Applicant applicant: ApplicantController.getApplicantList()){
-            EnquiryRepository.loadEnquiriesForApplicant(applicant, ProjectController.projects);
-        }
-        for(HDBOfficer applicant: OfficerController.getOfficerList()){
-            EnquiryRepository.loadEnquiriesForApplicant((Applicant) applicant, ProjectController.projects);
-        }
-        for (Applicant applicant : ApplicantController.getApplicantList()) {
-            BookingRepository.loadFlatBookingsForApplicant(applicant, ProjectController.projects);
-        }
-        for (HDBOfficer officer:  OfficerController.getOfficerList()){
-            BookingRepository.loadFlatBookingsForApplicant(officer, ProjectController.projects);
-        }
-        for(Applicant applicant: ApplicantController.getApplicantList()){
-            ApplicationRepository.loadApplicationForApplicant(applicant, ProjectController.projects);
-        }
-        for(HDBOfficer applicant: OfficerController.getOfficerList()){
-            ApplicationRepository.loadApplicationForApplicant((Applicant) applicant,  ProjectController.projects);
-        }
+    private void loadProjects() {
+        Repositories.projects().loadAllProjects();
+    }
 
-        for(HDBOfficer officer: OfficerController.getOfficerList()){
-            RegistrationRepository.loadRegistrationForOfficer(officer, ProjectController.projects);
-        }
+    private void loadEnquiries() {
+        Repositories.enquiries().loadAllEnquiries(ProjectController.projects);
+    }
 
-        for (HDBOfficer officer: OfficerController.getOfficerList()){
-            if (officer.getAssignedProject() != null){
-                if(officer.getAssignedProject().getApplicationClosingDate().before(new Date())){
-                    officer.setAssignedProject(null);
-                    officer.setRegistration(null);
-                }
-            }
-        }
+    private void loadBookings() {
+        Repositories.bookings().loadAllFlatBookings(ProjectController.projects);
+    }
 
-        isInitialized = true;
+    private void loadApplications() {
+        Repositories.applications().loadAllApplications(ProjectController.projects);
     }
-    
+
+    private void loadRegistrations() {
+        Repositories.registrations().loadAllRegistrations(OfficerController.getOfficerList(), ProjectController.projects);
+    }
+
 }
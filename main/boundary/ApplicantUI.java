@@ -1,17 +1,21 @@
 package main.boundary;
 
 
-import java.sql.Date;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 import main.boundary.Interface.CRUDEnquiryInterface;
 import main.boundary.Interface.UserInterface;
 import main.controller.ApplicationController;
 import main.controller.EnquiryController;
 import main.controller.FlatBookingController;
 import main.controller.ProjectController;
+import main.controller.ProjectLifecycleScheduler;
+import main.controller.StatusWatchController;
 import main.controller.UserController.ApplicantController;
 import main.entity.Application;
 import main.entity.Enquiry;
@@ -19,7 +23,9 @@ import main.entity.Enum.EnquiryStatus;
 import main.entity.Enum.ApplicationStatus;
 import main.entity.Enum.FlatType;
 import main.entity.Project;
+import main.entity.ProjectSnapshot;
 import main.entity.User.Applicant;
+import main.utility.AdmissionRejectedException;
 import main.utility.IsValid;
     /**
      * Boundary class representing the UI for an Applicant user.
@@ -38,6 +44,12 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
      */
     protected Scanner sc;
 
+    /**
+     * Status changes pushed to this session while it is open, shown above the next menu.
+     */
+    private final Queue<String> statusUpdates = new ConcurrentLinkedQueue<>();
+    private final Consumer<String> statusListener = statusUpdates::add;
+
     /**
      * Constructs an ApplicantUI for the specified applicant.
      * 
@@ -53,7 +65,31 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
      */
     @Override
     public void start() {
+        runWatchingStatus(this::runMenu);
+    }
+
+    /**
+     * Runs a menu loop of this session while status changes of the logged-in user are pushed to it.
+     * The listener is removed however the loop ends, including by an exception, so that a closed session
+     * is never left in the watch list.
+     *
+     * @param menu the menu loop, which shows the pushed changes through {@link #showStatusUpdates()}
+     */
+    protected void runWatchingStatus(Runnable menu) {
+        StatusWatchController.watch(currentApplicant.getUserId(), statusListener);
+        try {
+            menu.run();
+        } finally {
+            StatusWatchController.unwatch(currentApplicant.getUserId(), statusListener);
+        }
+    }
+
+    /**
+     * Runs the applicant menu until the applicant exits.
+     */
+    private void runMenu() {
         while (true) {
+            showStatusUpdates();
             System.out.println("\n=== Applicant Menu ===");
             System.out.println("1. Change password");
             System.out.println("2. View All Available Project");
@@ -70,6 +106,7 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
 
             try {
                 int choice = Integer.parseInt(sc.nextLine());
+                ProjectLifecycleScheduler.runDueClosings();
                 switch (choice) {
                     case 1:
                         changePassword();
@@ -112,6 +149,16 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
             }
         }
     }
+    /**
+     * Prints the status changes pushed to this session since the menu was last shown.
+     */
+    protected void showStatusUpdates() {
+        String update;
+        while ((update = statusUpdates.poll()) != null) {
+            System.out.println("[Update] " + update);
+        }
+    }
+
     /**
      * Allows the applicant to change their password with input validation.
      */
@@ -146,7 +193,7 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
      */
     private void viewAvailableProjects() {
         try {
-            Date today = Date.valueOf(LocalDate.now());
+            LocalDate today = LocalDate.now();
             String choice = null;
             while(true){
             System.out.println("Do you want to filter out project by Location?");
@@ -203,15 +250,30 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
                     System.out.println("Invalid choice.");
             }
 
-            List<Project> projects = ProjectController.getAvailableProjects(currentApplicant, flatType, location);
+            String choice3 = null;
+            while(true){
+            System.out.println("Do you want to see only projects open for application today?");
+            System.out.println("1. Yes");
+            System.out.println("2. No");
+            choice3 = sc.nextLine();
+            if ("1".equals(choice3) || "2".equals(choice3)){
+                break;
+            }
+            else{
+                System.out.println("Invalid input");
+            }
+            }
+            LocalDate openOn = "1".equals(choice3) ? today : null;
+
+            List<ProjectSnapshot> projects = ProjectController.getAvailableProjects(currentApplicant, flatType, location, openOn);
             if (projects.isEmpty()) {
                 System.out.println("No projects available.");
             } else {
                 System.out.println("Here is the list of projects: ");
 
                 // Print project details in table format
-                for (Project p : projects) {
-                    if (today.after(p.getApplicationClosingDate())){
+                for (ProjectSnapshot p : projects) {
+                    if (today.isAfter(p.getApplicationClosingDate())){
                         continue;
                     }
                     System.out.println(p);
@@ -229,14 +291,14 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
      */
     public void applyForProject() {
         try {
-            Date today = Date.valueOf(LocalDate.now());
+            LocalDate today = LocalDate.now();
             if(ApplicationController.hasExistingApplication(currentApplicant)){
                 System.out.println("Error: You can only apply for one project at a time.");
                 return;
             }
-            List<Project> availableProjects = ProjectController.getAvailableProjects(currentApplicant, null, null);
-            for(Project project: availableProjects){
-                if (today.after(project.getApplicationClosingDate())){
+            List<ProjectSnapshot> availableProjects = ProjectController.getAvailableProjects(currentApplicant, null, null);
+            for(ProjectSnapshot project: availableProjects){
+                if (today.isAfter(project.getApplicationClosingDate())){
                     continue;
                 }
                 System.out.println(project);
@@ -247,10 +309,10 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
             if(project == null){
                 throw new IllegalArgumentException("No project found!");
             }
-            if (today.after(project.getApplicationClosingDate())){
+            if (today.isAfter(project.getApplicationClosingDate())){
                 throw new IllegalArgumentException("Applications have closed");
             }
-            if(!availableProjects.contains(project)){
+            if(availableProjects.stream().noneMatch(snapshot -> snapshot.getProject() == project)){
                 System.out.println("You are not allowed to apply for this project");
                 return;
             }
@@ -284,6 +346,8 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
             Application newApplication = ApplicationController.createApplicationForm(currentApplicant, project, flatType, currentApplicant.getMaritalStatus(), currentApplicant.getAge());
             currentApplicant.setApplication(newApplication);
             System.out.println("New application created successfully");
+        } catch (AdmissionRejectedException e) {
+            System.out.println(e.getMessage());
         } catch (Exception e) {
             System.out.println("Unexpected error: " + e.getMessage());
         }
@@ -348,6 +412,8 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
 
             EnquiryController.createEnquiry(currentApplicant, project, enquiryText);
             System.out.println(" Enquiry submitted successfully");
+        } catch (AdmissionRejectedException e) {
+            System.out.println(e.getMessage());
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
@@ -395,6 +461,8 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
                 }
             } while (enquiry == null);  // Continue looping until a valid "PENDING" enquiry is found
     
+            long enquiryVersion = enquiry.getVersion();
+
             // Prompt for the new enquiry text
             System.out.print("Enter new enquiry text: ");
             String newEnquiryText = sc.nextLine().trim();
@@ -403,8 +471,11 @@ public class ApplicantUI implements UserInterface, CRUDEnquiryInterface{
             }
     
             // Update the enquiry with the new text (instead of creating a new one)
-            EnquiryController.editEnquiry(enquiry.getEnquiryID(), currentApplicant.getUserId(), newEnquiryText);
-            System.out.println("Enquiry edited successfully.");
+            if (EnquiryController.editEnquiry(enquiry.getEnquiryID(), currentApplicant.getUserId(), newEnquiryText, enquiryVersion)) {
+                System.out.println("Enquiry edited successfully.");
+            } else {
+                System.out.println("The enquiry was changed while you were editing it; please try again.");
+            }
     
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
@@ -1,6 +1,6 @@
 package main.boundary;
 
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.*;
 import main.boundary.Interface.ReplyEnquiryInterface;
 import main.boundary.Interface.UserInterface;
@@ -8,10 +8,9 @@ import main.controller.ApplicationController;
 import main.controller.EnquiryController;
 import main.controller.FlatBookingController;
 import main.controller.ProjectController;
+import main.controller.ProjectLifecycleScheduler;
 import main.controller.RegistrationController;
-import main.controller.UserController.ApplicantController;
 import main.controller.UserController.ManagerController;
-import main.controller.UserController.OfficerController;
 import main.entity.*;
 import main.entity.Enum.EnquiryStatus;
 import main.entity.Enum.ApplicationStatus;
@@ -20,9 +19,8 @@ import main.entity.Enum.MaritalStatus;
 import main.entity.Enum.RegistrationStatus;
 import main.entity.User.HDBManager;
 import main.entity.User.HDBOfficer;
-import main.repository.ApplicationRepository;
-import main.repository.BookingRepository;
-import main.repository.EnquiryRepository;
+import main.utility.ApplicationColumns;
+import main.utility.DateUtil;
 import main.utility.IsValid;
 
     /**
@@ -75,6 +73,7 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
             System.out.println("0. Exit");
             int choice = sc.nextInt();
             sc.nextLine(); // Consume newline
+            ProjectLifecycleScheduler.runDueClosings();
 
             switch (choice) {
                 case 1:
@@ -185,6 +184,7 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                     selectedRegistration = null;
                 }
             } while (selectedRegistration == null);
+            long registrationVersion = selectedRegistration.getVersion();
     
             // Proceed to approval or rejection
             System.out.print("Enter 'A' to Approve or 'R' to Reject: ");
@@ -195,7 +195,10 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                     System.out.println("The project has enough officer slots. No more need!");
                     return;
                 }
-                RegistrationController.updateRegistrationStatus(selectedRegistration, RegistrationStatus.APPROVED);
+                if (!RegistrationController.updateRegistrationStatus(selectedRegistration, RegistrationStatus.APPROVED, registrationVersion)) {
+                    System.out.println("This registration was changed by someone else; please try again.");
+                    return;
+                }
                 // Add the officer to the project's assigned officers list
                 HDBOfficer officerToAssign = selectedRegistration.getOfficer();
                 ProjectController.addAssignedOfficers(selectedProject, officerToAssign);
@@ -205,8 +208,11 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                 
                 System.out.println("Registration approved.");
             } else if (decision.equals("R")) {
-                RegistrationController.updateRegistrationStatus(selectedRegistration, RegistrationStatus.REJECTED);
-                System.out.println("Registration rejected.");
+                if (RegistrationController.updateRegistrationStatus(selectedRegistration, RegistrationStatus.REJECTED, registrationVersion)) {
+                    System.out.println("Registration rejected.");
+                } else {
+                    System.out.println("This registration was changed by someone else; please try again.");
+                }
             } else {
                 System.out.println("Invalid decision input. Please enter A or R.");
             }
@@ -250,6 +256,7 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                     selectedApplication = null;
                 }
             } while (selectedApplication == null);
+            long applicationVersion = selectedApplication.getVersion();
     
             // Proceed to approval or rejection
             System.out.print("Enter 'A' to Approve or 'R' to Reject: ");
@@ -273,16 +280,21 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                         }
                     }
                 }
-                ApplicationController.updateApplicationStatus(selectedApplication.getApplicationId(), ApplicationStatus.SUCCESSFUL);
+                if (!ApplicationController.updateApplicationStatus(selectedApplication, ApplicationStatus.SUCCESSFUL, applicationVersion)) {
+                    System.out.println("This application was changed by someone else; please try again.");
+                    return;
+                }
                 System.out.println("Application ID "+ selectedApplication.getApplicationId() + " approved.");
             } else if (decision.equals("R")) {
-                ApplicationController.updateApplicationStatus(selectedApplication.getApplicationId(), ApplicationStatus.UNSUCCESSFUL);
-
+                if (!ApplicationController.updateApplicationStatus(selectedApplication, ApplicationStatus.UNSUCCESSFUL, applicationVersion)) {
+                    System.out.println("This application was changed by someone else; please try again.");
+                    return;
+                }
                 System.out.println("Application rejected.");
             } else {
                 System.out.println("Invalid decision input. Please enter A or R.");
             }
-            ApplicationRepository.writeAllApplication(ApplicationController.getAllApplications());
+            ApplicationController.saveApplications(selectedApplication.getProject());
     
         } catch (Exception e) {
             System.out.println("Unexpected error: " + e.getMessage());
@@ -321,26 +333,32 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                     selectedWithdrawal = null;
                 }
             } while (selectedWithdrawal == null);
+            long withdrawalVersion = selectedWithdrawal.getVersion();
     
             // Proceed to approval or rejection
             System.out.print("Enter 'A' to Approve or 'R' to Reject: ");
             String decision = sc.nextLine().trim().toUpperCase();
             if (decision.equals("A")) {
-                ApplicationController.updateApplicationStatus(selectedWithdrawal.getApplicationId(), ApplicationStatus.WITHDRAWN);
+                if (!ApplicationController.updateApplicationStatus(selectedWithdrawal, ApplicationStatus.WITHDRAWN, withdrawalVersion)) {
+                    System.out.println("This withdrawal request was changed by someone else; please try again.");
+                    return;
+                }
                 System.out.println("Application ID "+ selectedWithdrawal.getApplicationId() + " withdrawn.");
                 selectedWithdrawal.getApplicant().setApplication(null);
-                ApplicationController.getAllApplications().remove(selectedWithdrawal);
-                ApplicationRepository.writeAllApplication(ApplicationController.getAllApplications());
-                if(selectedWithdrawal.getApplicant().getFlatBooking() != null){
+                ApplicationController.removeApplication(selectedWithdrawal);
+                FlatBooking flatBooking = selectedWithdrawal.getApplicant().getFlatBooking();
+                if(flatBooking != null){
                     ProjectController.updateUnitRemaining(selectedWithdrawal.getProject(), selectedWithdrawal.getFlatType(), true);
                     System.out.println("The Applicant already book a flat. The flat remaining is updated successfully");
                     selectedWithdrawal.getApplicant().setFlatBooking(null);
-                    FlatBookingController.flatBookings.remove(selectedWithdrawal.getApplicant().getFlatBooking());
-                    BookingRepository.writeAllFlatBookings(FlatBookingController.flatBookings);
+                    FlatBookingController.removeFlatBooking(flatBooking);
                 }
 
             } else if (decision.equals("R")) {
-                ApplicationController.updateApplicationStatus(selectedWithdrawal.getApplicationId(), ApplicationStatus.SUCCESSFUL);
+                if (!ApplicationController.updateApplicationStatus(selectedWithdrawal, ApplicationStatus.SUCCESSFUL, withdrawalVersion)) {
+                    System.out.println("This withdrawal request was changed by someone else; please try again.");
+                    return;
+                }
                 System.out.println("Withdrawal rejected.");
                 selectedWithdrawal.getApplicant().setApplication(null);
             } else {
@@ -350,7 +368,6 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
         } catch (Exception e) {
             System.out.println("Unexpected error: " + e.getMessage());
         }
-        ApplicationRepository.writeAllApplication(ApplicationController.getAllApplications());
     }
     /**
      * Prompts the manager to change their account password with validation.
@@ -383,7 +400,7 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
      * Creates a new BTO project, including flat types, units, prices, and application dates.
      */
     private void createProject() {
-        if (!IsValid.isValidToCreateProject(currentManager, new Date())) {
+        if (!IsValid.isValidToCreateProject(currentManager, LocalDate.now())) {
             System.out.println("You are currently handling a project");
             return;
         }
@@ -391,6 +408,10 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
         while (true) {
             System.out.print("Enter project name: ");
             name = sc.nextLine();
+            if (IsValid.isValidName(name) && ProjectController.isProjectNameTaken(name, null)) {
+                System.out.println("A project with this name already exists. Please enter another name.");
+                continue;
+            }
             if (IsValid.isValidName(name)) break;
             System.out.println("Invalid input. Please enter a valid project name.");
         }
@@ -452,15 +473,13 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
             }
         }
     
-        SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yy");
-        dateFormat.setLenient(false);
-        Date openingDate = null, closingDate = null;
+        LocalDate openingDate = null, closingDate = null;
     
         while (true) {
             System.out.print("Enter the opening date (Format dd/mm/yy): ");
             String openStr = sc.nextLine();
             try {
-                openingDate = dateFormat.parse(openStr);
+                openingDate = LocalDate.parse(openStr, DateUtil.INPUT_DATE);
                 break;
             } catch (Exception e) {
                 System.out.println("Invalid date format. Please try again.");
@@ -471,14 +490,17 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
             System.out.print("Enter the closing date (Format dd/mm/yy): ");
             String closeStr = sc.nextLine();
             try {
-                closingDate = dateFormat.parse(closeStr);
+                closingDate = LocalDate.parse(closeStr, DateUtil.INPUT_DATE);
                 break;
             } catch (Exception e) {
                 System.out.println("Invalid date format. Please try again.");
             }
         }
-    
 
+        if (!IsValid.isValidToCreateProject(currentManager, openingDate, closingDate)) {
+            System.out.println("The application period must not end before it starts or overlap a project you are handling");
+            return;
+        }
 
         System.out.println("Enter the number of officer slots: ");
         int slot = sc.nextInt();
@@ -507,8 +529,13 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                 System.out.println("No Project Name found! or You are not the creator of this Project!");
                 return;
             }
+            long projectVersion = project.getVersion();
             System.out.println("Enter new name: ");
             String name = sc.nextLine();
+            if (ProjectController.isProjectNameTaken(name, project)) {
+                System.out.println("A project with this name already exists!");
+                return;
+            }
             System.out.println("Enter new neighborhood: ");
             String neighborhood = sc.nextLine();
             System.out.println("Choose flat types in the project: ");
@@ -586,18 +613,15 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                     throw new AssertionError();
             }
 
-            Date openingDate = project.getApplicationOpeningDate();
-            Date closingDate = null;
-
-            SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yy");
-            dateFormat.setLenient(false);
+            LocalDate openingDate = project.getApplicationOpeningDate();
+            LocalDate closingDate = null;
 
             System.out.println("Enter the closing date (Format dd/mm/yy): ");
             String closeDateString = sc.nextLine();
 
             try {
-                // Parse the string input to Date
-                closingDate = dateFormat.parse(closeDateString);
+                // Parse the string input to LocalDate
+                closingDate = LocalDate.parse(closeDateString, DateUtil.INPUT_DATE);
             } catch (Exception e) {
                 System.out.println("Error: Invalid date format.");
             }
@@ -614,8 +638,11 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                     slot = sc.nextInt();
                 }
             }
-            ProjectController.editProject(project, name, neighborhood, flatTypes, units, sellingPrice, slot, openingDate, closingDate);
-            System.out.println("Project edited.");
+            if (ProjectController.editProject(project, projectVersion, name, neighborhood, flatTypes, units, sellingPrice, slot, openingDate, closingDate)) {
+                System.out.println("Project edited.");
+            } else {
+                System.out.println("The project was changed by someone else while you were editing it; please try again.");
+            }
         }
         catch (Exception e) {
             System.err.println("Failed to edit project: " + e.getMessage());
@@ -656,9 +683,71 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
         }
     }
     /**
-     * Generates a report on flat bookings, filtered by marital status, flat type, and project name.
+     * Lets the manager choose between the flat booking report and the application statistics.
      */
     private void generateReport() {
+        System.out.println("Choose a report: ");
+        System.out.println("1. Flat bookings");
+        System.out.println("2. Application statistics");
+        int choice = sc.nextInt();
+        switch (choice) {
+            case 1:
+                generateBookingReport();
+                break;
+            case 2:
+                generateApplicationReport();
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid choice for Report");
+        }
+    }
+
+    /**
+     * Generates a report counting applications per project, flat type, status, marital status or age band,
+     * optionally only for applications of one status.
+     */
+    private void generateApplicationReport() {
+        System.out.println("Choose to group applications by: ");
+        ApplicationColumns.Dimension[] dimensions = ApplicationColumns.Dimension.values();
+        for (int i = 0; i < dimensions.length; i++) {
+            System.out.println((i + 1) + ". " + dimensions[i]);
+        }
+        int choice = sc.nextInt();
+        if (choice < 1 || choice > dimensions.length) {
+            throw new IllegalArgumentException("Invalid choice for grouping");
+        }
+        ApplicationColumns.Dimension dimension = dimensions[choice - 1];
+
+        System.out.println("Choose to filter by Application Status: ");
+        ApplicationStatus[] statuses = ApplicationStatus.values();
+        for (int i = 0; i < statuses.length; i++) {
+            System.out.println((i + 1) + ". " + statuses[i]);
+        }
+        System.out.println((statuses.length + 1) + ". No filter");
+        int choice2 = sc.nextInt();
+        sc.nextLine(); // clear newline
+        if (choice2 < 1 || choice2 > statuses.length + 1) {
+            throw new IllegalArgumentException("Invalid choice for Application Status");
+        }
+        ApplicationColumns.Query query = new ApplicationColumns.Query();
+        if (choice2 <= statuses.length) {
+            query.status(statuses[choice2 - 1]);
+        }
+
+        Map<String, Integer> counts = ApplicationController.countApplicationsBy(dimension, query);
+        System.out.println("----------- Applications by " + dimension + " -----------");
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            System.out.printf("%-30s %d%n", entry.getKey(), entry.getValue());
+        }
+        System.out.printf("%-30s %d%n", "Total", ApplicationController.countApplications(query));
+        System.out.printf("%-30s %.1f%n", "Average applicant age", ApplicationController.averageApplicantAge(query));
+        System.out.println("-----------------------------------------------------");
+    }
+
+    /**
+     * Generates a report on flat bookings, filtered by marital status, flat type, and project name.
+     */
+    private void generateBookingReport() {
         System.out.println("Choose to filter by Marital Status: ");
         System.out.println("1. MARRIED");
         System.out.println("2. SINGLE");
@@ -717,10 +806,12 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
                 throw new IllegalArgumentException("Invalid choice for Project Name");
         }
 
-        FlatBookingController.printReport(FlatBookingController.generateFilteredReport(FlatBookingController.getApprovedFlatBooking(), maritalStatusFilter, flatType, projectName));
+        List<FlatBooking> report = FlatBookingController.generateFilteredReport(maritalStatusFilter, flatType, projectName);
+        FlatBookingController.printReport(report);
+        System.out.println("Total bookings: " + report.size());
     }
     /**
-     * Deletes a project and all associated data (applications, bookings, registrations).
+     * Deletes a project and all associated data (applications, bookings, enquiries, registrations).
      */
     private void deleteProject(){
         System.out.println("Enter the Project Name to delete: ");
@@ -730,14 +821,8 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
             System.out.println("Project not found or You are not the creator of the Project!");
             return;
         }
-        currentManager.getCreatedProjects().remove(project);
+        ProjectController.deleteProjectCascade(project);
         System.out.println("Project " + project.getProjectName() + " deleted");
-
-        ApplicationController.deleteApplication(project);
-        RegistrationController.deleteRegistration(project);
-        ApplicantController.deleteApplicationforApplicant(project);
-        OfficerController.deleteProjectforOfficer(project);
-        ProjectController.deleteProject(project);
     }
     /**
      * Displays all enquiries in the system.
@@ -764,6 +849,7 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
             System.out.println("No enquiry found or you are not allowed to reply this enquiry!");
             return;
         }
+        long enquiryVersion = enquiry.getVersion();
         if(enquiry.getStatus() == EnquiryStatus.RESPONDED){
             System.out.println("This enquiry has already been replied to");
             return;
@@ -779,9 +865,9 @@ public class ManagerUI implements UserInterface, ReplyEnquiryInterface{
             break;
         }
     }
-        enquiry.setEnquiryReply(enquiryReply);
-        enquiry.setStatus(EnquiryStatus.RESPONDED);
-        EnquiryRepository.writeAllEnquiries(EnquiryController.enquiries);
+        if (!EnquiryController.replyEnquiry(enquiry, enquiryReply, enquiryVersion)) {
+            System.out.println("This enquiry was changed by someone else while you were replying; please try again.");
+        }
     }
     /**
      * Displays projects based on manager-created filters such as neighborhood and flat type.
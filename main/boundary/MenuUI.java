@@ -2,6 +2,7 @@ package main.boundary;
 
 import java.util.Scanner;
 import main.boundary.Interface.StartInterface;
+import main.controller.ProjectLifecycleScheduler;
 
 /**
  * UI class that displays the main menu of the BTO Management System.
@@ -30,6 +31,7 @@ public class MenuUI {
             System.out.println("3. Exit");
             System.out.print("Enter your choice: ");
             String choice = scanner.nextLine();
+            ProjectLifecycleScheduler.runDueClosings();
 
             switch (choice) {
                 case "1":
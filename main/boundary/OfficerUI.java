@@ -1,6 +1,5 @@
 package main.boundary;
 
-import java.sql.Date;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -13,11 +12,12 @@ import main.entity.Enquiry;
 import main.entity.Enum.EnquiryStatus;
 import main.entity.FlatBooking;
 import main.entity.Project;
+import main.entity.ProjectSnapshot;
 import main.entity.Receipt;
 import main.entity.Enum.*;
 import main.entity.User.Applicant;
 import main.entity.User.HDBOfficer;
-import main.repository.*;
+import main.utility.AdmissionRejectedException;
 import main.utility.IsValid;
 
 /**
@@ -44,7 +44,15 @@ public class OfficerUI extends ApplicantUI implements ReplyEnquiryInterface {
      */
     @Override
     public void start() {
+        runWatchingStatus(this::runOfficerMenu);
+    }
+
+    /**
+     * Runs the officer menu until the officer exits.
+     */
+    private void runOfficerMenu() {
         while (true) {
+            showStatusUpdates();
             System.out.println("\n=== Officer Menu ===");
             System.out.println("1. Change password");
             System.out.println("2. Apply for a project as Applicant");
@@ -68,6 +76,7 @@ public class OfficerUI extends ApplicantUI implements ReplyEnquiryInterface {
 
             try {
                 int choice = Integer.parseInt(sc.nextLine());
+                ProjectLifecycleScheduler.runDueClosings();
                 switch (choice) {
                     case 0:
                         System.out.println("Exiting...");
@@ -153,17 +162,17 @@ public class OfficerUI extends ApplicantUI implements ReplyEnquiryInterface {
     @Override
     public void applyForProject() {
     try {
-        Date today = Date.valueOf(LocalDate.now());
+        LocalDate today = LocalDate.now();
 
         if (ApplicationController.hasExistingApplication(currentOfficer)) {
             System.out.println("Error: You can only apply for one project at a time.");
             return;
         }
 
-        List<Project> availableProjects = ProjectController.getAvailableProjects(currentOfficer, null, null);
+        List<ProjectSnapshot> availableProjects = ProjectController.getAvailableProjects(currentOfficer, null, null);
 
-        for (Project project : availableProjects) {
-            if (today.after(project.getApplicationClosingDate())) {
+        for (ProjectSnapshot project : availableProjects) {
+            if (today.isAfter(project.getApplicationClosingDate())) {
                 continue;
             }
             System.out.println(project);
@@ -177,11 +186,11 @@ public class OfficerUI extends ApplicantUI implements ReplyEnquiryInterface {
             throw new IllegalArgumentException("No project found!");
         }
 
-        if (today.after(project.getApplicationClosingDate())) {
+        if (today.isAfter(project.getApplicationClosingDate())) {
             throw new IllegalArgumentException("Applications have closed.");
         }
 
-        if (!availableProjects.contains(project)) {
+        if (availableProjects.stream().noneMatch(snapshot -> snapshot.getProject() == project)) {
             System.out.println("You are not allowed to apply for this project.");
             return;
         }
@@ -230,6 +239,8 @@ public class OfficerUI extends ApplicantUI implements ReplyEnquiryInterface {
         currentOfficer.setApplication(newApplication);
         System.out.println("New application created successfully.");
 
+    } catch (AdmissionRejectedException e) {
+        System.out.println(e.getMessage());
     } catch (Exception e) {
         System.out.println("Unexpected error: " + e.getMessage());
     }
@@ -375,6 +386,7 @@ public class OfficerUI extends ApplicantUI implements ReplyEnquiryInterface {
             System.out.println("The Enquiry ID is not found!");
             return;
         }
+        long enquiryVersion = enquiry.getVersion();
         if(enquiry.getApplicant().getUserId().equals(currentOfficer.getUserId())){
             System.out.println("You are not allowed to reply your own Enquiry");
             return;
@@ -383,11 +395,28 @@ public class OfficerUI extends ApplicantUI implements ReplyEnquiryInterface {
             System.out.println("This enquiry has already been replied to");
             return;
         }
-        System.out.println("Enter the reply text for the Enquiry: ");
+        List<String> suggestions = EnquiryController.getSuggestedReplies(enquiry);
+        if (!suggestions.isEmpty()) {
+            System.out.println("Replies previously sent for similar enquiries on this project: ");
+            for (int i = 0; i < suggestions.size(); i++) {
+                System.out.println((i + 1) + ". " + suggestions.get(i));
+            }
+            System.out.println("Enter a suggestion number to reuse it, or type a new reply: ");
+        } else {
+            System.out.println("Enter the reply text for the Enquiry: ");
+        }
         String reply = sc.nextLine();
-        enquiry.setEnquiryReply(reply);
-        EnquiryController.updateEnquiryStatus(enquiryID, EnquiryStatus.RESPONDED);
-        EnquiryRepository.writeAllEnquiries(EnquiryController.enquiries);
+        try {
+            int suggestion = Integer.parseInt(reply.trim());
+            if (suggestion >= 1 && suggestion <= suggestions.size()) {
+                reply = suggestions.get(suggestion - 1);
+            }
+        } catch (NumberFormatException e) {
+            // Not a suggestion number, use the typed reply as is
+        }
+        if (!EnquiryController.replyEnquiry(enquiry, reply, enquiryVersion)) {
+            System.out.println("This enquiry was changed by someone else while you were replying; please try again.");
+        }
     }
     /**
      * Generates and displays a receipt for the specified applicant.
@@ -446,6 +475,7 @@ public class OfficerUI extends ApplicantUI implements ReplyEnquiryInterface {
             System.out.println("The Flat Booking ID is not found!");
             return;
         }
+        long bookingVersion = flatBooking.getVersion();
         if(flatBooking.getFlatBookingStatus() == FlatBookingStatus.APPROVED){
             throw new IllegalArgumentException("Flat booking has already been approved");
         }
@@ -472,22 +502,35 @@ public class OfficerUI extends ApplicantUI implements ReplyEnquiryInterface {
         sc.nextLine();
         switch(choice){
             case 1:
-                FlatBookingController.updateFlatBookingStatus(flatBooking, FlatBookingStatus.APPROVED);
+                Application application = flatBooking.getApplicant().getApplication();
+                if (application == null) {
+                    System.out.println("The applicant has no application to book a flat for.");
+                    return;
+                }
+                // Book the application first: only one officer can move it to BOOKED, and nothing else changes if that fails
+                ApplicationStatus previousStatus = application.getStatus();
+                if (!ApplicationController.updateApplicationStatus(application.getApplicationId(), ApplicationStatus.BOOKED)) {
+                    System.out.println("The application cannot be booked, so the flat booking was not approved.");
+                    return;
+                }
+                if (!FlatBookingController.updateFlatBookingStatus(flatBooking, FlatBookingStatus.APPROVED, bookingVersion)) {
+                    ApplicationController.revertApplicationStatus(application, ApplicationStatus.BOOKED, previousStatus);
+                    System.out.println("This flat booking was changed by someone else; please try again.");
+                    return;
+                }
+                System.out.println("Updated Application Status to 'BOOKED' successfully! ");
                 ProjectController.updateUnitRemaining(flatBooking.getProject(), flatBooking.getFlatType(), false);
                 System.out.println("Updated Remaining Unit successfully");
-                ApplicationController.updateApplicationStatus(flatBooking.getApplicant().getApplication().getApplicationId(), ApplicationStatus.BOOKED);
-                flatBooking.setFlatBookingStatus(FlatBookingStatus.APPROVED);
-                System.out.println("Updated Application Status to 'BOOKED' successfully! ");
                 flatBooking.getApplicant().setFlatBooking(flatBooking);
                 System.out.println("Update Applicant's profile with Flat Type and Project successfully!");
-                BookingRepository.writeAllFlatBookings(FlatBookingController.flatBookings);
+                FlatBookingController.saveFlatBookings(flatBooking.getProject());
                 break;
             case 2:
                 return;
             default:
                 throw new AssertionError();
         }
-        ApplicationRepository.writeAllApplication(ApplicationController.getAllApplications());
+        ApplicationController.saveApplications(flatBooking.getProject());
     }
 
 }
\ No newline at end of file
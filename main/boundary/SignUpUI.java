@@ -6,6 +6,7 @@ import main.controller.UserController.*;
 import main.entity.Enum.MaritalStatus;
 import main.entity.Enum.Role;
 import main.utility.IsValid;
+import main.utility.StringPool;
 
 /**
  * The {@code SignUpUI} class handles the user interface for signing up as a new applicant.
@@ -89,7 +90,12 @@ public class SignUpUI implements StartInterface {
         }
 
         // Register the applicant with default password "password"
-        ApplicantController.addApplicant(userId, "password", name, role, status, age);
+        try {
+            ApplicantController.addApplicant(userId, StringPool.DEFAULT_PASSWORD, name, role, status, age);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
+        }
 
         System.out.println("User created successfully!");
     }
@@ -2,23 +2,61 @@ package main.controller;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import main.entity.Application;
 import main.entity.Enum.ApplicationStatus;
 import main.entity.Enum.FlatType;
 import main.entity.Enum.MaritalStatus;
+import main.entity.Event.ApplicationRemoved;
+import main.entity.Event.ApplicationStatusChanged;
+import main.entity.Event.ApplicationSubmitted;
 import main.entity.Project;
 import main.entity.User.Applicant;
-import main.repository.ApplicationRepository;
+import main.repository.Repositories;
+import main.utility.AdmissionControl;
+import main.utility.AdmissionRejectedException;
+import main.utility.ApplicationColumns;
+import main.utility.ApplicationColumns.AgeBand;
+import main.utility.BitmapIndex;
+import main.utility.BitmapIndex.Attribute;
+import main.utility.BitmapIndex.Condition;
+import main.utility.EventBus;
+import main.utility.RecordList;
 
 /**
  * Controller class responsible for handling operations related to Applications,
  * including creation, withdrawal, status updates, and filtering by project.
  */
 public class ApplicationController {
-    /** Stores all applications in memory. */
-    private static List<Application> applications = new ArrayList<>();
+    /** Stores all applications in memory; a {@link RecordList}, so one project's applications can be removed without a scan. */
+    private static List<Application> applications = new RecordList<>();
+
+    /**
+     * Applications grouped by project, used to find a project's applications without a full scan
+     * and to save a single project's file.
+     */
+    private static final Map<Project, Set<Application>> applicationsByProject = new HashMap<>();
+
+    /** Column-oriented copy of the applications, kept in step with the list for reports and counts. */
+    private static final ApplicationColumns columns = new ApplicationColumns();
+
+    /**
+     * Bitmap indexes over the applications, for lookups and counts combining filters. Marital status
+     * and age band are those of the applicant when the application was added.
+     */
+    private static final BitmapIndex<Application> applicationIndex = new BitmapIndex<Application>()
+        .attribute(Attribute.PROJECT, Application::getProject)
+        .attribute(Attribute.FLAT_TYPE, Application::getFlatType)
+        .attribute(Attribute.STATUS, Application::getStatus)
+        .attribute(Attribute.MARITAL_STATUS, application -> application.getApplicant() == null ? null
+            : application.getApplicant().getMaritalStatus())
+        .attribute(Attribute.AGE_BAND, application -> application.getApplicant() == null ? null
+            : AgeBand.of(application.getApplicant().getAge()));
 
     /** Counter to generate unique application IDs. */
     public static int applicationCounter = 1;
@@ -33,6 +71,7 @@ public class ApplicationController {
      * @param age The applicant's age.
      * @return A new {@code Application} object.
      * @throws IllegalArgumentException If the applicant does not meet eligibility criteria.
+     * @throws AdmissionRejectedException If too many applications are being submitted; retry later.
      */
     public static Application createApplicationForm(Applicant applicant, Project project, FlatType flatType, MaritalStatus maritalStatus, int age) throws IllegalArgumentException {
         if (maritalStatus == MaritalStatus.SINGLE && age >= 35 && flatType != FlatType.TWO_ROOM) {
@@ -41,11 +80,16 @@ public class ApplicationController {
         if (maritalStatus == MaritalStatus.MARRIED && age >= 21 && flatType != FlatType.TWO_ROOM && flatType != FlatType.THREE_ROOM) {
             throw new IllegalArgumentException("Error: Married, 21 years old and above, can apply for 2-Room or 3-Room only.");
         }
+        AdmissionControl.acquire(AdmissionControl.Operation.SUBMIT_APPLICATION, applicant.getUserId());
 
         String applicationId = generateApplicationId(project);
         Application newApplication = new Application(applicationId, applicant, project, ApplicationStatus.PENDING, LocalDate.now(), flatType);
-        applications.add(newApplication);
-        ApplicationRepository.appendApplicationToCSV(newApplication);
+        addApplication(newApplication);
+        // Wait until the record is on disk
+        if (!Repositories.awaitWrite(Repositories.applications().appendApplication(newApplication))) {
+            System.out.println("The application could not be saved to disk.");
+        }
+        EventBus.publish(new ApplicationSubmitted(newApplication));
         return newApplication;
     }
 
@@ -53,12 +97,19 @@ public class ApplicationController {
      * Marks an application as pending withdrawal.
      *
      * @param application The application to be withdrawn.
-     * @throws IllegalArgumentException If the input application is null.
+     * @throws IllegalArgumentException If the input application is null or can no longer be withdrawn.
      */
     public static void withdrawApplication(Application application) throws IllegalArgumentException {
         if (application != null) {
-            application.setStatus(ApplicationStatus.PENDING_WITHDRAWN);
-            ApplicationRepository.writeAllApplication(applications);
+            ApplicationStatus previousStatus = application.getStatus();
+            if (!application.transitionStatus(previousStatus, ApplicationStatus.PENDING_WITHDRAWN)) {
+                throw new IllegalArgumentException("Application with ID " + application.getApplicationId()
+                    + " cannot be withdrawn while it is " + application.getStatus() + ".");
+            }
+            columns.updateStatus(application);
+            applicationIndex.update(application);
+            saveApplications(application.getProject());
+            EventBus.publish(new ApplicationStatusChanged(application, previousStatus, ApplicationStatus.PENDING_WITHDRAWN));
             System.out.println("Application with ID " + application.getApplicationId() + " has been requested to be withdrawn.");
         } else {
             throw new IllegalArgumentException("Error: Invalid Input.");
@@ -66,24 +117,84 @@ public class ApplicationController {
     }
 
     /**
-     * Updates the status of a specific application.
+     * Updates the status of a specific application, if its current status allows the transition.
      *
      * @param applicationId The ID of the application to update.
      * @param newStatus The new status to be set.
+     * @return true if the status was updated, false if the transition is not allowed or lost to a concurrent one.
      */
-    public static void updateApplicationStatus(String applicationId, ApplicationStatus newStatus) {
+    public static boolean updateApplicationStatus(String applicationId, ApplicationStatus newStatus) {
         try {
             for (Application app : applications) {
                 if (app.getApplicationId().equals(applicationId)) {
-                    app.setStatus(newStatus);
-                    ApplicationRepository.writeAllApplication(applications);
+                    ApplicationStatus previousStatus = app.getStatus();
+                    if (!app.transitionStatus(previousStatus, newStatus)) {
+                        System.out.println("Application " + applicationId + " cannot change from "
+                            + app.getStatus() + " to " + newStatus + ".");
+                        return false;
+                    }
+                    columns.updateStatus(app);
+                    applicationIndex.update(app);
+                    saveApplications(app.getProject());
+                    EventBus.publish(new ApplicationStatusChanged(app, previousStatus, newStatus));
                     System.out.println("Application status updated: " + app);
-                    return;
+                    return true;
                 }
             }
         } catch (Exception e) {
             System.out.println("Error to update status");
         }
+        return false;
+    }
+
+    /**
+     * Updates the status of an application unless it has changed since it was shown to the manager,
+     * e.g. because another manager already decided on it or the applicant asked to withdraw it.
+     *
+     * @param application The application to update.
+     * @param newStatus The new status to be set.
+     * @param expectedVersion The version of the application when it was shown.
+     * @return true if the status was updated, false if the application was changed in the meantime
+     *         or its status does not allow the transition.
+     */
+    public static boolean updateApplicationStatus(Application application, ApplicationStatus newStatus, long expectedVersion) {
+        try {
+            ApplicationStatus previousStatus = application.getStatus();
+            if (!application.transitionStatusIfVersion(expectedVersion, newStatus)) {
+                return false;
+            }
+            columns.updateStatus(application);
+            applicationIndex.update(application);
+            saveApplications(application.getProject());
+            EventBus.publish(new ApplicationStatusChanged(application, previousStatus, newStatus));
+            System.out.println("Application status updated: " + application);
+            return true;
+        } catch (Exception e) {
+            System.out.println("Error to update status");
+            return false;
+        }
+    }
+
+    /**
+     * Undoes a status change when a later step of the same action failed, e.g. booking the application
+     * succeeded but approving the flat booking did not. The application is only put back if
+     * {@link ApplicationStatus#canRevertTo} declares the transition undoable and the application still has
+     * the status the change gave it.
+     *
+     * @param application The application to restore.
+     * @param changedTo The status the caller moved the application to.
+     * @param previousStatus The status the application had before.
+     * @return true if the application was restored.
+     */
+    public static boolean revertApplicationStatus(Application application, ApplicationStatus changedTo, ApplicationStatus previousStatus) {
+        if (!application.revertStatus(changedTo, previousStatus)) {
+            return false;
+        }
+        columns.updateStatus(application);
+        applicationIndex.update(application);
+        saveApplications(application.getProject());
+        EventBus.publish(new ApplicationStatusChanged(application, changedTo, previousStatus));
+        return true;
     }
 
     /**
@@ -114,13 +225,8 @@ public class ApplicationController {
      * @return A list of pending applications for the specified project.
      */
     public static List<Application> getPendingApplicationByProject( Project project){
-        List<Application> filterApplications = new ArrayList<>();
-        for (Application app : applications) {
-            if (app.getProject().equals(project) && app.getStatus().equals(ApplicationStatus.PENDING)) {
-                filterApplications.add(app);
-            }
-        }
-        return filterApplications;
+        return findApplications(Condition.and(Condition.is(Attribute.PROJECT, project),
+            Condition.is(Attribute.STATUS, ApplicationStatus.PENDING)));
     }
 
     /**
@@ -158,13 +264,18 @@ public class ApplicationController {
      * @return A list of applications with status {@code PENDING_WITHDRAWN}.
      */
     public static List<Application> getWithdrawalRequest(Project project) {
-        List<Application> withdrawals = new ArrayList<>();
-        for (Application app : applications) {
-            if (app.getProject().equals(project) && app.getStatus().equals(ApplicationStatus.PENDING_WITHDRAWN)) {
-                withdrawals.add(app);
-            }
-        }
-        return withdrawals;
+        return findApplications(Condition.and(Condition.is(Attribute.PROJECT, project),
+            Condition.is(Attribute.STATUS, ApplicationStatus.PENDING_WITHDRAWN)));
+    }
+
+    /**
+     * Returns the applications meeting a condition on the indexed attributes.
+     *
+     * @param condition The condition, e.g. pending applications for a 2-room flat from singles aged 35 to 44.
+     * @return The matching applications, in the order they were added.
+     */
+    public static List<Application> findApplications(Condition condition) {
+        return applicationIndex.select(condition);
     }
 
     /**
@@ -176,6 +287,45 @@ public class ApplicationController {
         return applications;
     }
 
+    /**
+     * Adds an existing application (e.g. one loaded from file) without saving it.
+     *
+     * @param application The application to add.
+     */
+    public static void addApplication(Application application) {
+        applications.add(application);
+        applicationsByProject.computeIfAbsent(application.getProject(), p -> new LinkedHashSet<>()).add(application);
+        columns.add(application);
+        applicationIndex.add(application);
+    }
+
+    /**
+     * Removes a single application (e.g. an approved withdrawal) and saves its project's file.
+     *
+     * @param application The application to remove.
+     */
+    public static void removeApplication(Application application) {
+        applications.remove(application);
+        Set<Application> projectApplications = applicationsByProject.get(application.getProject());
+        if (projectApplications != null) {
+            projectApplications.remove(application);
+        }
+        columns.remove(application);
+        applicationIndex.remove(application);
+        saveApplications(application.getProject());
+        EventBus.publish(new ApplicationRemoved(application));
+    }
+
+    /**
+     * Saves the applications of one project to that project's file.
+     *
+     * @param project The project whose applications are saved.
+     */
+    public static void saveApplications(Project project) {
+        Repositories.applications().saveApplicationsForProject(project,
+            new ArrayList<>(applicationsByProject.getOrDefault(project, Collections.emptySet())));
+    }
+
     /**
      * Counts the number of successful applications for a given project and flat type.
      *
@@ -184,30 +334,56 @@ public class ApplicationController {
      * @return The count of successful applications.
      */
     public static int countNumberOfSuccessfulApplication(Project project, FlatType flatType) {
-        int count = 0;
-        for (Application app : applications) {
-            if (app.getProject().equals(project) &&
-                app.getFlatType().equals(flatType) &&
-                app.getStatus().equals(ApplicationStatus.SUCCESSFUL)) {
-                count++;
-            }
-        }
-        return count;
+        return columns.count(new ApplicationColumns.Query().project(project).flatType(flatType)
+            .status(ApplicationStatus.SUCCESSFUL));
+    }
+
+    /**
+     * Counts the applications matching a query in each group of a dimension, e.g. per project or age band.
+     *
+     * @param dimension The column to group by.
+     * @param query The applications to count.
+     * @return The count of each non-empty group, by group name.
+     */
+    public static Map<String, Integer> countApplicationsBy(ApplicationColumns.Dimension dimension, ApplicationColumns.Query query) {
+        return columns.countBy(dimension, query);
+    }
+
+    /**
+     * Counts the applications matching a query.
+     *
+     * @param query The applications to count.
+     * @return The number of matching applications.
+     */
+    public static int countApplications(ApplicationColumns.Query query) {
+        return columns.count(query);
+    }
+
+    /**
+     * Returns the average age of the applicants of the applications matching a query.
+     *
+     * @param query The applications to include.
+     * @return The average age, or 0 if no application matches.
+     */
+    public static double averageApplicantAge(ApplicationColumns.Query query) {
+        return columns.averageAge(query);
     }
 
     /**
      * Deletes all applications that belong to a specific project.
+     * Nothing is saved, since the project's files are dropped together with the project.
      *
      * @param project The project whose applications should be deleted.
+     * @return The deleted applications.
      */
-    public static void deleteApplication(Project project) {
-        Iterator<Application> iterator = applications.iterator();
-        while (iterator.hasNext()) {
-            Application app = iterator.next();
-            if (app.getProject().equals(project)) {
-                iterator.remove();
-            }
+    public static List<Application> deleteApplication(Project project) {
+        Set<Application> projectApplications = applicationsByProject.remove(project);
+        if (projectApplications == null) {
+            return new ArrayList<>();
         }
-        ApplicationRepository.writeAllApplication(applications);
+        applications.removeAll(projectApplications);
+        columns.removeProject(project);
+        projectApplications.forEach(applicationIndex::remove);
+        return new ArrayList<>(projectApplications);
     }
 }
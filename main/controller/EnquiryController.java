@@ -2,26 +2,50 @@ package main.controller;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import main.controller.UserController.ApplicantController;
 import main.controller.UserController.OfficerController;
 import main.entity.Enquiry;
-import main.entity.Project;
 import main.entity.Enum.EnquiryStatus;
+import main.entity.Event.EnquiryDeleted;
+import main.entity.Event.EnquiryEdited;
+import main.entity.Event.EnquiryReplied;
+import main.entity.Event.EnquiryStatusChanged;
+import main.entity.Event.EnquirySubmitted;
+import main.entity.Project;
 import main.entity.User.Applicant;
-import main.repository.EnquiryRepository;
+import main.repository.Repositories;
+import main.utility.AdmissionControl;
+import main.utility.AdmissionRejectedException;
+import main.utility.EventBus;
+import main.utility.RecordList;
+import main.utility.ReplySuggestionIndex;
 
 /**
  * Controller class to manage Enquiry operations including creation, editing,
  * deletion, and status updates.
  */
 public class EnquiryController {
-    /** A static list that holds all enquiries. */
-    public static List<Enquiry> enquiries = new ArrayList<>();
+    /** A static list that holds all enquiries; a {@link RecordList}, so one project's enquiries can be removed without a scan. */
+    public static List<Enquiry> enquiries = new RecordList<>();
 
     /** A counter to generate unique enquiry IDs. */
     public static int enquiryCounter = 1;
 
+    /** Enquiries grouped by project, in the order they were added. */
+    private static final Map<Project, Set<Enquiry>> enquiriesByProject = new HashMap<>();
+
+    /** Similarity index of replied enquiries, used to suggest replies for near-duplicate enquiries. */
+    private static final ReplySuggestionIndex replyIndex = new ReplySuggestionIndex();
+
+    /** Maximum number of reply suggestions shown for one enquiry. */
+    private static final int MAX_REPLY_SUGGESTIONS = 3;
+
     /** Default constructor. */
     public EnquiryController() {}
 
@@ -32,16 +56,33 @@ public class EnquiryController {
      * @param project The project the enquiry is about.
      * @param enquiryText The text of the enquiry.
      * @return The created {@code Enquiry} object.
+     * @throws AdmissionRejectedException If too many enquiries are being submitted; retry later.
      */
     public static Enquiry createEnquiry(Applicant applicant, Project project, String enquiryText) {
+        AdmissionControl.acquire(AdmissionControl.Operation.SUBMIT_ENQUIRY, applicant.getUserId());
         String enquiryID = "ENQID" + enquiryCounter++;
         Enquiry newEnquiry = new Enquiry(enquiryID, applicant, project, EnquiryStatus.PENDING, enquiryText, LocalDateTime.now());
-        enquiries.add(newEnquiry);
-        applicant.getEnquiries().add(newEnquiry);
-        EnquiryRepository.appendEnquiryToCSV(newEnquiry);
+        addEnquiry(newEnquiry);
+        applicant.addEnquiry(newEnquiry);
+        // Wait until the record is on disk
+        if (!Repositories.awaitWrite(Repositories.enquiries().appendEnquiry(newEnquiry))) {
+            System.out.println("The enquiry could not be saved to disk.");
+        }
+        EventBus.publish(new EnquirySubmitted(newEnquiry));
         return newEnquiry;
     }
 
+    /**
+     * Adds an existing enquiry (e.g. one loaded from file) without saving it.
+     * The caller is responsible for adding it to the applicant's own list.
+     *
+     * @param enquiry The enquiry to add.
+     */
+    public static void addEnquiry(Enquiry enquiry) {
+        enquiries.add(enquiry);
+        enquiriesByProject.computeIfAbsent(enquiry.getProject(), p -> new LinkedHashSet<>()).add(enquiry);
+    }
+
     /**
      * Retrieves an enquiry by its ID.
      *
@@ -83,16 +124,38 @@ public class EnquiryController {
      */
     public static void editEnquiry(String enquiryID, String applicantNRIC, String newEnquiryText) {
         Enquiry enquiry = getEnquiryByID(enquiryID);
-        if (enquiry != null && enquiry.getApplicant().getUserId().equals(applicantNRIC)) {
-            if (enquiry.getStatus() == EnquiryStatus.PENDING) {
-                enquiry.setEnquiryText(newEnquiryText);
-                EnquiryRepository.writeAllEnquiries(enquiries);
-            } else {
-                System.out.println("Enquiry cannot be edited once responded or closed.");
-            }
+        if (enquiry != null) {
+            editEnquiry(enquiryID, applicantNRIC, newEnquiryText, enquiry.getVersion());
         }
     }
 
+    /**
+     * Edits an existing enquiry if it is still in pending status and has not changed since it was shown
+     * to the applicant, e.g. because an officer replied to it in the meantime.
+     *
+     * @param enquiryID The ID of the enquiry to edit.
+     * @param applicantNRIC The NRIC of the applicant who submitted the enquiry.
+     * @param newEnquiryText The new enquiry text.
+     * @param expectedVersion The version of the enquiry when it was shown to the applicant.
+     * @return true if the enquiry was edited, false otherwise.
+     */
+    public static boolean editEnquiry(String enquiryID, String applicantNRIC, String newEnquiryText, long expectedVersion) {
+        Enquiry enquiry = getEnquiryByID(enquiryID);
+        if (enquiry == null || !enquiry.getApplicant().getUserId().equals(applicantNRIC)) {
+            return false;
+        }
+        if (enquiry.getStatus() != EnquiryStatus.PENDING) {
+            System.out.println("Enquiry cannot be edited once responded or closed.");
+            return false;
+        }
+        if (!enquiry.updateIfVersion(expectedVersion, () -> enquiry.setEnquiryText(newEnquiryText))) {
+            return false;
+        }
+        saveEnquiries(enquiry.getProject());
+        EventBus.publish(new EnquiryEdited(enquiry));
+        return true;
+    }
+
     /**
      * Deletes an enquiry from the global list and the applicant's list.
      *
@@ -100,26 +163,96 @@ public class EnquiryController {
      */
     public static void deleteEnquiry(Enquiry enquiry) {
         enquiries.remove(enquiry);
-        enquiry.getApplicant().getEnquiries().remove(enquiry);
-        EnquiryRepository.writeAllEnquiries(enquiries);
+        Set<Enquiry> projectEnquiries = enquiriesByProject.get(enquiry.getProject());
+        if (projectEnquiries != null) {
+            projectEnquiries.remove(enquiry);
+        }
+        replyIndex.remove(enquiry);
+        enquiry.getApplicant().removeEnquiry(enquiry);
+        saveEnquiries(enquiry.getProject());
+        EventBus.publish(new EnquiryDeleted(enquiry));
     }
 
     /**
-     * Updates the status of an enquiry.
+     * Updates the status of an enquiry, if its current status allows the transition.
      *
      * @param enquiryID The ID of the enquiry.
      * @param newStatus The new status to be set.
+     * @return true if the status was updated, false otherwise.
      */
-    public static void updateEnquiryStatus(String enquiryID, EnquiryStatus newStatus) {
+    public static boolean updateEnquiryStatus(String enquiryID, EnquiryStatus newStatus) {
         Enquiry enquiry = getEnquiryByID(enquiryID);
-        if (enquiry != null) {
-            for (Enquiry enquiry1 : enquiries) {
-                if (enquiry == enquiry1) {
-                    enquiry.setStatus(newStatus);
-                }
-            }
-            EnquiryRepository.writeAllEnquiries(enquiries);
+        if (enquiry == null) {
+            return false;
+        }
+        EnquiryStatus previousStatus = enquiry.getStatus();
+        if (!enquiry.transitionStatus(previousStatus, newStatus)) {
+            return false;
         }
+        saveEnquiries(enquiry.getProject());
+        EventBus.publish(new EnquiryStatusChanged(enquiry, previousStatus, newStatus));
+        return true;
+    }
+
+    /**
+     * Replies to an enquiry, marks it as responded and indexes the reply
+     * so it can be suggested for similar enquiries on the same project.
+     * Only the first of several concurrent replies is kept.
+     *
+     * @param enquiry The enquiry being replied to.
+     * @param reply The reply text.
+     * @return true if the reply was saved, false if the enquiry was already replied to or closed.
+     */
+    public static boolean replyEnquiry(Enquiry enquiry, String reply) {
+        if (!enquiry.reply(reply)) {
+            return false;
+        }
+        repliedEnquiry(enquiry);
+        return true;
+    }
+
+    /**
+     * Replies to an enquiry unless it has changed since it was shown to the officer or manager,
+     * e.g. because the applicant edited it or someone else already replied.
+     *
+     * @param enquiry The enquiry being replied to.
+     * @param reply The reply text.
+     * @param expectedVersion The version of the enquiry when it was shown.
+     * @return true if the reply was saved, false if the enquiry was changed in the meantime
+     *         or is no longer pending.
+     */
+    public static boolean replyEnquiry(Enquiry enquiry, String reply, long expectedVersion) {
+        if (!enquiry.replyIfVersion(expectedVersion, reply)) {
+            return false;
+        }
+        repliedEnquiry(enquiry);
+        return true;
+    }
+
+    private static void repliedEnquiry(Enquiry enquiry) {
+        replyIndex.add(enquiry);
+        saveEnquiries(enquiry.getProject());
+        EventBus.publish(new EnquiryReplied(enquiry));
+    }
+
+    /**
+     * Adds an already replied enquiry (e.g. one loaded from file) to the reply suggestion index.
+     *
+     * @param enquiry The enquiry to index.
+     */
+    public static void indexReply(Enquiry enquiry) {
+        replyIndex.add(enquiry);
+    }
+
+    /**
+     * Retrieves replies previously sent for enquiries on the same project
+     * that are similar to the given enquiry, most similar first.
+     *
+     * @param enquiry The enquiry being answered.
+     * @return A list of suggested reply texts, possibly empty.
+     */
+    public static List<String> getSuggestedReplies(Enquiry enquiry) {
+        return replyIndex.suggestReplies(enquiry, MAX_REPLY_SUGGESTIONS);
     }
 
     /**
@@ -157,13 +290,36 @@ public class EnquiryController {
      * @return A list of enquiries for the project.
      */
     public static List<Enquiry> getEnquiriesByProject(Project project) {
-        List<Enquiry> filteredEnquiries = new ArrayList<>();
-        for (Enquiry enq : enquiries) {
-            if (enq.getProject().equals(project)) {
-                filteredEnquiries.add(enq);
-            }
+        return new ArrayList<>(enquiriesByProject.getOrDefault(project, Collections.emptySet()));
+    }
+
+    /**
+     * Saves the enquiries about one project to that project's file.
+     *
+     * @param project The project whose enquiries are saved.
+     */
+    public static void saveEnquiries(Project project) {
+        Repositories.enquiries().saveEnquiriesForProject(project, getEnquiriesByProject(project));
+    }
+
+    /**
+     * Deletes all enquiries about a project and removes them from their applicants.
+     * Nothing is saved, since the project's files are dropped together with the project.
+     *
+     * @param project The project whose enquiries should be deleted.
+     * @return The deleted enquiries.
+     */
+    public static List<Enquiry> deleteEnquiries(Project project) {
+        Set<Enquiry> projectEnquiries = enquiriesByProject.remove(project);
+        if (projectEnquiries == null) {
+            return new ArrayList<>();
+        }
+        enquiries.removeAll(projectEnquiries);
+        for (Enquiry enquiry : projectEnquiries) {
+            enquiry.getApplicant().removeEnquiry(enquiry);
+            replyIndex.remove(enquiry);
         }
-        return filteredEnquiries;
+        return new ArrayList<>(projectEnquiries);
     }
 
     /**
@@ -1,16 +1,29 @@
 package main.controller;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 import main.entity.Enum.ApplicationStatus;
 import main.entity.Enum.FlatBookingStatus;
 import main.entity.Enum.FlatType;
 import main.entity.Enum.MaritalStatus;
+import main.entity.Event.FlatBookingCreated;
+import main.entity.Event.FlatBookingRemoved;
+import main.entity.Event.FlatBookingStatusChanged;
 import main.entity.FlatBooking;
 import main.entity.Project;
 import main.entity.User.Applicant;
-import main.repository.BookingRepository;
+import main.repository.Repositories;
+import main.utility.ApplicationColumns.AgeBand;
+import main.utility.BitmapIndex;
+import main.utility.BitmapIndex.Attribute;
+import main.utility.BitmapIndex.Condition;
+import main.utility.EventBus;
+import main.utility.RecordList;
 
 /**
  * Controller for handling flat booking operations such as creating, updating,
@@ -18,8 +31,27 @@ import main.repository.BookingRepository;
  */
 public class FlatBookingController {
 
-    /** List to hold all flat bookings in memory. */
-    public static List<FlatBooking> flatBookings = new ArrayList<>();
+    /** List to hold all flat bookings in memory; a {@link RecordList}, so one project's bookings can be removed without a scan. */
+    public static List<FlatBooking> flatBookings = new RecordList<>();
+
+    /**
+     * Flat bookings grouped by project, used to find a project's bookings without a full scan
+     * and to save a single project's file.
+     */
+    private static final Map<Project, Set<FlatBooking>> flatBookingsByProject = new HashMap<>();
+
+    /**
+     * Bitmap indexes over the flat bookings, for reports combining filters. Marital status and age band
+     * are those of the applicant when the booking was added.
+     */
+    private static final BitmapIndex<FlatBooking> bookingIndex = new BitmapIndex<FlatBooking>()
+        .attribute(Attribute.PROJECT, FlatBooking::getProject)
+        .attribute(Attribute.FLAT_TYPE, FlatBooking::getFlatType)
+        .attribute(Attribute.STATUS, FlatBooking::getFlatBookingStatus)
+        .attribute(Attribute.MARITAL_STATUS, booking -> booking.getApplicant() == null ? null
+            : booking.getApplicant().getMaritalStatus())
+        .attribute(Attribute.AGE_BAND, booking -> booking.getApplicant() == null ? null
+            : AgeBand.of(booking.getApplicant().getAge()));
 
     /**
      * Generates a new flat booking request for the specified applicant.
@@ -36,8 +68,63 @@ public class FlatBookingController {
         String flatId = generateFlatBookingId(applicant);
         FlatBooking flatBooking = new FlatBooking(flatId, applicant, flatType, project, FlatBookingStatus.PENDING);
         applicant.setFlatBooking(flatBooking);
+        addFlatBooking(flatBooking);
+        saveFlatBookings(project);
+        EventBus.publish(new FlatBookingCreated(flatBooking));
+    }
+
+    /**
+     * Adds an existing flat booking (e.g. one loaded from file) without saving it.
+     *
+     * @param flatBooking the flat booking to add
+     */
+    public static void addFlatBooking(FlatBooking flatBooking) {
         flatBookings.add(flatBooking);
-        BookingRepository.writeAllFlatBookings(flatBookings);
+        flatBookingsByProject.computeIfAbsent(flatBooking.getProject(), p -> new LinkedHashSet<>()).add(flatBooking);
+        bookingIndex.add(flatBooking);
+    }
+
+    /**
+     * Removes a single flat booking (e.g. after its application was withdrawn) and saves its project's file.
+     *
+     * @param flatBooking the flat booking to remove
+     */
+    public static void removeFlatBooking(FlatBooking flatBooking) {
+        flatBookings.remove(flatBooking);
+        Set<FlatBooking> projectBookings = flatBookingsByProject.get(flatBooking.getProject());
+        if (projectBookings != null) {
+            projectBookings.remove(flatBooking);
+        }
+        bookingIndex.remove(flatBooking);
+        saveFlatBookings(flatBooking.getProject());
+        EventBus.publish(new FlatBookingRemoved(flatBooking));
+    }
+
+    /**
+     * Saves the flat bookings of one project to that project's file.
+     *
+     * @param project the project whose bookings are saved
+     */
+    public static void saveFlatBookings(Project project) {
+        Repositories.bookings().saveFlatBookingsForProject(project,
+            new ArrayList<>(flatBookingsByProject.getOrDefault(project, Collections.emptySet())));
+    }
+
+    /**
+     * Deletes all flat bookings for a project.
+     * Nothing is saved, since the project's files are dropped together with the project.
+     *
+     * @param project the project whose bookings should be deleted
+     * @return the deleted flat bookings
+     */
+    public static List<FlatBooking> deleteFlatBookings(Project project) {
+        Set<FlatBooking> projectBookings = flatBookingsByProject.remove(project);
+        if (projectBookings == null) {
+            return new ArrayList<>();
+        }
+        flatBookings.removeAll(projectBookings);
+        projectBookings.forEach(bookingIndex::remove);
+        return new ArrayList<>(projectBookings);
     }
 
     /**
@@ -104,13 +191,40 @@ public class FlatBookingController {
     }
 
     /**
-     * Updates the booking status of a given flat booking.
+     * Updates the booking status of a given flat booking, if its current status allows the transition.
      *
      * @param flatBooking the flat booking to update
      * @param flatBookingStatus the new status to assign
+     * @return true if the status was updated, false if the transition is not allowed or lost to a concurrent one
      */
-    public static void updateFlatBookingStatus(FlatBooking flatBooking, FlatBookingStatus flatBookingStatus){
-        flatBooking.setFlatBookingStatus(flatBookingStatus);
+    public static boolean updateFlatBookingStatus(FlatBooking flatBooking, FlatBookingStatus flatBookingStatus){
+        FlatBookingStatus previousStatus = flatBooking.getFlatBookingStatus();
+        if (!flatBooking.transitionStatus(previousStatus, flatBookingStatus)) {
+            return false;
+        }
+        bookingIndex.update(flatBooking);
+        EventBus.publish(new FlatBookingStatusChanged(flatBooking, previousStatus, flatBookingStatus));
+        return true;
+    }
+
+    /**
+     * Updates the booking status of a flat booking unless it has changed since it was shown to the officer,
+     * e.g. because another officer already approved it.
+     *
+     * @param flatBooking the flat booking to update
+     * @param flatBookingStatus the new status to assign
+     * @param expectedVersion the version of the flat booking when it was shown
+     * @return true if the status was updated, false if the flat booking was changed in the meantime
+     *         or its status does not allow the transition
+     */
+    public static boolean updateFlatBookingStatus(FlatBooking flatBooking, FlatBookingStatus flatBookingStatus, long expectedVersion){
+        FlatBookingStatus previousStatus = flatBooking.getFlatBookingStatus();
+        if (!flatBooking.transitionStatusIfVersion(expectedVersion, flatBookingStatus)) {
+            return false;
+        }
+        bookingIndex.update(flatBooking);
+        EventBus.publish(new FlatBookingStatusChanged(flatBooking, previousStatus, flatBookingStatus));
+        return true;
     }
 
     /**
@@ -129,40 +243,62 @@ public class FlatBookingController {
     }
 
     /**
-     * Generates a filtered report of flat bookings based on provided filters.
+     * Generates a report of the approved flat bookings matching the given filters, using the bitmap indexes.
      *
-     * @param flatBookings list of flat bookings to filter
      * @param maritalStatusFilter filter by marital status (nullable)
      * @param flatTypeFilter filter by flat type (nullable)
-     * @param projectNameFilter filter by project name (nullable)
-     * @return filtered list of FlatBooking objects
+     * @param projectNameFilter filter by project name, ignoring case (nullable)
+     * @return the matching approved bookings, in the order they were added
      */
     public static List<FlatBooking> generateFilteredReport(
-        List<FlatBooking> flatBookings,
         MaritalStatus maritalStatusFilter,
         FlatType flatTypeFilter,
         String projectNameFilter) {
+        return findFlatBookings(reportCondition(maritalStatusFilter, flatTypeFilter, projectNameFilter));
+    }
 
-        return flatBookings.stream()
-            .filter(booking -> {
-                if (maritalStatusFilter != null &&
-                    booking.getApplicant().getMaritalStatus() != maritalStatusFilter) {
-                    return false;
-                }
+    /**
+     * Returns the flat bookings meeting a condition on the indexed attributes.
+     *
+     * @param condition the condition, e.g. married applicants who booked a 3-room flat in either of two projects
+     * @return the matching bookings, in the order they were added
+     */
+    public static List<FlatBooking> findFlatBookings(Condition condition) {
+        return bookingIndex.select(condition);
+    }
 
-                if (flatTypeFilter != null &&
-                    booking.getFlatType() != flatTypeFilter) {
-                    return false;
-                }
+    /**
+     * Counts the flat bookings meeting a condition on the indexed attributes.
+     *
+     * @param condition the condition
+     * @return the number of matching bookings
+     */
+    public static int countFlatBookings(Condition condition) {
+        return bookingIndex.count(condition);
+    }
 
-                if (projectNameFilter != null && !projectNameFilter.isEmpty() &&
-                    !booking.getProject().getProjectName().equalsIgnoreCase(projectNameFilter)) {
-                    return false;
+    /**
+     * Builds the condition for approved bookings matching the report filters.
+     */
+    private static Condition reportCondition(MaritalStatus maritalStatusFilter, FlatType flatTypeFilter, String projectNameFilter) {
+        List<Condition> conditions = new ArrayList<>();
+        conditions.add(Condition.is(Attribute.STATUS, FlatBookingStatus.APPROVED));
+        if (maritalStatusFilter != null) {
+            conditions.add(Condition.is(Attribute.MARITAL_STATUS, maritalStatusFilter));
+        }
+        if (flatTypeFilter != null) {
+            conditions.add(Condition.is(Attribute.FLAT_TYPE, flatTypeFilter));
+        }
+        if (projectNameFilter != null && !projectNameFilter.isEmpty()) {
+            List<Project> projects = new ArrayList<>();
+            for (Project project : ProjectController.projects) {
+                if (project.getProjectName().equalsIgnoreCase(projectNameFilter)) {
+                    projects.add(project);
                 }
-
-                return true;
-            })
-            .collect(Collectors.toList());
+            }
+            conditions.add(Condition.anyOf(Attribute.PROJECT, projects));
+        }
+        return Condition.and(conditions.toArray(new Condition[0]));
     }
 
     /**
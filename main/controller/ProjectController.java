@@ -1,14 +1,28 @@
 package main.controller;
 
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import main.entity.Application;
 import main.entity.Enum.FlatType;
 import main.entity.Enum.MaritalStatus;
+import main.entity.Event.ProjectCreated;
+import main.entity.Event.ProjectDeleted;
+import main.entity.Event.ProjectEdited;
+import main.entity.Event.UnitsReleased;
+import main.entity.Event.UnitsReserved;
+import main.entity.FlatBooking;
 import main.entity.Project;
+import main.entity.ProjectCatalogue;
+import main.entity.ProjectSnapshot;
+import main.entity.Registration;
 import main.entity.User.Applicant;
 import main.entity.User.HDBManager;
 import main.entity.User.HDBOfficer;
-import main.repository.ProjectRepository;
+import main.repository.Repositories;
+import main.utility.EventBus;
 import main.utility.Filter;
+import main.utility.IntervalTree;
 
 /**
  * Controller class to manage operations related to HDB projects.
@@ -19,13 +33,29 @@ public class ProjectController {
     /** List of all projects in the system. */
     public static List<Project> projects = new ArrayList<>();
 
+    /** Immutable snapshot of all projects for readers, replaced after every change to a project. */
+    private static final AtomicReference<ProjectCatalogue> catalogue = new AtomicReference<>(ProjectCatalogue.EMPTY);
+
+    /** Application windows (opening to closing date) of all projects. */
+    private static final IntervalTree<LocalDate, Project> applicationWindows = new IntervalTree<>();
+
+    /** Application windows of the projects of each manager. */
+    private static final Map<HDBManager, IntervalTree<LocalDate, Project>> managerWindows = new HashMap<>();
+
+    /** Projects ordered by application closing date. */
+    private static final TreeMap<LocalDate, Set<Project>> projectsByClosingDate = new TreeMap<>();
+
+    /** Closing date and manager each project was last indexed under, used to unindex it. */
+    private static final Map<Project, LocalDate> indexedClosingDates = new HashMap<>();
+    private static final Map<Project, HDBManager> indexedManagers = new HashMap<>();
+
     /**
      * Creates a new project and adds it to the list of projects.
      *
      * @return the created Project object
      */
     public static Project createProject(String projectName, String neighborhood, List<FlatType> flatTypes, 
-                                        List<Integer> units, Date openingDate, Date closingDate, 
+                                        List<Integer> units, LocalDate openingDate, LocalDate closingDate, 
                                         List<Integer> sellingPrice,
                                         HDBManager manager, int officerSlot, List<HDBOfficer> officers, boolean isVisible) {
         try {
@@ -33,11 +63,15 @@ public class ProjectController {
                 officerSlot == 0 || openingDate == null || closingDate == null || manager == null || officers == null || sellingPrice == null) {
                 throw new IllegalArgumentException("Invalid input: Fields cannot be null");
             }
+            if (isProjectNameTaken(projectName, null)) {
+                throw new IllegalArgumentException("A project named " + projectName + " already exists");
+            }
             Project newProject = new Project(projectName, neighborhood, flatTypes, units, 
                                              openingDate, closingDate, sellingPrice, manager, officerSlot, officers, isVisible);
-            projects.add(newProject);
-            manager.getCreatedProjects().add(newProject);
-            ProjectRepository.saveProjectsToCSV();
+            addProject(newProject);
+            publishCatalogue(null);
+            Repositories.projects().saveProjects(projects);
+            EventBus.publish(new ProjectCreated(newProject));
             return newProject;
         } catch (Exception e) {
             System.err.println("Error creating project: " + e.getMessage());
@@ -45,27 +79,128 @@ public class ProjectController {
         return null;
     }
 
+    /**
+     * Creates several projects at once and saves the project file a single time.
+     * Projects with missing fields or a negative officer slot count are skipped.
+     *
+     * @param newProjects the projects to add
+     * @return the projects that were added
+     */
+    public static List<Project> createProjects(List<Project> newProjects) {
+        List<Project> created = addProjects(newProjects);
+        if (!created.isEmpty()) {
+            Repositories.projects().saveProjects(projects);
+        }
+        for (Project project : created) {
+            EventBus.publish(new ProjectCreated(project));
+        }
+        return created;
+    }
+
+    /**
+     * Adds several projects (e.g. ones loaded from file) without saving the project file.
+     * Projects with missing fields or a negative officer slot count are skipped.
+     *
+     * @param newProjects the projects to add
+     * @return the projects that were added
+     */
+    public static List<Project> addProjects(List<Project> newProjects) {
+        List<Project> added = new ArrayList<>();
+        for (Project project : newProjects) {
+            if (project == null || project.getProjectName() == null || project.getNeighborhood() == null
+                || project.getFlatTypes() == null || project.getUnitsAvailable() == null || project.getSellingPrice() == null
+                || project.getApplicationOpeningDate() == null || project.getApplicationClosingDate() == null
+                || project.getManagerInCharge() == null || project.getAssignedOfficers() == null || project.getOfficerSlot() < 0) {
+                System.err.println("Error creating project: Invalid input: Fields cannot be null");
+                continue;
+            }
+            addProject(project);
+            added.add(project);
+        }
+        publishCatalogue(null);
+        return added;
+    }
+
+    /**
+     * Adds a project to the project list, the date indexes and its manager's created projects.
+     */
+    private static void addProject(Project project) {
+        projects.add(project);
+        indexProject(project);
+        project.getManagerInCharge().getCreatedProjects().add(project);
+    }
+
     /**
      * Edits the details of an existing project.
+     * Renaming a project moves its stored records and saves them again with the new name.
      */
     public static void editProject(Project project, String newName, String newNeighborhood, 
                                    List<FlatType> newFlatTypes, List<Integer> newUnits, List<Integer> newSellingPrice,
-                                   int newOfficerSlot, Date newOpeningDate, Date newClosingDate) {
+                                   int newOfficerSlot, LocalDate newOpeningDate, LocalDate newClosingDate) {
+        editProject(project, null, newName, newNeighborhood, newFlatTypes, newUnits, newSellingPrice,
+            newOfficerSlot, newOpeningDate, newClosingDate);
+    }
+
+    /**
+     * Edits the details of an existing project unless someone else edited it since its version was read,
+     * so that two managers editing the same project cannot silently overwrite each other's changes.
+     *
+     * @param expectedVersion the project's version when its details were shown to the manager
+     * @return true if the project was edited, false if it was changed in the meantime or could not be edited
+     */
+    public static boolean editProject(Project project, long expectedVersion, String newName, String newNeighborhood,
+                                      List<FlatType> newFlatTypes, List<Integer> newUnits, List<Integer> newSellingPrice,
+                                      int newOfficerSlot, LocalDate newOpeningDate, LocalDate newClosingDate) {
+        return editProject(project, Long.valueOf(expectedVersion), newName, newNeighborhood, newFlatTypes, newUnits,
+            newSellingPrice, newOfficerSlot, newOpeningDate, newClosingDate);
+    }
+
+    /**
+     * Edits a project, at the expected version only, or at any version if it is null.
+     */
+    private static boolean editProject(Project project, Long expectedVersion, String newName, String newNeighborhood,
+                                       List<FlatType> newFlatTypes, List<Integer> newUnits, List<Integer> newSellingPrice,
+                                       int newOfficerSlot, LocalDate newOpeningDate, LocalDate newClosingDate) {
         try {
             if (project == null || !projects.contains(project)) {
                 throw new NoSuchElementException("Project not found");
             }
-            project.setProjectName(newName);
-            project.setNeighborhood(newNeighborhood);
-            project.setFlatTypes(newFlatTypes);
-            project.setUnitsAvailable(newUnits);
-            project.setApplicationOpeningDate(newOpeningDate);
-            project.setApplicationClosingDate(newClosingDate);
-            project.setOfficerSlot(newOfficerSlot);
-            project.setSellingPrice(newSellingPrice);
-            ProjectRepository.saveProjectsToCSV();
+            if (isProjectNameTaken(newName, project)) {
+                throw new IllegalArgumentException("A project named " + newName + " already exists");
+            }
+            String[] oldName = new String[1];
+            Runnable update = () -> {
+                oldName[0] = project.getProjectName();
+                project.setProjectName(newName);
+                project.setNeighborhood(newNeighborhood);
+                project.setFlatTypes(newFlatTypes);
+                project.setUnitsAvailable(newUnits);
+                project.setApplicationOpeningDate(newOpeningDate);
+                project.setApplicationClosingDate(newClosingDate);
+                project.setOfficerSlot(newOfficerSlot);
+                project.setSellingPrice(newSellingPrice);
+            };
+            if (expectedVersion == null) {
+                project.update(update);
+            } else if (!project.updateIfVersion(expectedVersion, update)) {
+                return false;
+            }
+            indexProject(project);
+            RegistrationController.refreshProjectWindow(project);
+            publishCatalogue(project);
+            Repositories.projects().saveProjects(projects);
+            if (!oldName[0].equals(newName)) {
+                Repositories.projects().renameProjectRecords(oldName[0], project);
+                ApplicationController.saveApplications(project);
+                FlatBookingController.saveFlatBookings(project);
+                EnquiryController.saveEnquiries(project);
+                RegistrationController.saveRegistrations(project);
+            }
+            EventBus.publish(new ProjectEdited(project, oldName[0]));
+            return true;
         } catch (Exception e) {
             System.err.println("Error editing project: " + e.getMessage());
+            return false;
         }
     }
 
@@ -78,19 +213,68 @@ public class ProjectController {
                 throw new NoSuchElementException("Project not found");
             }
             projects.remove(project);
-            ProjectRepository.saveProjectsToCSV();
+            unindexProject(project);
+            publishCatalogue(null);
+            Repositories.projects().saveProjects(projects);
+            EventBus.publish(new ProjectDeleted(project));
         } catch (Exception e) {
             System.err.println("Error deleting project: " + e.getMessage());
         }
     }
 
+    /**
+     * Deletes a project together with every record that depends on it: applications, flat bookings,
+     * enquiries and officer registrations. Each kind of record is found through its per-project index,
+     * and cleared from the applicants and officers that refer to it. The records stored for the
+     * project are then dropped as a whole by the project repository.
+     *
+     * @param project the project to delete
+     */
+    public static void deleteProjectCascade(Project project) {
+        if (project == null || !projects.contains(project)) {
+            System.err.println("Error deleting project: Project not found");
+            return;
+        }
+        for (Application application : ApplicationController.deleteApplication(project)) {
+            Applicant applicant = application.getApplicant();
+            if (applicant.getApplication() == application) {
+                applicant.setApplication(null);
+            }
+        }
+        for (FlatBooking flatBooking : FlatBookingController.deleteFlatBookings(project)) {
+            Applicant applicant = flatBooking.getApplicant();
+            if (applicant.getFlatBooking() == flatBooking) {
+                applicant.setFlatBooking(null);
+            }
+        }
+        EnquiryController.deleteEnquiries(project);
+        for (Registration registration : RegistrationController.deleteRegistration(project)) {
+            HDBOfficer officer = registration.getOfficer();
+            if (officer.getRegistration() == registration) {
+                officer.setRegistration(null);
+            }
+        }
+        for (HDBOfficer officer : project.getAssignedOfficers()) {
+            if (officer.getAssignedProject() == project) {
+                officer.setAssignedProject(null);
+            }
+        }
+        project.getManagerInCharge().getCreatedProjects().remove(project);
+        Repositories.projects().deleteProjectRecords(project);
+        deleteProject(project);
+    }
+
     /**
      * Adds an officer to a project's assigned officers and updates the slot count.
      */
     public static void addAssignedOfficers(Project project, HDBOfficer officer){
-        project.getAssignedOfficers().add(officer);
-        project.setOfficerSlot(project.getOfficerSlot() - 1);
-        ProjectRepository.saveProjectsToCSV();
+        project.update(() -> {
+            project.getAssignedOfficers().add(officer);
+            project.setOfficerSlot(project.getOfficerSlot() - 1);
+        });
+        publishCatalogue(project);
+        Repositories.projects().saveProjects(projects);
+        EventBus.publish(new ProjectEdited(project, project.getProjectName()));
     }
     /**
      * Toggles the visibility of a project.
@@ -100,8 +284,10 @@ public class ProjectController {
             if (project == null || !projects.contains(project)) {
                 throw new NoSuchElementException("Project not found");
             }
-            project.setVisible(isVisible);
-            ProjectRepository.saveProjectsToCSV();
+            project.update(() -> project.setVisible(isVisible));
+            publishCatalogue(project);
+            Repositories.projects().saveProjects(projects);
+            EventBus.publish(new ProjectEdited(project, project.getProjectName()));
         } catch (Exception e) {
             System.err.println("Error toggling project visibility: " + e.getMessage());
         }
@@ -124,6 +310,19 @@ public class ProjectController {
         }
     }
 
+    /**
+     * Checks whether a project other than the given one already uses a name, case-insensitive.
+     * Project names must be unique because a project's stored records are kept under its name.
+     *
+     * @param projectName the name to check
+     * @param except      the project being renamed, or null for a new project
+     * @return true if another project has the name
+     */
+    public static boolean isProjectNameTaken(String projectName, Project except) {
+        Project existing = findProjectByName(projectName);
+        return existing != null && existing != except;
+    }
+
     /**
      * Finds a project by name, case-insensitive.
      */
@@ -154,26 +353,63 @@ public class ProjectController {
         return (index != -1) ? unitsAvailable.get(index) : 0;
     }
 
+    /**
+     * Returns the current project catalogue: an immutable snapshot of every project that
+     * stays consistent while managers keep editing projects.
+     *
+     * @return the latest published catalogue
+     */
+    public static ProjectCatalogue getCatalogue() {
+        return catalogue.get();
+    }
+
+    /**
+     * Publishes a new catalogue version from the project list. Snapshots of unchanged projects are reused,
+     * so only the changed project, if any, and newly added projects are copied.
+     *
+     * @param changed the project whose details changed, or null if only the list itself changed
+     */
+    static synchronized void publishCatalogue(Project changed) {
+        ProjectCatalogue previous = catalogue.get();
+        List<ProjectSnapshot> snapshots = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            ProjectSnapshot snapshot = project == changed ? null : previous.find(project);
+            snapshots.add(snapshot != null ? snapshot : new ProjectSnapshot(project));
+        }
+        catalogue.set(new ProjectCatalogue(previous.getVersion() + 1, snapshots));
+    }
+
     /**
      * Returns a filtered list of available projects based on applicant eligibility and optional filters.
      */
-    public static List<Project> getAvailableProjects(Applicant applicant, FlatType flatType, String location){
-        List<Project> filteredProjects = new ArrayList<>();
+    public static List<ProjectSnapshot> getAvailableProjects(Applicant applicant, FlatType flatType, String location){
+        return getAvailableProjects(applicant, flatType, location, null);
+    }
+
+    /**
+     * Returns a filtered list of available projects based on applicant eligibility and optional filters,
+     * optionally restricted to projects open for application on a given date.
+     * The projects are read from one catalogue snapshot without locking.
+     */
+    public static List<ProjectSnapshot> getAvailableProjects(Applicant applicant, FlatType flatType, String location, LocalDate openOn){
+        List<ProjectSnapshot> filteredProjects = new ArrayList<>();
+        List<ProjectSnapshot> snapshots = catalogue.get().getProjects();
         if(applicant.getMaritalStatus().equals(MaritalStatus.SINGLE) && applicant.getAge() >= 35){
-            for(Project project: projects){
+            for(ProjectSnapshot project: snapshots){
                 if(project.isVisible() && project.getFlatTypes().contains(FlatType.TWO_ROOM)){
                     filteredProjects.add(project);
                 }
             }
         } else {
-            for(Project project: projects){
+            for(ProjectSnapshot project: snapshots){
                 if(project.isVisible()){
                     filteredProjects.add(project);
                 }
             }
         }
         Filter filter = new Filter(location, flatType);
-        return filter.applyFilters(filteredProjects);
+        filter.setOpenOn(openOn);
+        return filter.applySnapshotFilters(filteredProjects);
     }
 
     /**
@@ -203,10 +439,132 @@ public class ProjectController {
         return finalProjects;
     }
 
+    /**
+     * Returns the projects whose application period includes the given date,
+     * ordered by opening date.
+     *
+     * @param date the date to check
+     * @return the projects open for application on that date
+     */
+    public static List<Project> getProjectsOpenOn(LocalDate date) {
+        return applicationWindows.findContaining(date);
+    }
+
+    /**
+     * Returns the projects whose application period overlaps the given window,
+     * optionally restricted to one manager, ordered by opening date.
+     *
+     * @param manager the manager in charge, or null for all managers
+     * @param start   the start of the window (inclusive)
+     * @param end     the end of the window (inclusive)
+     * @return the overlapping projects
+     */
+    public static List<Project> getProjectsOverlapping(HDBManager manager, LocalDate start, LocalDate end) {
+        if (manager == null) {
+            return applicationWindows.findOverlapping(start, end);
+        }
+        IntervalTree<LocalDate, Project> windows = managerWindows.get(manager);
+        return windows == null ? new ArrayList<>() : windows.findOverlapping(start, end);
+    }
+
+    /**
+     * Checks whether any project of the manager has an application period overlapping the given window.
+     *
+     * @param manager the manager in charge
+     * @param start   the start of the window (inclusive)
+     * @param end     the end of the window (inclusive)
+     * @return true if the manager is handling a project during the window
+     */
+    public static boolean isManagerHandlingProjectDuring(HDBManager manager, LocalDate start, LocalDate end) {
+        IntervalTree<LocalDate, Project> windows = managerWindows.get(manager);
+        return windows != null && windows.overlapsAny(start, end);
+    }
+
+    /**
+     * Returns the projects whose application closes between now and the given number of days from now,
+     * ordered by closing date.
+     *
+     * @param days the number of days to look ahead
+     * @return the projects closing within the next {@code days} days
+     */
+    public static List<Project> getProjectsClosingWithin(int days) {
+        LocalDate today = LocalDate.now();
+        List<Project> closing = new ArrayList<>();
+        for (Set<Project> sameDay : projectsByClosingDate.subMap(today, true, today.plusDays(days), true).values()) {
+            closing.addAll(sameDay);
+        }
+        return closing;
+    }
+
+    /**
+     * Returns the projects whose application closed before the given date, ordered by closing date.
+     *
+     * @param date the cut-off date (exclusive)
+     * @return the projects already closed at that date
+     */
+    public static List<Project> getProjectsClosedBefore(LocalDate date) {
+        List<Project> closed = new ArrayList<>();
+        for (Set<Project> sameDay : projectsByClosingDate.headMap(date, false).values()) {
+            closed.addAll(sameDay);
+        }
+        return closed;
+    }
+
+    /**
+     * Adds a project to the date indexes, replacing any previous entry for it.
+     */
+    private static void indexProject(Project project) {
+        unindexProject(project);
+        LocalDate opening = project.getApplicationOpeningDate();
+        LocalDate closing = project.getApplicationClosingDate();
+        if (opening == null || closing == null || closing.isBefore(opening)) {
+            return;
+        }
+        applicationWindows.put(project, opening, closing);
+        managerWindows.computeIfAbsent(project.getManagerInCharge(), m -> new IntervalTree<>()).put(project, opening, closing);
+        projectsByClosingDate.computeIfAbsent(closing, d -> new LinkedHashSet<>()).add(project);
+        indexedClosingDates.put(project, closing);
+        indexedManagers.put(project, project.getManagerInCharge());
+        ProjectLifecycleScheduler.schedule(project);
+    }
+
+    /**
+     * Removes a project from the date indexes.
+     */
+    private static void unindexProject(Project project) {
+        applicationWindows.remove(project);
+        HDBManager manager = indexedManagers.remove(project);
+        if (manager != null && managerWindows.get(manager) != null) {
+            managerWindows.get(manager).remove(project);
+        }
+        LocalDate closing = indexedClosingDates.remove(project);
+        if (closing != null) {
+            Set<Project> sameDay = projectsByClosingDate.get(closing);
+            sameDay.remove(project);
+            if (sameDay.isEmpty()) {
+                projectsByClosingDate.remove(closing);
+            }
+            ProjectLifecycleScheduler.unschedule(project);
+        }
+    }
+
     /**
      * Updates the number of available units when booking or cancelling.
      */
     public static void updateUnitRemaining(Project project, FlatType flatType, boolean increase){
+        project.update(() -> changeUnitRemaining(project, flatType, increase));
+        publishCatalogue(project);
+        Repositories.projects().saveProjects(projects);
+        List<Integer> units = project.getUnitsAvailable();
+        int unitsRemaining = flatType.equals(FlatType.TWO_ROOM) ? units.get(0) : units.get(units.size() - 1);
+        EventBus.publish(increase ? new UnitsReleased(project, flatType, unitsRemaining)
+            : new UnitsReserved(project, flatType, unitsRemaining));
+    }
+
+    /**
+     * Adds or takes one unit of a flat type to or from the project's available units.
+     */
+    private static void changeUnitRemaining(Project project, FlatType flatType, boolean increase){
         if(!increase){
             if (flatType.equals(FlatType.TWO_ROOM)){
                 List<Integer> currentUnit = project.getUnitsAvailable();
@@ -240,7 +598,6 @@ public class ProjectController {
                 }
             }
         }
-        ProjectRepository.saveProjectsToCSV();
     }
 
 }
@@ -0,0 +1,176 @@
+package main.controller;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import main.entity.Enquiry;
+import main.entity.Enum.EnquiryStatus;
+import main.entity.Event.EnquiryStatusChanged;
+import main.entity.Event.ProjectEdited;
+import main.entity.Project;
+import main.entity.User.HDBOfficer;
+import main.repository.Repositories;
+import main.utility.EventBus;
+
+/**
+ * Closes projects once their application period ends.
+ * Upcoming closings are kept in a min-heap ordered by closing date, so finding the due ones only looks
+ * at the top of the heap and no periodic scan over officers or projects is needed.
+ * When a project closes, its officers are released, it is hidden from applicants
+ * and its pending enquiries are closed.
+ * <p>
+ * The controllers' lists and the entities are not thread-safe, so closing is done lazily on the UI thread:
+ * {@link #runDueClosings()} is called at start-up and each time a menu choice is made, before the choice is
+ * carried out. A project therefore closes at the first action after its closing date rather than at midnight,
+ * which no user can tell apart since nothing is shown in between.
+ */
+public class ProjectLifecycleScheduler {
+
+    /**
+     * A heap entry recording the closing date a project was scheduled with.
+     * An entry is stale once its project was rescheduled or deleted, i.e. it is no longer the project's entry
+     * in {@link #scheduled}.
+     */
+    private static class ScheduledClosing implements Comparable<ScheduledClosing> {
+        private final Project project;
+        private final LocalDate closingDate;
+
+        private ScheduledClosing(Project project, LocalDate closingDate) {
+            this.project = project;
+            this.closingDate = closingDate;
+        }
+
+        @Override
+        public int compareTo(ScheduledClosing other) {
+            return closingDate.compareTo(other.closingDate);
+        }
+    }
+
+    /** Upcoming closings, earliest first. */
+    private static final PriorityQueue<ScheduledClosing> closings = new PriorityQueue<>();
+
+    /** The current heap entry of each scheduled project; the heap holds at most as many stale entries again. */
+    private static final Map<Project, ScheduledClosing> scheduled = new HashMap<>();
+
+    private ProjectLifecycleScheduler() {}
+
+    /**
+     * Schedules a project to be closed after its closing date, e.g. when it is created or its dates are edited.
+     *
+     * @param project The project to schedule.
+     */
+    static void schedule(Project project) {
+        if (project == null || project.getApplicationClosingDate() == null) {
+            return;
+        }
+        ScheduledClosing closing = new ScheduledClosing(project, project.getApplicationClosingDate());
+        scheduled.put(project, closing);
+        closings.add(closing);
+    }
+
+    /**
+     * Cancels a project's closing, e.g. when it is deleted or about to be rescheduled with new dates.
+     * Its heap entry is left in place as stale; once stale entries outnumber current ones the heap is
+     * rebuilt without them, so the cost of the rebuild is spread over the cancellations that caused it.
+     *
+     * @param project The project whose closing to cancel.
+     */
+    static void unschedule(Project project) {
+        if (scheduled.remove(project) != null && closings.size() > 2 * scheduled.size()) {
+            closings.removeIf(closing -> !isCurrent(closing));
+        }
+    }
+
+    /**
+     * Closes every project whose closing date is before today. Must be called from the UI thread,
+     * which owns the controllers' state.
+     */
+    public static void runDueClosings() {
+        LocalDate today = LocalDate.now();
+        if (closings.isEmpty() || !closings.peek().closingDate.isBefore(today)) {
+            return;
+        }
+        List<Project> due = new ArrayList<>();
+        while (!closings.isEmpty() && closings.peek().closingDate.isBefore(today)) {
+            ScheduledClosing closing = closings.poll();
+            if (isCurrent(closing)) {
+                scheduled.remove(closing.project);
+                due.add(closing.project);
+            }
+        }
+        closeAll(due);
+    }
+
+    /**
+     * Closes the given projects, then saves the projects and the enquiries of every project that changed.
+     */
+    private static void closeAll(List<Project> due) {
+        List<Project> changed = new ArrayList<>();
+        try {
+            for (Project project : due) {
+                if (closeProject(project)) {
+                    changed.add(project);
+                }
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+            Repositories.projects().saveProjects(ProjectController.projects);
+            for (Project project : changed) {
+                EnquiryController.saveEnquiries(project);
+            }
+        } catch (Exception e) {
+            System.err.println("Error closing projects: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Releases the project's officers, hides the project and closes its pending enquiries.
+     *
+     * @return true if anything changed, false if the project was already closed
+     */
+    private static boolean closeProject(Project project) {
+        boolean changed = releaseOfficers(project);
+        if (project.isVisible()) {
+            project.update(() -> project.setVisible(false));
+            ProjectController.publishCatalogue(project);
+            EventBus.publish(new ProjectEdited(project, project.getProjectName()));
+            changed = true;
+        }
+        for (Enquiry enquiry : EnquiryController.getEnquiriesByProject(project)) {
+            if (enquiry.transitionStatus(EnquiryStatus.PENDING, EnquiryStatus.CLOSED)) {
+                EventBus.publish(new EnquiryStatusChanged(enquiry, EnquiryStatus.PENDING, EnquiryStatus.CLOSED));
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Clears the assignment and registration of every officer still handling the project.
+     *
+     * @return true if any officer was released
+     */
+    private static boolean releaseOfficers(Project project) {
+        boolean released = false;
+        for (HDBOfficer officer : project.getAssignedOfficers()) {
+            if (officer.getAssignedProject() == project) {
+                officer.setAssignedProject(null);
+                officer.setRegistration(null);
+                released = true;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Checks whether a heap entry is still its project's current entry, i.e. the project was not
+     * deleted or rescheduled since the entry was added.
+     */
+    private static boolean isCurrent(ScheduledClosing closing) {
+        return scheduled.get(closing.project) == closing;
+    }
+}
@@ -2,22 +2,47 @@ package main.controller;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import main.entity.Enum.ApplicationStatus;
 import main.entity.Enum.RegistrationStatus;
+import main.entity.Event.RegistrationStatusChanged;
+import main.entity.Event.RegistrationSubmitted;
 import main.entity.Project;
 import main.entity.Registration;
 import main.entity.User.HDBOfficer;
-import main.repository.RegistrationRepository;
+import main.repository.Repositories;
+import main.utility.EventBus;
+import main.utility.IntervalTree;
 
 /**
  * Controller class to manage registration operations for HDB officers.
+ * Registrations are indexed by ID, project, project and status, and officer,
+ * and every officer's live (pending or approved) registrations are kept in an
+ * interval tree of project application windows for fast conflict checks.
  */
 public class RegistrationController {
-    
-    /** List to store all registration records. */
-    private static List<Registration> registrations = new ArrayList<>();
+
+    /** All registration records keyed by registration ID, in insertion order. */
+    private static final Map<String, Registration> registrationsById = new LinkedHashMap<>();
+
+    /** Registrations grouped by project. */
+    private static final Map<Project, Set<Registration>> registrationsByProject = new HashMap<>();
+
+    /** Registrations grouped by project and then by status. */
+    private static final Map<Project, Map<RegistrationStatus, Set<Registration>>> registrationsByProjectStatus = new HashMap<>();
+
+    /** Registrations grouped by officer. */
+    private static final Map<HDBOfficer, Set<Registration>> registrationsByOfficer = new HashMap<>();
+
+    /** Application windows of each officer's pending and approved registrations. */
+    private static final Map<HDBOfficer, IntervalTree<LocalDate, Registration>> officerWindows = new HashMap<>();
 
     /** Counter to generate unique registration IDs. */
     public static int registrationCounter = 1;
@@ -37,9 +62,32 @@ public class RegistrationController {
         }
         String registrationId = generateRegistrationId(project);
         Registration registration = new Registration(registrationId, officer, project, RegistrationStatus.PENDING, LocalDate.now());
-        registrations.add(registration);
+        addRegistration(registration);
         officer.setRegistration(registration);
-        RegistrationRepository.appendRegistrationToCSV(registration);
+        // Wait until the record is on disk
+        if (!Repositories.awaitWrite(Repositories.registrations().appendRegistration(registration))) {
+            System.out.println("The registration could not be saved to disk.");
+        }
+        EventBus.publish(new RegistrationSubmitted(registration));
+    }
+
+    /**
+     * Adds an existing registration (e.g. one loaded from file) to the store and its indexes.
+     *
+     * @param registration The registration to add.
+     */
+    public static void addRegistration(Registration registration) {
+        Registration previous = registrationsById.put(registration.getRegistrationId(), registration);
+        if (previous != null) {
+            unindex(previous);
+        }
+        registrationsByProject.computeIfAbsent(registration.getProject(), p -> new LinkedHashSet<>()).add(registration);
+        registrationsByProjectStatus
+            .computeIfAbsent(registration.getProject(), p -> new EnumMap<>(RegistrationStatus.class))
+            .computeIfAbsent(registration.getRegistrationStatus(), s -> new LinkedHashSet<>())
+            .add(registration);
+        registrationsByOfficer.computeIfAbsent(registration.getOfficer(), o -> new LinkedHashSet<>()).add(registration);
+        indexWindow(registration);
     }
 
     /**
@@ -47,15 +95,60 @@ public class RegistrationController {
      *
      * @param registration The registration to be updated.
      * @param newStatus The new status to be set.
-     * @throws IllegalArgumentException If the update is invalid.
+     * @throws IllegalArgumentException If the registration's status does not allow the update,
+     *         e.g. because another manager has just decided on it.
      */
     public static void updateRegistrationStatus(Registration registration, RegistrationStatus newStatus) throws IllegalArgumentException {
-        registration.setRegistrationStatus(newStatus);
-        RegistrationRepository.writeAllRegistration(registrations);
+        RegistrationStatus previousStatus = registration.getRegistrationStatus();
+        if (!registration.transitionStatus(previousStatus, newStatus)) {
+            throw new IllegalArgumentException("Registration " + registration.getRegistrationId() + " cannot change from "
+                + registration.getRegistrationStatus() + " to " + newStatus);
+        }
+        statusUpdated(registration, previousStatus, newStatus);
+    }
+
+    /**
+     * Updates the status of a registration unless it has changed since it was shown to the manager,
+     * e.g. because another manager already approved or rejected it.
+     *
+     * @param registration The registration to be updated.
+     * @param newStatus The new status to be set.
+     * @param expectedVersion The version of the registration when it was shown.
+     * @return true if the status was updated, false if the registration was changed in the meantime
+     *         or its status does not allow the update.
+     */
+    public static boolean updateRegistrationStatus(Registration registration, RegistrationStatus newStatus, long expectedVersion) {
+        RegistrationStatus previousStatus = registration.getRegistrationStatus();
+        if (!registration.transitionStatusIfVersion(expectedVersion, newStatus)) {
+            return false;
+        }
+        statusUpdated(registration, previousStatus, newStatus);
+        return true;
+    }
+
+    /**
+     * Moves a registration whose status changed to its new place in the indexes, saves it and publishes the change.
+     */
+    private static void statusUpdated(Registration registration, RegistrationStatus previousStatus, RegistrationStatus newStatus) {
+        Map<RegistrationStatus, Set<Registration>> byStatus = registrationsByProjectStatus.get(registration.getProject());
+        if (byStatus != null && byStatus.get(previousStatus) != null) {
+            byStatus.get(previousStatus).remove(registration);
+        }
+        if (registrationsById.containsKey(registration.getRegistrationId())) {
+            registrationsByProjectStatus
+                .computeIfAbsent(registration.getProject(), p -> new EnumMap<>(RegistrationStatus.class))
+                .computeIfAbsent(newStatus, s -> new LinkedHashSet<>())
+                .add(registration);
+            indexWindow(registration);
+        }
+        saveRegistrations(registration.getProject());
+        EventBus.publish(new RegistrationStatusChanged(registration, previousStatus, newStatus));
     }
 
     /**
      * Checks whether a given officer is eligible to register for a project.
+     * The project's application window must not overlap the window of the officer's
+     * assigned project or of any of the officer's pending or approved registrations.
      *
      * @param officer The officer attempting to register.
      * @param project The project being registered for.
@@ -68,10 +161,39 @@ public class RegistrationController {
         if(officer.getRegistration() != null && !officer.getRegistration().getRegistrationStatus().equals(RegistrationStatus.REJECTED)){
             return false;
         }
-        if (officer.getAssignedProject() != null && officer.getAssignedProject().getApplicationClosingDate().after(project.getApplicationOpeningDate())){
-            return false;
+        return !hasWindowConflict(officer, project);
+    }
+
+    /**
+     * Checks whether a project's application window overlaps the officer's assigned project
+     * or any of the officer's pending or approved registrations.
+     *
+     * @param officer The officer to check.
+     * @param project The project whose application window is checked.
+     * @return true if there is an overlap, false otherwise.
+     */
+    public static boolean hasWindowConflict(HDBOfficer officer, Project project) {
+        LocalDate opening = project.getApplicationOpeningDate();
+        LocalDate closing = project.getApplicationClosingDate();
+        Project assigned = officer.getAssignedProject();
+        if (assigned != null && !assigned.getApplicationClosingDate().isBefore(opening)
+                && !closing.isBefore(assigned.getApplicationOpeningDate())) {
+            return true;
+        }
+        IntervalTree<LocalDate, Registration> windows = officerWindows.get(officer);
+        return windows != null && windows.overlapsAny(opening, closing);
+    }
+
+    /**
+     * Re-indexes the application window of every registration for a project,
+     * e.g. after the project's opening or closing date has been edited.
+     *
+     * @param project The project whose dates changed.
+     */
+    public static void refreshProjectWindow(Project project) {
+        for (Registration reg : registrationsByProject.getOrDefault(project, Collections.emptySet())) {
+            indexWindow(reg);
         }
-        return true;
     }
 
     /**
@@ -91,13 +213,11 @@ public class RegistrationController {
      * @return List of pending registrations.
      */
     public static List<Registration> getPendingRegistrationForProject(Project project){
-        List<Registration> filteRegistrations = new ArrayList<>();
-        for(Registration reg: registrations){
-            if(reg.getProject().equals(project) && reg.getRegistrationStatus().equals(RegistrationStatus.PENDING)){
-                filteRegistrations.add(reg);
-            }
+        Map<RegistrationStatus, Set<Registration>> byStatus = registrationsByProjectStatus.get(project);
+        if (byStatus == null || byStatus.get(RegistrationStatus.PENDING) == null) {
+            return new ArrayList<>();
         }
-        return filteRegistrations;
+        return new ArrayList<>(byStatus.get(RegistrationStatus.PENDING));
     }
 
     /**
@@ -107,13 +227,17 @@ public class RegistrationController {
      * @return List of registrations.
      */
     public static List<Registration> getRegistrationForProject(Project project){
-        List<Registration> filteRegistrations = new ArrayList<>();
-        for(Registration reg: registrations){
-            if(reg.getProject().equals(project)){
-                filteRegistrations.add(reg);
-            }
-        }
-        return filteRegistrations;
+        return new ArrayList<>(registrationsByProject.getOrDefault(project, Collections.emptySet()));
+    }
+
+    /**
+     * Retrieves all registrations submitted by a specific officer.
+     *
+     * @param officer The officer to filter by.
+     * @return List of registrations.
+     */
+    public static List<Registration> getRegistrationsForOfficer(HDBOfficer officer){
+        return new ArrayList<>(registrationsByOfficer.getOrDefault(officer, Collections.emptySet()));
     }
 
     /**
@@ -136,36 +260,90 @@ public class RegistrationController {
      * @return The matching Registration object, or null if not found.
      */
     public static Registration getRegistrationByID(String registrationID){
-        for(Registration reg: registrations){
-            if(reg.getRegistrationId().equals(registrationID)){
-                return reg;
-            }
-        }
-        return null;
+        return registrationsById.get(registrationID);
     }
 
     /**
-     * Returns all registrations currently stored.
+     * Returns all registrations currently stored, in the order they were added.
+     * The returned list is a copy; use {@link #addRegistration(Registration)} to add records.
      *
      * @return List of all registrations.
      */
     public static List<Registration> getAllRegistrations(){
-        return registrations;
+        return new ArrayList<>(registrationsById.values());
+    }
+
+    /**
+     * Saves the registrations of one project to that project's file.
+     *
+     * @param project The project whose registrations are saved.
+     */
+    public static void saveRegistrations(Project project) {
+        Repositories.registrations().saveRegistrationsForProject(project, getRegistrationForProject(project));
     }
 
     /**
      * Deletes all registrations associated with a given project.
+     * Nothing is saved, since the project's files are dropped together with the project.
      *
      * @param project The project whose registrations should be removed.
+     * @return The removed registrations.
+     */
+    public static List<Registration> deleteRegistration(Project project) {
+        Set<Registration> projectRegistrations = registrationsByProject.get(project);
+        List<Registration> removed = new ArrayList<>();
+        if (projectRegistrations != null) {
+            removed.addAll(projectRegistrations);
+            for (Registration reg : removed) {
+                registrationsById.remove(reg.getRegistrationId());
+                unindex(reg);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes a registration from every secondary index.
      */
-    public static void deleteRegistration(Project project) {
-        Iterator<Registration> iterator = registrations.iterator();
-        while (iterator.hasNext()) {
-            Registration reg = iterator.next();
-            if (reg.getProject().equals(project)) {
-                iterator.remove();
+    private static void unindex(Registration registration) {
+        Set<Registration> byProject = registrationsByProject.get(registration.getProject());
+        if (byProject != null) {
+            byProject.remove(registration);
+            if (byProject.isEmpty()) {
+                registrationsByProject.remove(registration.getProject());
+                registrationsByProjectStatus.remove(registration.getProject());
             }
         }
-        RegistrationRepository.writeAllRegistration(registrations);
+        Map<RegistrationStatus, Set<Registration>> byStatus = registrationsByProjectStatus.get(registration.getProject());
+        if (byStatus != null && byStatus.get(registration.getRegistrationStatus()) != null) {
+            byStatus.get(registration.getRegistrationStatus()).remove(registration);
+        }
+        Set<Registration> byOfficer = registrationsByOfficer.get(registration.getOfficer());
+        if (byOfficer != null) {
+            byOfficer.remove(registration);
+            if (byOfficer.isEmpty()) {
+                registrationsByOfficer.remove(registration.getOfficer());
+            }
+        }
+        IntervalTree<LocalDate, Registration> windows = officerWindows.get(registration.getOfficer());
+        if (windows != null) {
+            windows.remove(registration);
+        }
+    }
+
+    /**
+     * Stores the application window of a pending or approved registration in its officer's
+     * interval tree, or drops it if the registration was rejected.
+     */
+    private static void indexWindow(Registration registration) {
+        IntervalTree<LocalDate, Registration> windows = officerWindows.computeIfAbsent(registration.getOfficer(), o -> new IntervalTree<>());
+        Project project = registration.getProject();
+        if (registration.getRegistrationStatus() == RegistrationStatus.REJECTED
+                || project.getApplicationOpeningDate() == null || project.getApplicationClosingDate() == null
+                || project.getApplicationClosingDate().isBefore(project.getApplicationOpeningDate())) {
+            windows.remove(registration);
+            return;
+        }
+        windows.put(registration, project.getApplicationOpeningDate(), project.getApplicationClosingDate());
     }
 }
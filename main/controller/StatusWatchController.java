@@ -0,0 +1,104 @@
+package main.controller;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+import main.entity.Application;
+import main.entity.Enquiry;
+import main.entity.Enum.ApplicationStatus;
+import main.entity.Event.ApplicationStatusChanged;
+import main.entity.Event.EnquiryReplied;
+import main.entity.Event.FlatBookingStatusChanged;
+import main.entity.FlatBooking;
+import main.utility.EventBus;
+
+/**
+ * Pushes status changes to the sessions of the applicants they concern.
+ * A session watches an NRIC with a listener; whenever a manager or officer changes the status of that
+ * applicant's application or flat booking, or replies to one of their enquiries, a short message is
+ * passed to every listener watching the NRIC. Messages are delivered on the event dispatcher thread,
+ * so listeners should only hand them over to their session, e.g. through a concurrent queue.
+ */
+public class StatusWatchController {
+
+    /** Listeners of the active sessions, by applicant NRIC. */
+    private static final Map<String, Set<Consumer<String>>> watchers = new ConcurrentHashMap<>();
+
+    private static boolean subscribed = false;
+
+    private StatusWatchController() {}
+
+    /**
+     * Starts passing status changes of an applicant to a listener.
+     *
+     * @param userId   the applicant's NRIC
+     * @param listener receives one message per change
+     */
+    public static void watch(String userId, Consumer<String> listener) {
+        subscribe();
+        watchers.compute(userId, (id, listeners) -> {
+            if (listeners == null) {
+                listeners = new CopyOnWriteArraySet<>();
+            }
+            listeners.add(listener);
+            return listeners;
+        });
+    }
+
+    /**
+     * Stops passing status changes to a listener, e.g. when its session logs out.
+     *
+     * @param userId   the applicant's NRIC
+     * @param listener the listener passed to {@link #watch(String, Consumer)}
+     */
+    public static void unwatch(String userId, Consumer<String> listener) {
+        watchers.computeIfPresent(userId, (id, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    private static synchronized void subscribe() {
+        if (subscribed) {
+            return;
+        }
+        EventBus.subscribeAsync(ApplicationStatusChanged.class, StatusWatchController::onApplicationStatusChanged);
+        EventBus.subscribeAsync(FlatBookingStatusChanged.class, StatusWatchController::onFlatBookingStatusChanged);
+        EventBus.subscribeAsync(EnquiryReplied.class, StatusWatchController::onEnquiryReplied);
+        subscribed = true;
+    }
+
+    private static void onApplicationStatusChanged(ApplicationStatusChanged event) {
+        // A withdrawal request is made by the applicant themselves
+        if (event.getNewStatus() == ApplicationStatus.PENDING_WITHDRAWN) {
+            return;
+        }
+        Application application = event.getApplication();
+        push(application.getApplicant().getUserId(), "Your application " + application.getApplicationId()
+            + " for " + application.getProject().getProjectName() + " is now " + event.getNewStatus() + ".");
+    }
+
+    private static void onFlatBookingStatusChanged(FlatBookingStatusChanged event) {
+        FlatBooking flatBooking = event.getFlatBooking();
+        push(flatBooking.getApplicant().getUserId(), "Your flat booking " + flatBooking.getFlatId()
+            + " for " + flatBooking.getProject().getProjectName() + " is now " + event.getNewStatus() + ".");
+    }
+
+    private static void onEnquiryReplied(EnquiryReplied event) {
+        Enquiry enquiry = event.getEnquiry();
+        push(enquiry.getApplicant().getUserId(), "Your enquiry " + enquiry.getEnquiryID()
+            + " about " + enquiry.getProject().getProjectName() + " has been answered: " + enquiry.getEquiryReply());
+    }
+
+    private static void push(String userId, String message) {
+        Set<Consumer<String>> listeners = watchers.get(userId);
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<String> listener : listeners) {
+            listener.accept(message);
+        }
+    }
+}
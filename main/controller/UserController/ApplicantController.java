@@ -8,17 +8,41 @@ import main.entity.Enum.Role;
 import main.entity.FlatBooking;
 import main.entity.Project;
 import main.entity.User.*;
-import main.repository.ApplicantRepository;
+import main.repository.Repositories;
 
 /**
  * The {@code ApplicantController} class manages the logic related to applicants,
  * such as registration, deletion, password updates, and cleanup of applications/bookings.
+ * <p>
+ * Applicants are kept in a list on the heap unless {@link #useOffHeapTable()} is called before loading,
+ * in which case they are kept in an {@link ApplicantTable} outside the heap and the list becomes a view of it.
  */
 public class ApplicantController {
     
     /** Internal list to store all applicants. */
     private static List<Applicant> applicants = new ArrayList<>();
 
+    /** Applicants keyed by user ID (NRIC) for constant-time lookup. */
+    private static Map<String, Applicant> applicantsById = new HashMap<>();
+
+    /** The off-heap applicant table, or null when applicants are kept in {@link #applicants}. */
+    private static ApplicantTable table = null;
+
+    /**
+     * Keeps applicants in an off-heap {@link ApplicantTable} instead of a list, so that the heap does not grow
+     * with the number of applicants. Off-heap applicants are not added to {@link UserController#getListUser()}.
+     *
+     * @throws IllegalStateException if applicants have already been loaded
+     */
+    public static void useOffHeapTable() {
+        if (!applicants.isEmpty()) {
+            throw new IllegalStateException("Applicants have already been loaded.");
+        }
+        table = new ApplicantTable();
+        applicants = table.asList();
+        applicantsById = null;
+    }
+
     /**
      * Retrieves an applicant by their user ID.
      *
@@ -26,12 +50,7 @@ public class ApplicantController {
      * @return The {@code Applicant} object if found; otherwise, {@code null}.
      */
     public static Applicant getUserById(String userId) {
-        for (Applicant applicant : applicants) {
-            if (applicant.getUserId().equals(userId)) {
-                return applicant;
-            }
-        }
-        return null;
+        return table != null ? table.get(userId) : applicantsById.get(userId);
     }
 
     /**
@@ -52,15 +71,55 @@ public class ApplicantController {
      * @param role           The role of the user (can be null or APPLICANT).
      * @param maritalStatus  The marital status of the applicant.
      * @param age            The age of the applicant.
+     * @throws IllegalArgumentException if the off-heap table is used and a field does not fit in it
      */
     public static void addApplicant(String userId, String password, String name, Role role, MaritalStatus maritalStatus, int age) {
-        Application application = null;
-        List<Enquiry> enquiries = null;
-        FlatBooking flatBooking = null;
-        User applicant = new Applicant(userId, password, name, role, maritalStatus, age, application, enquiries, flatBooking);
-        applicants.add((Applicant) applicant);
-        UserController.getListUser().add(applicant);
-        ApplicantRepository.saveApplicantsToCSV(applicants);
+        Applicant added;
+        if (table != null) {
+            table.add(userId, password, name, role, maritalStatus, age);
+            added = table.get(userId);
+        } else {
+            Application application = null;
+            List<Enquiry> enquiries = null;
+            FlatBooking flatBooking = null;
+            added = new Applicant(userId, password, name, role, maritalStatus, age, application, enquiries, flatBooking);
+            applicants.add(added);
+            applicantsById.put(userId, added);
+            UserController.getListUser().add(added);
+        }
+        // Only the new applicant is written; wait until it is on disk
+        if (!Repositories.awaitWrite(Repositories.applicants().appendApplicant(added))) {
+            System.out.println("The applicant could not be saved to disk.");
+        }
+    }
+
+    /**
+     * Adds already validated applicants in bulk, e.g. from an import, without saving to file.
+     * The caller is responsible for persisting the applicant list once afterwards.
+     * With the off-heap table, the applicants are copied into it and the given objects are not kept;
+     * applicants that do not fit in the table are skipped and returned with the reason.
+     *
+     * @param newApplicants The applicants to add; their user IDs must not already be taken.
+     * @return The applicants that were not added, with why, in the order given.
+     */
+    public static Map<Applicant, String> addApplicants(List<Applicant> newApplicants) {
+        Map<Applicant, String> rejected = new LinkedHashMap<>();
+        if (table != null) {
+            for (Applicant applicant : newApplicants) {
+                try {
+                    table.add(applicant);
+                } catch (IllegalArgumentException e) {
+                    rejected.put(applicant, e.getMessage());
+                }
+            }
+            return rejected;
+        }
+        for (Applicant applicant : newApplicants) {
+            applicants.add(applicant);
+            applicantsById.put(applicant.getUserId(), applicant);
+        }
+        UserController.getListUser().addAll(newApplicants);
+        return rejected;
     }
 
     /**
@@ -70,12 +129,21 @@ public class ApplicantController {
      * @param userId The NRIC or user ID of the applicant to delete.
      */
     public void deleteApplicant(String userId) {
+        if (table != null) {
+            if (table.remove(userId)) {
+                Repositories.applicants().deleteApplicant(userId);
+            } else {
+                System.out.println("User not found or is not an applicant.");
+            }
+            return;
+        }
         User user = getUserById(userId);
         if (user != null && user instanceof Applicant) {
             Applicant applicant = (Applicant) user;
             applicants.remove(applicant);
+            applicantsById.remove(applicant.getUserId());
             UserController.getListUser().remove(applicant);
-            ApplicantRepository.saveApplicantsToCSV(applicants);
+            Repositories.applicants().deleteApplicant(applicant.getUserId());
         } else {
             System.out.println("User not found or is not an applicant.");
         }
@@ -90,7 +158,7 @@ public class ApplicantController {
     public static void changePassword(Applicant currentApplicant, String password) {
         try {
             currentApplicant.setPassword(password);
-            ApplicantRepository.saveApplicantsToCSV(applicants);
+            Repositories.applicants().saveApplicant(currentApplicant);
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
@@ -105,7 +173,8 @@ public class ApplicantController {
      * @param project The project whose applicants' applications should be cleared.
      */
     public static void deleteApplicationforApplicant(Project project) {
-        for (Applicant app : applicants) {
+        // Off the heap, only applicants in use can have an application
+        for (Applicant app : table != null ? table.getInUse() : applicants) {
             if (app.getApplication() != null && app.getApplication().getProject().equals(project)) {
                 app.setApplication(null);
                 if (app.getFlatBooking() != null) {
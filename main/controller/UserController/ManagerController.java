@@ -1,12 +1,14 @@
 package main.controller.UserController;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import main.entity.Enum.MaritalStatus;
 import main.entity.Enum.Role;
 import main.entity.User.HDBManager;
 import main.entity.User.User;
-import main.repository.ManagerRepository;
+import main.repository.Repositories;
 
 /**
  * The {@code ManagerController} class manages actions related to {@code HDBManager} users.
@@ -17,6 +19,9 @@ public class ManagerController {
     /** A list of all registered HDB managers. */
     private static List<HDBManager> managers = new ArrayList<>();
 
+    /** Managers keyed by name, so projects can be linked to their manager without a scan. */
+    private static Map<String, HDBManager> managersByName = new HashMap<>();
+
     /**
      * Retrieves a manager by their unique user ID (NRIC).
      *
@@ -39,12 +44,7 @@ public class ManagerController {
      * @return The {@code HDBManager} object if found; otherwise {@code null}.
      */
     public static HDBManager getUserByName(String userName) {
-        for (HDBManager manager : managers) {
-            if (manager.getName().equals(userName)) {
-                return manager;
-            }
-        }
-        return null;
+        return managersByName.get(userName);
     }
 
     /**
@@ -69,8 +69,22 @@ public class ManagerController {
     public static void addManager(String userId, String password, String name, Role role, MaritalStatus maritalStatus, int age) {
         User manager = new HDBManager(userId, password, name, role, maritalStatus, age);
         managers.add((HDBManager) manager);
+        managersByName.putIfAbsent(name, (HDBManager) manager);
         UserController.getListUser().add(manager);
-        ManagerRepository.saveManagersToCSV();
+        Repositories.managers().saveManagers(managers);
+    }
+
+    /**
+     * Adds existing managers in bulk, e.g. when loading, without saving them.
+     *
+     * @param newManagers The managers to add.
+     */
+    public static void addManagers(List<HDBManager> newManagers) {
+        for (HDBManager manager : newManagers) {
+            managers.add(manager);
+            managersByName.putIfAbsent(manager.getName(), manager);
+        }
+        UserController.getListUser().addAll(newManagers);
     }
 
     /**
@@ -82,8 +96,17 @@ public class ManagerController {
         HDBManager manager = getUserById(userId);
         if (manager != null) {
             managers.remove(manager);
+            if (managersByName.remove(manager.getName(), manager)) {
+                // Another manager with the same name takes over the name
+                for (HDBManager other : managers) {
+                    if (other.getName().equals(manager.getName())) {
+                        managersByName.put(other.getName(), other);
+                        break;
+                    }
+                }
+            }
             UserController.getListUser().remove(manager);
-            ManagerRepository.saveManagersToCSV();
+            Repositories.managers().saveManagers(managers);
         } else {
             System.out.println("User not found or is not a Manager.");
         }
@@ -98,7 +121,7 @@ public class ManagerController {
     public static void changePassword(HDBManager currentManager, String password) {
         try {
             currentManager.setPassword(password);
-            ManagerRepository.saveManagersToCSV();
+            Repositories.managers().saveManagers(managers);
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
@@ -6,7 +6,7 @@ import main.entity.Enum.Role;
 import main.entity.Project;
 import main.entity.Registration;
 import main.entity.User.*;
-import main.repository.OfficerRepository;
+import main.repository.Repositories;
 
 /**
  * The {@code OfficerController} class manages actions related to {@code HDBOfficer} users.
@@ -17,6 +17,12 @@ public class OfficerController extends ApplicantController {
     /** A list of all registered HDB officers. */
     private static List<HDBOfficer> officers = new ArrayList<>();
 
+    /** Officers keyed by trimmed, lower-case name, so projects can be linked to officers without a scan. */
+    private static Map<String, HDBOfficer> officersByName = new HashMap<>();
+
+    /** Officers keyed by user ID (NRIC), so stored records can be linked to officers without a scan. */
+    private static Map<String, HDBOfficer> officersById = new HashMap<>();
+
     /**
      * Retrieves an officer by their user ID (NRIC).
      *
@@ -24,12 +30,7 @@ public class OfficerController extends ApplicantController {
      * @return The {@code HDBOfficer} object if found; otherwise {@code null}.
      */
     public static HDBOfficer getUserById(String userId) {
-        for (HDBOfficer officer : officers) {
-            if (officer.getUserId().equals(userId)) {
-                return officer;
-            }
-        }
-        return null;
+        return officersById.get(userId);
     }
 
     /**
@@ -39,12 +40,7 @@ public class OfficerController extends ApplicantController {
      * @return The {@code HDBOfficer} object if found; otherwise {@code null}.
      */
     public static HDBOfficer getUserByName(String name) {
-        for (HDBOfficer officer : officers) {
-            if (officer.getName().trim().equalsIgnoreCase(name.trim())) {
-                return officer;
-            }
-        }
-        return null;
+        return officersByName.get(nameKey(name));
     }
 
     /**
@@ -71,8 +67,24 @@ public class OfficerController extends ApplicantController {
         Registration registration = null;
         User officer = new HDBOfficer(userId, password, name, role, maritalStatus, age, assignedProject, registration);
         officers.add((HDBOfficer) officer);
+        officersByName.putIfAbsent(nameKey(name), (HDBOfficer) officer);
+        officersById.putIfAbsent(userId, (HDBOfficer) officer);
         UserController.getListUser().add(officer);
-        OfficerRepository.saveOfficersToCSV();
+        Repositories.officers().saveOfficers(officers);
+    }
+
+    /**
+     * Adds existing officers in bulk, e.g. when loading, without saving them.
+     *
+     * @param newOfficers The officers to add.
+     */
+    public static void addOfficers(List<HDBOfficer> newOfficers) {
+        for (HDBOfficer officer : newOfficers) {
+            officers.add(officer);
+            officersByName.putIfAbsent(nameKey(officer.getName()), officer);
+            officersById.putIfAbsent(officer.getUserId(), officer);
+        }
+        UserController.getListUser().addAll(newOfficers);
     }
 
     /**
@@ -84,8 +96,19 @@ public class OfficerController extends ApplicantController {
         HDBOfficer officer = getUserById(userId);
         if (officer != null) {
             officers.remove(officer);
+            officersById.remove(userId, officer);
+            String key = nameKey(officer.getName());
+            if (officersByName.remove(key, officer)) {
+                // Another officer with the same name takes over the name
+                for (HDBOfficer other : officers) {
+                    if (nameKey(other.getName()).equals(key)) {
+                        officersByName.put(key, other);
+                        break;
+                    }
+                }
+            }
             UserController.getListUser().remove(officer);
-            OfficerRepository.saveOfficersToCSV();
+            Repositories.officers().saveOfficers(officers);
         } else {
             throw new IllegalArgumentException("No Officer with this ID found");
         }
@@ -100,7 +123,7 @@ public class OfficerController extends ApplicantController {
     public static void changePassword(HDBOfficer currentOfficer, String password) {
         try {
             currentOfficer.setPassword(password);
-            OfficerRepository.saveOfficersToCSV();
+            Repositories.officers().saveOfficers(officers);
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
         } catch (Exception e) {
@@ -123,4 +146,11 @@ public class OfficerController extends ApplicantController {
             }
         }
     }
+
+    /**
+     * Normalises an officer name for lookup: names match case-insensitively, ignoring surrounding spaces.
+     */
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -1,6 +1,7 @@
 package main.controller.UserController;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import main.entity.User.*;
 
@@ -10,8 +11,11 @@ import main.entity.User.*;
  */
 public class UserController {
 
-    /** A list of all users (Applicants, Officers, and Managers) in the system. */
-    private static List<User> users = new ArrayList<>();
+    /**
+     * A list of all users (Applicants, Officers, and Managers) in the system.
+     * Synchronized because applicants, officers and managers are loaded in parallel at startup.
+     */
+    private static List<User> users = Collections.synchronizedList(new ArrayList<>());
 
     /**
      * Checks if a user ID (NRIC) already exists in the system across all user types.
@@ -25,6 +29,18 @@ public class UserController {
                  OfficerController.getUserById(userId) == null);
     }
 
+    /**
+     * Looks up the applicant, or the officer acting as an applicant, with a user ID (NRIC).
+     * Both lookups use an index, so the applicants do not have to be materialised as a list.
+     *
+     * @param userId The user ID (NRIC) to look up.
+     * @return The applicant, else the officer with the ID, or {@code null} if there is neither.
+     */
+    public static Applicant getApplicantById(String userId) {
+        Applicant applicant = ApplicantController.getUserById(userId);
+        return applicant != null ? applicant : OfficerController.getUserById(userId);
+    }
+
     /**
      * Returns the list of all users in the system.
      * This list includes applicants, officers, and managers.
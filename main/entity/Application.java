@@ -9,13 +9,24 @@ import main.entity.User.Applicant;
  * Represents an application submitted by an applicant for a specific project.
  * It includes the status of the application, submission date, and the type of flat applied for.
  */
-public class Application {
+public class Application extends VersionedEntity {
     private String applicationId;
     private Applicant applicant;
     private Project project;
-    private ApplicationStatus status; // Pending, Successful, Unsuccessful, Booked
-    private LocalDate submissionDate;
-    private FlatType flatType; // 2-Room or 3-Room
+    /**
+     * Status (Pending, Successful, Unsuccessful, Booked) and flat type (2-Room or 3-Room) packed into one int
+     * instead of two references: bits 0-7 hold the status ordinal plus one and bits 8-15 the flat type ordinal
+     * plus one, with 0 meaning none.
+     */
+    private volatile int kinds;
+    /** The submission date as a day count from 1970-01-01, which is smaller than a LocalDate object. */
+    private int submissionDay;
+
+    /** Day count standing for no submission date. */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+    private static final FlatType[] FLAT_TYPES = FlatType.values();
 
     /**
      * Constructs an Application with specified attributes.
@@ -31,9 +42,8 @@ public class Application {
         this.applicationId = applicationId;
         this.applicant = applicant;
         this.project = project;
-        this.status = status;
-        this.submissionDate = submissionDate;
-        this.flatType = flatType;
+        this.kinds = ordinalOf(status) | ordinalOf(flatType) << 8;
+        setSubmissionDate(submissionDate);
     }
 
     /**
@@ -96,16 +106,62 @@ public class Application {
      * @return the application status.
      */
     public ApplicationStatus getStatus() {
-        return status;
+        int ordinal = kinds & 0xFF;
+        return ordinal == 0 ? null : STATUSES[ordinal - 1];
     }
 
     /**
-     * Sets the status of the application.
+     * Sets the status of the application without checking the allowed transitions,
+     * e.g. when loading saved records. Use {@link #transitionStatus} to change the status.
      *
      * @param status the status to set.
      */
     public void setStatus(ApplicationStatus status) {
-        this.status = status;
+        kinds = (kinds & ~0xFF) | ordinalOf(status);
+    }
+
+    /**
+     * Moves the application from the expected status to the next one, if {@link ApplicationStatus#canTransitionTo} allows it
+     * and the status is still the expected one. Concurrent transitions race on a compare-and-set of the
+     * version, so exactly one of several sessions acting on the same status wins.
+     *
+     * @param expected the status the caller saw.
+     * @param next     the status to move to.
+     * @return true if this call made the transition, false if it is not allowed or the status had changed.
+     */
+    public boolean transitionStatus(ApplicationStatus expected, ApplicationStatus next) {
+        if (!expected.canTransitionTo(next)) {
+            return false;
+        }
+        return updateWhile(() -> getStatus() == expected, () -> setStatus(next));
+    }
+
+    /**
+     * Moves the application to the next status, if {@link ApplicationStatus#canTransitionTo} allows it and nobody has
+     * updated the application since the expected version was read.
+     *
+     * @param expectedVersion the version read before deciding on the transition.
+     * @param next            the status to move to.
+     * @return true if this call made the transition, false otherwise.
+     */
+    public boolean transitionStatusIfVersion(long expectedVersion, ApplicationStatus next) {
+        ApplicationStatus previous = getStatus();
+        return previous.canTransitionTo(next) && updateIfVersion(expectedVersion, () -> setStatus(next));
+    }
+
+    /**
+     * Undoes a transition made by the caller, moving the application from the status it gave it back to the
+     * previous one, if {@link ApplicationStatus#canRevertTo} allows it and the status has not changed since.
+     *
+     * @param changedTo the status the caller moved the application to.
+     * @param previous  the status the application had before.
+     * @return true if this call undid the transition.
+     */
+    public boolean revertStatus(ApplicationStatus changedTo, ApplicationStatus previous) {
+        if (!changedTo.canRevertTo(previous)) {
+            return false;
+        }
+        return updateWhile(() -> getStatus() == changedTo, () -> setStatus(previous));
     }
 
     /**
@@ -114,7 +170,7 @@ public class Application {
      * @return the submission date.
      */
     public LocalDate getSubmissionDate() {
-        return submissionDate;
+        return submissionDay == NO_DATE ? null : LocalDate.ofEpochDay(submissionDay);
     }
 
     /**
@@ -123,7 +179,7 @@ public class Application {
      * @param submissionDate the date to set.
      */
     public void setSubmissionDate(LocalDate submissionDate) {
-        this.submissionDate = submissionDate;
+        this.submissionDay = submissionDate == null ? NO_DATE : Math.toIntExact(submissionDate.toEpochDay());
     }
 
     /**
@@ -132,7 +188,8 @@ public class Application {
      * @return the flat type.
      */
     public FlatType getFlatType() {
-        return flatType;
+        int ordinal = (kinds >>> 8) & 0xFF;
+        return ordinal == 0 ? null : FLAT_TYPES[ordinal - 1];
     }
 
     /**
@@ -141,7 +198,14 @@ public class Application {
      * @param flatType the flat type to set.
      */
     public void setFlatType(FlatType flatType) {
-        this.flatType = flatType;
+        kinds = (kinds & ~(0xFF << 8)) | (ordinalOf(flatType) << 8);
+    }
+
+    /**
+     * Returns the ordinal plus one of an enum constant, or 0 for null, as stored in {@link #kinds}.
+     */
+    private static int ordinalOf(Enum<?> value) {
+        return value == null ? 0 : value.ordinal() + 1;
     }
 
     /**
@@ -155,8 +219,8 @@ public class Application {
                 "ApplicationID: " + applicationId +
                 "\nApplicantUserID: " + applicant.getUserId() +
                 "\nProject Name: " + project.getProjectName() +
-                "\nStatus: " + status.name() +
-                "\nSubmission Date: " + submissionDate +
-                "\nFlat Type: '" + flatType;
+                "\nStatus: " + getStatus().name() +
+                "\nSubmission Date: " + getSubmissionDate() +
+                "\nFlat Type: '" + getFlatType();
     }
 }
\ No newline at end of file
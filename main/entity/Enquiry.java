@@ -8,14 +8,14 @@ import main.entity.User.Applicant;
  * Represents an enquiry made by an applicant regarding a specific project.
  * Includes details like enquiry text, status, reply, and creation timestamp.
  */
-public class Enquiry {
+public class Enquiry extends VersionedEntity {
 
     private String enquiryID;
     private Applicant applicant;
     private Project project;
-    private EnquiryStatus status;
+    private volatile EnquiryStatus status;
     private String enquiryText;
-    private String enquiryReply;
+    private volatile String enquiryReply;
     private LocalDateTime dateCreated;
 
     /**
@@ -111,12 +111,72 @@ public class Enquiry {
     }
 
     /**
+     * Sets the status without checking the allowed transitions, e.g. when loading saved records.
+     * Use {@link #transitionStatus} or {@link #reply} to change the status.
+     *
      * @param status the status to set.
      */
     public void setStatus(EnquiryStatus status) {
         this.status = status;
     }
 
+    /**
+     * Moves the enquiry from the expected status to the next one, if {@link EnquiryStatus#canTransitionTo} allows it
+     * and the status is still the expected one. Concurrent transitions race on a compare-and-set of the
+     * version, so exactly one of several sessions acting on the same status wins.
+     *
+     * @param expected the status the caller saw.
+     * @param next     the status to move to.
+     * @return true if this call made the transition, false if it is not allowed or the status had changed.
+     */
+    public boolean transitionStatus(EnquiryStatus expected, EnquiryStatus next) {
+        if (!expected.canTransitionTo(next)) {
+            return false;
+        }
+        return updateWhile(() -> status == expected, () -> status = next);
+    }
+
+    /**
+     * Moves the enquiry to the next status, if {@link EnquiryStatus#canTransitionTo} allows it and nobody has
+     * updated the enquiry since the expected version was read.
+     *
+     * @param expectedVersion the version read before deciding on the transition.
+     * @param next            the status to move to.
+     * @return true if this call made the transition, false otherwise.
+     */
+    public boolean transitionStatusIfVersion(long expectedVersion, EnquiryStatus next) {
+        EnquiryStatus previous = status;
+        return previous.canTransitionTo(next) && updateIfVersion(expectedVersion, () -> status = next);
+    }
+
+    /**
+     * Replies to the enquiry, moving it from pending to responded, unless someone else has already
+     * replied to or closed it.
+     *
+     * @param reply the reply text.
+     * @return true if this call replied to the enquiry, false otherwise.
+     */
+    public boolean reply(String reply) {
+        return updateWhile(() -> status == EnquiryStatus.PENDING, () -> setReply(reply));
+    }
+
+    /**
+     * Replies to the enquiry, moving it from pending to responded, only if nobody has
+     * updated the enquiry since the expected version was read.
+     *
+     * @param expectedVersion the version read before writing the reply.
+     * @param reply           the reply text.
+     * @return true if this call replied to the enquiry, false otherwise.
+     */
+    public boolean replyIfVersion(long expectedVersion, String reply) {
+        return status == EnquiryStatus.PENDING && updateIfVersion(expectedVersion, () -> setReply(reply));
+    }
+
+    private void setReply(String reply) {
+        this.enquiryReply = reply;
+        this.status = EnquiryStatus.RESPONDED;
+    }
+
     /**
      * @return the enquiry text content.
      */
@@ -23,4 +23,38 @@ public enum ApplicationStatus {
 
     /** Withdrawal of application has been approved and finalized. */
     WITHDRAWN;
+
+    /**
+     * Checks whether an application may move from this status to another one.
+     * A manager decides on a pending application, a successful applicant books a flat, and an applicant
+     * may ask to withdraw at any point before a decision is final. A withdrawal request is either approved
+     * or rejected, which puts the application back to an active status. Unsuccessful and withdrawn
+     * applications are final.
+     *
+     * @param next the status to move to
+     * @return true if the transition is allowed
+     */
+    public boolean canTransitionTo(ApplicationStatus next) {
+        return switch (this) {
+            case PENDING -> next == SUCCESSFUL || next == UNSUCCESSFUL || next == PENDING_WITHDRAWN;
+            case SUCCESSFUL -> next == BOOKED || next == PENDING_WITHDRAWN;
+            case BOOKED -> next == PENDING_WITHDRAWN;
+            case PENDING_WITHDRAWN -> next == WITHDRAWN || next == PENDING || next == SUCCESSFUL;
+            case UNSUCCESSFUL, WITHDRAWN -> false;
+        };
+    }
+
+    /**
+     * Checks whether a transition into this status may be undone, putting the application back to the status
+     * it came from when a later step of the same action fails. These compensating edges are kept apart from
+     * {@link #canTransitionTo} so that no ordinary status update can take them. The only one is booking:
+     * an officer books the application before approving its flat booking, and puts it back to successful
+     * if the approval is lost to another officer.
+     *
+     * @param previous the status the application had before moving to this one
+     * @return true if the transition may be undone
+     */
+    public boolean canRevertTo(ApplicationStatus previous) {
+        return this == BOOKED && previous == SUCCESSFUL;
+    }
 }
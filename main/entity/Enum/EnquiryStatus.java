@@ -12,5 +12,21 @@ public enum EnquiryStatus {
     RESPONDED,
 
     /** The enquiry has been resolved and is now closed. */
-    CLOSED
+    CLOSED;
+
+    /**
+     * Checks whether an enquiry may move from this status to another one.
+     * A pending enquiry is replied to or closed, a replied enquiry can still be closed,
+     * and a closed enquiry is final.
+     *
+     * @param next the status to move to
+     * @return true if the transition is allowed
+     */
+    public boolean canTransitionTo(EnquiryStatus next) {
+        return switch (this) {
+            case PENDING -> next == RESPONDED || next == CLOSED;
+            case RESPONDED -> next == CLOSED;
+            case CLOSED -> false;
+        };
+    }
 }
\ No newline at end of file
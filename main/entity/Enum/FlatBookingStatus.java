@@ -10,5 +10,16 @@ public enum FlatBookingStatus {
     APPROVED,
 
     /** The flat booking is awaiting approval. */
-    PENDING
+    PENDING;
+
+    /**
+     * Checks whether a flat booking may move from this status to another one.
+     * A pending booking can only be approved, and an approved booking is final.
+     *
+     * @param next the status to move to
+     * @return true if the transition is allowed
+     */
+    public boolean canTransitionTo(FlatBookingStatus next) {
+        return this == PENDING && next == APPROVED;
+    }
 }
@@ -13,5 +13,16 @@ public enum RegistrationStatus {
     PENDING,
 
     /** Indicates that the registration has been rejected. */
-    REJECTED,
+    REJECTED;
+
+    /**
+     * Checks whether a registration may move from this status to another one.
+     * A pending registration is either approved or rejected, and both decisions are final.
+     *
+     * @param next the status to move to
+     * @return true if the transition is allowed
+     */
+    public boolean canTransitionTo(RegistrationStatus next) {
+        return this == PENDING && (next == APPROVED || next == REJECTED);
+    }
 }
@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.Application;
+
+/**
+ * An application has been removed, e.g. after its withdrawal was approved.
+ */
+public class ApplicationRemoved extends DomainEvent {
+
+    private final Application application;
+
+    /**
+     * @param application the removed application
+     */
+    public ApplicationRemoved(Application application) {
+        this.application = application;
+    }
+
+    /**
+     * @return the removed application
+     */
+    public Application getApplication() {
+        return application;
+    }
+}
@@ -0,0 +1,46 @@
+package main.entity.Event;
+
+import main.entity.Application;
+import main.entity.Enum.ApplicationStatus;
+
+/**
+ * The status of an application has changed, e.g. approved by a manager or booked by an officer.
+ */
+public class ApplicationStatusChanged extends DomainEvent {
+
+    private final Application application;
+    private final ApplicationStatus previousStatus;
+    private final ApplicationStatus newStatus;
+
+    /**
+     * @param application the application
+     * @param previousStatus the status before the change
+     * @param newStatus the status after the change
+     */
+    public ApplicationStatusChanged(Application application, ApplicationStatus previousStatus, ApplicationStatus newStatus) {
+        this.application = application;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    /**
+     * @return the application
+     */
+    public Application getApplication() {
+        return application;
+    }
+
+    /**
+     * @return the status before the change
+     */
+    public ApplicationStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /**
+     * @return the status after the change
+     */
+    public ApplicationStatus getNewStatus() {
+        return newStatus;
+    }
+}
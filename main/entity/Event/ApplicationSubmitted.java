@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.Application;
+
+/**
+ * An applicant has submitted a new application.
+ */
+public class ApplicationSubmitted extends DomainEvent {
+
+    private final Application application;
+
+    /**
+     * @param application the new application
+     */
+    public ApplicationSubmitted(Application application) {
+        this.application = application;
+    }
+
+    /**
+     * @return the new application
+     */
+    public Application getApplication() {
+        return application;
+    }
+}
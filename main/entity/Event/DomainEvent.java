@@ -0,0 +1,19 @@
+package main.entity.Event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Base class of the events published on the {@link main.utility.EventBus} whenever a controller changes data.
+ * Events are immutable and record when the change happened.
+ */
+public abstract class DomainEvent {
+
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+
+    /**
+     * @return when the change happened
+     */
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.Enquiry;
+
+/**
+ * An enquiry has been deleted.
+ */
+public class EnquiryDeleted extends DomainEvent {
+
+    private final Enquiry enquiry;
+
+    /**
+     * @param enquiry the deleted enquiry
+     */
+    public EnquiryDeleted(Enquiry enquiry) {
+        this.enquiry = enquiry;
+    }
+
+    /**
+     * @return the deleted enquiry
+     */
+    public Enquiry getEnquiry() {
+        return enquiry;
+    }
+}
@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.Enquiry;
+
+/**
+ * An applicant has changed the text of a pending enquiry.
+ */
+public class EnquiryEdited extends DomainEvent {
+
+    private final Enquiry enquiry;
+
+    /**
+     * @param enquiry the enquiry, holding the new text
+     */
+    public EnquiryEdited(Enquiry enquiry) {
+        this.enquiry = enquiry;
+    }
+
+    /**
+     * @return the enquiry, holding the new text
+     */
+    public Enquiry getEnquiry() {
+        return enquiry;
+    }
+}
@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.Enquiry;
+
+/**
+ * An officer or manager has replied to an enquiry.
+ */
+public class EnquiryReplied extends DomainEvent {
+
+    private final Enquiry enquiry;
+
+    /**
+     * @param enquiry the enquiry, holding the reply
+     */
+    public EnquiryReplied(Enquiry enquiry) {
+        this.enquiry = enquiry;
+    }
+
+    /**
+     * @return the enquiry, holding the reply
+     */
+    public Enquiry getEnquiry() {
+        return enquiry;
+    }
+}
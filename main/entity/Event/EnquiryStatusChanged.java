@@ -0,0 +1,46 @@
+package main.entity.Event;
+
+import main.entity.Enquiry;
+import main.entity.Enum.EnquiryStatus;
+
+/**
+ * The status of an enquiry has changed without a reply, e.g. closed together with its project.
+ */
+public class EnquiryStatusChanged extends DomainEvent {
+
+    private final Enquiry enquiry;
+    private final EnquiryStatus previousStatus;
+    private final EnquiryStatus newStatus;
+
+    /**
+     * @param enquiry the enquiry
+     * @param previousStatus the status before the change
+     * @param newStatus the status after the change
+     */
+    public EnquiryStatusChanged(Enquiry enquiry, EnquiryStatus previousStatus, EnquiryStatus newStatus) {
+        this.enquiry = enquiry;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    /**
+     * @return the enquiry
+     */
+    public Enquiry getEnquiry() {
+        return enquiry;
+    }
+
+    /**
+     * @return the status before the change
+     */
+    public EnquiryStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /**
+     * @return the status after the change
+     */
+    public EnquiryStatus getNewStatus() {
+        return newStatus;
+    }
+}
@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.Enquiry;
+
+/**
+ * An applicant has submitted a new enquiry.
+ */
+public class EnquirySubmitted extends DomainEvent {
+
+    private final Enquiry enquiry;
+
+    /**
+     * @param enquiry the new enquiry
+     */
+    public EnquirySubmitted(Enquiry enquiry) {
+        this.enquiry = enquiry;
+    }
+
+    /**
+     * @return the new enquiry
+     */
+    public Enquiry getEnquiry() {
+        return enquiry;
+    }
+}
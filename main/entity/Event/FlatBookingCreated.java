@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.FlatBooking;
+
+/**
+ * An applicant has requested a flat booking.
+ */
+public class FlatBookingCreated extends DomainEvent {
+
+    private final FlatBooking flatBooking;
+
+    /**
+     * @param flatBooking the new flat booking
+     */
+    public FlatBookingCreated(FlatBooking flatBooking) {
+        this.flatBooking = flatBooking;
+    }
+
+    /**
+     * @return the new flat booking
+     */
+    public FlatBooking getFlatBooking() {
+        return flatBooking;
+    }
+}
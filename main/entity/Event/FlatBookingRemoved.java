@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.FlatBooking;
+
+/**
+ * A flat booking has been removed, e.g. after its application was withdrawn.
+ */
+public class FlatBookingRemoved extends DomainEvent {
+
+    private final FlatBooking flatBooking;
+
+    /**
+     * @param flatBooking the removed flat booking
+     */
+    public FlatBookingRemoved(FlatBooking flatBooking) {
+        this.flatBooking = flatBooking;
+    }
+
+    /**
+     * @return the removed flat booking
+     */
+    public FlatBooking getFlatBooking() {
+        return flatBooking;
+    }
+}
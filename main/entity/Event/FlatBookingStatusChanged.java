@@ -0,0 +1,46 @@
+package main.entity.Event;
+
+import main.entity.Enum.FlatBookingStatus;
+import main.entity.FlatBooking;
+
+/**
+ * The status of a flat booking has changed, e.g. approved by an officer.
+ */
+public class FlatBookingStatusChanged extends DomainEvent {
+
+    private final FlatBooking flatBooking;
+    private final FlatBookingStatus previousStatus;
+    private final FlatBookingStatus newStatus;
+
+    /**
+     * @param flatBooking the flat booking
+     * @param previousStatus the status before the change
+     * @param newStatus the status after the change
+     */
+    public FlatBookingStatusChanged(FlatBooking flatBooking, FlatBookingStatus previousStatus, FlatBookingStatus newStatus) {
+        this.flatBooking = flatBooking;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    /**
+     * @return the flat booking
+     */
+    public FlatBooking getFlatBooking() {
+        return flatBooking;
+    }
+
+    /**
+     * @return the status before the change
+     */
+    public FlatBookingStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /**
+     * @return the status after the change
+     */
+    public FlatBookingStatus getNewStatus() {
+        return newStatus;
+    }
+}
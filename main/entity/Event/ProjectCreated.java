@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.Project;
+
+/**
+ * A manager has created a project.
+ */
+public class ProjectCreated extends DomainEvent {
+
+    private final Project project;
+
+    /**
+     * @param project the new project
+     */
+    public ProjectCreated(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * @return the new project
+     */
+    public Project getProject() {
+        return project;
+    }
+}
@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.Project;
+
+/**
+ * A project has been deleted.
+ */
+public class ProjectDeleted extends DomainEvent {
+
+    private final Project project;
+
+    /**
+     * @param project the deleted project
+     */
+    public ProjectDeleted(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * @return the deleted project
+     */
+    public Project getProject() {
+        return project;
+    }
+}
@@ -0,0 +1,35 @@
+package main.entity.Event;
+
+import main.entity.Project;
+
+/**
+ * A project's details, visibility or assigned officers have changed.
+ */
+public class ProjectEdited extends DomainEvent {
+
+    private final Project project;
+    private final String previousName;
+
+    /**
+     * @param project the project
+     * @param previousName the project's name before the change, equal to the current name unless it was renamed
+     */
+    public ProjectEdited(Project project, String previousName) {
+        this.project = project;
+        this.previousName = previousName;
+    }
+
+    /**
+     * @return the project
+     */
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * @return the project's name before the change, equal to the current name unless it was renamed
+     */
+    public String getPreviousName() {
+        return previousName;
+    }
+}
@@ -0,0 +1,46 @@
+package main.entity.Event;
+
+import main.entity.Enum.RegistrationStatus;
+import main.entity.Registration;
+
+/**
+ * The status of an officer registration has changed, e.g. approved by a manager.
+ */
+public class RegistrationStatusChanged extends DomainEvent {
+
+    private final Registration registration;
+    private final RegistrationStatus previousStatus;
+    private final RegistrationStatus newStatus;
+
+    /**
+     * @param registration the registration
+     * @param previousStatus the status before the change
+     * @param newStatus the status after the change
+     */
+    public RegistrationStatusChanged(Registration registration, RegistrationStatus previousStatus, RegistrationStatus newStatus) {
+        this.registration = registration;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    /**
+     * @return the registration
+     */
+    public Registration getRegistration() {
+        return registration;
+    }
+
+    /**
+     * @return the status before the change
+     */
+    public RegistrationStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /**
+     * @return the status after the change
+     */
+    public RegistrationStatus getNewStatus() {
+        return newStatus;
+    }
+}
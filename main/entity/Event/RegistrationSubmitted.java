@@ -0,0 +1,25 @@
+package main.entity.Event;
+
+import main.entity.Registration;
+
+/**
+ * An officer has registered to handle a project.
+ */
+public class RegistrationSubmitted extends DomainEvent {
+
+    private final Registration registration;
+
+    /**
+     * @param registration the new registration
+     */
+    public RegistrationSubmitted(Registration registration) {
+        this.registration = registration;
+    }
+
+    /**
+     * @return the new registration
+     */
+    public Registration getRegistration() {
+        return registration;
+    }
+}
@@ -0,0 +1,46 @@
+package main.entity.Event;
+
+import main.entity.Enum.FlatType;
+import main.entity.Project;
+
+/**
+ * A unit of a project's flat type has been given back, e.g. after a booked application was withdrawn.
+ */
+public class UnitsReleased extends DomainEvent {
+
+    private final Project project;
+    private final FlatType flatType;
+    private final int unitsRemaining;
+
+    /**
+     * @param project the project
+     * @param flatType the flat type
+     * @param unitsRemaining the units of that type now available
+     */
+    public UnitsReleased(Project project, FlatType flatType, int unitsRemaining) {
+        this.project = project;
+        this.flatType = flatType;
+        this.unitsRemaining = unitsRemaining;
+    }
+
+    /**
+     * @return the project
+     */
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * @return the flat type
+     */
+    public FlatType getFlatType() {
+        return flatType;
+    }
+
+    /**
+     * @return the units of that type now available
+     */
+    public int getUnitsRemaining() {
+        return unitsRemaining;
+    }
+}
@@ -8,12 +8,12 @@ import main.entity.User.Applicant;
  * Represents a flat booking made by an applicant for a specific project.
  * Stores booking details such as flat type, project, applicant, and booking status.
  */
-public class FlatBooking {
+public class FlatBooking extends VersionedEntity {
     private String flatId;
     private Applicant applicant;
     private FlatType flatType;
     private Project project;
-    private FlatBookingStatus flatBookingStatus;
+    private volatile FlatBookingStatus flatBookingStatus;
 
     /**
      * Constructs a new FlatBooking object.
@@ -96,12 +96,44 @@ public class FlatBooking {
     }
 
     /**
+     * Sets the status without checking the allowed transitions, e.g. when loading saved records.
+     * Use {@link #transitionStatus} to change the status.
+     *
      * @param flatBookingStatus the status to set.
      */
     public void setFlatBookingStatus(FlatBookingStatus flatBookingStatus){
         this.flatBookingStatus = flatBookingStatus;
     }
 
+    /**
+     * Moves the flat booking from the expected status to the next one, if {@link FlatBookingStatus#canTransitionTo} allows it
+     * and the status is still the expected one. Concurrent transitions race on a compare-and-set of the
+     * version, so exactly one of several sessions acting on the same status wins.
+     *
+     * @param expected the status the caller saw.
+     * @param next     the status to move to.
+     * @return true if this call made the transition, false if it is not allowed or the status had changed.
+     */
+    public boolean transitionStatus(FlatBookingStatus expected, FlatBookingStatus next) {
+        if (!expected.canTransitionTo(next)) {
+            return false;
+        }
+        return updateWhile(() -> flatBookingStatus == expected, () -> flatBookingStatus = next);
+    }
+
+    /**
+     * Moves the flat booking to the next status, if {@link FlatBookingStatus#canTransitionTo} allows it and nobody has
+     * updated the flat booking since the expected version was read.
+     *
+     * @param expectedVersion the version read before deciding on the transition.
+     * @param next            the status to move to.
+     * @return true if this call made the transition, false otherwise.
+     */
+    public boolean transitionStatusIfVersion(long expectedVersion, FlatBookingStatus next) {
+        FlatBookingStatus previous = flatBookingStatus;
+        return previous.canTransitionTo(next) && updateIfVersion(expectedVersion, () -> flatBookingStatus = next);
+    }
+
     /**
      * @return formatted string containing flat booking details.
      */
@@ -1,27 +1,27 @@
 package main.entity;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 import main.entity.Enum.FlatType;
 import main.entity.User.HDBManager;
 import main.entity.User.HDBOfficer;
+import main.utility.DateUtil;
 
 /**
  * Represents a public housing project managed by HDB.
  * Contains details such as project name, available flat types, units, application dates,
  * assigned officers, and manager in charge.
  */
-public class Project {
+public class Project extends VersionedEntity {
     private String projectName;
     private String neighborhood;
     private List<FlatType> flatTypes;
     private List<Integer> unitsAvailable;
-    private Date applicationOpeningDate;
-    private Date applicationClosingDate;
+    private LocalDate applicationOpeningDate;
+    private LocalDate applicationClosingDate;
     private HDBManager managerInCharge;
     private List<Integer> sellingPrice;
     private int officerSlot;
@@ -32,8 +32,8 @@ public class Project {
      * Constructs a Project object with the specified attributes.
      */
     public Project(String projectName, String neighborhood, List<FlatType> flatTypes,
-                   List<Integer> unitsAvailable, Date applicationOpeningDate,
-                   Date applicationClosingDate, List<Integer> sellingPrice, HDBManager managerInCharge, int officerSlot,
+                   List<Integer> unitsAvailable, LocalDate applicationOpeningDate,
+                   LocalDate applicationClosingDate, List<Integer> sellingPrice, HDBManager managerInCharge, int officerSlot,
                    List<HDBOfficer> assignedOfficers, boolean isVisible) {
         this.projectName = projectName;
         this.neighborhood = neighborhood;
@@ -96,19 +96,19 @@ public class Project {
         this.unitsAvailable = new ArrayList<>(unitsAvailable);
     }
 
-    public Date getApplicationOpeningDate() {
+    public LocalDate getApplicationOpeningDate() {
         return applicationOpeningDate;
     }
 
-    public void setApplicationOpeningDate(Date applicationOpeningDate) {
+    public void setApplicationOpeningDate(LocalDate applicationOpeningDate) {
         this.applicationOpeningDate = applicationOpeningDate;
     }
 
-    public Date getApplicationClosingDate() {
+    public LocalDate getApplicationClosingDate() {
         return applicationClosingDate;
     }
 
-    public void setApplicationClosingDate(Date applicationClosingDate) {
+    public void setApplicationClosingDate(LocalDate applicationClosingDate) {
         this.applicationClosingDate = applicationClosingDate;
     }
 
@@ -121,11 +121,10 @@ public class Project {
      */
     public boolean isInApplicationPeriod(String startDateStr, String endDateStr) {
         try {
-            java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd");
-            Date startDate = sdf.parse(startDateStr);
-            Date endDate = sdf.parse(endDateStr);
-            return !(applicationClosingDate.before(startDate) || applicationOpeningDate.after(endDate));
-        } catch (ParseException e) {
+            LocalDate startDate = LocalDate.parse(startDateStr);
+            LocalDate endDate = LocalDate.parse(endDateStr);
+            return !(applicationClosingDate.isBefore(startDate) || applicationOpeningDate.isAfter(endDate));
+        } catch (DateTimeParseException e) {
             System.out.println("Date parsing error: " + e.getMessage());
             return false;
         }
@@ -163,18 +162,28 @@ public class Project {
         String officers = assignedOfficers.stream()
             .map(HDBOfficer::getName)
             .collect(Collectors.joining(", "));
-        SimpleDateFormat sdf = new SimpleDateFormat("dd MMM yyyy");
+        return formatDetails(projectName, neighborhood, flatTypes, unitsAvailable, applicationOpeningDate,
+            applicationClosingDate, sellingPrice, managerInCharge.getName(), officers);
+    }
+
+    /**
+     * Formats project details for display, shared by {@link #toString()} and {@link ProjectSnapshot#toString()}.
+     *
+     * @param officers the names of the assigned officers, comma-separated
+     */
+    static String formatDetails(String projectName, String neighborhood, List<FlatType> flatTypes,
+                                List<Integer> unitsAvailable, LocalDate openingDate, LocalDate closingDate,
+                                List<Integer> sellingPrice, String managerName, String officers) {
         return
-            """
-            Project Details:
-              Name: """               + projectName                                + "\n" +
+            "Project Details:\n" +
+            "  Name: "               + projectName                                + "\n" +
             "  Neighborhood: "       + neighborhood                               + "\n" +
             "  Flat Types: "         + flatTypes                                  + "\n" +
             "  Units Available: "    + unitsAvailable                             + "\n" +
-            "  Opening Date: "       + sdf.format(applicationOpeningDate)        + "\n" +
-            "  Closing Date: "       + sdf.format(applicationClosingDate)        + "\n" +
+            "  Opening Date: "       + DateUtil.DISPLAY_DATE.format(openingDate)  + "\n" +
+            "  Closing Date: "       + DateUtil.DISPLAY_DATE.format(closingDate)  + "\n" +
             "  Selling Price: "      + sellingPrice                               + "\n" +
-            "  Manager In Charge: "  + managerInCharge.getName()                  + "\n" +
+            "  Manager In Charge: "  + managerName                                + "\n" +
             "  Assigned Officers: "  + officers;
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package main.entity;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, versioned view of every project, published as a whole by the
+ * {@link main.controller.ProjectController} after each change to a project.
+ * A reader that takes the current catalogue sees one consistent state of all projects,
+ * however many changes are published while it is reading.
+ */
+public final class ProjectCatalogue {
+
+    /** The catalogue before any project has been loaded. */
+    public static final ProjectCatalogue EMPTY = new ProjectCatalogue(0, List.of());
+
+    private final long version;
+    private final List<ProjectSnapshot> projects;
+    private final Map<Project, ProjectSnapshot> snapshotsByProject = new IdentityHashMap<>();
+
+    /**
+     * @param version  the version, one higher than the catalogue it replaces
+     * @param projects the project snapshots, in project list order
+     */
+    public ProjectCatalogue(long version, List<ProjectSnapshot> projects) {
+        this.version = version;
+        this.projects = List.copyOf(projects);
+        for (ProjectSnapshot snapshot : this.projects) {
+            snapshotsByProject.put(snapshot.getProject(), snapshot);
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the project snapshots, in project list order; the list cannot be modified
+     */
+    public List<ProjectSnapshot> getProjects() {
+        return projects;
+    }
+
+    /**
+     * Returns the snapshot of a live project.
+     *
+     * @param project the live project
+     * @return its snapshot, or null if the project was not in the catalogue
+     */
+    public ProjectSnapshot find(Project project) {
+        return snapshotsByProject.get(project);
+    }
+}
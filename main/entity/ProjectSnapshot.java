@@ -0,0 +1,124 @@
+package main.entity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import main.entity.Enum.FlatType;
+import main.entity.User.HDBOfficer;
+
+/**
+ * An immutable copy of a {@link Project}'s details, taken when the project catalogue was last published.
+ * Readers can use it without locks while managers keep editing the live project.
+ * The live project is kept for actions such as applying, which must refer to it.
+ */
+public final class ProjectSnapshot {
+    private final Project project;
+    private final String projectName;
+    private final String neighborhood;
+    private final List<FlatType> flatTypes;
+    private final List<Integer> unitsAvailable;
+    private final List<Integer> sellingPrice;
+    private final LocalDate applicationOpeningDate;
+    private final LocalDate applicationClosingDate;
+    private final String managerName;
+    private final List<String> officerNames;
+    private final boolean isVisible;
+
+    /**
+     * Copies the current details of a project.
+     *
+     * @param project the live project
+     */
+    public ProjectSnapshot(Project project) {
+        this.project = project;
+        this.projectName = project.getProjectName();
+        this.neighborhood = project.getNeighborhood();
+        this.flatTypes = List.copyOf(project.getFlatTypes());
+        this.unitsAvailable = List.copyOf(project.getUnitsAvailable());
+        this.sellingPrice = List.copyOf(project.getSellingPrice());
+        this.applicationOpeningDate = project.getApplicationOpeningDate();
+        this.applicationClosingDate = project.getApplicationClosingDate();
+        this.managerName = project.getManagerInCharge().getName();
+        List<String> names = new ArrayList<>();
+        for (HDBOfficer officer : project.getAssignedOfficers()) {
+            names.add(officer.getName());
+        }
+        this.officerNames = Collections.unmodifiableList(names);
+        this.isVisible = project.isVisible();
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public String getNeighborhood() {
+        return neighborhood;
+    }
+
+    public List<FlatType> getFlatTypes() {
+        return flatTypes;
+    }
+
+    public List<Integer> getUnitsAvailable() {
+        return unitsAvailable;
+    }
+
+    public List<Integer> getSellingPrice() {
+        return sellingPrice;
+    }
+
+    public LocalDate getApplicationOpeningDate() {
+        return applicationOpeningDate;
+    }
+
+    public LocalDate getApplicationClosingDate() {
+        return applicationClosingDate;
+    }
+
+    public String getManagerName() {
+        return managerName;
+    }
+
+    public List<String> getOfficerNames() {
+        return officerNames;
+    }
+
+    public boolean isVisible() {
+        return isVisible;
+    }
+
+    /**
+     * Checks whether the project was open for application on a date, counting both end dates.
+     *
+     * @param date the date to check
+     * @return true if the date is within the application period
+     */
+    public boolean isOpenOn(LocalDate date) {
+        return !date.isBefore(applicationOpeningDate) && !date.isAfter(applicationClosingDate);
+    }
+
+    /**
+     * Gets the remaining units of a flat type.
+     *
+     * @param flatType the flat type
+     * @return the remaining units, or 0 if the project has no such flats
+     */
+    public int getRemainingUnits(FlatType flatType) {
+        int index = flatTypes.indexOf(flatType);
+        return index != -1 ? unitsAvailable.get(index) : 0;
+    }
+
+    /**
+     * Returns the project details in the same format as {@link Project#toString()}.
+     */
+    @Override
+    public String toString() {
+        return Project.formatDetails(projectName, neighborhood, flatTypes, unitsAvailable, applicationOpeningDate,
+            applicationClosingDate, sellingPrice, managerName, String.join(", ", officerNames));
+    }
+}
@@ -9,11 +9,11 @@ import main.entity.User.HDBOfficer;
  * Each registration has a unique ID, an officer, the target project,
  * its status, and the submission date.
  */
-public class Registration {
+public class Registration extends VersionedEntity {
     private String registrationId;
     private HDBOfficer officer;
     private Project project;
-    private RegistrationStatus registrationStatus; // Pending, Approved, Rejected
+    private volatile RegistrationStatus registrationStatus; // Pending, Approved, Rejected
     private LocalDate submissionDate;
 
     /**
@@ -86,13 +86,43 @@ public class Registration {
     }
 
     /**
-     * Updates the registration status.
+     * Sets the registration status without checking the allowed transitions,
+     * e.g. when loading saved records. Use {@link #transitionStatus} to change the status.
      * @param registrationStatus the new registration status.
      */
     public void setRegistrationStatus(RegistrationStatus registrationStatus) {
         this.registrationStatus = registrationStatus;
     }
 
+    /**
+     * Moves the registration from the expected status to the next one, if {@link RegistrationStatus#canTransitionTo} allows it
+     * and the status is still the expected one. Concurrent transitions race on a compare-and-set of the
+     * version, so exactly one of several sessions acting on the same status wins.
+     *
+     * @param expected the status the caller saw.
+     * @param next     the status to move to.
+     * @return true if this call made the transition, false if it is not allowed or the status had changed.
+     */
+    public boolean transitionStatus(RegistrationStatus expected, RegistrationStatus next) {
+        if (!expected.canTransitionTo(next)) {
+            return false;
+        }
+        return updateWhile(() -> registrationStatus == expected, () -> registrationStatus = next);
+    }
+
+    /**
+     * Moves the registration to the next status, if {@link RegistrationStatus#canTransitionTo} allows it and nobody has
+     * updated the registration since the expected version was read.
+     *
+     * @param expectedVersion the version read before deciding on the transition.
+     * @param next            the status to move to.
+     * @return true if this call made the transition, false otherwise.
+     */
+    public boolean transitionStatusIfVersion(long expectedVersion, RegistrationStatus next) {
+        RegistrationStatus previous = registrationStatus;
+        return previous.canTransitionTo(next) && updateIfVersion(expectedVersion, () -> registrationStatus = next);
+    }
+
     /**
      * @return the submission date of the registration.
      */
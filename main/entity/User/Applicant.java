@@ -1,6 +1,7 @@
 package main.entity.User;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import main.entity.Application;
 import main.entity.Enquiry;
@@ -15,7 +16,8 @@ import main.entity.FlatBooking;
  */
 public class Applicant extends User{
     protected  Application application = null;
-    protected  List<Enquiry> enquiries = new ArrayList<>();
+    /** Null until the first enquiry, as most applicants never make one. */
+    protected  List<Enquiry> enquiries = null;
     protected  FlatBooking flatBooking = null;
     
     /**
@@ -23,7 +25,7 @@ public class Applicant extends User{
     public Applicant(){
         super();
         this.application = null;
-        this.enquiries = new ArrayList<>();
+        this.enquiries = null;
         this.flatBooking = null;
     }
 
@@ -54,7 +56,7 @@ public class Applicant extends User{
     public Applicant(String userId, String password, String name, Role role, MaritalStatus maritalStatus, int age, Application application, List<Enquiry> enquiries, FlatBooking flatBooking){
         super(userId, password, name, role, maritalStatus, age);
         this.application = application;
-        this.enquiries = (enquiries != null) ? enquiries : new ArrayList<>();
+        this.enquiries = (enquiries != null && !enquiries.isEmpty()) ? new ArrayList<>(enquiries) : null;
         this.flatBooking = flatBooking;
     }
 
@@ -70,10 +72,10 @@ public class Applicant extends User{
 
     /**
      * Return the list of enquiries of the Applicant
-     * @return list of enquiries
+     * @return list of enquiries, which cannot be modified; use {@link #addEnquiry} and {@link #removeEnquiry}
      */
     public List<Enquiry> getEnquiries(){
-        return enquiries;
+        return enquiries != null ? Collections.unmodifiableList(enquiries) : List.of();
     }
 
     public FlatBooking getFlatBooking(){
@@ -92,6 +94,26 @@ public class Applicant extends User{
         this.flatBooking = flatBooking;
     }
 
+    /**
+     * Add an enquiry submitted by the Applicant
+     * @param enquiry the enquiry
+     */
+    public void addEnquiry(Enquiry enquiry){
+        if (enquiries == null) {
+            enquiries = new ArrayList<>();
+        }
+        enquiries.add(enquiry);
+    }
+
+    /**
+     * Remove an enquiry of the Applicant
+     * @param enquiry the enquiry
+     * @return true if the Applicant had the enquiry
+     */
+    public boolean removeEnquiry(Enquiry enquiry){
+        return enquiries != null && enquiries.remove(enquiry);
+    }
+
     //Other Methods
     /**
      * Formatted string with Applicant information
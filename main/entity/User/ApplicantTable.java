@@ -0,0 +1,562 @@
+package main.entity.User;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import main.entity.Enum.MaritalStatus;
+import main.entity.Enum.Role;
+
+/**
+ * Applicants stored outside the Java heap, for populations large enough that one heap object per applicant
+ * makes garbage collection slow. Selected instead of the applicant list with {@code bto.applicants=offheap}
+ * (see {@link main.controller.UserController.ApplicantController}).
+ * <p>
+ * Each applicant is a fixed-width record in direct byte buffers that are allocated in chunks as the table
+ * grows: the NRIC, password and name as length-prefixed UTF-8, then the age, marital status and role.
+ * An open-addressing hash index, also outside the heap, maps each NRIC to its record.
+ * <p>
+ * Callers see applicants as {@link Applicant} flyweights that read and write their record instead of holding
+ * fields of their own. A flyweight only exists while something refers to it, such as the session of a logged-in
+ * applicant, or the application, enquiries or booking of the applicant, which stay on the heap. The table keeps
+ * weak references to the flyweights in use, so that every lookup of an applicant returns the same object while
+ * it is in use. The heap therefore grows with the number of applicants in use, not the number stored.
+ * <p>
+ * Direct buffers count against {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ * Each applicant takes {@value #RECORD_BYTES} bytes plus up to 32 bytes of index, so millions of applicants
+ * need it raised. All access is synchronized on the table.
+ */
+public class ApplicantTable {
+
+    private static final Role[] ROLES = Role.values();
+    private static final MaritalStatus[] MARITAL_STATUSES = MaritalStatus.values();
+
+    /** Field widths include a length byte, so the NRIC can be 15 bytes of UTF-8, the password 47 and the name 63. */
+    private static final int NRIC_OFFSET = 0;
+    private static final int PASSWORD_OFFSET = 16;
+    private static final int NAME_OFFSET = 64;
+    private static final int AGE_OFFSET = 128;
+    private static final int MARITAL_STATUS_OFFSET = 130;
+    private static final int ROLE_OFFSET = 131;
+    private static final int RECORD_BYTES = 132;
+
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+
+    /** Index entries are a spread NRIC hash followed by the record number plus one, 0 marking a free entry. */
+    private static final int ENTRY_BYTES = 8;
+    private static final int MIN_INDEX_ENTRIES = 1 << 10;
+    private static final int MAX_INDEX_ENTRIES = 1 << 27;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int size;
+    private ByteBuffer index = ByteBuffer.allocateDirect(MIN_INDEX_ENTRIES * ENTRY_BYTES);
+    private int indexMask = MIN_INDEX_ENTRIES - 1;
+
+    /** The flyweights in use, by record number, cleared as the garbage collector reclaims them. */
+    private Map<Integer, FlyweightReference> flyweights = new HashMap<>();
+    /** The most flyweights in use since {@link #flyweights} was last rebuilt, as a map never shrinks by itself. */
+    private int flyweightsHighWater;
+    private final ReferenceQueue<Flyweight> reclaimed = new ReferenceQueue<>();
+
+    private final List<Applicant> view = new ListView();
+
+    /**
+     * Adds an applicant. No flyweight is made for it until it is looked up.
+     *
+     * @throws IllegalArgumentException if the NRIC is taken, or a field does not fit in its record
+     */
+    public synchronized void add(String userId, String password, String name, Role role,
+                                      MaritalStatus maritalStatus, int age) {
+        byte[] nric = encode("NRIC", userId, PASSWORD_OFFSET - NRIC_OFFSET);
+        byte[] passwordBytes = encode("Password", password, NAME_OFFSET - PASSWORD_OFFSET);
+        byte[] nameBytes = encode("Name", name, AGE_OFFSET - NAME_OFFSET);
+        checkAge(age);
+        if (find(userId) >= 0) {
+            throw new IllegalArgumentException("NRIC " + userId + " is already registered.");
+        }
+        if (size == MAX_INDEX_ENTRIES / 2) {
+            throw new IllegalStateException("The applicant table is full.");
+        }
+
+        int record = size;
+        if (record >>> CHUNK_SHIFT == chunks.size()) {
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_BYTES));
+        }
+        writeString(record, NRIC_OFFSET, nric);
+        writeString(record, PASSWORD_OFFSET, passwordBytes);
+        writeString(record, NAME_OFFSET, nameBytes);
+        chunk(record).putShort(offset(record) + AGE_OFFSET, (short) age);
+        chunk(record).put(offset(record) + MARITAL_STATUS_OFFSET, (byte) ordinalOf(maritalStatus));
+        chunk(record).put(offset(record) + ROLE_OFFSET, (byte) ordinalOf(role));
+        size++;
+        if (size * 2 > indexMask + 1) {
+            resizeIndex((indexMask + 1) * 2);
+        }
+        insertIndexEntry(hash(userId), record);
+    }
+
+    /**
+     * Adds a copy of an applicant. The copy does not take over the application, enquiries or booking
+     * of the applicant, so this is meant for applicants that have just been loaded.
+     *
+     * @param applicant the applicant to copy
+     * @throws IllegalArgumentException if the NRIC is taken, or a field does not fit in its record
+     */
+    public void add(Applicant applicant) {
+        add(applicant.getUserId(), applicant.getPassword(), applicant.getName(), applicant.getRole(),
+            applicant.getMaritalStatus(), applicant.getAge());
+    }
+
+    /**
+     * @param userId the NRIC
+     * @return the flyweight of the applicant, or null if there is none
+     */
+    public synchronized Applicant get(String userId) {
+        int record = userId == null ? -1 : find(userId);
+        return record < 0 ? null : flyweight(record);
+    }
+
+    /**
+     * Removes an applicant. Objects still referring to the applicant keep a detached copy of its fields.
+     * The last record moves into the freed one, so the order of the remaining applicants changes.
+     *
+     * @param userId the NRIC
+     * @return true if the applicant was removed
+     */
+    public synchronized boolean remove(String userId) {
+        int record = userId == null ? -1 : find(userId);
+        if (record < 0) {
+            return false;
+        }
+        removeIndexEntry(indexPosition(hash(userId), record));
+        FlyweightReference reference = flyweights.remove(record);
+        Flyweight removed = reference == null ? null : reference.get();
+        if (removed != null) {
+            removed.detach();
+        }
+
+        int last = size - 1;
+        if (record != last) {
+            chunk(record).put(offset(record), chunk(last), offset(last), RECORD_BYTES);
+            String movedId = readString(record, NRIC_OFFSET);
+            index.putInt(indexPosition(hash(movedId), last) * ENTRY_BYTES + 4, record + 1);
+            FlyweightReference moved = flyweights.remove(last);
+            if (moved != null) {
+                moved.record = record;
+                flyweights.put(record, moved);
+                Flyweight flyweight = moved.get();
+                if (flyweight != null) {
+                    flyweight.record = record;
+                }
+            }
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * @return the number of applicants
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the applicants as a list of flyweights, in table order. The list reflects later changes
+     * to the table and cannot be modified through.
+     *
+     * @return the list view
+     */
+    public List<Applicant> asList() {
+        return view;
+    }
+
+    /**
+     * Returns the applicants that are in use. Only these can have an application, enquiries or a booking,
+     * since those refer to their applicant and so keep its flyweight in use.
+     *
+     * @return the flyweights in use
+     */
+    public synchronized List<Applicant> getInUse() {
+        purge();
+        List<Applicant> inUse = new ArrayList<>(flyweights.size());
+        for (FlyweightReference reference : flyweights.values()) {
+            Flyweight flyweight = reference.get();
+            if (flyweight != null) {
+                inUse.add(flyweight);
+            }
+        }
+        return inUse;
+    }
+
+    private synchronized Applicant get(int record) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("Index " + record + " out of bounds for length " + size);
+        }
+        return flyweight(record);
+    }
+
+    /**
+     * Returns the flyweight of a record, creating it if it is not in use.
+     */
+    private Flyweight flyweight(int record) {
+        purge();
+        FlyweightReference reference = flyweights.get(record);
+        Flyweight flyweight = reference == null ? null : reference.get();
+        if (flyweight == null) {
+            flyweight = new Flyweight(this, record);
+            flyweights.put(record, new FlyweightReference(flyweight, record, reclaimed));
+            flyweightsHighWater = Math.max(flyweightsHighWater, flyweights.size());
+        }
+        return flyweight;
+    }
+
+    /**
+     * Forgets the flyweights that the garbage collector has reclaimed, and rebuilds the map once a scan
+     * over many applicants has left it mostly empty.
+     */
+    private void purge() {
+        FlyweightReference reference;
+        while ((reference = (FlyweightReference) reclaimed.poll()) != null) {
+            flyweights.remove(reference.record, reference);
+        }
+        if (flyweightsHighWater > 1024 && flyweights.size() < flyweightsHighWater / 8) {
+            flyweights = new HashMap<>(flyweights);
+            flyweightsHighWater = flyweights.size();
+        }
+    }
+
+    // Records
+
+    private ByteBuffer chunk(int record) {
+        return chunks.get(record >>> CHUNK_SHIFT);
+    }
+
+    private static int offset(int record) {
+        return (record & (CHUNK_RECORDS - 1)) * RECORD_BYTES;
+    }
+
+    private static byte[] encode(String field, String value, int width) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required.");
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= width) {
+            throw new IllegalArgumentException(field + " must be at most " + (width - 1) + " bytes long.");
+        }
+        return bytes;
+    }
+
+    private void writeString(int record, int field, byte[] bytes) {
+        ByteBuffer chunk = chunk(record);
+        chunk.put(offset(record) + field, (byte) bytes.length);
+        chunk.put(offset(record) + field + 1, bytes);
+    }
+
+    private String readString(int record, int field) {
+        ByteBuffer chunk = chunk(record);
+        byte[] bytes = new byte[chunk.get(offset(record) + field)];
+        chunk.get(offset(record) + field + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean nricEquals(int record, byte[] nric) {
+        ByteBuffer chunk = chunk(record);
+        int start = offset(record) + NRIC_OFFSET;
+        if (chunk.get(start) != nric.length) {
+            return false;
+        }
+        for (int i = 0; i < nric.length; i++) {
+            if (chunk.get(start + 1 + i) != nric[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checkAge(int age) {
+        if (age < 0 || age > 0xFFFF) {
+            throw new IllegalArgumentException("Invalid age " + age);
+        }
+        return age;
+    }
+
+    private static int ordinalOf(Enum<?> value) {
+        return value == null ? 0 : value.ordinal() + 1;
+    }
+
+    // NRIC index
+
+    private static int hash(String userId) {
+        int h = userId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the record number of an NRIC, or -1 if it is not in the table
+     */
+    private int find(String userId) {
+        byte[] nric = userId.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(userId);
+        for (int position = hash & indexMask; ; position = (position + 1) & indexMask) {
+            int entry = index.getInt(position * ENTRY_BYTES + 4);
+            if (entry == 0) {
+                return -1;
+            }
+            if (index.getInt(position * ENTRY_BYTES) == hash && nricEquals(entry - 1, nric)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * @return the index position holding a record, which must be indexed under the hash
+     */
+    private int indexPosition(int hash, int record) {
+        int position = hash & indexMask;
+        while (index.getInt(position * ENTRY_BYTES + 4) != record + 1) {
+            position = (position + 1) & indexMask;
+        }
+        return position;
+    }
+
+    private void insertIndexEntry(int hash, int record) {
+        int position = hash & indexMask;
+        while (index.getInt(position * ENTRY_BYTES + 4) != 0) {
+            position = (position + 1) & indexMask;
+        }
+        index.putInt(position * ENTRY_BYTES, hash);
+        index.putInt(position * ENTRY_BYTES + 4, record + 1);
+    }
+
+    /**
+     * Frees an index entry, moving later entries of the same probe sequence back so that no lookup
+     * stops early at the freed entry.
+     */
+    private void removeIndexEntry(int position) {
+        int free = position;
+        for (int next = (free + 1) & indexMask; ; next = (next + 1) & indexMask) {
+            int entry = index.getInt(next * ENTRY_BYTES + 4);
+            if (entry == 0) {
+                break;
+            }
+            int hash = index.getInt(next * ENTRY_BYTES);
+            int home = hash & indexMask;
+            if (((next - home) & indexMask) >= ((next - free) & indexMask)) {
+                index.putInt(free * ENTRY_BYTES, hash);
+                index.putInt(free * ENTRY_BYTES + 4, entry);
+                free = next;
+            }
+        }
+        index.putInt(free * ENTRY_BYTES, 0);
+        index.putInt(free * ENTRY_BYTES + 4, 0);
+    }
+
+    private void resizeIndex(int entries) {
+        ByteBuffer old = index;
+        int oldEntries = indexMask + 1;
+        index = ByteBuffer.allocateDirect(entries * ENTRY_BYTES);
+        indexMask = entries - 1;
+        for (int position = 0; position < oldEntries; position++) {
+            int entry = old.getInt(position * ENTRY_BYTES + 4);
+            if (entry != 0) {
+                insertIndexEntry(old.getInt(position * ENTRY_BYTES), entry - 1);
+            }
+        }
+    }
+
+    // Flyweight access, by the record the flyweight currently points to. Each accessor checks whether the
+    // flyweight has been detached under the same lock as the access, so a concurrent remove cannot free the
+    // record in between; a detached flyweight falls back to its own copy of the fields.
+
+    private synchronized String readString(Flyweight flyweight, int field, Supplier<String> detached) {
+        return flyweight.record < 0 ? detached.get() : readString(flyweight.record, field);
+    }
+
+    private synchronized int readAge(Flyweight flyweight, IntSupplier detached) {
+        return flyweight.record < 0 ? detached.getAsInt()
+            : chunk(flyweight.record).getChar(offset(flyweight.record) + AGE_OFFSET);
+    }
+
+    private synchronized <E> E readEnum(Flyweight flyweight, int field, E[] values, Supplier<E> detached) {
+        if (flyweight.record < 0) {
+            return detached.get();
+        }
+        int ordinal = chunk(flyweight.record).get(offset(flyweight.record) + field);
+        return ordinal == 0 ? null : values[ordinal - 1];
+    }
+
+    private synchronized void writeUserId(Flyweight flyweight, String userId, Consumer<String> detached) {
+        int record = flyweight.record;
+        if (record < 0) {
+            detached.accept(userId);
+            return;
+        }
+        userId = userId.trim().toUpperCase();
+        String current = readString(record, NRIC_OFFSET);
+        if (current.equals(userId)) {
+            return;
+        }
+        if (find(userId) >= 0) {
+            throw new IllegalArgumentException("NRIC " + userId + " is already registered.");
+        }
+        byte[] nric = encode("NRIC", userId, PASSWORD_OFFSET - NRIC_OFFSET);
+        removeIndexEntry(indexPosition(hash(current), record));
+        writeString(record, NRIC_OFFSET, nric);
+        insertIndexEntry(hash(userId), record);
+    }
+
+    private synchronized void writeString(Flyweight flyweight, String field, String value, int offset, int width,
+                                          Consumer<String> detached) {
+        if (flyweight.record < 0) {
+            detached.accept(value);
+        } else {
+            writeString(flyweight.record, offset, encode(field, value, width));
+        }
+    }
+
+    private synchronized void writeAge(Flyweight flyweight, int age, IntConsumer detached) {
+        if (flyweight.record < 0) {
+            detached.accept(age);
+        } else {
+            chunk(flyweight.record).putShort(offset(flyweight.record) + AGE_OFFSET, (short) checkAge(age));
+        }
+    }
+
+    private synchronized <E extends Enum<E>> void writeEnum(Flyweight flyweight, int field, E value, Consumer<E> detached) {
+        if (flyweight.record < 0) {
+            detached.accept(value);
+        } else {
+            chunk(flyweight.record).put(offset(flyweight.record) + field, (byte) ordinalOf(value));
+        }
+    }
+
+    /**
+     * An applicant whose fields live in a record of the table. The application, enquiries and booking are
+     * kept in the flyweight, as they are heap objects. Once its applicant is removed, a flyweight holds a
+     * copy of the fields and no longer touches the table.
+     */
+    private static final class Flyweight extends Applicant {
+        private final ApplicantTable table;
+        /** The record of the applicant, or -1 once removed; guarded by the table. */
+        private int record;
+
+        private Flyweight(ApplicantTable table, int record) {
+            this.table = table;
+            this.record = record;
+        }
+
+        /**
+         * Copies the fields out of the record before the record is removed. Called with the table locked.
+         */
+        private void detach() {
+            super.setUserId(getUserId());
+            super.setPassword(getPassword());
+            super.setName(getName());
+            super.setRole(getRole());
+            super.setMaritalStatus(getMaritalStatus());
+            super.setAge(getAge());
+            record = -1;
+        }
+
+        @Override
+        public String getUserId() {
+            return table.readString(this, NRIC_OFFSET, super::getUserId);
+        }
+
+        @Override
+        public String getPassword() {
+            return table.readString(this, PASSWORD_OFFSET, super::getPassword);
+        }
+
+        @Override
+        public String getName() {
+            return table.readString(this, NAME_OFFSET, super::getName);
+        }
+
+        @Override
+        public Role getRole() {
+            return table.readEnum(this, ROLE_OFFSET, ROLES, super::getRole);
+        }
+
+        @Override
+        public MaritalStatus getMaritalStatus() {
+            return table.readEnum(this, MARITAL_STATUS_OFFSET, MARITAL_STATUSES, super::getMaritalStatus);
+        }
+
+        @Override
+        public int getAge() {
+            return table.readAge(this, super::getAge);
+        }
+
+        @Override
+        public void setUserId(String userId) {
+            table.writeUserId(this, userId, super::setUserId);
+        }
+
+        @Override
+        public void setPassword(String password) {
+            table.writeString(this, "Password", password, PASSWORD_OFFSET, NAME_OFFSET - PASSWORD_OFFSET,
+                super::setPassword);
+        }
+
+        @Override
+        public void setName(String name) {
+            table.writeString(this, "Name", name.trim(), NAME_OFFSET, AGE_OFFSET - NAME_OFFSET, super::setName);
+        }
+
+        @Override
+        public void setAge(int age) {
+            table.writeAge(this, age, super::setAge);
+        }
+
+        @Override
+        public void setRole(Role role) {
+            table.writeEnum(this, ROLE_OFFSET, role, super::setRole);
+        }
+
+        @Override
+        public void setMaritalStatus(MaritalStatus maritalStatus) {
+            table.writeEnum(this, MARITAL_STATUS_OFFSET, maritalStatus, super::setMaritalStatus);
+        }
+    }
+
+    /**
+     * A weak reference to a flyweight that remembers the record it is stored under.
+     */
+    private static final class FlyweightReference extends WeakReference<Flyweight> {
+        /** Guarded by the table. */
+        private int record;
+
+        private FlyweightReference(Flyweight flyweight, int record, ReferenceQueue<Flyweight> queue) {
+            super(flyweight, queue);
+            this.record = record;
+        }
+    }
+
+    /**
+     * Read-only list of the flyweights, in table order.
+     */
+    private final class ListView extends AbstractList<Applicant> implements RandomAccess {
+        @Override
+        public Applicant get(int index) {
+            return ApplicantTable.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return ApplicantTable.this.size();
+        }
+    }
+}
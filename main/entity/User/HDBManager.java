@@ -1,7 +1,7 @@
 package main.entity.User;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 import main.entity.Enum.MaritalStatus;
 import main.entity.Enum.Role;
@@ -63,12 +63,12 @@ public class HDBManager extends User {
      * @param endDate   The end of the new project period.
      * @return true if there's an overlap with an existing project period, false otherwise.
      */
-    public boolean isHandlingProjectDuringPeriod(Date startDate, Date endDate) {
+    public boolean isHandlingProjectDuringPeriod(LocalDate startDate, LocalDate endDate) {
         for (Project project : createdProjects) {
-            Date existingStart = project.getApplicationOpeningDate();
-            Date existingEnd = project.getApplicationClosingDate();
+            LocalDate existingStart = project.getApplicationOpeningDate();
+            LocalDate existingEnd = project.getApplicationClosingDate();
 
-            boolean overlaps = !(endDate.before(existingStart) || startDate.after(existingEnd));
+            boolean overlaps = !(endDate.isBefore(existingStart) || startDate.isAfter(existingEnd));
             if (overlaps) return true;
         }
         return false;
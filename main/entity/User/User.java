@@ -9,12 +9,19 @@ import main.entity.Enum.Role;
  */
 
 public abstract class User{
+    private static final Role[] ROLES = Role.values();
+    private static final MaritalStatus[] MARITAL_STATUSES = MaritalStatus.values();
+    private static final int MAX_AGE = 0xFFFF;
+
     private String userId;
     private String password;
     private String name;
-    private Role role;
-    private MaritalStatus maritalStatus;
-    private int age;
+    /**
+     * Role, marital status and age packed into one int, since there is one user object per NRIC:
+     * bits 0-15 hold the age, bits 16-23 the role ordinal plus one and bits 24-31 the marital status
+     * ordinal plus one, with 0 meaning none.
+     */
+    private int profile;
 
     /**
      * Default constructor for creating auser with no attributes
@@ -36,9 +43,7 @@ public abstract class User{
         this.userId = userId;
         this.password = password;
         this.name = name;
-        this.role = role;
-        this.maritalStatus = maritalStatus;
-        this.age = age;
+        this.profile = (checkAge(age) | ordinalOf(role) << 16 | ordinalOf(maritalStatus) << 24);
     }
 
     //Getter Methods()
@@ -72,7 +77,8 @@ public abstract class User{
      * @return the role
      */
     public Role getRole(){
-        return role;
+        int ordinal = (profile >>> 16) & 0xFF;
+        return ordinal == 0 ? null : ROLES[ordinal - 1];
     }
 
     /**
@@ -80,7 +86,8 @@ public abstract class User{
      * @return the marital status
      */
     public MaritalStatus getMaritalStatus(){
-        return maritalStatus;
+        int ordinal = profile >>> 24;
+        return ordinal == 0 ? null : MARITAL_STATUSES[ordinal - 1];
     }
 
     /**
@@ -88,7 +95,7 @@ public abstract class User{
      * @return the age
      */
     public int getAge(){
-        return age;
+        return profile & MAX_AGE;
     }
 
     //Setter Methods()
@@ -111,8 +118,13 @@ public abstract class User{
         this.password = password;
     }
 
+    /**
+     * Update the age of the user
+     * @param age the age, from 0 to 65535
+     * @throws IllegalArgumentException if the age is out of range
+     */
     public void setAge(int age){
-        this.age = age;
+        profile = (profile & ~MAX_AGE) | checkAge(age);
     }
 
 
@@ -131,7 +143,7 @@ public abstract class User{
      * @param the role
      */
     public  void setRole(Role role){
-        this.role = role;
+        profile = (profile & ~(0xFF << 16)) | (ordinalOf(role) << 16);
     }
 
     /**
@@ -139,7 +151,7 @@ public abstract class User{
      * @param the marital status
      */
     public void setMaritalStatus(MaritalStatus maritalStatus){
-        this.maritalStatus = maritalStatus;
+        profile = (profile & 0x00FFFFFF) | (ordinalOf(maritalStatus) << 24);
     }
 
     /**
@@ -147,11 +159,31 @@ public abstract class User{
      * @param the age
      */
     public void getAge(int age){
-        this.age = age;
+        setAge(age);
     }
 
     //Other Methods()
 
+    /**
+     * Checks that an age fits in the profile
+     * @param age the age
+     * @return the age
+     * @throws IllegalArgumentException if the age is not from 0 to 65535
+     */
+    private static int checkAge(int age){
+        if (age < 0 || age > MAX_AGE) {
+            throw new IllegalArgumentException("Invalid age " + age);
+        }
+        return age;
+    }
+
+    /**
+     * Return the ordinal plus one of an enum constant, or 0 for null, as stored in the profile
+     */
+    private static int ordinalOf(Enum<?> value){
+        return value == null ? 0 : value.ordinal() + 1;
+    }
+
     /**
      * Formatted string containing user information
      * @return A formatted string with user details
@@ -0,0 +1,90 @@
+package main.entity;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Base class of the entities that sessions edit concurrently, giving each a version for optimistic
+ * concurrency control.
+ * <p>
+ * A session reads an entity's version, shows the entity to the user, and later applies its change with
+ * {@link #updateIfVersion(long, Runnable)}, which only succeeds if nobody else updated the entity in between.
+ * Updates are claimed with a single compare-and-set, so there is no lock and a stale write is rejected
+ * instead of silently overwriting the newer one. Internally the counter is odd while an update is being
+ * applied, so {@link #getVersion()} never returns a version whose update is half done. The counter is a
+ * field of the entity itself rather than a separate object, to keep entities small.
+ */
+public abstract class VersionedEntity {
+
+    private static final AtomicLongFieldUpdater<VersionedEntity> COUNTER =
+        AtomicLongFieldUpdater.newUpdater(VersionedEntity.class, "counter");
+
+    /** Twice the number of completed updates, plus one while an update is in progress. */
+    private volatile long counter;
+
+    /**
+     * Returns the current version, waiting for an update in progress to finish.
+     *
+     * @return the number of updates made through {@link #updateIfVersion(long, Runnable)} or {@link #update(Runnable)}.
+     */
+    public long getVersion() {
+        long value;
+        while (((value = counter) & 1) != 0) {
+            Thread.onSpinWait();
+        }
+        return value >> 1;
+    }
+
+    /**
+     * Applies an update only if nobody has updated the entity since the expected version was read,
+     * advancing the version. The update should only change in-memory fields; saving belongs after it.
+     *
+     * @param expectedVersion the version read before deciding on the update.
+     * @param update          the field changes to apply.
+     * @return true if the update was applied, false if the entity was changed by someone else.
+     */
+    public boolean updateIfVersion(long expectedVersion, Runnable update) {
+        long expected = expectedVersion << 1;
+        if (expectedVersion < 0 || !COUNTER.compareAndSet(this, expected, expected + 1)) {
+            return false;
+        }
+        try {
+            update.run();
+        } finally {
+            counter = expected + 2;
+        }
+        return true;
+    }
+
+    /**
+     * Applies an update regardless of the entity's version, advancing the version so that
+     * sessions holding an older version are still told their view is stale.
+     *
+     * @param update the field changes to apply.
+     */
+    public void update(Runnable update) {
+        updateWhile(() -> true, update);
+    }
+
+    /**
+     * Applies an update if a condition on the entity's fields holds, retrying whenever another update
+     * lands between checking the condition and applying the update, e.g. to move a status on only from
+     * the status the caller saw.
+     *
+     * @param condition checked before each attempt, against the fields of the version being updated.
+     * @param update    the field changes to apply.
+     * @return true if the update was applied, false if the condition did not hold.
+     */
+    protected boolean updateWhile(BooleanSupplier condition, Runnable update) {
+        while (true) {
+            long current = getVersion();
+            if (!condition.getAsBoolean()) {
+                return false;
+            }
+            if (updateIfVersion(current, update)) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
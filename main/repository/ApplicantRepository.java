@@ -1,29 +1,62 @@
 package main.repository;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import main.controller.UserController.ApplicantController;
+import main.controller.UserController.UserController;
 import main.entity.Enum.MaritalStatus;
 import main.entity.Enum.Role;
 import main.entity.User.Applicant;
-import main.utility.CSVRead;
+import main.repository.Interface.ApplicantRepositoryInterface;
 import main.utility.CSVWrite;
+import main.utility.ImportReport;
+import main.utility.IsValid;
+import main.utility.ParallelCSVParser;
+import main.utility.StringPool;
 
 /**
  * The ApplicantRepository class handles saving and loading applicant data
  * to and from a CSV file. It provides persistence for applicant-related data.
+ * New applicants are appended to the file; a changed or deleted applicant means rewriting the whole file,
+ * so the log or JDBC backend suits large populations better.
  */
-public class ApplicantRepository {
+public class ApplicantRepository implements ApplicantRepositoryInterface {
 
     private static final String FILE_PATH = "data/ApplicantUpdatedList.csv";
+    private static final String HEADER = "Name,NRIC,Age,Marital Status,Password";
+
+    /** Whether loading leaves the files as they are instead of writing the header into an empty file. */
+    private final boolean readOnly;
+
+    /**
+     * Creates a repository that tidies the files up while loading.
+     */
+    public ApplicantRepository() {
+        this(false);
+    }
+
+    /**
+     * @param readOnly whether loading must leave the files as they are, e.g. when another backend migrates from them
+     */
+    public ApplicantRepository(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
 
     /**
      * Saves the list of applicants to a CSV file.
      *
      * @param applicants The list of applicants to be saved.
      */
-    public static void saveApplicantsToCSV(List<Applicant> applicants) {
+    @Override
+    public void saveApplicants(List<Applicant> applicants) {
         List<LinkedHashMap<String, String>> csvData = new ArrayList<>();
         for (Applicant app : applicants) {
             LinkedHashMap<String, String> row = new LinkedHashMap<>();
@@ -34,29 +67,178 @@ public class ApplicantRepository {
             row.put("Password", app.getPassword());
             csvData.add(row);
         }
-        CSVWrite.CSVWrite(FILE_PATH, csvData);
+        try {
+            // Appends queued before the rewrite are written first, so they cannot land after it
+            GroupCommitAppender.runExclusive(Paths.get(FILE_PATH), () -> CSVWrite.CSVWrite(FILE_PATH, csvData));
+        } catch (IOException e) {
+            System.out.println("Error writing " + FILE_PATH + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> appendApplicant(Applicant applicant) {
+        return GroupCommitAppender.append(Paths.get(FILE_PATH), HEADER, String.join(",", escape(applicant.getName()),
+            applicant.getUserId(), String.valueOf(applicant.getAge()), applicant.getMaritalStatus().toString(),
+            escape(applicant.getPassword())));
+    }
+
+    /**
+     * Rewrites the file, as a CSV row cannot be changed in place.
+     */
+    @Override
+    public void saveApplicant(Applicant applicant) {
+        saveApplicants(ApplicantController.getApplicantList());
+    }
+
+    /**
+     * Rewrites the file, as a CSV row cannot be removed in place.
+     */
+    @Override
+    public void deleteApplicant(String userId) {
+        saveApplicants(ApplicantController.getApplicantList());
+    }
+
+    /**
+     * Quotes a field the way {@link CSVWrite} does.
+     */
+    private static String escape(String value) {
+        value = value.replace("\"", "\"\"");
+        return value.contains(",") || value.contains("\"") || value.contains("\n") ? "\"" + value + "\"" : value;
     }
 
     /**
-     * Loads all applicants from the specified CSV file and populates the system.
-     * Ensures no duplicates are added based on NRIC.
+     * Loads all applicants from the CSV file and populates the system.
+     * Ensures no duplicates are added based on NRIC; rejected rows are reported.
+     * A file without applicant rows is written back with just its header.
+     */
+    @Override
+    public void loadAllApplicants() {
+        boolean hasData = updatedApplicantsFileHasData();
+        ImportReport report = readApplicants(FILE_PATH, false);
+        if (!report.getRejectedRows().isEmpty()) {
+            report.print("Applicants");
+        }
+        if (!hasData && !readOnly) {
+            saveApplicants(ApplicantController.getApplicantList());
+        }
+    }
+
+    /**
+     * Imports an applicant roster from a CSV file in a single pass and saves the applicants once
+     * through the selected storage backend. Must be called once all users are loaded.
+     * Rows with missing or invalid fields, and rows whose NRIC is already used by an applicant, officer
+     * or manager or appears earlier in the file, are skipped and listed in the returned report.
+     *
+     * @param filePath The path to the CSV file, with a Name, NRIC, Age, Marital Status and Password header.
+     * @return The number of imported rows and the rejected rows.
+     */
+    public static ImportReport importApplicants(String filePath) {
+        ImportReport report = readApplicants(filePath, true);
+        if (report.getImportedCount() > 0) {
+            Repositories.applicants().saveApplicants(ApplicantController.getApplicantList());
+        }
+        return report;
+    }
+
+    /**
+     * Validates and adds every applicant in a CSV file without saving, deduplicating by NRIC.
+     * When loading, officers and managers are still being loaded in parallel, so only applicants are checked.
      *
-     * @param filePath The path to the CSV file.
+     * @param checkAllUsers whether an NRIC must also not be used by an officer or manager
      */
-    public static void loadAllApplicants(String filePath) {
-        var applicantRaw = CSVRead.CSVRead(filePath, true);
-        for (var row : applicantRaw) {
-            String userId = row.get("NRIC");
-            if (ApplicantController.getUserById(userId) != null) continue;
-
-            String password = row.get("Password");
-            String name = row.get("Name");
-            int age = Integer.parseInt(row.get("Age"));
-            String status = row.get("Marital Status").trim().toUpperCase();
-            MaritalStatus maritalStatus = MaritalStatus.valueOf(status);
-
-            ApplicantController.addApplicant(userId, password, name, Role.APPLICANT, maritalStatus, age);
+    private static ImportReport readApplicants(String filePath, boolean checkAllUsers) {
+        ImportReport report = new ImportReport();
+        List<String[]> records;
+        try {
+            records = ParallelCSVParser.parse(filePath, false);
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+            return report;
+        }
+        if (records.isEmpty()) {
+            return report;
+        }
+
+        List<String> header = new ArrayList<>();
+        for (String column : records.get(0)) {
+            header.add(column.trim());
+        }
+        int nameColumn = header.indexOf("Name");
+        int nricColumn = header.indexOf("NRIC");
+        int ageColumn = header.indexOf("Age");
+        int statusColumn = header.indexOf("Marital Status");
+        int passwordColumn = header.indexOf("Password");
+        if (nameColumn < 0 || nricColumn < 0 || ageColumn < 0 || statusColumn < 0 || passwordColumn < 0) {
+            report.reject(1, "Header must contain Name, NRIC, Age, Marital Status and Password");
+            return report;
+        }
+
+        // NRICs earlier in the file; registered ones are looked up in the controllers' indexes
+        Set<String> seenIds = new HashSet<>();
+
+        List<Applicant> accepted = new ArrayList<>();
+        Map<Applicant, Integer> rowNumbers = new IdentityHashMap<>();
+        for (int i = 1; i < records.size(); i++) {
+            String[] fields = records.get(i);
+            int rowNumber = i + 1;
+            if (fields.length < header.size()) {
+                report.reject(rowNumber, "Expected " + header.size() + " fields but found " + fields.length);
+                continue;
+            }
+
+            String userId = fields[nricColumn].trim();
+            String name = fields[nameColumn].trim();
+            String age = fields[ageColumn].trim();
+            String status = fields[statusColumn].trim().toUpperCase();
+            String password = fields[passwordColumn].trim();
+
+            if (!IsValid.isValidNric(userId)) {
+                report.reject(rowNumber, "Invalid NRIC '" + userId + "'");
+                continue;
+            }
+            if (name.isEmpty()) {
+                report.reject(rowNumber, "Missing name");
+                continue;
+            }
+            if (!IsValid.isValidAge(age)) {
+                report.reject(rowNumber, "Invalid age '" + age + "'");
+                continue;
+            }
+            MaritalStatus maritalStatus;
+            try {
+                maritalStatus = MaritalStatus.valueOf(status);
+            } catch (IllegalArgumentException e) {
+                report.reject(rowNumber, "Invalid marital status '" + status + "'");
+                continue;
+            }
+            if (password.isEmpty()) {
+                report.reject(rowNumber, "Missing password");
+                continue;
+            }
+            if (!seenIds.add(userId)) {
+                report.reject(rowNumber, "Duplicate NRIC '" + userId + "'");
+                continue;
+            }
+            if (checkAllUsers ? UserController.isUserIdTaken(userId) : ApplicantController.getUserById(userId) != null) {
+                report.reject(rowNumber, "NRIC '" + userId + "' is already registered");
+                continue;
+            }
+
+            Applicant applicant = new Applicant(userId, StringPool.sharePassword(password), name, Role.APPLICANT, maritalStatus, Integer.parseInt(age), null, null, null);
+            accepted.add(applicant);
+            rowNumbers.put(applicant, rowNumber);
+        }
+        // Rows can still be turned away by the store, e.g. a name too long for the off-heap table
+        Map<Applicant, String> rejected = ApplicantController.addApplicants(accepted);
+        for (Applicant applicant : accepted) {
+            String reason = rejected.get(applicant);
+            if (reason == null) {
+                report.recordImported();
+            } else {
+                report.reject(rowNumbers.get(applicant), reason);
+            }
         }
+        return report;
     }
 
     /**
@@ -64,7 +246,7 @@ public class ApplicantRepository {
      *
      * @return true if the file contains applicant data, false otherwise.
      */
-    public static boolean updatedApplicantsFileHasData() {
+    private static boolean updatedApplicantsFileHasData() {
         try (java.io.BufferedReader reader = new java.io.BufferedReader(
             new java.io.FileReader("data/ApplicantUpdatedList.csv"))) {
             // Skip header
@@ -1,148 +1,178 @@
 package main.repository;
 
-import java.io.*;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import main.controller.ApplicationController;
+import main.controller.UserController.UserController;
 import main.entity.Application;
 import main.entity.Enum.ApplicationStatus;
 import main.entity.Enum.FlatType;
 import main.entity.Project;
 import main.entity.User.Applicant;
+import main.utility.DateUtil;
+import main.repository.Interface.ApplicationRepositoryInterface;
 
 /**
  * Handles persistence operations for Application entities,
- * including saving to and loading from a CSV file.
+ * including saving to and loading from the per-project {@code applications.csv} files.
  */
-public class ApplicationRepository {
+public class ApplicationRepository implements ApplicationRepositoryInterface {
 
-    private static final String FILE_PATH = "data/Application.csv";
+    /** Pre-partitioning file holding the applications of every project; migrated on load. */
+    private static final String LEGACY_FILE_PATH = "data/Application.csv";
+
+    private static final String HEADER = "Application ID,Applicant Id,Project Name,Status,Submission Date,Flat Type";
+
+    /** Whether loading leaves the files as they are instead of moving records out of the old single file. */
+    private final boolean readOnly;
+
+    /**
+     * Creates a repository that tidies the files up while loading.
+     */
+    public ApplicationRepository() {
+        this(false);
+    }
+
+    /**
+     * @param readOnly whether loading must leave the files as they are, e.g. when another backend migrates from them
+     */
+    public ApplicationRepository(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
 
     /**
-     * Writes all applications to the CSV file, replacing existing content.
+     * Writes all applications to their projects' files, replacing existing content.
      *
      * @param applications List of all Application objects to be written.
      */
-    public static void writeAllApplication(List<Application> applications) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_PATH))) {
-            writer.write("Application ID, Applicant Id,Project Name,Status,Submission Date, Flat Type");
-            writer.newLine();
-
-            for (Application application : applications) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(application.getApplicationId()).append(",");
-                sb.append(application.getApplicant().getUserId()).append(",");
-                sb.append(application.getProject().getProjectName()).append(",");
-                sb.append(application.getStatus().name()).append(",");
-                sb.append(application.getSubmissionDate().toString()).append(",");
-                sb.append(application.getFlatType().toString());
-                writer.write(sb.toString());
-                writer.newLine();
-            }
+    @Override
+    public void saveAllApplications(List<Application> applications) {
+        Map<String, List<String>> linesByProject = new LinkedHashMap<>();
+        for (Application application : applications) {
+            linesByProject.computeIfAbsent(application.getProject().getProjectName(), name -> new ArrayList<>())
+                .add(toCsvLine(application));
+        }
+        ProjectPartitions.writeAll(ProjectPartitions.APPLICATIONS, HEADER, linesByProject);
+    }
 
-        } catch (IOException e) {
-            System.out.println("Error writing to file: " + e.getMessage());
+    /**
+     * Writes the applications of one project to that project's file, replacing existing content.
+     *
+     * @param project      The project whose file is rewritten.
+     * @param applications The project's applications.
+     */
+    @Override
+    public void saveApplicationsForProject(Project project, List<Application> applications) {
+        List<String> lines = new ArrayList<>();
+        for (Application application : applications) {
+            lines.add(toCsvLine(application));
         }
+        ProjectPartitions.write(project.getProjectName(), ProjectPartitions.APPLICATIONS, HEADER, lines);
     }
 
     /**
-     * Appends a new application to the CSV file.
+     * Appends a new application to its project's file.
      * Adds the header only if the file is new or empty.
      *
      * @param application The Application object to be appended.
      */
-    public static void appendApplicationToCSV(Application application) {
-        File file = new File(FILE_PATH);
-        boolean isNewOrEmpty = !file.exists() || file.length() < 6;
+    @Override
+    public CompletableFuture<Boolean> appendApplication(Application application) {
+        return ProjectPartitions.append(application.getProject().getProjectName(), ProjectPartitions.APPLICATIONS,
+            HEADER, toCsvLine(application));
+    }
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(FILE_PATH, true))) {
-            if (isNewOrEmpty) {
-                writer.println("Application ID,Applicant Id,Project Name,Status,Submission Date,Flat Type");
-            }
-            StringBuilder sb = new StringBuilder();
-            sb.append(application.getApplicationId())
-              .append(",")
-              .append(application.getApplicant().getUserId())
-              .append(",")
-              .append(application.getProject().getProjectName())
-              .append(",")
-              .append(application.getStatus())
-              .append(",")
-              .append(application.getSubmissionDate())
-              .append(",")              
-              .append(application.getFlatType());
-            writer.println(sb.toString());
-        } catch (IOException e) {
-            System.out.println("An error occurred while writing to the file: " + e.getMessage());
+    private static String toCsvLine(Application application) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(application.getApplicationId()).append(",");
+        sb.append(application.getApplicant().getUserId()).append(",");
+        sb.append(application.getProject().getProjectName()).append(",");
+        sb.append(application.getStatus().name()).append(",");
+        sb.append(application.getSubmissionDate().toString()).append(",");
+        sb.append(application.getFlatType().toString());
+        return sb.toString();
+    }
+
+    /**
+     * Loads all applications from the project files and associates them with their applicants and projects.
+     * The project files are parsed in parallel; applications are added in file order.
+     * Records still in the old single {@code data/Application.csv} are loaded first and then moved into the project files.
+     *
+     * @param projects   List of all projects used to match project names to actual Project objects.
+     */
+    @Override
+    public void loadAllApplications(List<Project> projects) {
+        List<String[]> legacyRows = ProjectPartitions.readLegacyFile(LEGACY_FILE_PATH);
+        List<String[]> rows = ProjectPartitions.readAll(ProjectPartitions.APPLICATIONS, legacyRows);
+
+        addApplications(rows, projects);
+
+        if (!legacyRows.isEmpty() && !readOnly) {
+            System.out.println("Moving " + legacyRows.size() + " applications into per-project files...");
+            saveAllApplications(ApplicationController.getAllApplications());
+            ProjectPartitions.clearLegacyFile(LEGACY_FILE_PATH, HEADER);
         }
     }
 
     /**
-     * Loads applications from the CSV file and associates them with the given applicant
-     * if the applicant ID matches.
+     * Creates applications from parsed rows and adds them to the {@link ApplicationController},
+     * linking each to its applicant and project. Rows whose applicant or project is unknown are skipped.
      *
-     * @param applicant The applicant whose applications should be loaded.
-     * @param projects  List of all projects used to match project names to actual Project objects.
+     * @param rows       The rows, in Application ID, Applicant Id, Project Name, Status, Submission Date, Flat Type order.
+     * @param projects   List of all projects used to match project names to actual Project objects.
      */
-    public static void loadApplicationForApplicant(Applicant applicant, List<Project> projects) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_PATH))) {
-            String line = reader.readLine(); // Skip header
-
-            while ((line = reader.readLine()) != null) {
-                String[] fields = line.split(",", -1);
-
-                if (fields.length < 6) continue;
-
-                String applicationID = fields[0].trim();
-                String applicantID   = fields[1].trim();
-
-                if (!applicantID.equals(applicant.getUserId())) continue;
-
-                String projectName   = fields[2].trim();
-                String statusStr     = fields[3].trim();
-                String dateStr       = fields[4].trim();
-                String flatTypeStr   = fields[5].trim();
-                try {
-                    ApplicationStatus status = ApplicationStatus.valueOf(statusStr);
-                    LocalDate createdAt = LocalDate.parse(dateStr);
-                    FlatType flatType = FlatType.valueOf(flatTypeStr);
-
-                    Project project = null;
-                    for (Project p : projects) {
-                        if (p.getProjectName().equals(projectName)) {
-                            project = p;
-                            break;
-                        }
-                    }
-
-                    if (project == null) {
-                        System.err.println("Project not found for application: " + applicationID);
-                        continue;
-                    }
-
-                    ApplicationController.applicationCounter++;
-
-                    Application application = new Application(
-                        applicationID,
-                        applicant,
-                        project,
-                        status,
-                        createdAt,
-                        flatType
-                    );
-
-                    applicant.setApplication(application);
-                    ApplicationController.getAllApplications().add(application);
-
-                } catch (Exception e) {
-                    System.err.println("Error parsing application row: " + Arrays.toString(fields));
-                    e.printStackTrace();
+    static void addApplications(List<String[]> rows, List<Project> projects) {
+        Map<String, Project> projectsByName = new HashMap<>();
+        for (Project p : projects) {
+            projectsByName.putIfAbsent(p.getProjectName(), p);
+        }
+
+        for (String[] fields : rows) {
+            if (fields.length < 6) continue;
+
+            String applicationID = fields[0].trim();
+            Applicant applicant = UserController.getApplicantById(fields[1].trim());
+            if (applicant == null) continue;
+
+            String projectName   = fields[2].trim();
+            String statusStr     = fields[3].trim();
+            String dateStr       = fields[4].trim();
+            String flatTypeStr   = fields[5].trim();
+            try {
+                ApplicationStatus status = ApplicationStatus.valueOf(statusStr);
+                LocalDate createdAt = DateUtil.parseCsvDate(dateStr);
+                FlatType flatType = FlatType.valueOf(flatTypeStr);
+
+                Project project = projectsByName.get(projectName);
+                if (project == null) {
+                    System.err.println("Project not found for application: " + applicationID);
+                    continue;
                 }
-            }
 
-        } catch (IOException e) {
-            System.out.println("Failed to load application for " + applicant.getUserId() + ": " + e.getMessage());
+                ApplicationController.applicationCounter++;
+
+                Application application = new Application(
+                    applicationID,
+                    applicant,
+                    project,
+                    status,
+                    createdAt,
+                    flatType
+                );
+
+                applicant.setApplication(application);
+                ApplicationController.addApplication(application);
+
+            } catch (Exception e) {
+                System.err.println("Error parsing application row: " + Arrays.toString(fields));
+                e.printStackTrace();
+            }
         }
     }
 }
@@ -1,104 +1,138 @@
 package main.repository;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import main.controller.FlatBookingController;
+import main.controller.UserController.UserController;
 import main.entity.FlatBooking;
 import main.entity.Project;
 import main.entity.Enum.FlatBookingStatus;
 import main.entity.Enum.FlatType;
 import main.entity.User.Applicant;
+import main.repository.Interface.BookingRepositoryInterface;
 
 /**
  * Repository class for handling CSV file operations related to flat bookings.
- * This includes saving and loading {@link FlatBooking} objects to and from disk.
+ * This includes saving and loading {@link FlatBooking} objects to and from the
+ * per-project {@code flatbookings.csv} files.
  */
-public class BookingRepository {
+public class BookingRepository implements BookingRepositoryInterface {
+
+    /** Pre-partitioning file holding the bookings of every project; migrated on load. */
+    private static final String LEGACY_FILE_PATH = "data/flatbookings.csv";
+
+    private static final String HEADER = "Flat ID,Applicant ID,Project Name,Flat Type,Booking Status";
+
+    /** Whether loading leaves the files as they are instead of moving records out of the old single file. */
+    private final boolean readOnly;
+
+    /**
+     * Creates a repository that tidies the files up while loading.
+     */
+    public BookingRepository() {
+        this(false);
+    }
 
     /**
-     * Writes all flat bookings to a CSV file.
+     * @param readOnly whether loading must leave the files as they are, e.g. when another backend migrates from them
+     */
+    public BookingRepository(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Writes all flat bookings to their projects' files.
      * Each booking is saved with fields: Flat ID, Applicant ID, Project Name, Flat Type, and Booking Status.
      *
-     * @param bookings the list of {@link FlatBooking} objects to write to the file
+     * @param bookings the list of {@link FlatBooking} objects to write
      */
-    public static void writeAllFlatBookings(List<FlatBooking> bookings) {
-        String FILE_PATH = "data/flatbookings.csv";
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_PATH))) {
-            // Write CSV header
-            writer.write("Flat ID,Applicant ID,Project Name,Flat Type,Booking Status");
-            writer.newLine();
-
-            // Write each booking entry
-            for (FlatBooking booking : bookings) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(booking.getFlatId()).append(",");
-                sb.append(booking.getApplicant().getUserId()).append(",");
-                sb.append(booking.getProject().getProjectName()).append(",");
-                sb.append(booking.getFlatType().name()).append(",");
-                sb.append(booking.getFlatBookingStatus().name());
-
-                writer.write(sb.toString());
-                writer.newLine();
-            }
+    @Override
+    public void saveAllFlatBookings(List<FlatBooking> bookings) {
+        Map<String, List<String>> linesByProject = new LinkedHashMap<>();
+        for (FlatBooking booking : bookings) {
+            linesByProject.computeIfAbsent(booking.getProject().getProjectName(), name -> new ArrayList<>())
+                .add(toCsvLine(booking));
+        }
+        ProjectPartitions.writeAll(ProjectPartitions.FLAT_BOOKINGS, HEADER, linesByProject);
+    }
 
-        } catch (IOException e) {
-            System.out.println("Error writing flat bookings to file: " + e.getMessage());
+    /**
+     * Writes the flat bookings of one project to that project's file.
+     *
+     * @param project  the project whose file is rewritten
+     * @param bookings the project's bookings
+     */
+    @Override
+    public void saveFlatBookingsForProject(Project project, List<FlatBooking> bookings) {
+        List<String> lines = new ArrayList<>();
+        for (FlatBooking booking : bookings) {
+            lines.add(toCsvLine(booking));
         }
+        ProjectPartitions.write(project.getProjectName(), ProjectPartitions.FLAT_BOOKINGS, HEADER, lines);
+    }
+
+    private static String toCsvLine(FlatBooking booking) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(booking.getFlatId()).append(",");
+        sb.append(booking.getApplicant().getUserId()).append(",");
+        sb.append(booking.getProject().getProjectName()).append(",");
+        sb.append(booking.getFlatType().name()).append(",");
+        sb.append(booking.getFlatBookingStatus().name());
+        return sb.toString();
     }
 
     /**
-     * Loads flat bookings from the CSV file and associates them with the given applicant
-     * if the applicant ID in the record matches the provided applicant's NRIC.
+     * Loads flat bookings from the project files and associates each with its applicant.
+     * The project files are parsed in parallel; records still in the old single {@code data/flatbookings.csv}
+     * are loaded first and then moved into the project files.
      * Matches projects by name from the given list.
      *
-     * @param applicant the applicant whose bookings are to be loaded
-     * @param projects  the list of projects to match project names from CSV records
+     * @param projects   the list of projects to match project names from CSV records
      */
-    public static void loadFlatBookingsForApplicant(Applicant applicant, List<Project> projects) {
-        String FILE_PATH = "data/flatbookings.csv";
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_PATH))) {
-            String line = reader.readLine(); // Skip header
-
-            while ((line = reader.readLine()) != null) {
-                String[] fields = line.split(",", -1); // -1 keeps trailing empty fields
-
-                if (fields.length < 5) continue;
-
-                String applicantID = fields[1];
-                if (applicantID.equals(applicant.getUserId())) {
-                    String flatId = fields[0];
-                    String projectName = fields[2];
-                    FlatType flatType = FlatType.valueOf(fields[3]);
-                    FlatBookingStatus status = FlatBookingStatus.valueOf(fields[4]);
-
-                    // Find matching project by name
-                    Project matchedProject = null;
-                    for (Project p : projects) {
-                        if (p.getProjectName().equals(projectName)) {
-                            matchedProject = p;
-                            break;
-                        }
-                    }
-
-                    if (matchedProject == null) {
-                        System.out.println("Project not found for booking: " + flatId);
-                        continue;
-                    }
-
-                    FlatBooking booking = new FlatBooking(flatId, applicant, flatType, matchedProject, status);
-                    applicant.setFlatBooking(booking);  // Save booking to applicant
-                    FlatBookingController.flatBookings.add(booking); // Add to global booking list
+    @Override
+    public void loadAllFlatBookings(List<Project> projects) {
+        List<String[]> legacyRows = ProjectPartitions.readLegacyFile(LEGACY_FILE_PATH);
+        List<String[]> rows = ProjectPartitions.readAll(ProjectPartitions.FLAT_BOOKINGS, legacyRows);
+
+        Map<String, Project> projectsByName = new HashMap<>();
+        for (Project p : projects) {
+            projectsByName.putIfAbsent(p.getProjectName(), p);
+        }
+
+        for (String[] fields : rows) {
+            if (fields.length < 5) continue;
+
+            Applicant applicant = UserController.getApplicantById(fields[1]);
+            if (applicant == null) continue;
+
+            String flatId = fields[0];
+            try {
+                String projectName = fields[2];
+                FlatType flatType = FlatType.valueOf(fields[3]);
+                FlatBookingStatus status = FlatBookingStatus.valueOf(fields[4]);
+
+                // Find matching project by name
+                Project matchedProject = projectsByName.get(projectName);
+                if (matchedProject == null) {
+                    System.out.println("Project not found for booking: " + flatId);
+                    continue;
                 }
+
+                FlatBooking booking = new FlatBooking(flatId, applicant, flatType, matchedProject, status);
+                applicant.setFlatBooking(booking);  // Save booking to applicant
+                FlatBookingController.addFlatBooking(booking); // Add to global booking list
+            } catch (IllegalArgumentException e) {
+                System.out.println("Error parsing flat booking: " + flatId);
             }
+        }
 
-        } catch (IOException e) {
-            System.out.println("Error loading flat bookings: " + e.getMessage());
+        if (!legacyRows.isEmpty() && !readOnly) {
+            System.out.println("Moving " + legacyRows.size() + " flat bookings into per-project files...");
+            saveAllFlatBookings(FlatBookingController.flatBookings);
+            ProjectPartitions.clearLegacyFile(LEGACY_FILE_PATH, HEADER);
         }
     }
 }
@@ -1,148 +1,165 @@
 package main.repository;
 
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import main.controller.EnquiryController;
+import main.controller.UserController.UserController;
 import main.entity.Enquiry;
 import main.entity.Project;
 import main.entity.Enum.EnquiryStatus;
 import main.entity.User.Applicant;
+import main.repository.Interface.EnquiryRepositoryInterface;
+import main.utility.StringPool;
 
 /**
- * Repository class for handling the saving and loading of Enquiry data to and from CSV.
+ * Repository class for handling the saving and loading of Enquiry data to and from the
+ * per-project {@code enquiries.csv} files.
  */
-public class EnquiryRepository {
+public class EnquiryRepository implements EnquiryRepositoryInterface {
 
-    private static final String FILE_PATH = "data/Enquiry.csv";
+    /** Pre-partitioning file holding the enquiries of every project; migrated on load. */
+    private static final String LEGACY_FILE_PATH = "data/Enquiry.csv";
+
+    private static final String HEADER = "EnquiryID,Applicant Id,Project Name,Status,Enquiry Text,Created Date,Reply Text";
+
+    /** Whether loading leaves the files as they are instead of moving records out of the old single file. */
+    private final boolean readOnly;
+
+    /**
+     * Creates a repository that tidies the files up while loading.
+     */
+    public EnquiryRepository() {
+        this(false);
+    }
+
+    /**
+     * @param readOnly whether loading must leave the files as they are, e.g. when another backend migrates from them
+     */
+    public EnquiryRepository(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
 
     /**
-     * Appends a single enquiry to the CSV file.
+     * Appends a single enquiry to its project's file.
      * If the file is new or empty, a header is written first.
      *
      * @param enquiry The enquiry to be appended.
      */
-    public static void appendEnquiryToCSV(Enquiry enquiry) {
-        File file = new File(FILE_PATH);
-        boolean isNewOrEmpty = !file.exists() || file.length() < 6;
-        try (PrintWriter writer = new PrintWriter(new FileWriter(FILE_PATH, true))) {
-            if (isNewOrEmpty) {
-                writer.println("Enquiry ID,Applicant Id,Project Name,Status, Enquiry text, Created Date,Reply Text");
-            }
+    @Override
+    public CompletableFuture<Boolean> appendEnquiry(Enquiry enquiry) {
+        return ProjectPartitions.append(enquiry.getProject().getProjectName(), ProjectPartitions.ENQUIRIES, HEADER, toCsvLine(enquiry));
+    }
 
-            StringBuilder sb = new StringBuilder();
-            sb.append(enquiry.getEnquiryID()).append(",");
-            sb.append(enquiry.getApplicant().getUserId()).append(",");
-            sb.append(enquiry.getProject().getProjectName()).append(",");
-            sb.append(enquiry.getStatus().name()).append(",");
+    /**
+     * Overwrites every project's file with the full list of enquiries.
+     *
+     * @param enquiries List of all enquiries to write.
+     */
+    @Override
+    public void saveAllEnquiries(List<Enquiry> enquiries) {
+        Map<String, List<String>> linesByProject = new LinkedHashMap<>();
+        for (Enquiry enquiry : enquiries) {
+            linesByProject.computeIfAbsent(enquiry.getProject().getProjectName(), name -> new ArrayList<>())
+                .add(toCsvLine(enquiry));
+        }
+        ProjectPartitions.writeAll(ProjectPartitions.ENQUIRIES, HEADER, linesByProject);
+    }
 
-            String cleanEnq = enquiry.getEnquiryText().replace("\"", "\"\"");
-            sb.append("\"").append(cleanEnq).append("\",");
+    /**
+     * Overwrites one project's file with that project's enquiries.
+     *
+     * @param project   The project whose file is rewritten.
+     * @param enquiries The project's enquiries.
+     */
+    @Override
+    public void saveEnquiriesForProject(Project project, List<Enquiry> enquiries) {
+        List<String> lines = new ArrayList<>();
+        for (Enquiry enquiry : enquiries) {
+            lines.add(toCsvLine(enquiry));
+        }
+        ProjectPartitions.write(project.getProjectName(), ProjectPartitions.ENQUIRIES, HEADER, lines);
+    }
 
-            sb.append(enquiry.getDateCreated().toString()).append(",");
+    private static String toCsvLine(Enquiry enquiry) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(enquiry.getEnquiryID()).append(",");
+        sb.append(enquiry.getApplicant().getUserId()).append(",");
+        sb.append(enquiry.getProject().getProjectName()).append(",");
+        sb.append(enquiry.getStatus().name()).append(",");
 
-            String rawReply = enquiry.getEquiryReply();
-            String cleanReply = rawReply == null ? "" : rawReply.replace("\"", "\"\"");
-            sb.append("\"").append(cleanReply).append("\"");
+        String cleanEnq = enquiry.getEnquiryText().replace("\"", "\"\"");
+        sb.append("\"").append(cleanEnq).append("\",");
 
-            writer.println(sb.toString());
+        sb.append(enquiry.getDateCreated().toString()).append(",");
 
-        } catch (IOException e) {
-            System.out.println("An error occurred while writing to the file: " + e.getMessage());
-        }
+        String rawReply = enquiry.getEquiryReply();
+        String cleanReply = rawReply == null ? "" : rawReply.replace("\"", "\"\"");
+        sb.append("\"").append(cleanReply).append("\"");
+        return sb.toString();
     }
 
     /**
-     * Overwrites the CSV file with the full list of enquiries.
+     * Loads all enquiries from the project files and associates them with their applicants and projects.
+     * The project files are parsed in parallel; enquiries are added in file order.
+     * Records still in the old single {@code data/Enquiry.csv} are loaded first and then moved into the project files.
      *
-     * @param enquiries List of all enquiries to write.
+     * @param projects   The list of available projects for matching.
      */
-    public static void writeAllEnquiries(List<Enquiry> enquiries) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_PATH))) {
-            writer.write("EnquiryID,Applicant Id,Project Name,Status,Enquiry Text,Created Date,Reply Text");
-            writer.newLine();
+    @Override
+    public void loadAllEnquiries(List<Project> projects) {
+        List<String[]> legacyRows = ProjectPartitions.readLegacyFile(LEGACY_FILE_PATH);
+        List<String[]> rows = ProjectPartitions.readAll(ProjectPartitions.ENQUIRIES, legacyRows);
+
+        Map<String, Project> projectsByName = new HashMap<>();
+        for (Project p : projects) {
+            projectsByName.putIfAbsent(p.getProjectName(), p);
+        }
 
-            for (Enquiry enquiry : enquiries) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(enquiry.getEnquiryID()).append(",");
-                sb.append(enquiry.getApplicant().getUserId()).append(",");
-                sb.append(enquiry.getProject().getProjectName()).append(",");
-                sb.append(enquiry.getStatus().name()).append(",");
+        for (String[] fields : rows) {
+            if (fields.length < 7) continue;
 
-                String cleanEnq = enquiry.getEnquiryText().replace("\"", "\"\"");
-                sb.append("\"").append(cleanEnq).append("\",");
+            Applicant applicant = UserController.getApplicantById(fields[1].trim());
+            if (applicant == null) continue;
 
-                sb.append(enquiry.getDateCreated().toString()).append(",");
+            String enquiryID = fields[0].trim();
+            try {
+                int numberPart = Integer.parseInt(enquiryID.substring(5));
+                EnquiryController.enquiryCounter = Math.max(EnquiryController.enquiryCounter, numberPart + 1);
 
-                String rawReply = enquiry.getEquiryReply();
-                String cleanReply = rawReply == null ? "" : rawReply.replace("\"", "\"\"");
-                sb.append("\"").append(cleanReply).append("\"");
+                String projectName = fields[2];
+                EnquiryStatus status = EnquiryStatus.valueOf(fields[3].trim());
+                String enquiryText = fields[4];
+                LocalDateTime createdAt = LocalDateTime.parse(fields[5].trim());
+                String replyText = StringPool.intern(fields[6]);
 
-                writer.write(sb.toString());
-                writer.newLine();
-            }
-
-        } catch (IOException e) {
-            System.out.println("Error writing to file: " + e.getMessage());
-        }
-    }
+                Project project = projectsByName.get(projectName);
+                if (project == null) {
+                    System.out.println("Project not found for enquiry: " + enquiryID);
+                    continue;
+                }
 
-    /**
-     * Loads all enquiries from CSV that belong to a given applicant.
-     * Enquiries are associated with matching projects.
-     *
-     * @param applicant The applicant whose enquiries are being loaded.
-     * @param projects  The list of available projects for matching.
-     */
-    public static void loadEnquiriesForApplicant(Applicant applicant, List<Project> projects) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_PATH))) {
-            String line = reader.readLine(); // skip header
-
-            while ((line = reader.readLine()) != null) {
-                String[] fields = line.split(",", -1);
-
-                if (fields.length < 7) continue;
-
-                String applicantID = fields[1];
-                if (applicantID.equals(applicant.getUserId())) {
-                    String enquiryID = fields[0];
-                    int numberPart = Integer.parseInt(enquiryID.substring(5));
-                    EnquiryController.enquiryCounter = numberPart + 1;
-
-                    String projectName = fields[2];
-                    EnquiryStatus status = EnquiryStatus.valueOf(fields[3]);
-                    String enquiryText = fields[4].replace("\"\"", "\"").replace("\"", "");
-                    LocalDateTime createdAt = LocalDateTime.parse(fields[5]);
-                    String replyText = fields[6];
-
-                    Project project = null;
-                    for (Project p : projects) {
-                        if (p.getProjectName().equals(projectName)) {
-                            project = p;
-                            break;
-                        }
-                    }
-
-                    if (project == null) {
-                        System.out.println("Project not found for enquiry: " + enquiryID);
-                        continue;
-                    }
-
-                    Enquiry enquiry = new Enquiry(enquiryID, applicant, project, status, enquiryText, createdAt, replyText);
-                    applicant.getEnquiries().add(enquiry);
-                    EnquiryController.enquiries.add(enquiry);
+                Enquiry enquiry = new Enquiry(enquiryID, applicant, project, status, enquiryText, createdAt, replyText);
+                applicant.addEnquiry(enquiry);
+                EnquiryController.addEnquiry(enquiry);
+                if (status != EnquiryStatus.PENDING) {
+                    EnquiryController.indexReply(enquiry);
                 }
+            } catch (Exception e) {
+                System.err.println("Error parsing enquiry row: " + Arrays.toString(fields));
             }
+        }
 
-        } catch (IOException e) {
-            System.out.println("Failed to load enquiries for " + applicant.getUserId() + ": " + e.getMessage());
+        if (!legacyRows.isEmpty() && !readOnly) {
+            System.out.println("Moving " + legacyRows.size() + " enquiries into per-project files...");
+            saveAllEnquiries(EnquiryController.enquiries);
+            ProjectPartitions.clearLegacyFile(LEGACY_FILE_PATH, HEADER);
         }
     }
 }
@@ -0,0 +1,242 @@
+package main.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends CSV records to files through a single background writer thread.
+ * Records from all threads are queued; the writer takes whatever has queued up (waiting at most the
+ * configured latency for more), writes each file's records with one call on a long-lived channel
+ * and forces them to disk once per file, instead of opening, writing and closing the file per record.
+ * <p>
+ * Every append returns a future that completes once the record is on disk, so callers that need
+ * durability can wait for it. Two system properties tune the grouping:
+ * {@code bto.append.maxLatencyMs} (default 2) is how long the writer waits for more records
+ * after the first one arrives, and {@code bto.append.maxBatch} (default 512) caps a group's size.
+ * <p>
+ * Files must only be replaced, moved or deleted through {@link #runExclusive(Path, FileOperation)}, which
+ * runs the change on the writer thread itself. Appends queued before it are written first and appends
+ * queued after it open the new file, so no acknowledged record can land in a file that is being replaced.
+ */
+public class GroupCommitAppender {
+
+    private static final long MAX_LATENCY_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("bto.append.maxLatencyMs", 2));
+    private static final int MAX_BATCH = Math.max(1, Integer.getInteger("bto.append.maxBatch", 512));
+
+    /**
+     * A change to files that must not interleave with appends, e.g. writing a file and moving it over another.
+     */
+    @FunctionalInterface
+    public interface FileOperation {
+        void run() throws IOException;
+    }
+
+    /**
+     * A queued request: a record to append to {@code file}, or, when {@code line} is null,
+     * a request to close every channel under {@code file} and then run {@code operation}.
+     */
+    private static class Request {
+        private final Path file;
+        private final String header;
+        private final String line;
+        private final FileOperation operation;
+        private final CompletableFuture<Boolean> done = new CompletableFuture<>();
+        /** Why the operation failed; set before {@code done} completes. */
+        private IOException failure;
+
+        private Request(Path file, String header, String line, FileOperation operation) {
+            this.file = file;
+            this.header = header;
+            this.line = line;
+            this.operation = operation;
+        }
+
+        private boolean isExclusive() {
+            return line == null;
+        }
+    }
+
+    private static final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+
+    /** Open channels by file; only touched by the writer thread. */
+    private static final Map<Path, FileChannel> channels = new HashMap<>();
+
+    private static Thread writer;
+
+    private GroupCommitAppender() {}
+
+    /**
+     * Queues a record to be appended to a file. If the file is new or empty, the header is written first.
+     *
+     * @param file   the CSV file
+     * @param header the CSV header line
+     * @param line   the CSV line to append
+     * @return a future completing with true once the record is on disk, or false if it could not be written
+     */
+    public static CompletableFuture<Boolean> append(Path file, String header, String line) {
+        return submit(new Request(file.toAbsolutePath().normalize(), header, line, null));
+    }
+
+    /**
+     * Runs a change to {@code path} or the files below it on the writer thread and waits for it.
+     * Records queued before this call are written first, then the channels under {@code path} are
+     * closed and the operation runs; records queued afterwards reopen the files once it has finished.
+     * The operation must not append or wait for the writer itself.
+     *
+     * @param path      a file or directory
+     * @param operation the change, e.g. writing a new file and moving it over the old one
+     * @throws IOException if the operation failed, or did not finish within {@link Repositories#awaitWrite}'s timeout
+     */
+    public static void runExclusive(Path path, FileOperation operation) throws IOException {
+        Request request = new Request(path.toAbsolutePath().normalize(), null, null, operation);
+        if (!Repositories.awaitWrite(submit(request))) {
+            throw request.failure != null ? request.failure : new IOException("the writer thread did not finish in time");
+        }
+    }
+
+    private static CompletableFuture<Boolean> submit(Request request) {
+        startWriter();
+        queue.add(request);
+        return request.done;
+    }
+
+    /**
+     * Starts the writer thread, or a new one if the last one has died; queued requests are kept.
+     */
+    private static synchronized void startWriter() {
+        if (writer != null && writer.isAlive()) {
+            return;
+        }
+        writer = new Thread(GroupCommitAppender::run, "group-commit-appender");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writer loop: collects a group of requests and processes it, until the thread is interrupted.
+     */
+    private static void run() {
+        List<Request> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + MAX_LATENCY_NANOS;
+                while (batch.size() < MAX_BATCH && !batch.get(batch.size() - 1).isExclusive()) {
+                    Request next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                try {
+                    process(batch);
+                } catch (RuntimeException e) {
+                    System.out.println("Error writing records: " + e.getMessage());
+                    for (Request request : batch) {
+                        request.done.complete(false);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes a group in queue order: appends are grouped per file until an exclusive request, which first
+     * flushes everything before it.
+     */
+    private static void process(List<Request> batch) {
+        Map<Path, List<Request>> pending = new LinkedHashMap<>();
+        for (Request request : batch) {
+            if (request.isExclusive()) {
+                flush(pending);
+                closeChannels(request.file);
+                try {
+                    request.operation.run();
+                    request.done.complete(true);
+                } catch (IOException e) {
+                    request.failure = e;
+                    request.done.complete(false);
+                }
+            } else {
+                pending.computeIfAbsent(request.file, f -> new ArrayList<>()).add(request);
+            }
+        }
+        flush(pending);
+    }
+
+    private static void flush(Map<Path, List<Request>> pending) {
+        for (Map.Entry<Path, List<Request>> entry : pending.entrySet()) {
+            writeGroup(entry.getKey(), entry.getValue());
+        }
+        pending.clear();
+    }
+
+    /**
+     * Writes one file's records with a single write and a single force, then acknowledges them.
+     */
+    private static void writeGroup(Path file, List<Request> requests) {
+        try {
+            FileChannel channel = channels.get(file);
+            if (channel == null) {
+                Files.createDirectories(file.getParent());
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                channels.put(file, channel);
+            }
+            StringBuilder sb = new StringBuilder();
+            if (channel.size() < 6) {
+                // write header only once
+                sb.append(requests.get(0).header).append(System.lineSeparator());
+            }
+            for (Request request : requests) {
+                sb.append(request.line).append(System.lineSeparator());
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            for (Request request : requests) {
+                request.done.complete(true);
+            }
+        } catch (IOException e) {
+            System.out.println("An error occurred while writing to " + file + ": " + e.getMessage());
+            closeChannels(file);
+            for (Request request : requests) {
+                request.done.complete(false);
+            }
+        }
+    }
+
+    private static void closeChannels(Path path) {
+        Iterator<Map.Entry<Path, FileChannel>> it = channels.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, FileChannel> entry = it.next();
+            if (entry.getKey().startsWith(path)) {
+                try {
+                    entry.getValue().close();
+                } catch (IOException e) {
+                    System.out.println("Error closing " + entry.getKey() + ": " + e.getMessage());
+                }
+                it.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package main.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import main.controller.ApplicationController;
+import main.controller.EnquiryController;
+import main.controller.FlatBookingController;
+import main.controller.ProjectController;
+import main.controller.RegistrationController;
+import main.controller.UserController.ApplicantController;
+import main.controller.UserController.ManagerController;
+import main.controller.UserController.OfficerController;
+import main.controller.UserController.UserController;
+import main.entity.Application;
+import main.entity.Enquiry;
+import main.entity.Enum.EnquiryStatus;
+import main.entity.FlatBooking;
+import main.entity.Project;
+import main.entity.Registration;
+import main.entity.User.Applicant;
+import main.entity.User.HDBManager;
+import main.entity.User.HDBOfficer;
+import main.repository.Interface.ApplicantRepositoryInterface;
+import main.repository.Interface.ApplicationRepositoryInterface;
+import main.repository.Interface.BookingRepositoryInterface;
+import main.repository.Interface.EnquiryRepositoryInterface;
+import main.repository.Interface.ManagerRepositoryInterface;
+import main.repository.Interface.OfficerRepositoryInterface;
+import main.repository.Interface.ProjectRepositoryInterface;
+import main.repository.Interface.RegistrationRepositoryInterface;
+
+/**
+ * Storage backend that keeps every saved record in memory and never touches the disk.
+ * It starts empty, so a system using it starts with no users or projects; records added during the
+ * session are kept here and loaded back by the {@code loadAll} methods, e.g. when a benchmark seeds
+ * the store and then initializes the system. Project records are kept per project, like the
+ * partitioned CSV layout, so per-project saves and project deletion only touch one project's lists.
+ */
+public class InMemoryRepository implements ApplicantRepositoryInterface, OfficerRepositoryInterface,
+        ManagerRepositoryInterface, ProjectRepositoryInterface, ApplicationRepositoryInterface,
+        EnquiryRepositoryInterface, RegistrationRepositoryInterface, BookingRepositoryInterface {
+
+    private final List<Applicant> applicants = new ArrayList<>();
+    private final List<HDBOfficer> officers = new ArrayList<>();
+    private final List<HDBManager> managers = new ArrayList<>();
+    private final List<Project> projects = new ArrayList<>();
+    private final Map<Project, List<Application>> applications = new LinkedHashMap<>();
+    private final Map<Project, List<Enquiry>> enquiries = new LinkedHashMap<>();
+    private final Map<Project, List<Registration>> registrations = new LinkedHashMap<>();
+    private final Map<Project, List<FlatBooking>> bookings = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void loadAllApplicants() {
+        ApplicantController.addApplicants(new ArrayList<>(applicants)).forEach((applicant, reason) ->
+            System.out.println("Skipping applicant " + applicant.getUserId() + ": " + reason));
+    }
+
+    @Override
+    public synchronized void saveApplicants(List<Applicant> applicants) {
+        replace(this.applicants, applicants);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendApplicant(Applicant applicant) {
+        applicants.add(applicant);
+        return CompletableFuture.completedFuture(true);
+    }
+
+    /**
+     * Nothing to do, as the stored applicant is the changed object itself.
+     */
+    @Override
+    public synchronized void saveApplicant(Applicant applicant) {
+    }
+
+    @Override
+    public synchronized void deleteApplicant(String userId) {
+        applicants.removeIf(applicant -> applicant.getUserId().equals(userId));
+    }
+
+    @Override
+    public synchronized void loadAllOfficers() {
+        OfficerController.addOfficers(new ArrayList<>(officers));
+    }
+
+    @Override
+    public synchronized void saveOfficers(List<HDBOfficer> officers) {
+        replace(this.officers, officers);
+    }
+
+    @Override
+    public synchronized void loadAllManagers() {
+        ManagerController.addManagers(new ArrayList<>(managers));
+    }
+
+    @Override
+    public synchronized void saveManagers(List<HDBManager> managers) {
+        replace(this.managers, managers);
+    }
+
+    @Override
+    public synchronized void loadAllProjects() {
+        for (Project project : ProjectController.addProjects(new ArrayList<>(projects))) {
+            for (HDBOfficer officer : project.getAssignedOfficers()) {
+                officer.setAssignedProject(project);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void saveProjects(List<Project> projects) {
+        replace(this.projects, projects);
+    }
+
+    @Override
+    public synchronized void deleteProjectRecords(Project project) {
+        applications.remove(project);
+        enquiries.remove(project);
+        registrations.remove(project);
+        bookings.remove(project);
+    }
+
+    /**
+     * Records are kept by project object rather than by name, so nothing moves on a rename.
+     */
+    @Override
+    public void renameProjectRecords(String oldName, Project project) {
+    }
+
+    @Override
+    public synchronized void loadAllApplications(List<Project> projects) {
+        for (Application application : recordsFor(this.applications, projects)) {
+            if (isKnown(application.getApplicant())) {
+                ApplicationController.applicationCounter++;
+                application.getApplicant().setApplication(application);
+                ApplicationController.addApplication(application);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void saveAllApplications(List<Application> applications) {
+        this.applications.clear();
+        for (Application application : applications) {
+            this.applications.computeIfAbsent(application.getProject(), p -> new ArrayList<>()).add(application);
+        }
+    }
+
+    @Override
+    public synchronized void saveApplicationsForProject(Project project, List<Application> applications) {
+        this.applications.put(project, new ArrayList<>(applications));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendApplication(Application application) {
+        applications.computeIfAbsent(application.getProject(), p -> new ArrayList<>()).add(application);
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public synchronized void loadAllEnquiries(List<Project> projects) {
+        for (Enquiry enquiry : recordsFor(this.enquiries, projects)) {
+            if (isKnown(enquiry.getApplicant())) {
+                int numberPart = Integer.parseInt(enquiry.getEnquiryID().substring(5));
+                EnquiryController.enquiryCounter = Math.max(EnquiryController.enquiryCounter, numberPart + 1);
+                if (!enquiry.getApplicant().getEnquiries().contains(enquiry)) {
+                    enquiry.getApplicant().addEnquiry(enquiry);
+                }
+                EnquiryController.addEnquiry(enquiry);
+                if (enquiry.getStatus() != EnquiryStatus.PENDING) {
+                    EnquiryController.indexReply(enquiry);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void saveAllEnquiries(List<Enquiry> enquiries) {
+        this.enquiries.clear();
+        for (Enquiry enquiry : enquiries) {
+            this.enquiries.computeIfAbsent(enquiry.getProject(), p -> new ArrayList<>()).add(enquiry);
+        }
+    }
+
+    @Override
+    public synchronized void saveEnquiriesForProject(Project project, List<Enquiry> enquiries) {
+        this.enquiries.put(project, new ArrayList<>(enquiries));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendEnquiry(Enquiry enquiry) {
+        enquiries.computeIfAbsent(enquiry.getProject(), p -> new ArrayList<>()).add(enquiry);
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public synchronized void loadAllRegistrations(List<HDBOfficer> officers, List<Project> projects) {
+        Set<HDBOfficer> knownOfficers = new HashSet<>(officers);
+        for (Registration registration : recordsFor(this.registrations, projects)) {
+            if (knownOfficers.contains(registration.getOfficer())) {
+                RegistrationController.registrationCounter++;
+                registration.getOfficer().setRegistration(registration);
+                RegistrationController.addRegistration(registration);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void saveAllRegistrations(List<Registration> registrations) {
+        this.registrations.clear();
+        for (Registration registration : registrations) {
+            this.registrations.computeIfAbsent(registration.getProject(), p -> new ArrayList<>()).add(registration);
+        }
+    }
+
+    @Override
+    public synchronized void saveRegistrationsForProject(Project project, List<Registration> registrations) {
+        this.registrations.put(project, new ArrayList<>(registrations));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendRegistration(Registration registration) {
+        registrations.computeIfAbsent(registration.getProject(), p -> new ArrayList<>()).add(registration);
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public synchronized void loadAllFlatBookings(List<Project> projects) {
+        for (FlatBooking booking : recordsFor(this.bookings, projects)) {
+            if (isKnown(booking.getApplicant())) {
+                booking.getApplicant().setFlatBooking(booking);
+                FlatBookingController.addFlatBooking(booking);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void saveAllFlatBookings(List<FlatBooking> bookings) {
+        this.bookings.clear();
+        for (FlatBooking booking : bookings) {
+            this.bookings.computeIfAbsent(booking.getProject(), p -> new ArrayList<>()).add(booking);
+        }
+    }
+
+    @Override
+    public synchronized void saveFlatBookingsForProject(Project project, List<FlatBooking> bookings) {
+        this.bookings.put(project, new ArrayList<>(bookings));
+    }
+
+    private static <T> void replace(List<T> stored, List<? extends T> records) {
+        List<T> copy = new ArrayList<>(records);
+        stored.clear();
+        stored.addAll(copy);
+    }
+
+    /**
+     * Returns the stored records of the given projects, project by project.
+     */
+    private static <T> List<T> recordsFor(Map<Project, List<T>> recordsByProject, List<Project> projects) {
+        List<T> records = new ArrayList<>();
+        for (Project project : projects) {
+            records.addAll(recordsByProject.getOrDefault(project, Collections.emptyList()));
+        }
+        return records;
+    }
+
+    /**
+     * Checks whether a record's applicant or officer is currently loaded, looking it up by NRIC.
+     */
+    private static boolean isKnown(Applicant applicant) {
+        return UserController.getApplicantById(applicant.getUserId()) != null;
+    }
+}
@@ -0,0 +1,45 @@
+package main.repository.Interface;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import main.entity.User.Applicant;
+
+/**
+ * Storage for applicant accounts.
+ */
+public interface ApplicantRepositoryInterface {
+
+    /**
+     * Loads every stored applicant into the {@link main.controller.UserController.ApplicantController}.
+     */
+    public void loadAllApplicants();
+
+    /**
+     * Replaces the stored applicants with the given list.
+     *
+     * @param applicants the applicants to store
+     */
+    public void saveApplicants(List<Applicant> applicants);
+
+    /**
+     * Stores a new applicant without rewriting the others.
+     *
+     * @param applicant the applicant to add
+     * @return a future completing with true once the applicant is stored, or false if it could not be
+     */
+    public CompletableFuture<Boolean> appendApplicant(Applicant applicant);
+
+    /**
+     * Stores the changed fields of one applicant, e.g. a new password.
+     *
+     * @param applicant the changed applicant
+     */
+    public void saveApplicant(Applicant applicant);
+
+    /**
+     * Removes one stored applicant.
+     *
+     * @param userId the NRIC of the applicant
+     */
+    public void deleteApplicant(String userId);
+}
@@ -0,0 +1,44 @@
+package main.repository.Interface;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import main.entity.Application;
+import main.entity.Project;
+
+/**
+ * Storage for BTO applications.
+ */
+public interface ApplicationRepositoryInterface {
+
+    /**
+     * Loads every stored application into the {@link main.controller.ApplicationController}
+     * and sets it on its applicant, found by NRIC through
+     * {@link main.controller.UserController.UserController#getApplicantById(String)}.
+     *
+     * @param projects   the projects the applications may refer to
+     */
+    public void loadAllApplications(List<Project> projects);
+
+    /**
+     * Replaces all stored applications with the given list.
+     *
+     * @param applications the applications to store
+     */
+    public void saveAllApplications(List<Application> applications);
+
+    /**
+     * Replaces the stored applications of one project.
+     *
+     * @param project      the project whose applications are replaced
+     * @param applications the project's applications
+     */
+    public void saveApplicationsForProject(Project project, List<Application> applications);
+
+    /**
+     * Stores a new application.
+     *
+     * @param application the application to add
+     * @return a future completing with true once the application is stored, or false if it could not be
+     */
+    public CompletableFuture<Boolean> appendApplication(Application application);
+}
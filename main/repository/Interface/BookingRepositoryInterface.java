@@ -0,0 +1,35 @@
+package main.repository.Interface;
+
+import java.util.List;
+import main.entity.FlatBooking;
+import main.entity.Project;
+
+/**
+ * Storage for flat bookings.
+ */
+public interface BookingRepositoryInterface {
+
+    /**
+     * Loads every stored flat booking into the {@link main.controller.FlatBookingController}
+     * and sets it on its applicant, found by NRIC through
+     * {@link main.controller.UserController.UserController#getApplicantById(String)}.
+     *
+     * @param projects   the projects the bookings may refer to
+     */
+    public void loadAllFlatBookings(List<Project> projects);
+
+    /**
+     * Replaces all stored flat bookings with the given list.
+     *
+     * @param bookings the bookings to store
+     */
+    public void saveAllFlatBookings(List<FlatBooking> bookings);
+
+    /**
+     * Replaces the stored flat bookings of one project.
+     *
+     * @param project  the project whose bookings are replaced
+     * @param bookings the project's bookings
+     */
+    public void saveFlatBookingsForProject(Project project, List<FlatBooking> bookings);
+}
@@ -0,0 +1,44 @@
+package main.repository.Interface;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import main.entity.Enquiry;
+import main.entity.Project;
+
+/**
+ * Storage for enquiries.
+ */
+public interface EnquiryRepositoryInterface {
+
+    /**
+     * Loads every stored enquiry into the {@link main.controller.EnquiryController}
+     * and adds it to its applicant's enquiries. The applicant is found by NRIC through
+     * {@link main.controller.UserController.UserController#getApplicantById(String)}.
+     *
+     * @param projects   the projects the enquiries may refer to
+     */
+    public void loadAllEnquiries(List<Project> projects);
+
+    /**
+     * Replaces all stored enquiries with the given list.
+     *
+     * @param enquiries the enquiries to store
+     */
+    public void saveAllEnquiries(List<Enquiry> enquiries);
+
+    /**
+     * Replaces the stored enquiries about one project.
+     *
+     * @param project   the project whose enquiries are replaced
+     * @param enquiries the project's enquiries
+     */
+    public void saveEnquiriesForProject(Project project, List<Enquiry> enquiries);
+
+    /**
+     * Stores a new enquiry.
+     *
+     * @param enquiry the enquiry to add
+     * @return a future completing with true once the enquiry is stored, or false if it could not be
+     */
+    public CompletableFuture<Boolean> appendEnquiry(Enquiry enquiry);
+}
@@ -0,0 +1,22 @@
+package main.repository.Interface;
+
+import java.util.List;
+import main.entity.User.HDBManager;
+
+/**
+ * Storage for HDB manager accounts.
+ */
+public interface ManagerRepositoryInterface {
+
+    /**
+     * Loads every stored manager into the {@link main.controller.UserController.ManagerController}.
+     */
+    public void loadAllManagers();
+
+    /**
+     * Replaces the stored managers with the given list.
+     *
+     * @param managers the managers to store
+     */
+    public void saveManagers(List<HDBManager> managers);
+}
@@ -0,0 +1,22 @@
+package main.repository.Interface;
+
+import java.util.List;
+import main.entity.User.HDBOfficer;
+
+/**
+ * Storage for HDB officer accounts.
+ */
+public interface OfficerRepositoryInterface {
+
+    /**
+     * Loads every stored officer into the {@link main.controller.UserController.OfficerController}.
+     */
+    public void loadAllOfficers();
+
+    /**
+     * Replaces the stored officers with the given list.
+     *
+     * @param officers the officers to store
+     */
+    public void saveOfficers(List<HDBOfficer> officers);
+}
@@ -0,0 +1,39 @@
+package main.repository.Interface;
+
+import java.util.List;
+import main.entity.Project;
+
+/**
+ * Storage for projects, and for dropping or renaming everything stored under a project.
+ */
+public interface ProjectRepositoryInterface {
+
+    /**
+     * Loads every stored project into the {@link main.controller.ProjectController}
+     * and links it to its manager and officers. Officers and managers must be loaded first.
+     */
+    public void loadAllProjects();
+
+    /**
+     * Replaces the stored projects with the given list.
+     *
+     * @param projects the projects to store
+     */
+    public void saveProjects(List<Project> projects);
+
+    /**
+     * Drops the applications, enquiries, registrations and flat bookings stored for a deleted project.
+     *
+     * @param project the deleted project
+     */
+    public void deleteProjectRecords(Project project);
+
+    /**
+     * Moves the records stored for a project after it has been renamed.
+     * The records themselves still carry the old name and must be saved again by the caller.
+     *
+     * @param oldName the previous project name
+     * @param project the renamed project
+     */
+    public void renameProjectRecords(String oldName, Project project);
+}
@@ -0,0 +1,45 @@
+package main.repository.Interface;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import main.entity.Project;
+import main.entity.Registration;
+import main.entity.User.HDBOfficer;
+
+/**
+ * Storage for officer registrations.
+ */
+public interface RegistrationRepositoryInterface {
+
+    /**
+     * Loads every stored registration into the {@link main.controller.RegistrationController}
+     * and sets it on its officer.
+     *
+     * @param officers the officers whose registrations should be loaded
+     * @param projects the projects the registrations may refer to
+     */
+    public void loadAllRegistrations(List<HDBOfficer> officers, List<Project> projects);
+
+    /**
+     * Replaces all stored registrations with the given list.
+     *
+     * @param registrations the registrations to store
+     */
+    public void saveAllRegistrations(List<Registration> registrations);
+
+    /**
+     * Replaces the stored registrations for one project.
+     *
+     * @param project       the project whose registrations are replaced
+     * @param registrations the project's registrations
+     */
+    public void saveRegistrationsForProject(Project project, List<Registration> registrations);
+
+    /**
+     * Stores a new registration.
+     *
+     * @param registration the registration to add
+     * @return a future completing with true once the registration is stored, or false if it could not be
+     */
+    public CompletableFuture<Boolean> appendRegistration(Registration registration);
+}
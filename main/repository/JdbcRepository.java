@@ -0,0 +1,777 @@
+package main.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import main.controller.ApplicationController;
+import main.controller.EnquiryController;
+import main.controller.FlatBookingController;
+import main.controller.ProjectController;
+import main.controller.RegistrationController;
+import main.controller.UserController.ApplicantController;
+import main.controller.UserController.ManagerController;
+import main.controller.UserController.OfficerController;
+import main.controller.UserController.UserController;
+import main.entity.Application;
+import main.entity.Enquiry;
+import main.entity.Enum.ApplicationStatus;
+import main.entity.Enum.EnquiryStatus;
+import main.entity.Enum.FlatBookingStatus;
+import main.entity.Enum.FlatType;
+import main.entity.Enum.MaritalStatus;
+import main.entity.Enum.RegistrationStatus;
+import main.entity.Enum.Role;
+import main.entity.FlatBooking;
+import main.entity.Project;
+import main.entity.Registration;
+import main.entity.User.Applicant;
+import main.entity.User.HDBManager;
+import main.entity.User.HDBOfficer;
+import main.entity.User.User;
+import main.repository.Interface.ApplicantRepositoryInterface;
+import main.repository.Interface.ApplicationRepositoryInterface;
+import main.repository.Interface.BookingRepositoryInterface;
+import main.repository.Interface.EnquiryRepositoryInterface;
+import main.repository.Interface.ManagerRepositoryInterface;
+import main.repository.Interface.OfficerRepositoryInterface;
+import main.repository.Interface.ProjectRepositoryInterface;
+import main.repository.Interface.RegistrationRepositoryInterface;
+import main.utility.DateUtil;
+import main.utility.StringPool;
+
+/**
+ * Storage backend that keeps all data in an embedded, file-based SQL database reached through JDBC,
+ * e.g. H2 ({@code jdbc:h2:./data/bto}) or SQLite ({@code jdbc:sqlite:data/bto.db}).
+ * The driver is not bundled and must be on the classpath when this backend is selected.
+ * <p>
+ * The schema is created on first use, with indexes on the columns records are looked up by
+ * (project and status, and applicant or officer).
+ * All statements are prepared, and whole-list saves run as one batched transaction.
+ * Dates are stored as ISO-8601 text, so they compare correctly as strings in any database.
+ * <p>
+ * Each table is filled once from the existing CSV files the first time it is loaded; the CSV files
+ * are left untouched. Records keep a per-project {@code position} so they load in the order they were saved.
+ */
+public class JdbcRepository implements ApplicantRepositoryInterface, OfficerRepositoryInterface,
+        ManagerRepositoryInterface, ProjectRepositoryInterface, ApplicationRepositoryInterface,
+        EnquiryRepositoryInterface, RegistrationRepositoryInterface, BookingRepositoryInterface {
+
+    /** Number of rows sent to the database per batch. */
+    private static final int BATCH_SIZE = 500;
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS migrations (name VARCHAR(64) PRIMARY KEY)",
+        "CREATE TABLE IF NOT EXISTS users (role VARCHAR(16) NOT NULL, user_id VARCHAR(32) NOT NULL,"
+            + " name VARCHAR(255) NOT NULL, age INT NOT NULL, marital_status VARCHAR(16) NOT NULL,"
+            + " password VARCHAR(255) NOT NULL, position INT NOT NULL, PRIMARY KEY (role, user_id))",
+        "CREATE TABLE IF NOT EXISTS projects (name VARCHAR(255) PRIMARY KEY, neighborhood VARCHAR(255) NOT NULL,"
+            + " type1 VARCHAR(16) NOT NULL, units1 INT NOT NULL, price1 INT NOT NULL,"
+            + " type2 VARCHAR(16), units2 INT, price2 INT,"
+            + " opening_date CHAR(10) NOT NULL, closing_date CHAR(10) NOT NULL, manager_name VARCHAR(255) NOT NULL,"
+            + " officer_slot INT NOT NULL, officer_names VARCHAR(2000) NOT NULL, visible INT NOT NULL, position INT NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS applications (application_id VARCHAR(255) PRIMARY KEY, applicant_id VARCHAR(32) NOT NULL,"
+            + " project_name VARCHAR(255) NOT NULL, status VARCHAR(32) NOT NULL, submission_date CHAR(10) NOT NULL,"
+            + " flat_type VARCHAR(16) NOT NULL, position INT NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS idx_applications_project_status ON applications (project_name, status)",
+        "CREATE INDEX IF NOT EXISTS idx_applications_applicant ON applications (applicant_id)",
+        "CREATE TABLE IF NOT EXISTS enquiries (enquiry_id VARCHAR(255) PRIMARY KEY, applicant_id VARCHAR(32) NOT NULL,"
+            + " project_name VARCHAR(255) NOT NULL, status VARCHAR(32) NOT NULL, enquiry_text VARCHAR(4000) NOT NULL,"
+            + " created_at VARCHAR(32) NOT NULL, reply_text VARCHAR(4000), position INT NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS idx_enquiries_project ON enquiries (project_name, status)",
+        "CREATE INDEX IF NOT EXISTS idx_enquiries_applicant ON enquiries (applicant_id)",
+        "CREATE TABLE IF NOT EXISTS registrations (registration_id VARCHAR(255) PRIMARY KEY, officer_id VARCHAR(32) NOT NULL,"
+            + " project_name VARCHAR(255) NOT NULL, status VARCHAR(32) NOT NULL, submission_date CHAR(10) NOT NULL,"
+            + " position INT NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS idx_registrations_project ON registrations (project_name, status)",
+        "CREATE INDEX IF NOT EXISTS idx_registrations_officer ON registrations (officer_id)",
+        "CREATE TABLE IF NOT EXISTS flat_bookings (flat_id VARCHAR(255) PRIMARY KEY, applicant_id VARCHAR(32) NOT NULL,"
+            + " project_name VARCHAR(255) NOT NULL, flat_type VARCHAR(16) NOT NULL, status VARCHAR(32) NOT NULL,"
+            + " position INT NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS idx_flat_bookings_project ON flat_bookings (project_name, status)",
+        "CREATE INDEX IF NOT EXISTS idx_flat_bookings_applicant ON flat_bookings (applicant_id)",
+    };
+
+    private static final String INSERT_USER =
+        "INSERT INTO users (role, user_id, name, age, marital_status, password, position) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PROJECT =
+        "INSERT INTO projects (name, neighborhood, type1, units1, price1, type2, units2, price2, opening_date,"
+            + " closing_date, manager_name, officer_slot, officer_names, visible, position)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_APPLICATION =
+        "INSERT INTO applications (application_id, applicant_id, project_name, status, submission_date, flat_type, position)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ENQUIRY =
+        "INSERT INTO enquiries (enquiry_id, applicant_id, project_name, status, enquiry_text, created_at, reply_text, position)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REGISTRATION =
+        "INSERT INTO registrations (registration_id, officer_id, project_name, status, submission_date, position)"
+            + " VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_FLAT_BOOKING =
+        "INSERT INTO flat_bookings (flat_id, applicant_id, project_name, flat_type, status, position)"
+            + " VALUES (?, ?, ?, ?, ?, ?)";
+
+    /** Tables holding records that belong to a project. */
+    private static final String[] PROJECT_TABLES = {"applications", "enquiries", "registrations", "flat_bookings"};
+
+    /**
+     * Binds one record to the parameters of an insert statement.
+     */
+    private interface RowBinder<T> {
+        void bind(PreparedStatement statement, T record, int position) throws SQLException;
+    }
+
+    /**
+     * Handles one row of a query result.
+     */
+    private interface RowHandler {
+        void handle(ResultSet row) throws SQLException;
+    }
+
+    /**
+     * Database work run inside a transaction opened by the caller.
+     */
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    private static final RowBinder<Application> APPLICATION_BINDER = (ps, application, position) -> {
+        ps.setString(1, application.getApplicationId());
+        ps.setString(2, application.getApplicant().getUserId());
+        ps.setString(3, application.getProject().getProjectName());
+        ps.setString(4, application.getStatus().name());
+        ps.setString(5, application.getSubmissionDate().toString());
+        ps.setString(6, application.getFlatType().name());
+        ps.setInt(7, position);
+    };
+
+    private static final RowBinder<Enquiry> ENQUIRY_BINDER = (ps, enquiry, position) -> {
+        ps.setString(1, enquiry.getEnquiryID());
+        ps.setString(2, enquiry.getApplicant().getUserId());
+        ps.setString(3, enquiry.getProject().getProjectName());
+        ps.setString(4, enquiry.getStatus().name());
+        ps.setString(5, enquiry.getEnquiryText());
+        ps.setString(6, enquiry.getDateCreated().toString());
+        ps.setString(7, enquiry.getEquiryReply());
+        ps.setInt(8, position);
+    };
+
+    private static final RowBinder<Registration> REGISTRATION_BINDER = (ps, registration, position) -> {
+        ps.setString(1, registration.getRegistrationId());
+        ps.setString(2, registration.getOfficer().getUserId());
+        ps.setString(3, registration.getProject().getProjectName());
+        ps.setString(4, registration.getRegistrationStatus().name());
+        ps.setString(5, registration.getSubmissionDate().toString());
+        ps.setInt(6, position);
+    };
+
+    private static final RowBinder<FlatBooking> FLAT_BOOKING_BINDER = (ps, booking, position) -> {
+        ps.setString(1, booking.getFlatId());
+        ps.setString(2, booking.getApplicant().getUserId());
+        ps.setString(3, booking.getProject().getProjectName());
+        ps.setString(4, booking.getFlatType().name());
+        ps.setString(5, booking.getFlatBookingStatus().name());
+        ps.setInt(6, position);
+    };
+
+    private static final RowBinder<Project> PROJECT_BINDER = (ps, project, position) -> {
+        ps.setString(1, project.getProjectName());
+        ps.setString(2, project.getNeighborhood());
+        ps.setString(3, project.getFlatTypes().get(0).name());
+        ps.setInt(4, project.getUnitsAvailable().get(0));
+        ps.setInt(5, project.getSellingPrice().get(0));
+        if (project.getFlatTypes().size() > 1) {
+            ps.setString(6, project.getFlatTypes().get(1).name());
+            ps.setInt(7, project.getUnitsAvailable().get(1));
+            ps.setInt(8, project.getSellingPrice().get(1));
+        } else {
+            ps.setNull(6, java.sql.Types.VARCHAR);
+            ps.setNull(7, java.sql.Types.INTEGER);
+            ps.setNull(8, java.sql.Types.INTEGER);
+        }
+        ps.setString(9, project.getApplicationOpeningDate().toString());
+        ps.setString(10, project.getApplicationClosingDate().toString());
+        ps.setString(11, project.getManagerInCharge().getName());
+        ps.setInt(12, project.getOfficerSlot());
+        List<String> officerNames = new ArrayList<>();
+        for (HDBOfficer officer : project.getAssignedOfficers()) {
+            officerNames.add(officer.getName());
+        }
+        ps.setString(13, String.join(",", officerNames));
+        ps.setInt(14, project.isVisible() ? 1 : 0);
+        ps.setInt(15, position);
+    };
+
+    private final Connection connection;
+
+    /**
+     * Opens the database and creates any missing tables and indexes.
+     *
+     * @param url the JDBC URL of an embedded database
+     * @throws SQLException if the database cannot be opened or the schema cannot be created
+     */
+    public JdbcRepository(String url) throws SQLException {
+        connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.executeUpdate(ddl);
+            }
+        }
+    }
+
+    // ----- Users -----
+
+    @Override
+    public synchronized void loadAllApplicants() {
+        if (migrateFromCsv("applicants", () -> new ApplicantRepository(true).loadAllApplicants(),
+            () -> replaceUsers(Role.APPLICANT, ApplicantController.getApplicantList()))) {
+            return;
+        }
+        List<Applicant> loaded = new ArrayList<>();
+        query("SELECT user_id, name, age, marital_status, password FROM users WHERE role = ? ORDER BY position",
+            new Object[] {Role.APPLICANT.name()},
+            row -> loaded.add(new Applicant(row.getString(1), StringPool.sharePassword(row.getString(5)), row.getString(2), Role.APPLICANT,
+                MaritalStatus.valueOf(row.getString(4)), row.getInt(3), null, null, null)));
+        ApplicantController.addApplicants(loaded).forEach((applicant, reason) ->
+            System.out.println("Skipping applicant " + applicant.getUserId() + ": " + reason));
+    }
+
+    @Override
+    public synchronized void saveApplicants(List<Applicant> applicants) {
+        saveUsers(Role.APPLICANT, applicants);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendApplicant(Applicant applicant) {
+        // Placed after the existing applicants in the same statement, so no other insert can take the position
+        return CompletableFuture.completedFuture(update("INSERT INTO users (role, user_id, name, age, marital_status,"
+                + " password, position) SELECT ?, ?, ?, ?, ?, ?, COALESCE(MAX(position), -1) + 1 FROM users WHERE role = ?",
+            Role.APPLICANT.name(), applicant.getUserId(), applicant.getName(), applicant.getAge(),
+            applicant.getMaritalStatus().name(), applicant.getPassword(), Role.APPLICANT.name()));
+    }
+
+    @Override
+    public synchronized void saveApplicant(Applicant applicant) {
+        update("UPDATE users SET name = ?, age = ?, marital_status = ?, password = ? WHERE role = ? AND user_id = ?",
+            applicant.getName(), applicant.getAge(), applicant.getMaritalStatus().name(), applicant.getPassword(),
+            Role.APPLICANT.name(), applicant.getUserId());
+    }
+
+    @Override
+    public synchronized void deleteApplicant(String userId) {
+        update("DELETE FROM users WHERE role = ? AND user_id = ?", Role.APPLICANT.name(), userId);
+    }
+
+    @Override
+    public synchronized void loadAllOfficers() {
+        if (migrateFromCsv("officers", () -> new OfficerRepository().loadAllOfficers(),
+            () -> replaceUsers(Role.OFFICER, OfficerController.getOfficerList()))) {
+            return;
+        }
+        List<HDBOfficer> loaded = new ArrayList<>();
+        query("SELECT user_id, name, age, marital_status, password FROM users WHERE role = ? ORDER BY position",
+            new Object[] {Role.OFFICER.name()},
+            row -> loaded.add(new HDBOfficer(row.getString(1), StringPool.sharePassword(row.getString(5)), row.getString(2), Role.OFFICER,
+                MaritalStatus.valueOf(row.getString(4)), row.getInt(3), null, null)));
+        OfficerController.addOfficers(loaded);
+    }
+
+    @Override
+    public synchronized void saveOfficers(List<HDBOfficer> officers) {
+        saveUsers(Role.OFFICER, officers);
+    }
+
+    @Override
+    public synchronized void loadAllManagers() {
+        if (migrateFromCsv("managers", () -> new ManagerRepository().loadAllManagers(),
+            () -> replaceUsers(Role.MANAGER, ManagerController.getManagerList()))) {
+            return;
+        }
+        List<HDBManager> loaded = new ArrayList<>();
+        query("SELECT user_id, name, age, marital_status, password FROM users WHERE role = ? ORDER BY position",
+            new Object[] {Role.MANAGER.name()},
+            row -> loaded.add(new HDBManager(row.getString(1), StringPool.sharePassword(row.getString(5)), row.getString(2), Role.MANAGER,
+                MaritalStatus.valueOf(row.getString(4)), row.getInt(3))));
+        ManagerController.addManagers(loaded);
+    }
+
+    @Override
+    public synchronized void saveManagers(List<HDBManager> managers) {
+        saveUsers(Role.MANAGER, managers);
+    }
+
+    private void saveUsers(Role role, List<? extends User> users) {
+        write(() -> replaceUsers(role, users));
+    }
+
+    private void replaceUsers(Role role, List<? extends User> users) throws SQLException {
+        replaceRows("DELETE FROM users WHERE role = ?", role.name(), INSERT_USER, users, (ps, user, position) -> {
+            ps.setString(1, role.name());
+            ps.setString(2, user.getUserId());
+            ps.setString(3, user.getName());
+            ps.setInt(4, user.getAge());
+            ps.setString(5, user.getMaritalStatus().name());
+            ps.setString(6, user.getPassword());
+            ps.setInt(7, position);
+        });
+    }
+
+    // ----- Projects -----
+
+    @Override
+    public synchronized void loadAllProjects() {
+        if (migrateFromCsv("projects", () -> new ProjectRepository(true).loadAllProjects(),
+            () -> replaceRows("DELETE FROM projects", null, INSERT_PROJECT, ProjectController.projects, PROJECT_BINDER))) {
+            return;
+        }
+        List<Project> loaded = new ArrayList<>();
+        query("SELECT name, neighborhood, type1, units1, price1, type2, units2, price2, opening_date, closing_date,"
+                + " manager_name, officer_slot, officer_names, visible FROM projects ORDER BY position",
+            new Object[0],
+            row -> {
+                String projectName = row.getString(1);
+                HDBManager manager = ManagerController.getUserByName(row.getString(11));
+                if (manager == null) {
+                    System.err.println("Manager not found: " + row.getString(11));
+                    return;
+                }
+                List<FlatType> flatTypes = new ArrayList<>();
+                List<Integer> units = new ArrayList<>();
+                List<Integer> prices = new ArrayList<>();
+                flatTypes.add(FlatType.valueOf(row.getString(3)));
+                units.add(row.getInt(4));
+                prices.add(row.getInt(5));
+                if (row.getString(6) != null) {
+                    flatTypes.add(FlatType.valueOf(row.getString(6)));
+                    units.add(row.getInt(7));
+                    prices.add(row.getInt(8));
+                }
+                List<HDBOfficer> officers = new ArrayList<>();
+                for (String name : row.getString(13).split(",")) {
+                    HDBOfficer officer = OfficerController.getUserByName(name.trim());
+                    if (officer != null) {
+                        officers.add(officer);
+                    }
+                }
+                loaded.add(new Project(projectName, StringPool.intern(row.getString(2)), flatTypes, units,
+                    DateUtil.parseCsvDate(row.getString(9)), DateUtil.parseCsvDate(row.getString(10)), prices,
+                    manager, row.getInt(12), officers, row.getInt(14) != 0));
+            });
+        for (Project project : ProjectController.addProjects(loaded)) {
+            for (HDBOfficer officer : project.getAssignedOfficers()) {
+                officer.setAssignedProject(project);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void saveProjects(List<Project> projects) {
+        write(() -> replaceRows("DELETE FROM projects", null, INSERT_PROJECT, projects, PROJECT_BINDER));
+    }
+
+    @Override
+    public synchronized void deleteProjectRecords(Project project) {
+        updateProjectTables("DELETE FROM %s WHERE project_name = ?", project.getProjectName());
+    }
+
+    @Override
+    public synchronized void renameProjectRecords(String oldName, Project project) {
+        updateProjectTables("UPDATE %s SET project_name = ? WHERE project_name = ?", project.getProjectName(), oldName);
+    }
+
+    /**
+     * Runs the same statement against every project table in one transaction.
+     */
+    private void updateProjectTables(String sqlTemplate, String... params) {
+        try {
+            connection.setAutoCommit(false);
+            for (String table : PROJECT_TABLES) {
+                try (PreparedStatement ps = connection.prepareStatement(String.format(sqlTemplate, table))) {
+                    for (int i = 0; i < params.length; i++) {
+                        ps.setString(i + 1, params[i]);
+                    }
+                    ps.executeUpdate();
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            System.out.println("Error updating project records: " + e.getMessage());
+        } finally {
+            restoreAutoCommit();
+        }
+    }
+
+    // ----- Applications -----
+
+    @Override
+    public synchronized void loadAllApplications(List<Project> projects) {
+        if (migrateFromCsv("applications", () -> new ApplicationRepository(true).loadAllApplications(projects),
+            () -> replaceRows("DELETE FROM applications", null, INSERT_APPLICATION,
+                ApplicationController.getAllApplications(), APPLICATION_BINDER))) {
+            return;
+        }
+        Map<String, Project> projectsByName = projectsByName(projects);
+        query("SELECT application_id, applicant_id, project_name, status, submission_date, flat_type"
+                + " FROM applications ORDER BY project_name, position",
+            new Object[0],
+            row -> {
+                Applicant applicant = UserController.getApplicantById(row.getString(2));
+                Project project = projectsByName.get(row.getString(3));
+                if (applicant == null || project == null) {
+                    return;
+                }
+                ApplicationController.applicationCounter++;
+                Application application = new Application(row.getString(1), applicant, project,
+                    ApplicationStatus.valueOf(row.getString(4)), DateUtil.parseCsvDate(row.getString(5)),
+                    FlatType.valueOf(row.getString(6)));
+                applicant.setApplication(application);
+                ApplicationController.addApplication(application);
+            });
+    }
+
+    @Override
+    public synchronized void saveAllApplications(List<Application> applications) {
+        write(() -> replaceRows("DELETE FROM applications", null, INSERT_APPLICATION, applications, APPLICATION_BINDER));
+    }
+
+    @Override
+    public synchronized void saveApplicationsForProject(Project project, List<Application> applications) {
+        write(() -> replaceRows("DELETE FROM applications WHERE project_name = ?", project.getProjectName(),
+            INSERT_APPLICATION, applications, APPLICATION_BINDER));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendApplication(Application application) {
+        return CompletableFuture.completedFuture(
+            appendRow("applications", application.getProject().getProjectName(), INSERT_APPLICATION, application, APPLICATION_BINDER));
+    }
+
+    // ----- Enquiries -----
+
+    @Override
+    public synchronized void loadAllEnquiries(List<Project> projects) {
+        if (migrateFromCsv("enquiries", () -> new EnquiryRepository(true).loadAllEnquiries(projects),
+            () -> replaceRows("DELETE FROM enquiries", null, INSERT_ENQUIRY, EnquiryController.enquiries, ENQUIRY_BINDER))) {
+            return;
+        }
+        Map<String, Project> projectsByName = projectsByName(projects);
+        query("SELECT enquiry_id, applicant_id, project_name, status, enquiry_text, created_at, reply_text"
+                + " FROM enquiries ORDER BY project_name, position",
+            new Object[0],
+            row -> {
+                Applicant applicant = UserController.getApplicantById(row.getString(2));
+                Project project = projectsByName.get(row.getString(3));
+                if (applicant == null || project == null) {
+                    return;
+                }
+                String enquiryID = row.getString(1);
+                try {
+                    int numberPart = Integer.parseInt(enquiryID.substring(5));
+                    EnquiryController.enquiryCounter = Math.max(EnquiryController.enquiryCounter, numberPart + 1);
+                } catch (RuntimeException e) {
+                    System.err.println("Unexpected enquiry ID: " + enquiryID);
+                }
+                EnquiryStatus status = EnquiryStatus.valueOf(row.getString(4));
+                String reply = StringPool.intern(row.getString(7));
+                Enquiry enquiry = new Enquiry(enquiryID, applicant, project, status, row.getString(5),
+                    LocalDateTime.parse(row.getString(6)), reply == null ? "" : reply);
+                applicant.addEnquiry(enquiry);
+                EnquiryController.addEnquiry(enquiry);
+                if (status != EnquiryStatus.PENDING) {
+                    EnquiryController.indexReply(enquiry);
+                }
+            });
+    }
+
+    @Override
+    public synchronized void saveAllEnquiries(List<Enquiry> enquiries) {
+        write(() -> replaceRows("DELETE FROM enquiries", null, INSERT_ENQUIRY, enquiries, ENQUIRY_BINDER));
+    }
+
+    @Override
+    public synchronized void saveEnquiriesForProject(Project project, List<Enquiry> enquiries) {
+        write(() -> replaceRows("DELETE FROM enquiries WHERE project_name = ?", project.getProjectName(),
+            INSERT_ENQUIRY, enquiries, ENQUIRY_BINDER));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendEnquiry(Enquiry enquiry) {
+        return CompletableFuture.completedFuture(
+            appendRow("enquiries", enquiry.getProject().getProjectName(), INSERT_ENQUIRY, enquiry, ENQUIRY_BINDER));
+    }
+
+    // ----- Registrations -----
+
+    @Override
+    public synchronized void loadAllRegistrations(List<HDBOfficer> officers, List<Project> projects) {
+        if (migrateFromCsv("registrations", () -> new RegistrationRepository(true).loadAllRegistrations(officers, projects),
+            () -> replaceRows("DELETE FROM registrations", null, INSERT_REGISTRATION,
+                RegistrationController.getAllRegistrations(), REGISTRATION_BINDER))) {
+            return;
+        }
+        Map<String, HDBOfficer> officersById = new HashMap<>();
+        for (HDBOfficer officer : officers) {
+            officersById.putIfAbsent(officer.getUserId(), officer);
+        }
+        Map<String, Project> projectsByName = projectsByName(projects);
+        query("SELECT registration_id, officer_id, project_name, status, submission_date"
+                + " FROM registrations ORDER BY project_name, position",
+            new Object[0],
+            row -> {
+                HDBOfficer officer = officersById.get(row.getString(2));
+                Project project = projectsByName.get(row.getString(3));
+                if (officer == null || project == null) {
+                    return;
+                }
+                RegistrationController.registrationCounter++;
+                Registration registration = new Registration(row.getString(1), officer, project,
+                    RegistrationStatus.valueOf(row.getString(4)), DateUtil.parseCsvDate(row.getString(5)));
+                officer.setRegistration(registration);
+                RegistrationController.addRegistration(registration);
+            });
+    }
+
+    @Override
+    public synchronized void saveAllRegistrations(List<Registration> registrations) {
+        write(() -> replaceRows("DELETE FROM registrations", null, INSERT_REGISTRATION, registrations, REGISTRATION_BINDER));
+    }
+
+    @Override
+    public synchronized void saveRegistrationsForProject(Project project, List<Registration> registrations) {
+        write(() -> replaceRows("DELETE FROM registrations WHERE project_name = ?", project.getProjectName(),
+            INSERT_REGISTRATION, registrations, REGISTRATION_BINDER));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendRegistration(Registration registration) {
+        return CompletableFuture.completedFuture(
+            appendRow("registrations", registration.getProject().getProjectName(), INSERT_REGISTRATION, registration, REGISTRATION_BINDER));
+    }
+
+    // ----- Flat bookings -----
+
+    @Override
+    public synchronized void loadAllFlatBookings(List<Project> projects) {
+        if (migrateFromCsv("flat_bookings", () -> new BookingRepository(true).loadAllFlatBookings(projects),
+            () -> replaceRows("DELETE FROM flat_bookings", null, INSERT_FLAT_BOOKING,
+                FlatBookingController.flatBookings, FLAT_BOOKING_BINDER))) {
+            return;
+        }
+        Map<String, Project> projectsByName = projectsByName(projects);
+        query("SELECT flat_id, applicant_id, project_name, flat_type, status FROM flat_bookings ORDER BY project_name, position",
+            new Object[0],
+            row -> {
+                Applicant applicant = UserController.getApplicantById(row.getString(2));
+                Project project = projectsByName.get(row.getString(3));
+                if (applicant == null || project == null) {
+                    return;
+                }
+                FlatBooking booking = new FlatBooking(row.getString(1), applicant, FlatType.valueOf(row.getString(4)),
+                    project, FlatBookingStatus.valueOf(row.getString(5)));
+                applicant.setFlatBooking(booking);
+                FlatBookingController.addFlatBooking(booking);
+            });
+    }
+
+    @Override
+    public synchronized void saveAllFlatBookings(List<FlatBooking> bookings) {
+        write(() -> replaceRows("DELETE FROM flat_bookings", null, INSERT_FLAT_BOOKING, bookings, FLAT_BOOKING_BINDER));
+    }
+
+    @Override
+    public synchronized void saveFlatBookingsForProject(Project project, List<FlatBooking> bookings) {
+        write(() -> replaceRows("DELETE FROM flat_bookings WHERE project_name = ?", project.getProjectName(),
+            INSERT_FLAT_BOOKING, bookings, FLAT_BOOKING_BINDER));
+    }
+
+    // ----- Helpers -----
+
+    /**
+     * Fills a table from the CSV files the first time it is loaded. The CSV files are only read. The rows
+     * and the record of the migration are written in one transaction, so a failed migration leaves nothing
+     * behind and runs again on the next start, while this session carries on with the data read from CSV.
+     *
+     * @param name the migration name, recorded once the migration has succeeded
+     * @param load loads the CSV data into the controllers without changing the files
+     * @param save writes the loaded data to the database, inside the migration's transaction
+     * @return true if the migration ran, so the data is already loaded
+     */
+    private boolean migrateFromCsv(String name, Runnable load, SqlWork save) {
+        boolean[] migrated = {false};
+        query("SELECT name FROM migrations WHERE name = ?", new Object[] {name}, row -> migrated[0] = true);
+        if (migrated[0]) {
+            return false;
+        }
+        System.out.println("Migrating " + name + " from CSV to the database...");
+        load.run();
+        try {
+            connection.setAutoCommit(false);
+            save.run();
+            try (PreparedStatement ps = connection.prepareStatement("INSERT INTO migrations (name) VALUES (?)")) {
+                ps.setString(1, name);
+                ps.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            System.out.println("Error migrating " + name + " to the database; it will be retried on the next start: "
+                + e.getMessage());
+        } finally {
+            restoreAutoCommit();
+        }
+        return true;
+    }
+
+    /**
+     * Runs database work in one transaction, rolling it back and reporting the error if it fails.
+     */
+    private void write(SqlWork work) {
+        try {
+            connection.setAutoCommit(false);
+            work.run();
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            System.out.println("Error writing to the database: " + e.getMessage());
+        } finally {
+            restoreAutoCommit();
+        }
+    }
+
+    /**
+     * Deletes rows and inserts the given records in their place, in batches. Runs in the caller's transaction.
+     *
+     * @param deleteSql the delete statement, with at most one parameter
+     * @param key       the value of the delete statement's parameter, or null if it has none
+     * @param insertSql the insert statement
+     * @param records   the records to insert, in order
+     * @param binder    binds a record to the insert statement
+     * @throws SQLException if a statement fails; the caller rolls back
+     */
+    private <T> void replaceRows(String deleteSql, String key, String insertSql, List<? extends T> records,
+                                 RowBinder<T> binder) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement(deleteSql)) {
+            if (key != null) {
+                delete.setString(1, key);
+            }
+            delete.executeUpdate();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+            int position = 0;
+            for (T record : records) {
+                binder.bind(insert, record, position++);
+                insert.addBatch();
+                if (position % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts one record after the existing records of its project.
+     *
+     * @return true if the record was stored
+     */
+    private <T> boolean appendRow(String table, String projectName, String insertSql, T record, RowBinder<T> binder) {
+        try {
+            connection.setAutoCommit(false);
+            int position = 0;
+            try (PreparedStatement next = connection.prepareStatement(
+                    "SELECT COALESCE(MAX(position), -1) + 1 FROM " + table + " WHERE project_name = ?")) {
+                next.setString(1, projectName);
+                try (ResultSet rs = next.executeQuery()) {
+                    if (rs.next()) {
+                        position = rs.getInt(1);
+                    }
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+                binder.bind(insert, record, position);
+                insert.executeUpdate();
+            }
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            rollback();
+            System.out.println("An error occurred while writing to the database: " + e.getMessage());
+            return false;
+        } finally {
+            restoreAutoCommit();
+        }
+    }
+
+    /**
+     * Runs a query with string or integer parameters and passes each row to the handler.
+     */
+    private void query(String sql, Object[] params, RowHandler handler) {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        handler.handle(rs);
+                    } catch (RuntimeException e) {
+                        System.err.println("Error reading database row: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Error reading from the database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one statement with string or integer parameters in its own transaction.
+     *
+     * @return true if the statement succeeded
+     */
+    private boolean update(String sql, Object... params) {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            ps.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            System.out.println("An error occurred while writing to the database: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            System.out.println("Error rolling back: " + e.getMessage());
+        }
+    }
+
+    private void restoreAutoCommit() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.out.println("Error restoring auto-commit: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Project> projectsByName(List<Project> projects) {
+        Map<String, Project> projectsByName = new HashMap<>();
+        for (Project project : projects) {
+            projectsByName.putIfAbsent(project.getProjectName(), project);
+        }
+        return projectsByName;
+    }
+}
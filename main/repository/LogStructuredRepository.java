@@ -0,0 +1,282 @@
+package main.repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import main.controller.ApplicationController;
+import main.controller.UserController.ApplicantController;
+import main.entity.Application;
+import main.entity.Enum.MaritalStatus;
+import main.entity.Enum.Role;
+import main.entity.Project;
+import main.entity.User.Applicant;
+import main.repository.Interface.ApplicantRepositoryInterface;
+import main.repository.Interface.ApplicationRepositoryInterface;
+import main.repository.Interface.ProjectRepositoryInterface;
+import main.utility.StringPool;
+
+/**
+ * Stores applicants and applications in two {@link LogStructuredStore}s under {@code data/log},
+ * keyed by NRIC and by application ID.
+ * <p>
+ * The repository remembers the last value it wrote for every key, so a save only appends the records
+ * that actually changed, plus tombstones for removed ones: a password change or a single status update
+ * costs one small append instead of a full-file rewrite. Projects are still kept in their CSV file;
+ * this class wraps the CSV {@link ProjectRepository} so that deleting or renaming a project also
+ * updates the stored applications. Each store is filled once from the CSV files the first time it is loaded.
+ */
+public class LogStructuredRepository implements ApplicantRepositoryInterface, ApplicationRepositoryInterface,
+        ProjectRepositoryInterface {
+
+    private static final Path ROOT = Paths.get("data", "log");
+
+    /** Separates the fields of a stored value; it cannot be typed into any field at the console. */
+    private static final String FIELD_SEPARATOR = "\u001F";
+
+    private final LogStructuredStore applicantStore;
+    private final LogStructuredStore applicationStore;
+    private final ProjectRepository projectFiles = new ProjectRepository();
+
+    /** Last value written for each applicant, by NRIC. */
+    private final Map<String, String> applicantValues = new HashMap<>();
+
+    /** Last value written for each application, by project name and then application ID. */
+    private final Map<String, Map<String, String>> applicationValuesByProject = new HashMap<>();
+
+    /**
+     * Opens the applicant and application stores.
+     *
+     * @throws IOException if a store cannot be opened
+     */
+    public LogStructuredRepository() throws IOException {
+        applicantStore = new LogStructuredStore(ROOT.resolve("applicants"));
+        applicationStore = new LogStructuredStore(ROOT.resolve("applications"));
+    }
+
+    // ----- Applicants -----
+
+    @Override
+    public synchronized void loadAllApplicants() {
+        if (applicantStore.isNew()) {
+            System.out.println("Migrating applicants from CSV to the log store...");
+            new ApplicantRepository().loadAllApplicants();
+            saveApplicants(ApplicantController.getApplicantList());
+            return;
+        }
+        List<Applicant> loaded = new ArrayList<>();
+        for (String userId : applicantStore.keys()) {
+            String value = applicantStore.get(userId);
+            if (value == null) {
+                continue;
+            }
+            String[] fields = value.split(FIELD_SEPARATOR, -1);
+            try {
+                loaded.add(new Applicant(userId, StringPool.sharePassword(fields[3]), fields[0], Role.APPLICANT,
+                    MaritalStatus.valueOf(fields[2]), Integer.parseInt(fields[1]), null, null, null));
+                applicantValues.put(userId, value);
+            } catch (RuntimeException e) {
+                System.err.println("Error parsing applicant " + userId + ": " + e.getMessage());
+            }
+        }
+        ApplicantController.addApplicants(loaded).forEach((applicant, reason) ->
+            System.out.println("Skipping applicant " + applicant.getUserId() + ": " + reason));
+    }
+
+    /**
+     * Appends the applicants that are new or changed since the last save, and deletes the ones no longer listed.
+     *
+     * @param applicants The full list of applicants.
+     */
+    @Override
+    public synchronized void saveApplicants(List<Applicant> applicants) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Applicant applicant : applicants) {
+            values.put(applicant.getUserId(), toValue(applicant));
+        }
+        writeChanges(applicantStore, applicantValues, values);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendApplicant(Applicant applicant) {
+        return CompletableFuture.completedFuture(putApplicant(applicant));
+    }
+
+    @Override
+    public synchronized void saveApplicant(Applicant applicant) {
+        putApplicant(applicant);
+    }
+
+    @Override
+    public synchronized void deleteApplicant(String userId) {
+        if (applicantStore.write(Collections.emptyMap(), Collections.singletonList(userId))) {
+            applicantValues.remove(userId);
+        }
+    }
+
+    /**
+     * Appends one applicant to the log.
+     *
+     * @return true if the applicant is on disk
+     */
+    private boolean putApplicant(Applicant applicant) {
+        String value = toValue(applicant);
+        if (!applicantStore.write(Collections.singletonMap(applicant.getUserId(), value), Collections.emptyList())) {
+            return false;
+        }
+        applicantValues.put(applicant.getUserId(), value);
+        return true;
+    }
+
+    private static String toValue(Applicant applicant) {
+        return String.join(FIELD_SEPARATOR, applicant.getName(), String.valueOf(applicant.getAge()),
+            applicant.getMaritalStatus().name(), applicant.getPassword());
+    }
+
+    // ----- Applications -----
+
+    @Override
+    public synchronized void loadAllApplications(List<Project> projects) {
+        if (applicationStore.isNew()) {
+            System.out.println("Migrating applications from CSV to the log store...");
+            new ApplicationRepository().loadAllApplications(projects);
+            saveAllApplications(ApplicationController.getAllApplications());
+            return;
+        }
+        List<String[]> rows = new ArrayList<>();
+        for (String applicationId : applicationStore.keys()) {
+            String value = applicationStore.get(applicationId);
+            if (value == null) {
+                continue;
+            }
+            String[] fields = value.split(FIELD_SEPARATOR, -1);
+            if (fields.length < 5) {
+                System.err.println("Error parsing application " + applicationId);
+                continue;
+            }
+            applicationValuesByProject.computeIfAbsent(fields[1], name -> new HashMap<>()).put(applicationId, value);
+            String[] row = new String[fields.length + 1];
+            row[0] = applicationId;
+            System.arraycopy(fields, 0, row, 1, fields.length);
+            rows.add(row);
+        }
+        ApplicationRepository.addApplications(rows, projects);
+    }
+
+    @Override
+    public synchronized void saveAllApplications(List<Application> applications) {
+        Map<String, Map<String, String>> valuesByProject = new HashMap<>();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Application application : applications) {
+            String value = toValue(application);
+            values.put(application.getApplicationId(), value);
+            valuesByProject.computeIfAbsent(application.getProject().getProjectName(), name -> new HashMap<>())
+                .put(application.getApplicationId(), value);
+        }
+        Map<String, String> previous = new HashMap<>();
+        for (Map<String, String> projectValues : applicationValuesByProject.values()) {
+            previous.putAll(projectValues);
+        }
+        if (writeChanges(applicationStore, previous, values)) {
+            applicationValuesByProject.clear();
+            applicationValuesByProject.putAll(valuesByProject);
+        }
+    }
+
+    @Override
+    public synchronized void saveApplicationsForProject(Project project, List<Application> applications) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Application application : applications) {
+            values.put(application.getApplicationId(), toValue(application));
+        }
+        Map<String, String> previous = applicationValuesByProject.computeIfAbsent(project.getProjectName(), name -> new HashMap<>());
+        writeChanges(applicationStore, previous, values);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> appendApplication(Application application) {
+        String value = toValue(application);
+        boolean written = applicationStore.write(
+            Collections.singletonMap(application.getApplicationId(), value), Collections.emptyList());
+        if (written) {
+            applicationValuesByProject.computeIfAbsent(application.getProject().getProjectName(), name -> new HashMap<>())
+                .put(application.getApplicationId(), value);
+        }
+        return CompletableFuture.completedFuture(written);
+    }
+
+    private static String toValue(Application application) {
+        return String.join(FIELD_SEPARATOR, application.getApplicant().getUserId(),
+            application.getProject().getProjectName(), application.getStatus().name(),
+            application.getSubmissionDate().toString(), application.getFlatType().name());
+    }
+
+    // ----- Projects -----
+
+    @Override
+    public void loadAllProjects() {
+        projectFiles.loadAllProjects();
+    }
+
+    @Override
+    public void saveProjects(List<Project> projects) {
+        projectFiles.saveProjects(projects);
+    }
+
+    /**
+     * Drops the project's CSV records and deletes its applications from the log store.
+     */
+    @Override
+    public synchronized void deleteProjectRecords(Project project) {
+        projectFiles.deleteProjectRecords(project);
+        Map<String, String> previous = applicationValuesByProject.remove(project.getProjectName());
+        if (previous != null) {
+            writeChanges(applicationStore, previous, Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Moves the project's CSV records; its applications are re-keyed here and rewritten by the caller's save.
+     */
+    @Override
+    public synchronized void renameProjectRecords(String oldName, Project project) {
+        projectFiles.renameProjectRecords(oldName, project);
+        Map<String, String> previous = applicationValuesByProject.remove(oldName);
+        if (previous != null) {
+            applicationValuesByProject.put(project.getProjectName(), previous);
+        }
+    }
+
+    /**
+     * Appends the entries of {@code current} that differ from {@code previous} and deletes the keys that
+     * are no longer present, in one write. On success {@code previous} is updated to match {@code current}.
+     *
+     * @return true if the changes are on disk
+     */
+    private static boolean writeChanges(LogStructuredStore store, Map<String, String> previous, Map<String, String> current) {
+        Map<String, String> puts = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+                puts.put(entry.getKey(), entry.getValue());
+            }
+        }
+        List<String> deletes = new ArrayList<>();
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                deletes.add(key);
+            }
+        }
+        if (!store.write(puts, deletes)) {
+            return false;
+        }
+        previous.keySet().removeAll(deletes);
+        previous.putAll(puts);
+        return true;
+    }
+}
@@ -0,0 +1,491 @@
+package main.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * A small log-structured key-value store of string keys and values.
+ * <p>
+ * Writes are only ever appended to the newest segment file ({@code segment-<n>.log}) in the store's directory,
+ * and an in-memory hash index maps every live key to the position of its latest value, so a read is one
+ * positioned read. Once the active segment grows past {@code bto.log.segmentBytes} (default 1 MB) a new
+ * segment is started, and a background thread compacts the older segments into one that holds only each
+ * key's latest record. Opening a store replays the segments in order to rebuild the index, dropping a
+ * torn record at the end of the newest segment.
+ * <p>
+ * Each record is {@code [payload length][CRC32 of payload][type][key length][key][value]}, where the type is
+ * a put or a delete. Deletes stay in the log as tombstones, so a crash part-way through compaction cannot
+ * bring a deleted key back. Keys are kept in the order they were first written.
+ */
+public class LogStructuredStore {
+
+    private static final long SEGMENT_BYTES = Long.getLong("bto.log.segmentBytes", 1024 * 1024);
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 0;
+
+    /** Bytes before the payload: its length and its checksum. */
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    /** Bytes of the payload before the key: the record type and the key length. */
+    private static final int PAYLOAD_HEADER_BYTES = 3;
+
+    /**
+     * Where the latest value of a key is stored.
+     */
+    private static class Location {
+        private final long segment;
+        private final long valueOffset;
+        private final int valueLength;
+
+        private Location(long segment, long valueOffset, int valueLength) {
+            this.segment = segment;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+        }
+    }
+
+    /**
+     * A record read back from a segment.
+     */
+    private static class Record {
+        private final byte type;
+        private final String key;
+        private final byte[] value;
+        private final long valueOffset;
+
+        private Record(byte type, String key, byte[] value, long valueOffset) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+            this.valueOffset = valueOffset;
+        }
+    }
+
+    private final Path dir;
+    private final boolean created;
+
+    /** Latest location of every live key, in first-write order. */
+    private final Map<String, Location> index = new LinkedHashMap<>();
+
+    /** Open channels of all segments by segment number; the last one is the active segment. */
+    private final TreeMap<Long, FileChannel> segments = new TreeMap<>();
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "log-store-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private boolean compacting = false;
+
+    /**
+     * Opens the store in a directory, creating the directory if needed, and rebuilds the index from its segments.
+     *
+     * @param dir the directory holding the segment files
+     * @throws IOException if the segments cannot be read or the first segment cannot be created
+     */
+    public LogStructuredStore(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        Files.deleteIfExists(dir.resolve("compact.tmp"));
+        List<Long> numbers = listSegments();
+        created = numbers.isEmpty();
+        for (int i = 0; i < numbers.size(); i++) {
+            long number = numbers.get(i);
+            FileChannel channel = FileChannel.open(segmentPath(number), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segments.put(number, channel);
+            long validBytes = replay(number, channel);
+            if (validBytes < channel.size()) {
+                if (i == numbers.size() - 1) {
+                    System.out.println("Dropping a torn record at the end of " + segmentPath(number));
+                    channel.truncate(validBytes);
+                } else {
+                    System.out.println("Skipping a damaged record in " + segmentPath(number));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            openSegment(1);
+        }
+    }
+
+    /**
+     * Returns whether the store had no segments when it was opened, i.e. it has never been written to.
+     *
+     * @return true for a new store
+     */
+    public boolean isNew() {
+        return created;
+    }
+
+    /**
+     * Returns the latest value of a key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is absent or deleted
+     */
+    public synchronized String get(String key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(location.valueLength);
+        try {
+            FileChannel channel = segments.get(location.segment);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, location.valueOffset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of segment");
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading " + key + " from " + dir + ": " + e.getMessage());
+            return null;
+        }
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns every live key, in the order the keys were first written.
+     *
+     * @return a copy of the keys
+     */
+    public synchronized List<String> keys() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    /**
+     * Writes a group of puts and deletes with a single append to the active segment, forced to disk once.
+     * If the write fails part-way, the segment is cut back to where the group started, so later groups
+     * are not appended behind a partial record.
+     *
+     * @param puts    the new values by key
+     * @param deletes the keys to delete
+     * @return true if the records are on disk
+     */
+    public synchronized boolean write(Map<String, String> puts, Collection<String> deletes) {
+        if (puts.isEmpty() && deletes.isEmpty()) {
+            return true;
+        }
+        long number = segments.lastKey();
+        FileChannel channel = segments.get(number);
+        long start = -1;
+        try {
+            start = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(encodedSize(puts, deletes));
+            Map<String, Location> written = new LinkedHashMap<>();
+            for (Map.Entry<String, String> entry : puts.entrySet()) {
+                byte[] value = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                long valueOffset = start + encode(buffer, PUT, entry.getKey(), value);
+                written.put(entry.getKey(), new Location(number, valueOffset, value.length));
+            }
+            for (String key : deletes) {
+                encode(buffer, DELETE, key, new byte[0]);
+                written.put(key, null);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, start + buffer.position());
+            }
+            channel.force(false);
+            for (Map.Entry<String, Location> entry : written.entrySet()) {
+                if (entry.getValue() == null) {
+                    index.remove(entry.getKey());
+                } else {
+                    index.put(entry.getKey(), entry.getValue());
+                }
+            }
+            if (channel.size() >= SEGMENT_BYTES) {
+                openSegment(number + 1);
+                scheduleCompaction();
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("An error occurred while writing to " + dir + ": " + e.getMessage());
+            if (start >= 0) {
+                discardPartialWrite(number, channel, start);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Truncates the active segment back to {@code start} after a failed write. If that fails too,
+     * a new segment is started, so the partial record stays at the end of a segment that is no longer
+     * written to and is skipped when the segments are replayed.
+     */
+    private void discardPartialWrite(long number, FileChannel channel, long start) {
+        try {
+            channel.truncate(start);
+        } catch (IOException e) {
+            System.out.println("Error truncating " + segmentPath(number) + ": " + e.getMessage());
+            try {
+                openSegment(number + 1);
+            } catch (IOException openFailure) {
+                System.out.println("Error starting a new segment in " + dir + ": " + openFailure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Compacts every segment except the active one into a single segment, if there are at least two of them.
+     * Runs on the compactor thread; writes keep going to the active segment in the meantime.
+     */
+    private void compact() {
+        TreeMap<Long, FileChannel> inactive;
+        Map<String, Location> live = new LinkedHashMap<>();
+        synchronized (this) {
+            inactive = new TreeMap<>(segments.headMap(segments.lastKey()));
+            if (inactive.size() < 2) {
+                compacting = false;
+                return;
+            }
+        }
+        Path temp = dir.resolve("compact.tmp");
+        long target = inactive.lastKey();
+        FileChannel out = null;
+        try {
+            out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            // Keep only the latest record of each key; the segments are immutable, so no lock is needed to read them
+            Map<String, Record> latest = new LinkedHashMap<>();
+            for (Map.Entry<Long, FileChannel> entry : inactive.entrySet()) {
+                for (Record record : readRecords(entry.getValue())) {
+                    latest.put(record.key, record);
+                }
+            }
+            long position = 0;
+            for (Record record : latest.values()) {
+                ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + PAYLOAD_HEADER_BYTES
+                    + record.key.getBytes(StandardCharsets.UTF_8).length + record.value.length);
+                long valueOffset = position + encode(buffer, record.type, record.key, record.value);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position += out.write(buffer, position);
+                }
+                if (record.type == PUT) {
+                    live.put(record.key, new Location(target, valueOffset, record.value.length));
+                }
+            }
+            out.force(false);
+            synchronized (this) {
+                // Only move keys that were not overwritten or deleted while compacting
+                Map<String, Location> moved = new HashMap<>();
+                for (Map.Entry<String, Location> entry : live.entrySet()) {
+                    Location current = index.get(entry.getKey());
+                    if (current != null && inactive.containsKey(current.segment)) {
+                        moved.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                for (FileChannel channel : inactive.values()) {
+                    channel.close();
+                }
+                try {
+                    Files.move(temp, segmentPath(target), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    // The old segments are still in place; reopen them so their keys stay readable
+                    reopenSegments(inactive.keySet());
+                    throw e;
+                }
+                // The compacted segment keeps the channel it was written through
+                segments.keySet().removeAll(inactive.keySet());
+                segments.put(target, out);
+                out = null;
+                index.putAll(moved);
+                compacting = false;
+                // A segment left behind here is replayed before the compacted one, so it does no harm
+                for (long number : inactive.keySet()) {
+                    if (number != target) {
+                        try {
+                            Files.delete(segmentPath(number));
+                        } catch (IOException e) {
+                            System.out.println("Error deleting " + segmentPath(number) + ": " + e.getMessage());
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error compacting " + dir + ": " + e.getMessage());
+            synchronized (this) {
+                compacting = false;
+            }
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    System.out.println("Error removing " + temp + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens the channels of segments again after a failed compaction closed them.
+     */
+    private void reopenSegments(Collection<Long> numbers) {
+        for (long number : numbers) {
+            try {
+                segments.put(number, FileChannel.open(segmentPath(number), StandardOpenOption.READ, StandardOpenOption.WRITE));
+            } catch (IOException e) {
+                System.out.println("Error reopening " + segmentPath(number) + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (compacting || segments.size() < 3) {
+            return;
+        }
+        compacting = true;
+        compactor.execute(this::compact);
+    }
+
+    /**
+     * Reads every record of a segment into the index and returns the length of its valid prefix.
+     */
+    private long replay(long number, FileChannel channel) throws IOException {
+        long position = 0;
+        long size = channel.size();
+        while (true) {
+            Record record = readRecord(channel, position, size);
+            if (record == null) {
+                return position;
+            }
+            if (record.type == PUT) {
+                index.put(record.key, new Location(number, record.valueOffset, record.value.length));
+            } else {
+                index.remove(record.key);
+            }
+            position = record.valueOffset + record.value.length;
+        }
+    }
+
+    private static List<Record> readRecords(FileChannel channel) throws IOException {
+        List<Record> records = new ArrayList<>();
+        long position = 0;
+        long size = channel.size();
+        Record record;
+        while ((record = readRecord(channel, position, size)) != null) {
+            records.add(record);
+            position = record.valueOffset + record.value.length;
+        }
+        return records;
+    }
+
+    /**
+     * Reads the record at a position, or returns null at the end of the segment or at a torn or damaged record.
+     */
+    private static Record readRecord(FileChannel channel, long position, long size) throws IOException {
+        if (position + RECORD_HEADER_BYTES > size) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        readFully(channel, header, position);
+        int length = header.getInt(0);
+        long checksum = header.getInt(4) & 0xFFFFFFFFL;
+        if (length < PAYLOAD_HEADER_BYTES || position + RECORD_HEADER_BYTES + length > size) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(channel, payload, position + RECORD_HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        if (crc.getValue() != checksum) {
+            return null;
+        }
+        byte type = payload.get(0);
+        int keyLength = payload.getShort(1) & 0xFFFF;
+        if (PAYLOAD_HEADER_BYTES + keyLength > length) {
+            return null;
+        }
+        String key = new String(payload.array(), PAYLOAD_HEADER_BYTES, keyLength, StandardCharsets.UTF_8);
+        int valueStart = PAYLOAD_HEADER_BYTES + keyLength;
+        byte[] value = new byte[length - valueStart];
+        System.arraycopy(payload.array(), valueStart, value, 0, value.length);
+        return new Record(type, key, value, position + RECORD_HEADER_BYTES + valueStart);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of segment");
+            }
+        }
+    }
+
+    /**
+     * Encodes one record into the buffer and returns the offset of its value within the buffer.
+     */
+    private static long encode(ByteBuffer buffer, byte type, String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Key too long: " + key);
+        }
+        int length = PAYLOAD_HEADER_BYTES + keyBytes.length + value.length;
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        payload.put(type).putShort((short) keyBytes.length).put(keyBytes).put(value);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+        buffer.putInt(length).putInt((int) crc.getValue()).put(payload.array());
+        return buffer.position() - value.length;
+    }
+
+    private static int encodedSize(Map<String, String> puts, Collection<String> deletes) {
+        int size = 0;
+        for (Map.Entry<String, String> entry : puts.entrySet()) {
+            size += RECORD_HEADER_BYTES + PAYLOAD_HEADER_BYTES + entry.getKey().getBytes(StandardCharsets.UTF_8).length
+                + entry.getValue().getBytes(StandardCharsets.UTF_8).length;
+        }
+        for (String key : deletes) {
+            size += RECORD_HEADER_BYTES + PAYLOAD_HEADER_BYTES + key.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size;
+    }
+
+    private void openSegment(long number) throws IOException {
+        segments.put(number, FileChannel.open(segmentPath(number), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE));
+    }
+
+    private Path segmentPath(long number) {
+        return dir.resolve(String.format("segment-%06d.log", number));
+    }
+
+    /**
+     * Lists the segment numbers in the directory in ascending order.
+     */
+    private List<Long> listSegments() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "segment-*.log")) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length())));
+                } catch (NumberFormatException e) {
+                    System.out.println("Ignoring unexpected file " + path);
+                }
+            }
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+}
@@ -4,22 +4,49 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import main.controller.UserController.ManagerController;
+import main.entity.Enum.MaritalStatus;
+import main.entity.Enum.Role;
 import main.entity.User.HDBManager;
+import main.repository.Interface.ManagerRepositoryInterface;
+import main.utility.CSVRead;
 import main.utility.CSVWrite;
+import main.utility.StringPool;
 
 /**
- * Repository class responsible for saving manager data to CSV.
+ * Repository class responsible for saving and loading manager data to and from CSV.
  */
-public class ManagerRepository {
+public class ManagerRepository implements ManagerRepositoryInterface {
     private static final String FILE_PATH = "data/ManagerUpdatedList.csv";
 
+    /**
+     * Loads all HDB managers from the CSV file and adds them to the {@link ManagerController}
+     * in one step, without writing the file back.
+     */
+    @Override
+    public void loadAllManagers() {
+        var managerRaw = CSVRead.CSVRead(FILE_PATH, true);
+
+        List<HDBManager> loaded = new ArrayList<>();
+        for (var row : managerRaw) {
+            String userId = row.get("NRIC");
+            String password = StringPool.sharePassword(row.get("Password"));
+            String name = row.get("Name");
+            MaritalStatus maritalStatus = MaritalStatus.valueOf(row.get("Marital Status").toUpperCase());
+            int age = Integer.parseInt(row.get("Age"));
+
+            loaded.add(new HDBManager(userId, password, name, Role.MANAGER, maritalStatus, age));
+        }
+        ManagerController.addManagers(loaded);
+    }
+
     /**
      * Saves all HDB managers to a CSV file.
      * Each manager is written with Name, NRIC, Age, Marital Status, and Password fields.
      */
-    public static void saveManagersToCSV() {
+    @Override
+    public void saveManagers(List<HDBManager> managers) {
         List<LinkedHashMap<String, String>> csvData = new ArrayList<>();
-        for (HDBManager manager : ManagerController.getManagerList()) {
+        for (HDBManager manager : managers) {
             LinkedHashMap<String, String> row = new LinkedHashMap<>();
             row.put("Name", manager.getName());
             row.put("NRIC", manager.getUserId());
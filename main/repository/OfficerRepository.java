@@ -4,22 +4,49 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import main.controller.UserController.OfficerController;
+import main.entity.Enum.MaritalStatus;
+import main.entity.Enum.Role;
 import main.entity.User.HDBOfficer;
+import main.repository.Interface.OfficerRepositoryInterface;
+import main.utility.CSVRead;
 import main.utility.CSVWrite;
+import main.utility.StringPool;
 
 /**
- * Repository class responsible for saving officer data to a CSV file.
+ * Repository class responsible for saving and loading officer data to and from a CSV file.
  */
-public class OfficerRepository {
+public class OfficerRepository implements OfficerRepositoryInterface {
     private static final String FILE_PATH = "data/OfficerUpdatedList.csv";
 
+    /**
+     * Loads all HDB officers from the CSV file and adds them to the {@link OfficerController}
+     * in one step, without writing the file back.
+     */
+    @Override
+    public void loadAllOfficers() {
+        var officerRaw = CSVRead.CSVRead(FILE_PATH, true);
+
+        List<HDBOfficer> loaded = new ArrayList<>();
+        for (var row : officerRaw) {
+            String userId = row.get("NRIC");
+            String password = StringPool.sharePassword(row.get("Password"));
+            String name = row.get("Name");
+            MaritalStatus maritalStatus = MaritalStatus.valueOf(row.get("Marital Status").toUpperCase());
+            int age = Integer.parseInt(row.get("Age"));
+
+            loaded.add(new HDBOfficer(userId, password, name, Role.OFFICER, maritalStatus, age, null, null));
+        }
+        OfficerController.addOfficers(loaded);
+    }
+
     /**
      * Saves all HDB officers to a CSV file.
      * Each officer is stored with their Name, NRIC, Age, Marital Status, and Password.
      */
-    public static void saveOfficersToCSV() {
+    @Override
+    public void saveOfficers(List<HDBOfficer> officers) {
         List<LinkedHashMap<String, String>> csvData = new ArrayList<>();
-        for (HDBOfficer officer : OfficerController.getOfficerList()) {
+        for (HDBOfficer officer : officers) {
             LinkedHashMap<String, String> row = new LinkedHashMap<>();
             row.put("Name", officer.getName());
             row.put("NRIC", officer.getUserId());
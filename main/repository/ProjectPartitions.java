@@ -0,0 +1,316 @@
+package main.repository;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import main.utility.ParallelCSVParser;
+
+/**
+ * Partitioned storage layout for records that belong to a project.
+ * Every project has its own directory under {@code data/projects}, holding one CSV file per record type:
+ * <pre>
+ * data/projects/&lt;projectId&gt;/applications.csv
+ * data/projects/&lt;projectId&gt;/enquiries.csv
+ * data/projects/&lt;projectId&gt;/registrations.csv
+ * data/projects/&lt;projectId&gt;/flatbookings.csv
+ * </pre>
+ * The project ID is the URL-encoded project name, so any name maps to a single safe directory name.
+ * Projects have no other identifier: the stored records name their project and nothing more, so the
+ * name is the only key a partition can be matched to its project by when loading. This is safe because
+ * {@link main.controller.ProjectController} keeps names unique, ignoring case, when projects are created
+ * or renamed, and {@link #renamePartition} never moves a partition over an existing one.
+ * Saving a change only rewrites the affected project's file, deleting a project drops its directory,
+ * and loading reads all partitions in parallel. New records are appended through the
+ * {@link GroupCommitAppender}, and files are replaced, moved and removed on its writer thread so that
+ * no append can land in a file that is being replaced.
+ */
+public class ProjectPartitions {
+
+    /** Root directory holding one sub-directory per project. */
+    private static final String ROOT = "data/projects";
+
+    public static final String APPLICATIONS = "applications.csv";
+    public static final String ENQUIRIES = "enquiries.csv";
+    public static final String REGISTRATIONS = "registrations.csv";
+    public static final String FLAT_BOOKINGS = "flatbookings.csv";
+
+    private ProjectPartitions() {}
+
+    /**
+     * Returns the directory name used for a project.
+     * Dots and asterisks are encoded as well, so names such as {@code ".."} cannot escape the root.
+     *
+     * @param projectName the project name
+     * @return the partition ID
+     */
+    public static String partitionId(String projectName) {
+        return URLEncoder.encode(projectName, StandardCharsets.UTF_8).replace(".", "%2E").replace("*", "%2A");
+    }
+
+    private static Path partitionDir(String projectName) {
+        return Paths.get(ROOT, partitionId(projectName));
+    }
+
+    private static Path partitionFile(String projectName, String fileName) {
+        return partitionDir(projectName).resolve(fileName);
+    }
+
+    /**
+     * Replaces one project's file with the given header and lines.
+     * The file is written next to the old one and then moved over it, so a failed write leaves the old file intact.
+     * Nothing is created for a project that has no records and no file yet.
+     *
+     * @param projectName the project the records belong to
+     * @param fileName    the record file, e.g. {@link #APPLICATIONS}
+     * @param header      the CSV header line
+     * @param lines       the CSV lines, one per record
+     */
+    public static void write(String projectName, String fileName, String header, List<String> lines) {
+        Path file = partitionFile(projectName, fileName);
+        if (lines.isEmpty() && !Files.exists(file)) {
+            return;
+        }
+        try {
+            GroupCommitAppender.runExclusive(file, () -> {
+                Files.createDirectories(file.getParent());
+                Path temp = file.resolveSibling(fileName + ".tmp");
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    writer.write(header);
+                    writer.newLine();
+                    for (String line : lines) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            });
+        } catch (IOException e) {
+            System.out.println("Error writing " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the files of every project: projects listed in {@code linesByProject} get their lines,
+     * and every other existing partition is left with just the header.
+     *
+     * @param fileName       the record file, e.g. {@link #APPLICATIONS}
+     * @param header         the CSV header line
+     * @param linesByProject the CSV lines grouped by project name
+     */
+    public static void writeAll(String fileName, String header, Map<String, List<String>> linesByProject) {
+        List<String> written = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : linesByProject.entrySet()) {
+            write(entry.getKey(), fileName, header, entry.getValue());
+            written.add(partitionId(entry.getKey()));
+        }
+        for (Path dir : listPartitions()) {
+            Path file = dir.resolve(fileName);
+            if (!written.contains(dir.getFileName().toString()) && Files.exists(file)) {
+                try {
+                    GroupCommitAppender.runExclusive(file,
+                        () -> Files.write(file, Collections.singletonList(header), StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    System.out.println("Error writing " + file + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends one line to a project's file through the {@link GroupCommitAppender},
+     * writing the header first if the file is new or empty.
+     *
+     * @param projectName the project the record belongs to
+     * @param fileName    the record file, e.g. {@link #APPLICATIONS}
+     * @param header      the CSV header line
+     * @param line        the CSV line to append
+     * @return a future completing with true once the line is on disk, or false if it could not be written
+     */
+    public static CompletableFuture<Boolean> append(String projectName, String fileName, String header, String line) {
+        return GroupCommitAppender.append(partitionFile(projectName, fileName), header, line);
+    }
+
+    /**
+     * Reads one record file from every partition, parsing the partitions in parallel, together with the rows
+     * of the pre-partitioning file that are not in a partition yet. A legacy row whose ID is already in a
+     * partition was moved there by an earlier start that stopped before clearing the legacy file, so it is
+     * skipped and moving the rows again never duplicates a record.
+     * <p>
+     * Records are returned in the order they were created, given by the number every record ID ends with
+     * (a counter, or the creation time for flat bookings), so they keep the order they had in the single file.
+     *
+     * @param fileName   the record file, e.g. {@link #APPLICATIONS}
+     * @param legacyRows the rows of the pre-partitioning file, from {@link #readLegacyFile}
+     * @return the records of all projects, each without its header
+     */
+    public static List<String[]> readAll(String fileName, List<String[]> legacyRows) {
+        List<List<String[]>> perPartition = listPartitions().parallelStream()
+            .map(dir -> readPartitionFile(dir.resolve(fileName)))
+            .collect(Collectors.toList());
+        List<String[]> rows = new ArrayList<>();
+        Set<String> partitionIds = new HashSet<>();
+        for (List<String[]> partitionRows : perPartition) {
+            for (String[] row : partitionRows) {
+                rows.add(row);
+                partitionIds.add(row[0].trim());
+            }
+        }
+        for (String[] row : legacyRows) {
+            if (!partitionIds.contains(row[0].trim())) {
+                rows.add(row);
+            }
+        }
+        // Stable, so records without a number keep the order they were read in
+        rows.sort(Comparator.comparingLong(row -> creationNumber(row[0])));
+        return rows;
+    }
+
+    /**
+     * Returns the number a record ID ends with, or {@link Long#MAX_VALUE} if it has none.
+     */
+    private static long creationNumber(String id) {
+        id = id.trim();
+        int start = id.length();
+        while (start > 0 && Character.isDigit(id.charAt(start - 1)) && id.length() - start < 18) {
+            start--;
+        }
+        return start == id.length() ? Long.MAX_VALUE : Long.parseLong(id.substring(start));
+    }
+
+    private static List<String[]> readPartitionFile(Path file) {
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        try {
+            return ParallelCSVParser.parse(file.toString(), true);
+        } catch (IOException e) {
+            System.out.println("Failed to read " + file + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Deletes a project's directory together with all its record files.
+     *
+     * @param projectName the project name
+     */
+    public static void deletePartition(String projectName) {
+        Path dir = partitionDir(projectName);
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try {
+            GroupCommitAppender.runExclusive(dir, () -> {
+                try (Stream<Path> paths = Files.walk(dir)) {
+                    for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                        Files.delete(path);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            System.out.println("Error deleting " + dir + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves a project's directory after the project has been renamed.
+     * The files still contain the old name and must be rewritten by the caller.
+     * If a directory already exists under the new name it is left untouched and nothing is moved,
+     * since its records may belong to another project.
+     *
+     * @param oldName the previous project name
+     * @param newName the new project name
+     * @return true if the directory was moved or there was nothing to move, false otherwise
+     */
+    public static boolean renamePartition(String oldName, String newName) {
+        Path from = partitionDir(oldName);
+        Path to = partitionDir(newName);
+        if (!Files.exists(from) || from.equals(to)) {
+            return true;
+        }
+        try {
+            // A name that differs only in case is the same directory on a case-insensitive file system
+            if (Files.exists(to) && !Files.isSameFile(from, to)) {
+                System.out.println("Error renaming " + from + " to " + to + ": " + to + " already exists");
+                return false;
+            }
+            GroupCommitAppender.runExclusive(from, () -> Files.move(from, to));
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error renaming " + from + " to " + to + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the records of a pre-partitioning data file, e.g. {@code data/Application.csv}.
+     *
+     * @param legacyFilePath the path of the single shared file
+     * @return its records without the header, or an empty list if the file is missing
+     */
+    public static List<String[]> readLegacyFile(String legacyFilePath) {
+        if (!new File(legacyFilePath).exists()) {
+            return new ArrayList<>();
+        }
+        try {
+            return ParallelCSVParser.parse(legacyFilePath, true);
+        } catch (IOException e) {
+            System.out.println("Failed to read " + legacyFilePath + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Truncates a pre-partitioning data file to its header once its records have been moved into partitions.
+     * If this never happens, e.g. because the program stops first, {@link #readAll} skips the moved rows.
+     *
+     * @param legacyFilePath the path of the single shared file
+     * @param header         the CSV header line to keep
+     */
+    public static void clearLegacyFile(String legacyFilePath, String header) {
+        Path file = Paths.get(legacyFilePath);
+        try {
+            GroupCommitAppender.runExclusive(file,
+                () -> Files.write(file, Collections.singletonList(header), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Error writing " + legacyFilePath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the partition directories in partition ID order.
+     */
+    private static List<Path> listPartitions() {
+        Path root = Paths.get(ROOT);
+        List<Path> dirs = new ArrayList<>();
+        if (!Files.isDirectory(root)) {
+            return dirs;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : stream) {
+                dirs.add(dir);
+            }
+        } catch (IOException e) {
+            System.out.println("Error listing " + root + ": " + e.getMessage());
+        }
+        dirs.sort(Comparator.comparing(dir -> dir.getFileName().toString()));
+        return dirs;
+    }
+}
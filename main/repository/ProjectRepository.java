@@ -2,10 +2,9 @@ package main.repository;
 
 import java.io.File;
 import java.io.IOException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,27 +15,49 @@ import main.entity.Enum.FlatType;
 import main.entity.Project;
 import main.entity.User.HDBManager;
 import main.entity.User.HDBOfficer;
+import main.repository.Interface.ProjectRepositoryInterface;
 import main.utility.CSVRead;
 import main.utility.CSVWrite;
+import main.utility.DateUtil;
+import main.utility.StringPool;
 /**
  * Repository class responsible for saving and loading {@link Project} data
  * to and from the "ProjectUpdatedList.csv" CSV file.
  * Includes support for loading flat types, officer slots, pricing,
  * application dates, visibility settings, and associated officers.
  */
-public class ProjectRepository {
+public class ProjectRepository implements ProjectRepositoryInterface {
 
     private static final String FILE_PATH = "data/ProjectUpdatedList.csv";
-    private static final SimpleDateFormat sdf = new SimpleDateFormat("MM/dd/yyyy");
+
+    /** Whether loading leaves the files as they are instead of rewriting legacy dates or an empty file. */
+    private final boolean readOnly;
+
+    /**
+     * Creates a repository that tidies the files up while loading.
+     */
+    public ProjectRepository() {
+        this(false);
+    }
+
+    /**
+     * @param readOnly whether loading must leave the files as they are, e.g. when another backend migrates from them
+     */
+    public ProjectRepository(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
 
     /**
-     * Saves all projects from ProjectController to the CSV file,
+     * Saves the given projects to the CSV file,
      * including visibility and optional flat types.
+     *
+     * @param projects the projects to save
      */
-    public static void saveProjectsToCSV() {
+    @Override
+    public void saveProjects(List<Project> projects) {
         List<LinkedHashMap<String, String>> csvData = new ArrayList<>();
 
-        for (Project project : ProjectController.projects) {
+        for (Project project : projects) {
             LinkedHashMap<String, String> row = new LinkedHashMap<>();
             row.put("Project Name", project.getProjectName());
             row.put("Neighborhood", project.getNeighborhood());
@@ -56,9 +77,8 @@ public class ProjectRepository {
                 ? String.valueOf(project.getSellingPrice().get(1)) : "null";
             row.put("Selling price for Type 2", priceForType2);
 
-            SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy");
-            row.put("Application opening date", dateFormat.format(project.getApplicationOpeningDate()));
-            row.put("Application closing date", dateFormat.format(project.getApplicationClosingDate()));
+            row.put("Application opening date", DateUtil.formatCsvDate(project.getApplicationOpeningDate()));
+            row.put("Application closing date", DateUtil.formatCsvDate(project.getApplicationClosingDate()));
 
             row.put("Manager", project.getManagerInCharge().getName());
             row.put("Officer Slot", String.valueOf(project.getOfficerSlot()));
@@ -98,20 +118,24 @@ public class ProjectRepository {
         }
     }
     /**
-     * Loads project data from the given CSV file path and creates
-     * project objects using {@link ProjectController#createProject}.
+     * Loads project data from the CSV file and adds all
+     * project objects at once using {@link ProjectController#addProjects},
+     * without rewriting the file per project.
      * Links projects to managers and officers based on their names.
-     *
-     * @param filePath the CSV file path to read project data from
+     * Files still holding legacy slash-separated dates, or holding no projects,
+     * are rewritten once after loading.
      */
-    
-    public static void loadProjectsFromCSV(String filePath) {
-        var projectRaw = CSVRead.CSVRead(filePath, true);
+    @Override
+    public void loadAllProjects() {
+        boolean hasData = updatedProjectFileHasData();
+        var projectRaw = CSVRead.CSVRead(FILE_PATH, true);
+        boolean hasLegacyDates = false;
+        List<Project> loaded = new ArrayList<>();
 
         for (var row : projectRaw) {
             try {
                 String projectName = row.get("Project Name");
-                String neighborhood = row.get("Neighborhood");
+                String neighborhood = StringPool.intern(row.get("Neighborhood"));
 
                 // Flat type 1
                 FlatType type1 = parseFlatType(row.get("Type 1"));
@@ -142,8 +166,13 @@ public class ProjectRepository {
                 if (hasType2) prices.add(price2);
 
                 // Dates
-                Date openingDate = sdf.parse(row.get("Application opening date"));
-                Date closingDate = sdf.parse(row.get("Application closing date"));
+                String openingText = row.get("Application opening date");
+                String closingText = row.get("Application closing date");
+                LocalDate openingDate = DateUtil.parseCsvDate(openingText);
+                LocalDate closingDate = DateUtil.parseCsvDate(closingText);
+                if (DateUtil.isLegacyCsvDate(openingText) || DateUtil.isLegacyCsvDate(closingText)) {
+                    hasLegacyDates = true;
+                }
 
                 // Manager
                 String managerName = row.get("Manager");
@@ -172,23 +201,57 @@ public class ProjectRepository {
                 }
 
                 // Create project
-                Project project = ProjectController.createProject(
+                Project project = new Project(
                     projectName, neighborhood, flatTypes, units,
                     openingDate, closingDate, prices,
                     manager, officerSlot, officers, isVisible
                 );
+                loaded.add(project);
 
-                manager.addCreatedProjects(project);
-                for (HDBOfficer officer : officers) {
-                    officer.setAssignedProject(project);
-                }
-
-            } catch (ParseException e) {
-                System.err.println("Invalid date format. Use dd/MM/yyyy");
+            } catch (DateTimeException e) {
+                System.err.println("Invalid date format. Use yyyy-MM-dd");
             } catch (Exception e) {
                 System.err.println("Failed to load project row: " + row);
             }
         }
+
+        for (Project project : ProjectController.addProjects(loaded)) {
+            for (HDBOfficer officer : project.getAssignedOfficers()) {
+                officer.setAssignedProject(project);
+            }
+        }
+
+        if (readOnly) {
+            return;
+        }
+        if (hasLegacyDates) {
+            System.out.println("Migrating project dates to yyyy-MM-dd format...");
+            saveProjects(ProjectController.projects);
+        } else if (!hasData) {
+            saveProjects(ProjectController.projects);
+        }
+    }
+
+    /**
+     * Drops the project's data directory, holding its applications, enquiries,
+     * registrations and flat bookings.
+     *
+     * @param project the deleted project
+     */
+    @Override
+    public void deleteProjectRecords(Project project) {
+        ProjectPartitions.deletePartition(project.getProjectName());
+    }
+
+    /**
+     * Moves the project's data directory to match its new name.
+     *
+     * @param oldName the previous project name
+     * @param project the renamed project
+     */
+    @Override
+    public void renameProjectRecords(String oldName, Project project) {
+        ProjectPartitions.renamePartition(oldName, project.getProjectName());
     }
         /**
      * Checks whether the updated project CSV file contains any data.
@@ -196,7 +259,7 @@ public class ProjectRepository {
      * @return true if the updated file exists and contains rows after the header;
      *         false if it doesn't exist, is unreadable, or contains only a header.
      */
-    public static boolean updatedProjectFileHasData() {
+    private static boolean updatedProjectFileHasData() {
         File updatedFile = new File("data/ProjectUpdatedList.csv");
     
         // Check if the file exists
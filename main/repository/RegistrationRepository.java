@@ -1,159 +1,171 @@
 package main.repository;
 
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import main.controller.RegistrationController;
 import main.entity.Enum.RegistrationStatus;
 import main.entity.Project;
 import main.entity.Registration;
 import main.entity.User.HDBOfficer;
+import main.utility.DateUtil;
+import main.repository.Interface.RegistrationRepositoryInterface;
 /**
  * Repository class responsible for managing the persistence of {@link Registration} objects.
  * Handles operations like writing new entries, updating the CSV, and loading registration data for officers.
  */
-public class RegistrationRepository {
+public class RegistrationRepository implements RegistrationRepositoryInterface {
+
+    /** Pre-partitioning file holding the registrations of every project; migrated on load. */
+    private static final String LEGACY_FILE_PATH = "data/Registration.csv";
+
+    private static final String HEADER = "Registration ID,Officer Id,Project Name,Status,Submission Date";
+
+    /** Whether loading leaves the files as they are instead of moving records out of the old single file. */
+    private final boolean readOnly;
+
+    /**
+     * Creates a repository that tidies the files up while loading.
+     */
+    public RegistrationRepository() {
+        this(false);
+    }
 
-    private static final String FILE_PATH = "data/Registration.csv";
     /**
-     * Appends a single {@link Registration} record to the CSV file.
+     * @param readOnly whether loading must leave the files as they are, e.g. when another backend migrates from them
+     */
+    public RegistrationRepository(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Appends a single {@link Registration} record to its project's file.
      * Adds a header if the file is new or empty.
      *
      * @param registration the registration object to append
      */
-    
-    public static void appendRegistrationToCSV(Registration registration) {
-        File file = new File(FILE_PATH);
-        boolean isNewOrEmpty = !file.exists() || file.length() < 6;
-
-    
-        try (PrintWriter writer = new PrintWriter(new FileWriter(FILE_PATH, true))) {
-            if (isNewOrEmpty) {
-                // write header only once
-                writer.println("Registration ID, Officer Id,Project Name,Status,Submission Date");
-            }
-            StringBuilder sb = new StringBuilder();
-            sb.append(registration.getRegistrationId())
-              .append(",")
-              .append(registration.getOfficer().getUserId())
-              .append(",")
-              .append(registration.getProject().getProjectName())
-              .append(",")
-              .append(registration.getRegistrationStatus())
-              .append(",")
-              .append(registration.getSubmissionDate());
-            writer.println(sb.toString());
-        } catch (IOException e) {
-            System.out.println("An error occurred while writing to the file: " + e.getMessage());
-        }
+    @Override
+    public CompletableFuture<Boolean> appendRegistration(Registration registration) {
+        return ProjectPartitions.append(registration.getProject().getProjectName(), ProjectPartitions.REGISTRATIONS,
+            HEADER, toCsvLine(registration));
     }
+
     /**
-     * Writes all {@link Registration} records to the CSV file, overwriting the existing contents.
+     * Writes all {@link Registration} records to their projects' files, overwriting the existing contents.
      *
      * @param registrations the list of registrations to write
      */
-    public static void writeAllRegistration(List<Registration> registrations) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(FILE_PATH))) {
-            // Write the header first
-            writer.write("Registration ID, Officer Id,Project Name,Status,Submission Date");
-            writer.newLine();
-    
-            // Write each enquiry
-            for (Registration registration : registrations) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(registration.getRegistrationId()).append(",");
-                sb.append(registration.getOfficer().getUserId()).append(",");
-                sb.append(registration.getProject().getProjectName()).append(",");
-                sb.append(registration.getRegistrationStatus().name()).append(",");
-                sb.append(registration.getSubmissionDate().toString());
-                writer.write(sb.toString());
-                writer.newLine();
-            }
-    
-            System.out.println("Registration successfully written to " + FILE_PATH);
-        } catch (IOException e) {
-            System.out.println("Error writing to file: " + e.getMessage());
+    @Override
+    public void saveAllRegistrations(List<Registration> registrations) {
+        Map<String, List<String>> linesByProject = new LinkedHashMap<>();
+        for (Registration registration : registrations) {
+            linesByProject.computeIfAbsent(registration.getProject().getProjectName(), name -> new ArrayList<>())
+                .add(toCsvLine(registration));
         }
+        ProjectPartitions.writeAll(ProjectPartitions.REGISTRATIONS, HEADER, linesByProject);
     }
-    
+
     /**
-     * Loads registration data from the CSV file and sets it for the given HDB officer.
+     * Writes the registrations of one project to that project's file, overwriting the existing contents.
+     *
+     * @param project       the project whose file is rewritten
+     * @param registrations the project's registrations
+     */
+    @Override
+    public void saveRegistrationsForProject(Project project, List<Registration> registrations) {
+        List<String> lines = new ArrayList<>();
+        for (Registration registration : registrations) {
+            lines.add(toCsvLine(registration));
+        }
+        ProjectPartitions.write(project.getProjectName(), ProjectPartitions.REGISTRATIONS, HEADER, lines);
+    }
+
+    private static String toCsvLine(Registration registration) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(registration.getRegistrationId()).append(",");
+        sb.append(registration.getOfficer().getUserId()).append(",");
+        sb.append(registration.getProject().getProjectName()).append(",");
+        sb.append(registration.getRegistrationStatus().name()).append(",");
+        sb.append(registration.getSubmissionDate().toString());
+        return sb.toString();
+    }
+
+    /**
+     * Loads all registrations from the project files and sets each on its HDB officer.
+     * The project files are parsed in parallel; registrations are added in file order, so an officer
+     * keeps the last registration listed. Records still in the old single {@code data/Registration.csv}
+     * are loaded first and then moved into the project files.
      * It also increments the registration counter in the {@link RegistrationController}.
      *
-     * @param officer  the officer for whom the registration should be loaded
+     * @param officers the officers whose registrations should be loaded
      * @param projects the list of all available projects to match by project name
      */
+    @Override
+    public void loadAllRegistrations(List<HDBOfficer> officers, List<Project> projects) {
+        List<String[]> legacyRows = ProjectPartitions.readLegacyFile(LEGACY_FILE_PATH);
+        List<String[]> rows = ProjectPartitions.readAll(ProjectPartitions.REGISTRATIONS, legacyRows);
+
+        Map<String, HDBOfficer> officersById = new HashMap<>();
+        for (HDBOfficer officer : officers) {
+            officersById.putIfAbsent(officer.getUserId(), officer);
+        }
+        Map<String, Project> projectsByName = new HashMap<>();
+        for (Project p : projects) {
+            projectsByName.putIfAbsent(p.getProjectName(), p);
+        }
+
+        for (String[] fields : rows) {
+            // Ensure correct number of fields
+            if (fields.length < 5) continue;
 
-    public static void loadRegistrationForOfficer(HDBOfficer officer, List<Project> projects) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(FILE_PATH))) {
-            String line = reader.readLine(); // Skip header
-    
-            while ((line = reader.readLine()) != null) {
-                String[] fields = line.split(",", -1); // -1 includes trailing empty fields
-    
-                // Ensure correct number of fields
-                if (fields.length < 5) continue;
-    
-                String registrationID = fields[0].trim();           
-                String officerID   = fields[1].trim();
-    
-                // Match the registration to the current applicant
-                if (!officerID.equals(officer.getUserId())) continue;
-    
-                String projectName   = fields[2].trim();
-                String statusStr     = fields[3].trim();
-                String dateStr       = fields[4].trim();
-    
-                try {
-                    RegistrationStatus status = RegistrationStatus.valueOf(statusStr);
-                    LocalDate createdAt = LocalDate.parse(dateStr);
-                    
-    
-                    // Find project by name
-                    Project project = null;
-                    for (Project p : projects) {
-                        if (p.getProjectName().equals(projectName)) {
-                            project = p;
-                            break;
-                        }
-                    }
-    
-                    if (project == null) {
-                        System.err.println("Project not found for application: " + registrationID);
-                        continue;
-                    }
-    
-                    // Increment the application counter
-                    RegistrationController.registrationCounter++;
-    
-                    // Create and register application
-                    Registration registration = new Registration(
-                        registrationID,
-                        officer,
-                        project,
-                        status,
-                        createdAt
-                    );
-    
-                    officer.setRegistration(registration);
-                    RegistrationController.getAllRegistrations().add(registration);
-    
-                } catch (Exception e) {
-                    System.err.println("Error parsing application row: " + Arrays.toString(fields));
-                    e.printStackTrace();
+            String registrationID = fields[0].trim();
+            HDBOfficer officer = officersById.get(fields[1].trim());
+            if (officer == null) continue;
+
+            String projectName   = fields[2].trim();
+            String statusStr     = fields[3].trim();
+            String dateStr       = fields[4].trim();
+
+            try {
+                RegistrationStatus status = RegistrationStatus.valueOf(statusStr);
+                LocalDate createdAt = DateUtil.parseCsvDate(dateStr);
+
+                Project project = projectsByName.get(projectName);
+                if (project == null) {
+                    System.err.println("Project not found for registration: " + registrationID);
+                    continue;
                 }
+
+                // Increment the registration counter
+                RegistrationController.registrationCounter++;
+
+                Registration registration = new Registration(
+                    registrationID,
+                    officer,
+                    project,
+                    status,
+                    createdAt
+                );
+
+                officer.setRegistration(registration);
+                RegistrationController.addRegistration(registration);
+
+            } catch (Exception e) {
+                System.err.println("Error parsing registration row: " + Arrays.toString(fields));
+                e.printStackTrace();
             }
-    
-        } catch (IOException e) {
-            System.out.println("Failed to load registration for " + officer.getUserId() + ": " + e.getMessage());
+        }
+
+        if (!legacyRows.isEmpty() && !readOnly) {
+            System.out.println("Moving " + legacyRows.size() + " registrations into per-project files...");
+            saveAllRegistrations(RegistrationController.getAllRegistrations());
+            ProjectPartitions.clearLegacyFile(LEGACY_FILE_PATH, HEADER);
         }
     }
 }
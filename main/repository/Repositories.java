@@ -0,0 +1,174 @@
+package main.repository;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import main.repository.Interface.ApplicantRepositoryInterface;
+import main.repository.Interface.ApplicationRepositoryInterface;
+import main.repository.Interface.BookingRepositoryInterface;
+import main.repository.Interface.EnquiryRepositoryInterface;
+import main.repository.Interface.ManagerRepositoryInterface;
+import main.repository.Interface.OfficerRepositoryInterface;
+import main.repository.Interface.ProjectRepositoryInterface;
+import main.repository.Interface.RegistrationRepositoryInterface;
+
+/**
+ * Holds the storage backend used by the controllers and {@link main.Initialize}.
+ * The CSV repositories are used by default; {@link #useInMemory()} switches every repository
+ * to a single {@link InMemoryRepository}, and {@link #useJdbc(String)} to a single {@link JdbcRepository}.
+ * {@link #useLogStructured()} moves applicants and applications into a {@link LogStructuredRepository}.
+ * The backend must be chosen before any data is loaded.
+ */
+public class Repositories {
+
+    private static ApplicantRepositoryInterface applicants;
+    private static OfficerRepositoryInterface officers;
+    private static ManagerRepositoryInterface managers;
+    private static ProjectRepositoryInterface projects;
+    private static ApplicationRepositoryInterface applications;
+    private static EnquiryRepositoryInterface enquiries;
+    private static RegistrationRepositoryInterface registrations;
+    private static BookingRepositoryInterface bookings;
+
+    /** How long {@link #awaitWrite} waits, from {@code bto.write.timeoutMs} (default 10 s). */
+    private static final long WRITE_TIMEOUT_MS = Long.getLong("bto.write.timeoutMs", 10_000);
+
+    static {
+        useCsv();
+    }
+
+    private Repositories() {}
+
+    /**
+     * Stores all data in the CSV files under {@code data/}.
+     */
+    public static void useCsv() {
+        applicants = new ApplicantRepository();
+        officers = new OfficerRepository();
+        managers = new ManagerRepository();
+        projects = new ProjectRepository();
+        applications = new ApplicationRepository();
+        enquiries = new EnquiryRepository();
+        registrations = new RegistrationRepository();
+        bookings = new BookingRepository();
+    }
+
+    /**
+     * Keeps all data in memory only, starting from an empty store.
+     */
+    public static void useInMemory() {
+        InMemoryRepository store = new InMemoryRepository();
+        applicants = store;
+        officers = store;
+        managers = store;
+        projects = store;
+        applications = store;
+        enquiries = store;
+        registrations = store;
+        bookings = store;
+    }
+
+    /**
+     * Stores all data in an embedded SQL database. The CSV backend stays selected if the
+     * database cannot be opened, e.g. because its JDBC driver is not on the classpath.
+     *
+     * @param url the JDBC URL of the database
+     * @return true if the database backend is now in use
+     */
+    public static boolean useJdbc(String url) {
+        JdbcRepository store;
+        try {
+            store = new JdbcRepository(url);
+        } catch (SQLException e) {
+            System.out.println("Could not open database " + url + ": " + e.getMessage());
+            return false;
+        }
+        applicants = store;
+        officers = store;
+        managers = store;
+        projects = store;
+        applications = store;
+        enquiries = store;
+        registrations = store;
+        bookings = store;
+        return true;
+    }
+
+    /**
+     * Stores applicants and applications in log-structured stores; everything else stays in the CSV files.
+     * The CSV backend stays selected if the stores cannot be opened.
+     *
+     * @return true if the log-structured stores are now in use
+     */
+    public static boolean useLogStructured() {
+        LogStructuredRepository store;
+        try {
+            store = new LogStructuredRepository();
+        } catch (IOException e) {
+            System.out.println("Could not open the log store: " + e.getMessage());
+            return false;
+        }
+        useCsv();
+        applicants = store;
+        applications = store;
+        projects = store;
+        return true;
+    }
+
+    /**
+     * Waits for a queued write, such as an append, to finish. The wait is bounded so that a caller
+     * cannot hang if the thread doing the write has stopped.
+     *
+     * @param write the future returned for the write
+     * @return true if the write succeeded, false if it failed or did not finish in time
+     */
+    public static boolean awaitWrite(CompletableFuture<Boolean> write) {
+        try {
+            return write.get(WRITE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.out.println("Timed out waiting for a write to finish.");
+            return false;
+        } catch (ExecutionException e) {
+            System.out.println("Write failed: " + e.getCause().getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public static ApplicantRepositoryInterface applicants() {
+        return applicants;
+    }
+
+    public static OfficerRepositoryInterface officers() {
+        return officers;
+    }
+
+    public static ManagerRepositoryInterface managers() {
+        return managers;
+    }
+
+    public static ProjectRepositoryInterface projects() {
+        return projects;
+    }
+
+    public static ApplicationRepositoryInterface applications() {
+        return applications;
+    }
+
+    public static EnquiryRepositoryInterface enquiries() {
+        return enquiries;
+    }
+
+    public static RegistrationRepositoryInterface registrations() {
+        return registrations;
+    }
+
+    public static BookingRepositoryInterface bookings() {
+        return bookings;
+    }
+}
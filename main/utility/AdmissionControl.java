@@ -0,0 +1,215 @@
+package main.utility;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for the submissions that spike when a popular project opens.
+ * <p>
+ * Every operation has a token bucket shared by all users and a smaller token bucket per NRIC. A request takes
+ * one token from each. A user who has used up their own bucket is rejected at once. When the shared bucket is
+ * empty, requests wait their turn in a bounded FIFO queue and are let through as tokens refill; once the queue
+ * is full, further requests are rejected at once instead of stalling every session. Rejections throw an
+ * {@link AdmissionRejectedException} that says how long to wait before trying again. A user's bucket is dropped
+ * once it has refilled completely, since a new bucket would start out the same, so idle users take no memory.
+ * <p>
+ * Limits can be changed with system properties named after the operation, e.g.
+ * {@code bto.admission.application.rate} (tokens per second), {@code .burst}, {@code .queue},
+ * {@code .userBurst} and {@code .userRefillSeconds}.
+ */
+public class AdmissionControl {
+
+    /**
+     * The operations under admission control, with their default limits.
+     */
+    public enum Operation {
+        /** Submitting an application for a project. */
+        SUBMIT_APPLICATION("application", "application submissions", 20, 50, 200, 3, 10),
+
+        /** Submitting an enquiry about a project. */
+        SUBMIT_ENQUIRY("enquiry", "enquiries", 50, 100, 500, 5, 5);
+
+        private final String description;
+        private final Gate gate;
+        private final double userBurst;
+        private final double userRatePerSecond;
+        private final Map<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+        private final long sweepIntervalNanos;
+        private final AtomicLong nextSweep;
+
+        Operation(String key, String description, double rate, double burst, int queue,
+                  double userBurst, double userRefillSeconds) {
+            String prefix = "bto.admission." + key + ".";
+            this.description = description;
+            this.gate = new Gate(new TokenBucket(property(prefix + "burst", burst), property(prefix + "rate", rate)),
+                Math.max(0, Integer.getInteger(prefix + "queue", queue)));
+            this.userBurst = property(prefix + "userBurst", userBurst);
+            this.userRatePerSecond = 1 / property(prefix + "userRefillSeconds", userRefillSeconds);
+            // Sweep once per full refill of a user's bucket, but at most once a second
+            this.sweepIntervalNanos = Math.max(TimeUnit.SECONDS.toNanos(1),
+                (long) Math.min(Long.MAX_VALUE / 4, Math.max(1, this.userBurst) / this.userRatePerSecond * 1e9));
+            this.nextSweep = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+        }
+
+        /**
+         * Drops the buckets of users who have been idle long enough for their bucket to refill completely.
+         * Only one caller sweeps per interval; the others return at once.
+         */
+        private void evictIdleBuckets() {
+            long now = System.nanoTime();
+            long due = nextSweep.get();
+            if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+                return;
+            }
+            for (String userId : userBuckets.keySet()) {
+                // Checked under the map's lock for the key, so a token cannot be taken from a bucket being dropped
+                userBuckets.computeIfPresent(userId, (id, bucket) -> bucket.isFull() ? null : bucket);
+            }
+        }
+
+        private static double property(String name, double defaultValue) {
+            String value = System.getProperty(name);
+            try {
+                return value == null ? defaultValue : Math.max(Double.MIN_NORMAL, Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring invalid " + name + ": " + value);
+                return defaultValue;
+            }
+        }
+    }
+
+    private AdmissionControl() {}
+
+    /**
+     * Admits one request, waiting in the queue if the operation is busy.
+     *
+     * @param operation the operation requested
+     * @param userId    the NRIC of the user making the request
+     * @throws AdmissionRejectedException if the user is making requests too quickly, the queue is full,
+     *                                    or the thread is interrupted while waiting
+     */
+    public static void acquire(Operation operation, String userId) throws AdmissionRejectedException {
+        operation.evictIdleBuckets();
+        long[] userWait = new long[1];
+        TokenBucket userBucket = operation.userBuckets.compute(userId, (id, bucket) -> {
+            TokenBucket taken = bucket != null ? bucket
+                : new TokenBucket(operation.userBurst, operation.userRatePerSecond);
+            userWait[0] = taken.tryTake();
+            return taken;
+        });
+        if (userWait[0] > 0) {
+            throw rejected("You are making too many " + operation.description, userWait[0]);
+        }
+        try {
+            operation.gate.enter(operation);
+        } catch (AdmissionRejectedException e) {
+            // The request was not served, so it does not count against the user
+            userBucket.refund();
+            throw e;
+        }
+    }
+
+    private static AdmissionRejectedException rejected(String reason, long waitNanos) {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new AdmissionRejectedException(reason + "; please try again in " + seconds
+            + (seconds == 1 ? " second." : " seconds."), Duration.ofSeconds(seconds));
+    }
+
+    /**
+     * The shared token bucket of an operation and its FIFO queue of waiting requests.
+     */
+    private static class Gate {
+        private final TokenBucket bucket;
+        private final int queueCapacity;
+        private final ArrayDeque<Thread> waiting = new ArrayDeque<>();
+
+        private Gate(TokenBucket bucket, int queueCapacity) {
+            this.bucket = bucket;
+            this.queueCapacity = queueCapacity;
+        }
+
+        private synchronized void enter(Operation operation) {
+            if (waiting.isEmpty() && bucket.tryTake() == 0) {
+                return;
+            }
+            if (waiting.size() >= queueCapacity) {
+                throw rejected("The system is busy with " + operation.description,
+                    bucket.nanosPerToken() * (waiting.size() + 1));
+            }
+            Thread self = Thread.currentThread();
+            waiting.addLast(self);
+            try {
+                while (true) {
+                    if (waiting.peekFirst() == self) {
+                        long wait = bucket.tryTake();
+                        if (wait == 0) {
+                            return;
+                        }
+                        TimeUnit.NANOSECONDS.timedWait(this, wait);
+                    } else {
+                        wait();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rejected("Your request for " + operation.description + " was cancelled",
+                    bucket.nanosPerToken() * waiting.size());
+            } finally {
+                waiting.remove(self);
+                // Wake the next request in line
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * A token bucket holding up to {@code capacity} tokens, refilled continuously at a fixed rate.
+     */
+    private static class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        private TokenBucket(double capacity, double tokensPerSecond) {
+            this.capacity = Math.max(1, capacity);
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = this.capacity;
+        }
+
+        /**
+         * Takes a token if one is available.
+         *
+         * @return 0 if a token was taken, otherwise the nanoseconds until the next token
+         */
+        private synchronized long tryTake() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+
+        /**
+         * @return true if the bucket has refilled to capacity
+         */
+        private synchronized boolean isFull() {
+            return tokens + (System.nanoTime() - lastRefill) * tokensPerNano >= capacity;
+        }
+
+        private synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        private long nanosPerToken() {
+            return (long) Math.ceil(1 / tokensPerNano);
+        }
+    }
+}
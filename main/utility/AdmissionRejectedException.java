@@ -0,0 +1,30 @@
+package main.utility;
+
+import java.time.Duration;
+
+/**
+ * Thrown by {@link AdmissionControl} when a request is turned away because too many requests of its kind
+ * are being made. It carries a hint of how long the caller should wait before trying again.
+ */
+public class AdmissionRejectedException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    /**
+     * @param message    the message shown to the user
+     * @param retryAfter how long to wait before trying again
+     */
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return how long the caller should wait before trying again
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,405 @@
+package main.utility;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import main.entity.Application;
+import main.entity.Enum.ApplicationStatus;
+import main.entity.Enum.FlatType;
+import main.entity.Enum.MaritalStatus;
+import main.entity.Project;
+import main.entity.User.Applicant;
+
+/**
+ * Column-oriented copy of the applications, used for reporting without walking the application objects.
+ * Each application is a row in parallel primitive arrays: project code, flat type, status, marital status,
+ * age and age band of the applicant, and submission date as a day count. The owning controller keeps it up
+ * to date as applications are added, removed or change status.
+ * <p>
+ * A query first marks the matching rows in a byte mask, one column at a time and only for the columns it
+ * filters on, and then counts or sums over the mask. Each pass is a simple loop over one primitive array,
+ * which the JIT compiler can unroll and vectorize. Null values are stored as -1 and reported as "None".
+ * The marital status and age are those of the applicant when the application was added.
+ */
+public class ApplicationColumns {
+
+    private static final FlatType[] FLAT_TYPES = FlatType.values();
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+    private static final MaritalStatus[] MARITAL_STATUSES = MaritalStatus.values();
+    private static final AgeBand[] AGE_BANDS = AgeBand.values();
+
+    /** Day count stored for applications without a submission date. */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Age bands used to group applicants, split at the ages where eligibility rules change.
+     */
+    public enum AgeBand {
+        UNDER_21("Under 21", 0),
+        FROM_21_TO_34("21-34", 21),
+        FROM_35_TO_44("35-44", 35),
+        FROM_45_TO_54("45-54", 45),
+        FROM_55_TO_64("55-64", 55),
+        FROM_65("65 and above", 65);
+
+        private final String label;
+        private final int minimumAge;
+
+        AgeBand(String label, int minimumAge) {
+            this.label = label;
+            this.minimumAge = minimumAge;
+        }
+
+        /**
+         * @param age the age
+         * @return the band containing the age
+         */
+        public static AgeBand of(int age) {
+            AgeBand[] bands = AGE_BANDS;
+            for (int i = bands.length - 1; i > 0; i--) {
+                if (age >= bands[i].minimumAge) {
+                    return bands[i];
+                }
+            }
+            return bands[0];
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * The columns a report can group applications by.
+     */
+    public enum Dimension {
+        PROJECT, FLAT_TYPE, STATUS, MARITAL_STATUS, AGE_BAND
+    }
+
+    /**
+     * The applications a report covers. Criteria left unset match every application.
+     */
+    public static class Query {
+        private Project project;
+        private FlatType flatType;
+        private ApplicationStatus status;
+        private MaritalStatus maritalStatus;
+        private AgeBand ageBand;
+        private LocalDate submittedFrom;
+        private LocalDate submittedTo;
+
+        public Query project(Project project) {
+            this.project = project;
+            return this;
+        }
+
+        public Query flatType(FlatType flatType) {
+            this.flatType = flatType;
+            return this;
+        }
+
+        public Query status(ApplicationStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Query maritalStatus(MaritalStatus maritalStatus) {
+            this.maritalStatus = maritalStatus;
+            return this;
+        }
+
+        public Query ageBand(AgeBand ageBand) {
+            this.ageBand = ageBand;
+            return this;
+        }
+
+        /**
+         * Restricts the query to applications submitted within a date range.
+         *
+         * @param from the first day, or null for no lower bound
+         * @param to   the last day, or null for no upper bound
+         * @return this query
+         */
+        public Query submittedBetween(LocalDate from, LocalDate to) {
+            this.submittedFrom = from;
+            this.submittedTo = to;
+            return this;
+        }
+    }
+
+    private int size;
+    private Application[] applications = new Application[INITIAL_CAPACITY];
+    private int[] projects = new int[INITIAL_CAPACITY];
+    private byte[] flatTypes = new byte[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] maritalStatuses = new byte[INITIAL_CAPACITY];
+    private short[] ages = new short[INITIAL_CAPACITY];
+    private byte[] ageBands = new byte[INITIAL_CAPACITY];
+    private int[] submissionDays = new int[INITIAL_CAPACITY];
+
+    /** Row of each application, to update and remove rows. */
+    private final Map<Application, Integer> rows = new IdentityHashMap<>();
+
+    /** Code of each project; codes index {@link #projectsByCode}, which holds null for deleted projects. */
+    private final Map<Project, Integer> projectCodes = new IdentityHashMap<>();
+    private final List<Project> projectsByCode = new ArrayList<>();
+
+    /**
+     * Adds a row for an application, or refreshes its row if it is already present.
+     *
+     * @param application the application
+     */
+    public synchronized void add(Application application) {
+        Integer row = rows.get(application);
+        if (row == null) {
+            if (size == applications.length) {
+                grow();
+            }
+            row = size++;
+            rows.put(application, row);
+            applications[row] = application;
+        }
+        Applicant applicant = application.getApplicant();
+        int age = applicant == null ? 0 : Math.min(applicant.getAge(), Short.MAX_VALUE);
+        LocalDate submissionDate = application.getSubmissionDate();
+        projects[row] = codeOf(application.getProject());
+        flatTypes[row] = ordinalOf(application.getFlatType());
+        statuses[row] = ordinalOf(application.getStatus());
+        maritalStatuses[row] = ordinalOf(applicant == null ? null : applicant.getMaritalStatus());
+        ages[row] = (short) age;
+        ageBands[row] = applicant == null ? -1 : (byte) AgeBand.of(age).ordinal();
+        submissionDays[row] = submissionDate == null ? NO_DATE : Math.toIntExact(submissionDate.toEpochDay());
+    }
+
+    /**
+     * Copies the current status of an application into its row.
+     *
+     * @param application the application whose status changed
+     */
+    public synchronized void updateStatus(Application application) {
+        Integer row = rows.get(application);
+        if (row != null) {
+            statuses[row] = ordinalOf(application.getStatus());
+        }
+    }
+
+    /**
+     * Removes the row of an application. The last row moves into its place.
+     *
+     * @param application the application
+     */
+    public synchronized void remove(Application application) {
+        Integer row = rows.remove(application);
+        if (row != null) {
+            removeRow(row);
+        }
+    }
+
+    /**
+     * Removes the rows of every application of a project, and forgets the project.
+     *
+     * @param project the deleted project
+     */
+    public synchronized void removeProject(Project project) {
+        Integer code = projectCodes.remove(project);
+        if (code == null) {
+            return;
+        }
+        for (int row = size - 1; row >= 0; row--) {
+            if (projects[row] == code) {
+                rows.remove(applications[row]);
+                removeRow(row);
+            }
+        }
+        projectsByCode.set(code, null);
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Counts the applications matching a query.
+     *
+     * @param query the criteria
+     * @return the number of matching applications
+     */
+    public synchronized int count(Query query) {
+        byte[] mask = select(query);
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            count += mask[row];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the average applicant age of the applications matching a query.
+     *
+     * @param query the criteria
+     * @return the average age, or 0 if nothing matches
+     */
+    public synchronized double averageAge(Query query) {
+        byte[] mask = select(query);
+        long sum = 0;
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            sum += ages[row] * mask[row];
+            count += mask[row];
+        }
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Counts the applications matching a query in each group of a dimension.
+     *
+     * @param dimension the column to group by
+     * @param query     the criteria
+     * @return the count of each group with at least one match, by group name, in the order of the
+     *         dimension's values (projects in the order they were first seen), with "None" first
+     */
+    public synchronized Map<String, Integer> countBy(Dimension dimension, Query query) {
+        byte[] mask = select(query);
+        int[] counts;
+        Object[] groups;
+        if (dimension == Dimension.PROJECT) {
+            counts = new int[projectsByCode.size() + 1];
+            for (int row = 0; row < size; row++) {
+                counts[projects[row] + 1] += mask[row];
+            }
+            groups = projectsByCode.stream().map(project -> project == null ? null : project.getProjectName()).toArray();
+        } else {
+            groups = switch (dimension) {
+                case FLAT_TYPE -> FLAT_TYPES;
+                case STATUS -> STATUSES;
+                case MARITAL_STATUS -> MARITAL_STATUSES;
+                default -> AGE_BANDS;
+            };
+            byte[] keys = switch (dimension) {
+                case FLAT_TYPE -> flatTypes;
+                case STATUS -> statuses;
+                case MARITAL_STATUS -> maritalStatuses;
+                default -> ageBands;
+            };
+            counts = new int[groups.length + 1];
+            for (int row = 0; row < size; row++) {
+                counts[keys[row] + 1] += mask[row];
+            }
+        }
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (counts[0] > 0) {
+            result.put("None", counts[0]);
+        }
+        for (int i = 0; i < groups.length; i++) {
+            if (counts[i + 1] > 0) {
+                result.merge(String.valueOf(groups[i]), counts[i + 1], Integer::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks the rows matching a query with 1 and the others with 0, one column at a time.
+     */
+    private byte[] select(Query query) {
+        byte[] mask = new byte[size];
+        Arrays.fill(mask, (byte) 1);
+        if (query.project != null) {
+            Integer code = projectCodes.get(query.project);
+            if (code == null) {
+                return new byte[size];
+            }
+            int wanted = code;
+            for (int row = 0; row < size; row++) {
+                mask[row] &= projects[row] == wanted ? 1 : 0;
+            }
+        }
+        if (query.flatType != null) {
+            selectEqual(mask, flatTypes, ordinalOf(query.flatType));
+        }
+        if (query.status != null) {
+            selectEqual(mask, statuses, ordinalOf(query.status));
+        }
+        if (query.maritalStatus != null) {
+            selectEqual(mask, maritalStatuses, ordinalOf(query.maritalStatus));
+        }
+        if (query.ageBand != null) {
+            selectEqual(mask, ageBands, ordinalOf(query.ageBand));
+        }
+        if (query.submittedFrom != null || query.submittedTo != null) {
+            long from = query.submittedFrom == null ? NO_DATE + 1L : query.submittedFrom.toEpochDay();
+            long to = query.submittedTo == null ? Integer.MAX_VALUE : query.submittedTo.toEpochDay();
+            for (int row = 0; row < size; row++) {
+                int day = submissionDays[row];
+                mask[row] &= day >= from & day <= to ? 1 : 0;
+            }
+        }
+        return mask;
+    }
+
+    private void selectEqual(byte[] mask, byte[] column, byte wanted) {
+        for (int row = 0; row < size; row++) {
+            mask[row] &= column[row] == wanted ? 1 : 0;
+        }
+    }
+
+    private int codeOf(Project project) {
+        if (project == null) {
+            return -1;
+        }
+        Integer code = projectCodes.get(project);
+        if (code == null) {
+            code = projectsByCode.size();
+            projectsByCode.add(project);
+            projectCodes.put(project, code);
+        }
+        return code;
+    }
+
+    private static byte ordinalOf(Enum<?> value) {
+        return (byte) (value == null ? -1 : value.ordinal());
+    }
+
+    /**
+     * Moves the last row into a freed row.
+     */
+    private void removeRow(int row) {
+        int last = --size;
+        if (row != last) {
+            Application moved = applications[last];
+            applications[row] = moved;
+            projects[row] = projects[last];
+            flatTypes[row] = flatTypes[last];
+            statuses[row] = statuses[last];
+            maritalStatuses[row] = maritalStatuses[last];
+            ages[row] = ages[last];
+            ageBands[row] = ageBands[last];
+            submissionDays[row] = submissionDays[last];
+            rows.put(moved, row);
+        }
+        applications[last] = null;
+    }
+
+    private void grow() {
+        int capacity = applications.length * 2;
+        applications = Arrays.copyOf(applications, capacity);
+        projects = Arrays.copyOf(projects, capacity);
+        flatTypes = Arrays.copyOf(flatTypes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        maritalStatuses = Arrays.copyOf(maritalStatuses, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        ageBands = Arrays.copyOf(ageBands, capacity);
+        submissionDays = Arrays.copyOf(submissionDays, capacity);
+    }
+}
@@ -0,0 +1,298 @@
+package main.utility;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bitmap indexes over a set of records, for reports that combine several filters.
+ * <p>
+ * Every record gets a row number when it is added. For each indexed attribute and each value of it, a
+ * {@link RoaringBitmap} holds the rows with that value. A {@link Condition} combining attribute values with
+ * AND and OR is answered by intersecting and joining these bitmaps, and {@link #count(Condition)} only counts
+ * the result, so neither touches the records themselves. Row numbers are not reused, so {@link #select}
+ * returns records in the order they were added. Records with a null value for an attribute are not indexed
+ * under it. The owner must call {@link #update(Object)} when an indexed value of a record changes.
+ *
+ * @param <T> the record type
+ */
+public class BitmapIndex<T> {
+
+    /**
+     * The attributes reports filter on.
+     */
+    public enum Attribute {
+        PROJECT, FLAT_TYPE, STATUS, MARITAL_STATUS, AGE_BAND
+    }
+
+    /**
+     * A filter over indexed attribute values, built from {@link #is}, {@link #anyOf}, {@link #and} and {@link #or}.
+     */
+    public abstract static class Condition {
+
+        private Condition() {}
+
+        /**
+         * @return a condition every record meets
+         */
+        public static Condition all() {
+            return new Condition() {
+                @Override
+                RoaringBitmap evaluate(BitmapIndex<?> index) {
+                    return index.rows;
+                }
+            };
+        }
+
+        /**
+         * @param attribute the attribute
+         * @param value     the value, compared with {@code equals}
+         * @return a condition met by records whose attribute has the value
+         */
+        public static Condition is(Attribute attribute, Object value) {
+            return new Condition() {
+                @Override
+                RoaringBitmap evaluate(BitmapIndex<?> index) {
+                    return index.rowsWith(attribute, value);
+                }
+            };
+        }
+
+        /**
+         * @param attribute the attribute
+         * @param values    the values
+         * @return a condition met by records whose attribute has any of the values
+         */
+        public static Condition anyOf(Attribute attribute, Collection<?> values) {
+            List<Condition> conditions = new ArrayList<>();
+            for (Object value : values) {
+                conditions.add(is(attribute, value));
+            }
+            return or(conditions.toArray(new Condition[0]));
+        }
+
+        /**
+         * @param conditions the conditions
+         * @return a condition met by records meeting all the conditions, or every record if there are none
+         */
+        public static Condition and(Condition... conditions) {
+            Condition[] parts = conditions.clone();
+            return new Condition() {
+                @Override
+                RoaringBitmap evaluate(BitmapIndex<?> index) {
+                    RoaringBitmap result = index.rows;
+                    for (Condition part : parts) {
+                        result = result.and(part.evaluate(index));
+                        if (result.isEmpty()) {
+                            break;
+                        }
+                    }
+                    return result;
+                }
+
+                @Override
+                int count(BitmapIndex<?> index) {
+                    if (parts.length == 0) {
+                        return index.rows.cardinality();
+                    }
+                    // Count the last intersection instead of building it
+                    RoaringBitmap result = parts[0].evaluate(index);
+                    for (int i = 1; i < parts.length - 1 && !result.isEmpty(); i++) {
+                        result = result.and(parts[i].evaluate(index));
+                    }
+                    return parts.length == 1 ? result.cardinality()
+                        : result.andCardinality(parts[parts.length - 1].evaluate(index));
+                }
+            };
+        }
+
+        /**
+         * @param conditions the conditions
+         * @return a condition met by records meeting any of the conditions, or no record if there are none
+         */
+        public static Condition or(Condition... conditions) {
+            Condition[] parts = conditions.clone();
+            return new Condition() {
+                @Override
+                RoaringBitmap evaluate(BitmapIndex<?> index) {
+                    RoaringBitmap result = new RoaringBitmap();
+                    for (Condition part : parts) {
+                        result = result.or(part.evaluate(index));
+                    }
+                    return result;
+                }
+            };
+        }
+
+        /**
+         * Returns the rows meeting the condition. The result may be one of the index's own bitmaps,
+         * so it must not be changed.
+         */
+        abstract RoaringBitmap evaluate(BitmapIndex<?> index);
+
+        int count(BitmapIndex<?> index) {
+            return evaluate(index).cardinality();
+        }
+    }
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final Map<Attribute, Function<? super T, ?>> extractors = new EnumMap<>(Attribute.class);
+    private final Map<Attribute, Map<Object, RoaringBitmap>> bitmaps = new EnumMap<>(Attribute.class);
+
+    /** Every live row. */
+    private final RoaringBitmap rows = new RoaringBitmap();
+    /** The record of each row number, null once removed. */
+    private final List<T> records = new ArrayList<>();
+    /** The row of each record and the values it is indexed under. */
+    private final Map<T, IndexedRow> indexedRows = new IdentityHashMap<>();
+
+    private static final class IndexedRow {
+        private final int row;
+        private final Object[] values;
+
+        private IndexedRow(int row, Object[] values) {
+            this.row = row;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Indexes an attribute. Attributes must be declared before records are added.
+     *
+     * @param attribute the attribute
+     * @param extractor reads the attribute from a record; may return null
+     * @return this index
+     */
+    public synchronized BitmapIndex<T> attribute(Attribute attribute, Function<? super T, ?> extractor) {
+        if (!records.isEmpty()) {
+            throw new IllegalStateException("Attributes must be declared before records are added.");
+        }
+        extractors.put(attribute, extractor);
+        bitmaps.put(attribute, new HashMap<>());
+        return this;
+    }
+
+    /**
+     * Adds a record, or re-indexes it if it is already present.
+     *
+     * @param record the record
+     */
+    public synchronized void add(T record) {
+        if (indexedRows.containsKey(record)) {
+            update(record);
+            return;
+        }
+        int row = records.size();
+        records.add(record);
+        rows.add(row);
+        Object[] values = new Object[Attribute.values().length];
+        for (Map.Entry<Attribute, Function<? super T, ?>> entry : extractors.entrySet()) {
+            Object value = entry.getValue().apply(record);
+            values[entry.getKey().ordinal()] = value;
+            if (value != null) {
+                bitmaps.get(entry.getKey()).computeIfAbsent(value, v -> new RoaringBitmap()).add(row);
+            }
+        }
+        indexedRows.put(record, new IndexedRow(row, values));
+    }
+
+    /**
+     * Re-reads the indexed attributes of a record and moves it to the bitmaps of any changed values.
+     *
+     * @param record the record
+     */
+    public synchronized void update(T record) {
+        IndexedRow indexed = indexedRows.get(record);
+        if (indexed == null) {
+            return;
+        }
+        for (Map.Entry<Attribute, Function<? super T, ?>> entry : extractors.entrySet()) {
+            int attribute = entry.getKey().ordinal();
+            Object value = entry.getValue().apply(record);
+            Object previous = indexed.values[attribute];
+            if (value == null ? previous != null : !value.equals(previous)) {
+                unindex(entry.getKey(), previous, indexed.row);
+                if (value != null) {
+                    bitmaps.get(entry.getKey()).computeIfAbsent(value, v -> new RoaringBitmap()).add(indexed.row);
+                }
+                indexed.values[attribute] = value;
+            }
+        }
+    }
+
+    /**
+     * Removes a record.
+     *
+     * @param record the record
+     */
+    public synchronized void remove(T record) {
+        IndexedRow indexed = indexedRows.remove(record);
+        if (indexed == null) {
+            return;
+        }
+        for (Attribute attribute : extractors.keySet()) {
+            unindex(attribute, indexed.values[attribute.ordinal()], indexed.row);
+        }
+        rows.remove(indexed.row);
+        records.set(indexed.row, null);
+    }
+
+    /**
+     * Counts the records meeting a condition.
+     *
+     * @param condition the condition
+     * @return the number of records
+     */
+    public synchronized int count(Condition condition) {
+        return condition.count(this);
+    }
+
+    /**
+     * Returns the records meeting a condition, in the order they were added.
+     *
+     * @param condition the condition
+     * @return the records
+     */
+    public synchronized List<T> select(Condition condition) {
+        RoaringBitmap result = condition.evaluate(this);
+        List<T> selected = new ArrayList<>(result.cardinality());
+        result.forEach(row -> selected.add(records.get(row)));
+        return selected;
+    }
+
+    /**
+     * @return the number of records
+     */
+    public synchronized int size() {
+        return indexedRows.size();
+    }
+
+    private RoaringBitmap rowsWith(Attribute attribute, Object value) {
+        Map<Object, RoaringBitmap> values = bitmaps.get(attribute);
+        if (values == null) {
+            throw new IllegalArgumentException("Attribute " + attribute + " is not indexed.");
+        }
+        RoaringBitmap bitmap = value == null ? null : values.get(value);
+        return bitmap != null ? bitmap : EMPTY;
+    }
+
+    private void unindex(Attribute attribute, Object value, int row) {
+        if (value == null) {
+            return;
+        }
+        Map<Object, RoaringBitmap> values = bitmaps.get(attribute);
+        RoaringBitmap bitmap = values.get(value);
+        if (bitmap != null) {
+            bitmap.remove(row);
+            if (bitmap.isEmpty()) {
+                values.remove(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package main.utility;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+
+/**
+ * Utility class holding the shared, immutable date formatters of the BTO Management System
+ * and a fast parser for the dates stored in CSV files.
+ * {@link DateTimeFormatter} instances are thread-safe, so they are created once and reused
+ * instead of allocating a formatter per row.
+ */
+public class DateUtil {
+
+    /** Format of dates stored in CSV files, e.g. {@code 2025-03-04}. */
+    public static final DateTimeFormatter CSV_DATE = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    /** Legacy format of project dates in CSV files written before the move to {@code yyyy-MM-dd}. */
+    public static final DateTimeFormatter LEGACY_CSV_DATE = DateTimeFormatter.ofPattern("M/d/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    /** Format used when entering dates in the terminal, e.g. {@code 04/03/25}. */
+    public static final DateTimeFormatter INPUT_DATE = DateTimeFormatter.ofPattern("dd/MM/uu")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    /** Format used when displaying dates, e.g. {@code 04 Mar 2025}. */
+    public static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+    /**
+     * Parses a date read from a CSV file.
+     * Dates in the {@code yyyy-MM-dd} layout are decoded directly from their fixed character
+     * positions without going through a formatter; anything else is treated as a legacy date.
+     *
+     * @param text the date text
+     * @return the parsed date
+     * @throws DateTimeException if the text is not a valid date
+     */
+    public static LocalDate parseCsvDate(String text) {
+        String value = text.trim();
+        if (value.length() == 10 && value.charAt(4) == '-' && value.charAt(7) == '-') {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 7);
+            int day = digits(value, 8, 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return parseLegacyCsvDate(value);
+    }
+
+    /**
+     * Checks whether a CSV date is still in the legacy slash-separated layout.
+     *
+     * @param text the date text
+     * @return true if the date needs migrating to {@code yyyy-MM-dd}
+     */
+    public static boolean isLegacyCsvDate(String text) {
+        return text.trim().indexOf('/') >= 0;
+    }
+
+    /**
+     * Formats a date for storing in a CSV file.
+     *
+     * @param date the date to format
+     * @return the date in {@code yyyy-MM-dd} layout
+     */
+    public static String formatCsvDate(LocalDate date) {
+        return CSV_DATE.format(date);
+    }
+
+    /**
+     * Parses a legacy slash-separated project date.
+     * The system used to read these dates as month/day/year, so that reading is kept;
+     * a first component above 12 can only be a day and is read as day/month/year.
+     */
+    private static LocalDate parseLegacyCsvDate(String value) {
+        String[] parts = value.split("/");
+        try {
+            if (parts.length == 3 && Integer.parseInt(parts[0]) > 12) {
+                return LocalDate.of(Integer.parseInt(parts[2]), Integer.parseInt(parts[1]), Integer.parseInt(parts[0]));
+            }
+        } catch (NumberFormatException e) {
+            throw new DateTimeException("Invalid date: " + value);
+        }
+        return LocalDate.parse(value, LEGACY_CSV_DATE);
+    }
+
+    /**
+     * Decodes the ASCII digits in {@code [from, to)}, or returns -1 if any character is not a digit.
+     */
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,160 @@
+package main.utility;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import main.entity.Event.DomainEvent;
+
+/**
+ * In-process event bus for the events the controllers publish when they change data.
+ * <p>
+ * A subscriber registers for an event class (or a superclass such as {@link DomainEvent}) and is either
+ * synchronous, called on the publishing thread before {@link #publish(DomainEvent)} returns, or asynchronous,
+ * called later on a single dispatcher thread. Asynchronous events go through a bounded lock-free queue,
+ * so publishing never blocks the user-facing path: if the queue is full ({@code bto.events.queueCapacity},
+ * default 10000) the event is dropped for asynchronous subscribers and counted in {@link #getDroppedCount()}.
+ * Asynchronous subscribers see events in the order they were published.
+ */
+public class EventBus {
+
+    private static final int QUEUE_CAPACITY = Math.max(1, Integer.getInteger("bto.events.queueCapacity", 10000));
+
+    /**
+     * A registered handler and the event class it listens for.
+     */
+    private static class Subscription {
+        private final Class<? extends DomainEvent> type;
+        private final Consumer<DomainEvent> handler;
+        private final Object key;
+        private final boolean async;
+
+        @SuppressWarnings("unchecked")
+        private <E extends DomainEvent> Subscription(Class<E> type, Consumer<? super E> handler, boolean async) {
+            this.type = type;
+            this.handler = event -> handler.accept((E) event);
+            this.key = handler;
+            this.async = async;
+        }
+    }
+
+    private static final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private static final ConcurrentLinkedQueue<DomainEvent> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger queued = new AtomicInteger();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static volatile Thread dispatcher;
+
+    private EventBus() {}
+
+    /**
+     * Registers a handler called on the publishing thread for every event of the given class.
+     *
+     * @param type    the event class, e.g. {@code ApplicationStatusChanged.class}
+     * @param handler the handler
+     */
+    public static <E extends DomainEvent> void subscribe(Class<E> type, Consumer<? super E> handler) {
+        subscriptions.add(new Subscription(type, handler, false));
+    }
+
+    /**
+     * Registers a handler called on the dispatcher thread for every event of the given class.
+     *
+     * @param type    the event class, e.g. {@code ApplicationStatusChanged.class}
+     * @param handler the handler
+     */
+    public static <E extends DomainEvent> void subscribeAsync(Class<E> type, Consumer<? super E> handler) {
+        startDispatcher();
+        subscriptions.add(new Subscription(type, handler, true));
+    }
+
+    /**
+     * Removes every registration of a handler.
+     *
+     * @param handler the handler passed to {@link #subscribe} or {@link #subscribeAsync}
+     */
+    public static void unsubscribe(Consumer<?> handler) {
+        subscriptions.removeIf(subscription -> subscription.key == handler);
+    }
+
+    /**
+     * Delivers an event to the synchronous subscribers and queues it for the asynchronous ones.
+     * A failing subscriber is reported and does not affect the others or the publisher.
+     *
+     * @param event the event
+     */
+    public static void publish(DomainEvent event) {
+        boolean hasAsync = false;
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.type.isInstance(event)) {
+                continue;
+            }
+            if (subscription.async) {
+                hasAsync = true;
+            } else {
+                deliver(subscription, event);
+            }
+        }
+        if (hasAsync) {
+            enqueue(event);
+        }
+    }
+
+    /**
+     * @return the number of events dropped because the asynchronous queue was full
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private static void enqueue(DomainEvent event) {
+        if (queued.incrementAndGet() > QUEUE_CAPACITY) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.offer(event);
+        LockSupport.unpark(dispatcher);
+    }
+
+    private static synchronized void startDispatcher() {
+        if (dispatcher != null) {
+            return;
+        }
+        Thread thread = new Thread(EventBus::dispatch, "event-dispatcher");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    /**
+     * Dispatcher loop: hands queued events to the asynchronous subscribers, parking while the queue is empty.
+     */
+    private static void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            DomainEvent event = queue.poll();
+            if (event == null) {
+                LockSupport.park();
+                continue;
+            }
+            queued.decrementAndGet();
+            for (Subscription subscription : subscriptions) {
+                if (subscription.async && subscription.type.isInstance(event)) {
+                    deliver(subscription, event);
+                }
+            }
+        }
+    }
+
+    private static void deliver(Subscription subscription, DomainEvent event) {
+        try {
+            subscription.handler.accept(event);
+        } catch (RuntimeException e) {
+            System.out.println("Error handling " + event.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,19 +1,25 @@
 package main.utility;
 
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import main.controller.ProjectController;
 import main.entity.Enum.FlatType;
 import main.entity.Project;
+import main.entity.ProjectSnapshot;
 /**
  * Utility class for filtering and sorting a list of {@link Project} objects.
- * Filters can be based on neighborhood (location) and available {@link FlatType}.
+ * Filters can be based on neighborhood (location), available {@link FlatType}
+ * and whether the project is open for application on a given date.
  * Sorting can be alphabetical or by the number of remaining flat units.
  */
 
 public class Filter {
     private String location;
     private FlatType flatType;
+    private LocalDate openOn;
     private String sortingMethod = "Alphabetical";  // Default sorting method
     /**
      * Constructs a Filter with specified location and flat type.
@@ -61,6 +67,24 @@ public class Filter {
         this.flatType = flatType; // Ensure uppercase format
     }
 
+    /**
+     * Gets the date projects must be open for application on.
+     *
+     * @return the open-on date filter, or null if not filtering by date
+     */
+    public LocalDate getOpenOn() {
+        return openOn;
+    }
+
+    /**
+     * Sets the date projects must be open for application on.
+     *
+     * @param openOn the date to filter by, or null to disable the filter
+     */
+    public void setOpenOn(LocalDate openOn) {
+        this.openOn = openOn;
+    }
+
     /**
      * Gets the sorting method.
      *
@@ -88,16 +112,18 @@ public class Filter {
     }
 
     /**
-     * Filters and sorts the given list of projects based on location, flat type, and sorting method.
+     * Filters and sorts the given list of projects based on location, flat type, open-on date, and sorting method.
      *
      * @param projects the list of projects to filter and sort
      * @return the filtered and sorted list of projects
      */
 
     public List<Project> applyFilters(List<Project> projects) {
+        Set<Project> openProjects = openOn == null ? null : new HashSet<>(ProjectController.getProjectsOpenOn(openOn));
         return projects.stream()
                 .filter(project -> (location == null || project.getNeighborhood().equalsIgnoreCase(location)) &&
-                                   (flatType == null || project.getFlatTypes().contains(flatType)))
+                                   (flatType == null || project.getFlatTypes().contains(flatType)) &&
+                                   (openProjects == null || openProjects.contains(project)))
                 .sorted((p1, p2) -> {
                     // Sorting by alphabetical order or number of units remaining
                     if (sortingMethod.equalsIgnoreCase("Alphabetical")) {
@@ -110,4 +136,26 @@ public class Filter {
                 })
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Filters and sorts project snapshots in the same way as {@link #applyFilters(List)},
+     * using only the snapshots' own details.
+     *
+     * @param projects the project snapshots to filter and sort
+     * @return the filtered and sorted list of snapshots
+     */
+    public List<ProjectSnapshot> applySnapshotFilters(List<ProjectSnapshot> projects) {
+        return projects.stream()
+                .filter(project -> (location == null || project.getNeighborhood().equalsIgnoreCase(location)) &&
+                                   (flatType == null || project.getFlatTypes().contains(flatType)) &&
+                                   (openOn == null || project.isOpenOn(openOn)))
+                .sorted((p1, p2) -> {
+                    if (sortingMethod.equalsIgnoreCase("Alphabetical")) {
+                        return p1.getProjectName().compareToIgnoreCase(p2.getProjectName());
+                    } else {
+                        return Integer.compare(p1.getRemainingUnits(flatType), p2.getRemainingUnits(flatType));
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,243 @@
+package main.utility;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import main.entity.Application;
+import main.entity.Enquiry;
+import main.entity.Enum.ApplicationStatus;
+import main.entity.Enum.EnquiryStatus;
+import main.entity.Enum.FlatBookingStatus;
+import main.entity.Enum.FlatType;
+import main.entity.Enum.MaritalStatus;
+import main.entity.Enum.RegistrationStatus;
+import main.entity.Enum.Role;
+import main.entity.FlatBooking;
+import main.entity.Registration;
+import main.entity.User.Applicant;
+import main.entity.User.HDBManager;
+import main.entity.User.HDBOfficer;
+
+/**
+ * Reports the heap taken by one instance of each entity, before and after the compact representation,
+ * to check the effect of changes to it.
+ * <p>
+ * Each entity type is measured by creating many instances that share their referenced objects (IDs, names,
+ * projects), so the figure is the cost of the entity itself plus anything it allocates of its own, such as
+ * dates and lists. The "before" column measures copies of the entities with the fields they had before
+ * (see {@link Baseline}), the "after" column the entities themselves. Heap use is read after garbage
+ * collection, so figures are approximate; run with a fixed heap,
+ * e.g. {@code java -Xms512m -Xmx512m main.utility.HeapUsageReport}.
+ */
+public class HeapUsageReport {
+
+    private static final int SAMPLES = 100_000;
+
+    private static final List<Object[]> samples = new ArrayList<>();
+
+    private HeapUsageReport() {}
+
+    public static void main(String[] args) {
+        String[] ids = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            ids[i] = "S" + (1_000_000 + i) + "A";
+        }
+        Applicant applicant = new Applicant(ids[0], "password", "Name", Role.APPLICANT, MaritalStatus.SINGLE, 35, null, null, null);
+        LocalDateTime now = LocalDateTime.now();
+
+        System.out.println("Heap usage per entity (bytes):");
+        System.out.printf("  %-12s %6s %6s%n", "", "before", "after");
+        report("Applicant",
+            i -> new Baseline.Applicant(ids[i], "password", ids[i], Role.APPLICANT, MaritalStatus.SINGLE, 35),
+            i -> new Applicant(ids[i], "password", ids[i], Role.APPLICANT, MaritalStatus.SINGLE, 35, null, null, null));
+        report("HDBOfficer",
+            i -> new Baseline.Officer(ids[i], "password", ids[i], Role.OFFICER, MaritalStatus.MARRIED, 40),
+            i -> new HDBOfficer(ids[i], "password", ids[i], Role.OFFICER, MaritalStatus.MARRIED, 40, null, null));
+        report("HDBManager",
+            i -> new Baseline.Manager(ids[i], "password", ids[i], Role.MANAGER, MaritalStatus.MARRIED, 45),
+            i -> new HDBManager(ids[i], "password", ids[i], Role.MANAGER, MaritalStatus.MARRIED, 45));
+        report("Application",
+            i -> new Baseline.Application(ids[i], applicant, ApplicationStatus.PENDING,
+                LocalDate.of(2025, 1 + i % 12, 1 + i % 28), FlatType.TWO_ROOM),
+            i -> new Application(ids[i], applicant, null, ApplicationStatus.PENDING,
+                LocalDate.of(2025, 1 + i % 12, 1 + i % 28), FlatType.TWO_ROOM));
+        report("Enquiry",
+            i -> new Baseline.Enquiry(ids[i], applicant, EnquiryStatus.PENDING, ids[i], now),
+            i -> new Enquiry(ids[i], applicant, null, EnquiryStatus.PENDING, ids[i], now));
+        report("Registration",
+            i -> new Baseline.Registration(ids[i], RegistrationStatus.PENDING, LocalDate.of(2025, 1 + i % 12, 1 + i % 28)),
+            i -> new Registration(ids[i], null, null, RegistrationStatus.PENDING, LocalDate.of(2025, 1 + i % 12, 1 + i % 28)));
+        report("FlatBooking",
+            i -> new Baseline.FlatBooking(ids[i], applicant, FlatType.THREE_ROOM, FlatBookingStatus.PENDING),
+            i -> new FlatBooking(ids[i], applicant, FlatType.THREE_ROOM, null, FlatBookingStatus.PENDING));
+    }
+
+    /**
+     * Creates the samples of one entity type in both representations and prints the heap each added.
+     * The samples are kept until the end of the report, so that measuring one type never depends on freeing another.
+     */
+    private static void report(String name, IntFunction<Object> before, IntFunction<Object> after) {
+        System.out.printf("  %-12s %6d %6d%n", name, measure(before), measure(after));
+    }
+
+    /**
+     * Returns the heap taken per instance by the samples the factory creates.
+     */
+    private static long measure(IntFunction<Object> factory) {
+        Object[] instances = new Object[SAMPLES];
+        long before = usedHeap();
+        for (int i = 0; i < SAMPLES; i++) {
+            instances[i] = factory.apply(i);
+        }
+        long after = usedHeap();
+        samples.add(instances);
+        return (after - before) / SAMPLES;
+    }
+
+    /**
+     * Returns the heap in use once garbage collection no longer frees anything.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (now >= used) {
+                break;
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    /**
+     * The entities' fields as they were before the compact representation: enums and dates held as objects,
+     * an enquiry list allocated for every applicant and a separate version stamp object per versioned entity.
+     * Only the fields matter here, so the classes have no behaviour and references to other entities are untyped.
+     */
+    @SuppressWarnings("unused")
+    private static class Baseline {
+
+        private static class VersionStamp {
+            private final AtomicLong counter = new AtomicLong();
+        }
+
+        private static class User {
+            private final String userId;
+            private final String password;
+            private final String name;
+            private final Role role;
+            private final MaritalStatus maritalStatus;
+            private final int age;
+
+            private User(String userId, String password, String name, Role role, MaritalStatus maritalStatus, int age) {
+                this.userId = userId;
+                this.password = password;
+                this.name = name;
+                this.role = role;
+                this.maritalStatus = maritalStatus;
+                this.age = age;
+            }
+        }
+
+        private static class Applicant extends User {
+            private Object application;
+            private List<Object> enquiries = new ArrayList<>();
+            private Object flatBooking;
+
+            private Applicant(String userId, String password, String name, Role role, MaritalStatus maritalStatus, int age) {
+                super(userId, password, name, role, maritalStatus, age);
+            }
+        }
+
+        private static class Officer extends Applicant {
+            private Object assignedProject;
+            private Object registration;
+
+            private Officer(String userId, String password, String name, Role role, MaritalStatus maritalStatus, int age) {
+                super(userId, password, name, role, maritalStatus, age);
+            }
+        }
+
+        private static class Manager extends User {
+            private final List<Object> createdProjects = new ArrayList<>();
+
+            private Manager(String userId, String password, String name, Role role, MaritalStatus maritalStatus, int age) {
+                super(userId, password, name, role, maritalStatus, age);
+            }
+        }
+
+        private static class Application {
+            private final String applicationId;
+            private final Object applicant;
+            private Object project;
+            private volatile ApplicationStatus status;
+            private final LocalDate submissionDate;
+            private final FlatType flatType;
+            private final VersionStamp version = new VersionStamp();
+
+            private Application(String applicationId, Object applicant, ApplicationStatus status,
+                                LocalDate submissionDate, FlatType flatType) {
+                this.applicationId = applicationId;
+                this.applicant = applicant;
+                this.status = status;
+                this.submissionDate = submissionDate;
+                this.flatType = flatType;
+            }
+        }
+
+        private static class Enquiry {
+            private final String enquiryId;
+            private final Object applicant;
+            private Object project;
+            private volatile EnquiryStatus status;
+            private final String enquiryText;
+            private volatile String enquiryReply;
+            private final LocalDateTime dateCreated;
+            private final VersionStamp version = new VersionStamp();
+
+            private Enquiry(String enquiryId, Object applicant, EnquiryStatus status, String enquiryText, LocalDateTime dateCreated) {
+                this.enquiryId = enquiryId;
+                this.applicant = applicant;
+                this.status = status;
+                this.enquiryText = enquiryText;
+                this.dateCreated = dateCreated;
+            }
+        }
+
+        private static class Registration {
+            private final String registrationId;
+            private Object officer;
+            private Object project;
+            private volatile RegistrationStatus registrationStatus;
+            private final LocalDate submissionDate;
+            private final VersionStamp version = new VersionStamp();
+
+            private Registration(String registrationId, RegistrationStatus registrationStatus, LocalDate submissionDate) {
+                this.registrationId = registrationId;
+                this.registrationStatus = registrationStatus;
+                this.submissionDate = submissionDate;
+            }
+        }
+
+        private static class FlatBooking {
+            private final String flatId;
+            private final Object applicant;
+            private final FlatType flatType;
+            private Object project;
+            private volatile FlatBookingStatus flatBookingStatus;
+            private final VersionStamp version = new VersionStamp();
+
+            private FlatBooking(String flatId, Object applicant, FlatType flatType, FlatBookingStatus flatBookingStatus) {
+                this.flatId = flatId;
+                this.applicant = applicant;
+                this.flatType = flatType;
+                this.flatBookingStatus = flatBookingStatus;
+            }
+        }
+    }
+}
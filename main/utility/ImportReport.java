@@ -0,0 +1,63 @@
+package main.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summary of a bulk import: how many rows were imported and why the other rows were rejected.
+ */
+public class ImportReport {
+
+    private int importedCount = 0;
+    /** The reason each rejected row was rejected, by row number, so they are listed in file order. */
+    private final Map<Integer, String> rejectedRows = new TreeMap<>();
+
+    /**
+     * Records one successfully imported row.
+     */
+    public void recordImported() {
+        importedCount++;
+    }
+
+    /**
+     * Records a rejected row.
+     *
+     * @param rowNumber the 1-based row number in the source file, counting the header
+     * @param reason    why the row was rejected
+     */
+    public void reject(int rowNumber, String reason) {
+        rejectedRows.put(rowNumber, "Row " + rowNumber + ": " + reason);
+    }
+
+    /**
+     * Returns the number of imported rows.
+     *
+     * @return the imported row count
+     */
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    /**
+     * Returns a description of every rejected row, in file order.
+     *
+     * @return the rejected rows
+     */
+    public List<String> getRejectedRows() {
+        return new ArrayList<>(rejectedRows.values());
+    }
+
+    /**
+     * Prints the number of imported and rejected rows, followed by each rejected row.
+     *
+     * @param label what was imported, e.g. {@code "Applicants"}
+     */
+    public void print(String label) {
+        System.out.println(label + " imported: " + importedCount + ", rejected: " + rejectedRows.size());
+        for (String row : rejectedRows.values()) {
+            System.out.println("  " + row);
+        }
+    }
+}
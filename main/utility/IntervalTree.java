@@ -0,0 +1,258 @@
+package main.utility;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Interval tree over closed intervals {@code [start, end]}, each carrying a value.
+ * Implemented as a treap ordered by interval start and augmented with the largest end
+ * in every subtree, so an overlap test runs in O(log n) and an overlap query
+ * in O(log n + k) for k results.
+ * Every value is stored at most once; putting a value again moves it to its new interval.
+ * This class is not thread-safe.
+ *
+ * @param <K> the type of the interval bounds (e.g. a date)
+ * @param <V> the type of the values stored
+ */
+public class IntervalTree<K extends Comparable<? super K>, V> {
+
+    /**
+     * A tree node holding one interval and the largest end in its subtree.
+     */
+    private static class Node<K, V> {
+        private final K start;
+        private final K end;
+        private final V value;
+        private final long sequence;
+        private final int priority;
+        private K maxEnd;
+        private Node<K, V> left;
+        private Node<K, V> right;
+
+        private Node(K start, K end, V value, long sequence, int priority) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node<K, V> root;
+    private final Map<V, Node<K, V>> nodesByValue = new HashMap<>();
+    private final Random random = new Random();
+    private long nextSequence = 0;
+
+    /**
+     * Stores a value with the interval {@code [start, end]}, replacing any interval
+     * the value was previously stored with.
+     *
+     * @param value the value to store
+     * @param start the start of the interval (inclusive)
+     * @param end   the end of the interval (inclusive)
+     * @throws IllegalArgumentException if a bound is null or {@code end} is before {@code start}
+     */
+    public void put(V value, K start, K end) {
+        if (start == null || end == null || end.compareTo(start) < 0) {
+            throw new IllegalArgumentException("Invalid interval: " + start + " to " + end);
+        }
+        remove(value);
+        Node<K, V> node = new Node<>(start, end, value, nextSequence++, random.nextInt());
+        nodesByValue.put(value, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Removes a value and its interval from the tree.
+     *
+     * @param value the value to remove
+     * @return true if the value was present, false otherwise
+     */
+    public boolean remove(V value) {
+        Node<K, V> node = nodesByValue.remove(value);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+
+    /**
+     * Checks whether a value is stored in the tree.
+     *
+     * @param value the value to look for
+     * @return true if the value is present
+     */
+    public boolean contains(V value) {
+        return nodesByValue.containsKey(value);
+    }
+
+    /**
+     * Returns the number of intervals stored.
+     *
+     * @return the size of the tree
+     */
+    public int size() {
+        return nodesByValue.size();
+    }
+
+    /**
+     * Checks whether any stored interval overlaps {@code [start, end]}.
+     *
+     * @param start the start of the query interval (inclusive)
+     * @param end   the end of the query interval (inclusive)
+     * @return true if at least one stored interval overlaps the query
+     */
+    public boolean overlapsAny(K start, K end) {
+        Node<K, V> node = root;
+        while (node != null) {
+            if (overlaps(node, start, end)) {
+                return true;
+            }
+            if (node.left != null && node.left.maxEnd.compareTo(start) >= 0) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the values of all stored intervals overlapping {@code [start, end]},
+     * ordered by interval start.
+     *
+     * @param start the start of the query interval (inclusive)
+     * @param end   the end of the query interval (inclusive)
+     * @return the overlapping values
+     */
+    public List<V> findOverlapping(K start, K end) {
+        List<V> result = new ArrayList<>();
+        collectOverlapping(root, start, end, result);
+        return result;
+    }
+
+    /**
+     * Returns the values of all stored intervals containing the given point,
+     * ordered by interval start.
+     *
+     * @param point the point to look up
+     * @return the values whose interval contains the point
+     */
+    public List<V> findContaining(K point) {
+        return findOverlapping(point, point);
+    }
+
+    /**
+     * Removes every interval from the tree.
+     */
+    public void clear() {
+        root = null;
+        nodesByValue.clear();
+    }
+
+    private void collectOverlapping(Node<K, V> node, K start, K end, List<V> result) {
+        if (node == null || node.maxEnd.compareTo(start) < 0) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, result);
+        if (node.start.compareTo(end) > 0) {
+            // Every interval to the right starts even later
+            return;
+        }
+        if (overlaps(node, start, end)) {
+            result.add(node.value);
+        }
+        collectOverlapping(node.right, start, end, result);
+    }
+
+    private boolean overlaps(Node<K, V> node, K start, K end) {
+        return node.start.compareTo(end) <= 0 && start.compareTo(node.end) <= 0;
+    }
+
+    private int compare(Node<K, V> a, Node<K, V> b) {
+        int cmp = a.start.compareTo(b.start);
+        return cmp != 0 ? cmp : Long.compare(a.sequence, b.sequence);
+    }
+
+    private Node<K, V> insert(Node<K, V> current, Node<K, V> node) {
+        if (current == null) {
+            return node;
+        }
+        if (compare(node, current) < 0) {
+            current.left = insert(current.left, node);
+            if (current.left.priority > current.priority) {
+                current = rotateRight(current);
+            }
+        } else {
+            current.right = insert(current.right, node);
+            if (current.right.priority > current.priority) {
+                current = rotateLeft(current);
+            }
+        }
+        update(current);
+        return current;
+    }
+
+    private Node<K, V> delete(Node<K, V> current, Node<K, V> node) {
+        if (current == null) {
+            return null;
+        }
+        if (current == node) {
+            return merge(current.left, current.right);
+        }
+        if (compare(node, current) < 0) {
+            current.left = delete(current.left, node);
+        } else {
+            current.right = delete(current.right, node);
+        }
+        update(current);
+        return current;
+    }
+
+    private Node<K, V> merge(Node<K, V> left, Node<K, V> right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<K, V> rotateRight(Node<K, V> node) {
+        Node<K, V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<K, V> rotateLeft(Node<K, V> node) {
+        Node<K, V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<K, V> node) {
+        K max = node.end;
+        if (node.left != null && node.left.maxEnd.compareTo(max) > 0) {
+            max = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.compareTo(max) > 0) {
+            max = node.right.maxEnd;
+        }
+        node.maxEnd = max;
+    }
+}
@@ -1,11 +1,20 @@
 package main.utility;
 
-import java.util.Date;
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+import main.controller.ProjectController;
 import main.entity.User.HDBManager;
 /**
  * Utility class for performing various input validations used in the BTO Management System.
  */
 public class IsValid {
+
+    /** Validation patterns are compiled once, since bulk imports validate every row. */
+    private static final Pattern NRIC_PATTERN = Pattern.compile("^[ST]\\d{7}[A-Za-z]$");
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d).{8,}$");
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[A-Za-z]+([\\s][A-Za-z]+)*$");
+    private static final Pattern AGE_PATTERN = Pattern.compile("^(?:1[01]?[0-9]|120|[1-9]?[0-9])$");
+
         /**
      * Validates an NRIC based on length and pattern.
      * The NRIC must start with 'S' or 'T', followed by 7 digits, and end with an alphabet.
@@ -20,11 +29,8 @@ public class IsValid {
             return false;
         }
         
-        // Regular expression to match the pattern: S/T + 7 digits + letter
-        String regex = "^[ST]\\d{7}[A-Za-z]$";
-        
-        // Check if the NRIC matches the regular expression
-        return nric.matches(regex);
+        // Check if the NRIC matches the pattern: S/T + 7 digits + letter
+        return NRIC_PATTERN.matcher(nric).matches();
     }
     /**
      * Validates whether a password is strong.
@@ -38,9 +44,8 @@ public class IsValid {
         if (password.length() < 8){
             return false;
         }
-        // Regular expression to match the requirement One Caps, One lowercase, 1 Numeric, 8 characters
-        String regex = "^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d).{8,}$";
-        return password.matches(regex);
+        // Match the requirement One Caps, One lowercase, 1 Numeric, 8 characters
+        return PASSWORD_PATTERN.matcher(password).matches();
     }
     /**
      * Validates a name to ensure it contains only alphabets and optional single spaces between names.
@@ -50,9 +55,8 @@ public class IsValid {
      */
 
     public static boolean isValidName(String name){
-        // Regular expression to match requirement of at least one alphabet
-        String regex = "^[A-Za-z]+([\\s][A-Za-z]+)*$";
-        return name.matches(regex);
+        // Match requirement of at least one alphabet
+        return NAME_PATTERN.matcher(name).matches();
         
         
     }
@@ -65,26 +69,36 @@ public class IsValid {
      */
 
     public static boolean isValidAge(String age) {
-        String regex = "^(?:1[01]?[0-9]|120|[1-9]?[0-9])$";
-        return age.matches(regex);
+        return AGE_PATTERN.matcher(age).matches();
     }
     
     /**
      * Checks if the manager is eligible to create a new project based on application periods.
      * A new project can only be created if its application opening date is after the closing date
-     * of the last project created by the same manager.
+     * of every project handled by the same manager.
+     *
+     * @param manager the HDBManager attempting to create a new project
+     * @param openingDate the proposed opening date of the new project
+     * @return true if the manager is allowed to create the project, false otherwise
+     */
+    public static boolean isValidToCreateProject(HDBManager manager, LocalDate openingDate){
+        return !ProjectController.isManagerHandlingProjectDuring(manager, openingDate, LocalDate.MAX);
+    }
+
+    /**
+     * Checks if the manager is eligible to create a new project with the given application period.
+     * The period must not overlap the application period of any project handled by the same manager.
      *
      * @param manager the HDBManager attempting to create a new project
      * @param openingDate the proposed opening date of the new project
+     * @param closingDate the proposed closing date of the new project
      * @return true if the manager is allowed to create the project, false otherwise
      */
-    public static boolean isValidToCreateProject(HDBManager manager, Date openingDate){
-        if (!manager.getCreatedProjects().isEmpty()){
-            if(manager.getCreatedProjects().get(manager.getCreatedProjects().size() -1).getApplicationClosingDate().after(openingDate)){
-                return false;
-            }
+    public static boolean isValidToCreateProject(HDBManager manager, LocalDate openingDate, LocalDate closingDate){
+        if (closingDate.isBefore(openingDate)) {
+            return false;
         }
-        return true;
+        return !ProjectController.isManagerHandlingProjectDuring(manager, openingDate, closingDate);
     }
     
-}
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+package main.utility;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Parses a CSV file in parallel by splitting it into byte ranges.
+ * Parsing runs in three fork/join passes over the raw bytes:
+ * <ol>
+ *   <li>the quote characters in each fixed-size range are counted;</li>
+ *   <li>a running total of those counts tells whether each range starts inside a quoted field,
+ *       so every range is moved forward to the first line break that ends a record;</li>
+ *   <li>the aligned ranges are parsed into records and the results are merged in file order.</li>
+ * </ol>
+ * Fields may be quoted, and quoted fields may contain commas, line breaks and doubled quotes ({@code ""}).
+ * Quotes and line breaks are single bytes in UTF-8 and never occur inside a multi-byte character,
+ * so splitting on raw bytes is safe.
+ */
+public class ParallelCSVParser {
+
+    /** Files smaller than this are parsed as a single range. */
+    private static final int MIN_CHUNK_BYTES = 64 * 1024;
+
+    /** Number of ranges per worker thread, so uneven ranges still keep every worker busy. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final byte QUOTE = '"';
+    private static final byte COMMA = ',';
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /**
+     * Reads a CSV file and returns its records in file order.
+     * Quoted fields are returned without their surrounding quotes and with doubled quotes unescaped.
+     * Blank lines are skipped.
+     *
+     * @param filePath   the path of the CSV file
+     * @param skipHeader true to drop the first record
+     * @return the records, each an array of field values
+     * @throws IOException if the file cannot be read
+     */
+    public static List<String[]> parse(String filePath, boolean skipHeader) throws IOException {
+        byte[] data = Files.readAllBytes(Paths.get(filePath));
+        int start = hasByteOrderMark(data) ? 3 : 0;
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        int chunkCount = Math.max(1, Math.min(parallelism * CHUNKS_PER_THREAD, (data.length - start) / MIN_CHUNK_BYTES));
+        int chunkSize = (data.length - start + chunkCount - 1) / Math.max(1, chunkCount);
+
+        // Pass 1: count quotes in every fixed-size range
+        int[] quoteCounts = new int[chunkCount];
+        forEachChunk(chunkCount, i -> {
+            int from = start + i * chunkSize;
+            int to = Math.min(data.length, from + chunkSize);
+            int count = 0;
+            for (int pos = from; pos < to; pos++) {
+                if (data[pos] == QUOTE) count++;
+            }
+            quoteCounts[i] = count;
+        });
+
+        // Pass 2: align every range to the start of a record
+        boolean[] startsInQuotes = new boolean[chunkCount];
+        int quotesBefore = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            startsInQuotes[i] = quotesBefore % 2 == 1;
+            quotesBefore += quoteCounts[i];
+        }
+        int[] boundaries = new int[chunkCount + 1];
+        boundaries[0] = start;
+        boundaries[chunkCount] = data.length;
+        forEachChunk(chunkCount - 1, i -> {
+            int from = start + (i + 1) * chunkSize;
+            boundaries[i + 1] = nextRecordStart(data, Math.min(from, data.length), startsInQuotes[i + 1]);
+        });
+
+        // Pass 3: parse the aligned ranges
+        List<List<String[]>> parsed = new ArrayList<>(Collections.nCopies(chunkCount, null));
+        forEachChunk(chunkCount, i -> parsed.set(i, parseRange(data, boundaries[i], Math.max(boundaries[i], boundaries[i + 1]))));
+
+        List<String[]> records = new ArrayList<>();
+        for (List<String[]> chunk : parsed) {
+            records.addAll(chunk);
+        }
+        if (skipHeader && !records.isEmpty()) {
+            records.remove(0);
+        }
+        return records;
+    }
+
+    /**
+     * Returns the position just after the first line break at or after {@code from}
+     * that is not inside a quoted field, or the end of the data if there is none.
+     */
+    private static int nextRecordStart(byte[] data, int from, boolean inQuotes) {
+        for (int pos = from; pos < data.length; pos++) {
+            byte b = data[pos];
+            if (b == QUOTE) {
+                inQuotes = !inQuotes;
+            } else if (b == NEW_LINE && !inQuotes) {
+                return pos + 1;
+            }
+        }
+        return data.length;
+    }
+
+    /**
+     * Parses the records in {@code [from, to)}, which must start at a record boundary.
+     */
+    private static List<String[]> parseRange(byte[] data, int from, int to) {
+        List<String[]> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder quoted = new StringBuilder();
+        int pos = from;
+        while (pos < to) {
+            int fieldStart = pos;
+            String value;
+            if (data[pos] == QUOTE) {
+                // Quoted field: copy segments between doubled quotes
+                quoted.setLength(0);
+                int segmentStart = ++pos;
+                boolean closed = false;
+                while (pos < to) {
+                    if (data[pos] == QUOTE) {
+                        quoted.append(new String(data, segmentStart, pos - segmentStart, StandardCharsets.UTF_8));
+                        if (pos + 1 < to && data[pos + 1] == QUOTE) {
+                            quoted.append('"');
+                            pos += 2;
+                            segmentStart = pos;
+                            continue;
+                        }
+                        pos++;
+                        closed = true;
+                        break;
+                    }
+                    pos++;
+                }
+                if (!closed) {
+                    // Unterminated quote at the end of the data
+                    quoted.append(new String(data, segmentStart, to - segmentStart, StandardCharsets.UTF_8));
+                }
+                // Keep anything between the closing quote and the next separator, as a lenient reader would
+                int trailingStart = pos;
+                while (pos < to && data[pos] != COMMA && data[pos] != NEW_LINE) pos++;
+                int trailingEnd = pos;
+                if (trailingEnd > trailingStart && data[trailingEnd - 1] == CARRIAGE_RETURN) trailingEnd--;
+                if (trailingEnd > trailingStart) {
+                    quoted.append(new String(data, trailingStart, trailingEnd - trailingStart, StandardCharsets.UTF_8));
+                }
+                value = quoted.toString();
+            } else {
+                while (pos < to && data[pos] != COMMA && data[pos] != NEW_LINE) pos++;
+                int end = pos;
+                if (end > fieldStart && data[end - 1] == CARRIAGE_RETURN) end--;
+                value = new String(data, fieldStart, end - fieldStart, StandardCharsets.UTF_8);
+            }
+            fields.add(value);
+
+            if (pos < to && data[pos] == COMMA) {
+                pos++;
+                if (pos == to) {
+                    fields.add("");
+                    records.add(fields.toArray(new String[0]));
+                }
+                continue;
+            }
+            // End of record
+            pos++;
+            if (!(fields.size() == 1 && fields.get(0).isEmpty())) {
+                records.add(fields.toArray(new String[0]));
+            }
+            fields.clear();
+        }
+        return records;
+    }
+
+    private static boolean hasByteOrderMark(byte[] data) {
+        return data.length >= 3 && (data[0] & 0xFF) == 0xEF && (data[1] & 0xFF) == 0xBB && (data[2] & 0xFF) == 0xBF;
+    }
+
+    /**
+     * Runs {@code body} for every chunk index in {@code [0, count)} on the common fork/join pool.
+     */
+    private static void forEachChunk(int count, IntConsumer body) {
+        if (count <= 0) {
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new ChunkAction(0, count, body));
+    }
+
+    /**
+     * Fork/join action that splits a range of chunk indices in half until single chunks remain.
+     */
+    private static class ChunkAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final transient IntConsumer body;
+
+        private ChunkAction(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkAction(from, mid, body), new ChunkAction(mid, to, body));
+        }
+    }
+}
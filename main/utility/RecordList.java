@@ -0,0 +1,191 @@
+package main.utility;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A list of records that can remove any record in constant time, for the controllers' global record lists.
+ * Records stay in the order they were added. Every record's position is kept in an identity map, so
+ * {@link #remove(Object)} and {@link #contains(Object)} do not scan the list, and {@link #removeAll(Collection)}
+ * only walks the records being removed, e.g. the records of one project. A removed record leaves an empty
+ * slot behind, and the slots are compacted once half of them are empty, so removals cost O(1) amortised.
+ * Positional access compacts any empty slots first, so it runs in O(1) amortised too, but walking the list
+ * is still best done with its iterator, which never needs to compact.
+ * <p>
+ * Each record is held at most once and records are matched by identity; adding a record that is already
+ * in the list leaves the list unchanged. Null records and positional inserts are not supported.
+ * This class is not thread-safe.
+ *
+ * @param <T> the record type
+ */
+public class RecordList<T> extends AbstractList<T> {
+
+    /** The records in insertion order, with null in the slots of removed records. */
+    private final List<T> slots = new ArrayList<>();
+
+    /** The slot of every record. */
+    private final Map<T, Integer> positions = new IdentityHashMap<>();
+
+    /**
+     * Appends a record.
+     *
+     * @param record the record
+     * @return true if it was added, false if it was already in the list
+     */
+    @Override
+    public boolean add(T record) {
+        if (record == null) {
+            throw new NullPointerException("Records cannot be null");
+        }
+        if (positions.containsKey(record)) {
+            return false;
+        }
+        positions.put(record, slots.size());
+        slots.add(record);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object record) {
+        Integer position = positions.remove(record);
+        if (position == null) {
+            return false;
+        }
+        slots.set(position, null);
+        modCount++;
+        if (positions.size() < slots.size() / 2) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Removes the given records, walking only them and not the whole list.
+     *
+     * @param records the records to remove
+     * @return true if any record was removed
+     */
+    @Override
+    public boolean removeAll(Collection<?> records) {
+        boolean changed = false;
+        for (Object record : records) {
+            changed |= remove(record);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean contains(Object record) {
+        return positions.containsKey(record);
+    }
+
+    /**
+     * Returns the record at a position. If records were removed since the slots were last compacted,
+     * the slots are compacted first, so a run of lookups pays for one compaction at most.
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= positions.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + positions.size());
+        }
+        if (positions.size() != slots.size()) {
+            compact();
+        }
+        return slots.get(index);
+    }
+
+    @Override
+    public int size() {
+        return positions.size();
+    }
+
+    @Override
+    public void clear() {
+        slots.clear();
+        positions.clear();
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the records in order. The iterator keeps the next record rather than its slot,
+     * and finds the slot through the positions map, so compacting while iterating does not affect it; removing
+     * through the iterator therefore compacts on the same threshold as {@link #remove(Object)}.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private T next = recordFrom(0);
+            private T last;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = recordFrom(positions.get(last) + 1);
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                RecordList.this.remove(last);
+                expectedModCount = modCount;
+                last = null;
+            }
+        };
+    }
+
+    /**
+     * Returns the first record at or after a slot, or null if there is none.
+     */
+    private T recordFrom(int position) {
+        while (position < slots.size()) {
+            T record = slots.get(position);
+            if (record != null) {
+                return record;
+            }
+            position++;
+        }
+        return null;
+    }
+
+    /**
+     * Drops the empty slots and renumbers the records' positions.
+     */
+    private void compact() {
+        int live = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            T record = slots.get(i);
+            if (record != null) {
+                slots.set(live, record);
+                positions.put(record, live);
+                live++;
+            }
+        }
+        slots.subList(live, slots.size()).clear();
+    }
+}
@@ -0,0 +1,248 @@
+package main.utility;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import main.entity.Enquiry;
+import main.entity.Project;
+
+/**
+ * Similarity index over replied {@link Enquiry} texts, used to suggest previously
+ * sent replies when an officer opens a near-duplicate enquiry.
+ * Each enquiry text is reduced to character shingles and a MinHash signature, which is
+ * split into bands (locality-sensitive hashing). Replies are bucketed per project and per band,
+ * and every bucket is capped, so a lookup touches a fixed number of candidates
+ * no matter how large the reply history grows.
+ */
+public class ReplySuggestionIndex {
+
+    /** Length of the character shingles taken from the normalised enquiry text. */
+    private static final int SHINGLE_SIZE = 3;
+
+    /** Number of MinHash functions in a signature. */
+    private static final int NUM_HASHES = 32;
+
+    /** Number of rows per LSH band; {@code NUM_HASHES / ROWS_PER_BAND} bands in total. */
+    private static final int ROWS_PER_BAND = 2;
+
+    /** Maximum number of replied enquiries kept in one bucket (oldest are evicted first). */
+    private static final int MAX_BUCKET_SIZE = 8;
+
+    /** Minimum estimated similarity for a reply to be suggested. */
+    private static final double MIN_SIMILARITY = 0.3;
+
+    private final int[] hashSeedsA = new int[NUM_HASHES];
+    private final int[] hashSeedsB = new int[NUM_HASHES];
+
+    /** Project -> band key -> most recent replied enquiries falling into that band. */
+    private final Map<Project, Map<Long, Deque<Enquiry>>> buckets = new IdentityHashMap<>();
+
+    /** Every indexed enquiry, with its signature used for ranking and removal. */
+    private final Map<Enquiry, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * The signature of an indexed enquiry and the number of buckets still holding it.
+     * Once capped buckets have evicted it from all of them, the entry is dropped as well.
+     */
+    private static class Entry {
+        private final int[] signature;
+        private int buckets;
+
+        private Entry(int[] signature) {
+            this.signature = signature;
+        }
+    }
+
+    /**
+     * Constructs an empty index with a fixed set of hash functions,
+     * so signatures are stable for the lifetime of the application.
+     */
+    public ReplySuggestionIndex() {
+        Random random = new Random(0x5EED);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            hashSeedsA[i] = random.nextInt() | 1;
+            hashSeedsB[i] = random.nextInt();
+        }
+    }
+
+    /**
+     * Adds a replied enquiry to the index. Enquiries without a reply are ignored.
+     * Re-adding an enquiry replaces its previous entry.
+     *
+     * @param enquiry the replied enquiry to index
+     */
+    public synchronized void add(Enquiry enquiry) {
+        if (enquiry == null || enquiry.getProject() == null || !hasReply(enquiry)) {
+            return;
+        }
+        remove(enquiry);
+        int[] signature = signature(enquiry.getEnquiryText());
+        Entry entry = new Entry(signature);
+        entries.put(enquiry, entry);
+        Map<Long, Deque<Enquiry>> projectBuckets = buckets.computeIfAbsent(enquiry.getProject(), p -> new HashMap<>());
+        for (int band = 0; band < NUM_HASHES / ROWS_PER_BAND; band++) {
+            Deque<Enquiry> bucket = projectBuckets.computeIfAbsent(bandKey(signature, band), k -> new ArrayDeque<>());
+            bucket.addFirst(enquiry);
+            entry.buckets++;
+            if (bucket.size() > MAX_BUCKET_SIZE) {
+                Enquiry evicted = bucket.removeLast();
+                Entry evictedEntry = entries.get(evicted);
+                if (--evictedEntry.buckets == 0) {
+                    entries.remove(evicted);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes an enquiry from the index, e.g. when it is deleted.
+     *
+     * @param enquiry the enquiry to remove
+     */
+    public synchronized void remove(Enquiry enquiry) {
+        Entry entry = entries.remove(enquiry);
+        if (entry == null) {
+            return;
+        }
+        int[] signature = entry.signature;
+        Map<Long, Deque<Enquiry>> projectBuckets = buckets.get(enquiry.getProject());
+        if (projectBuckets == null) {
+            return;
+        }
+        for (int band = 0; band < NUM_HASHES / ROWS_PER_BAND; band++) {
+            Long key = bandKey(signature, band);
+            Deque<Enquiry> bucket = projectBuckets.get(key);
+            if (bucket != null) {
+                bucket.remove(enquiry);
+                if (bucket.isEmpty()) {
+                    projectBuckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns previously sent replies for enquiries on the same project whose text is similar
+     * to the given enquiry, most similar first. Identical reply texts are only listed once.
+     *
+     * @param enquiry the enquiry being answered
+     * @param limit   the maximum number of replies to return
+     * @return the suggested reply texts, possibly empty
+     */
+    public synchronized List<String> suggestReplies(Enquiry enquiry, int limit) {
+        List<String> suggestions = new ArrayList<>();
+        Map<Long, Deque<Enquiry>> projectBuckets = buckets.get(enquiry.getProject());
+        if (projectBuckets == null || limit <= 0) {
+            return suggestions;
+        }
+        int[] signature = signature(enquiry.getEnquiryText());
+
+        Map<Enquiry, Double> candidates = new IdentityHashMap<>();
+        for (int band = 0; band < NUM_HASHES / ROWS_PER_BAND; band++) {
+            Deque<Enquiry> bucket = projectBuckets.get(bandKey(signature, band));
+            if (bucket == null) continue;
+            for (Enquiry candidate : bucket) {
+                if (candidate != enquiry && !candidates.containsKey(candidate)) {
+                    candidates.put(candidate, similarity(signature, entries.get(candidate).signature));
+                }
+            }
+        }
+
+        Map<String, Double> bestByReply = new LinkedHashMap<>();
+        candidates.entrySet().stream()
+            .filter(entry -> entry.getValue() >= MIN_SIMILARITY)
+            .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue()))
+            .forEach(entry -> bestByReply.putIfAbsent(entry.getKey().getEquiryReply().replace("\"", "").trim(), entry.getValue()));
+
+        for (String reply : bestByReply.keySet()) {
+            if (suggestions.size() >= limit) break;
+            suggestions.add(reply);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Removes every entry from the index.
+     */
+    public synchronized void clear() {
+        buckets.clear();
+        entries.clear();
+    }
+
+    private static boolean hasReply(Enquiry enquiry) {
+        String reply = enquiry.getEquiryReply();
+        return reply != null && !reply.replace("\"", "").trim().isEmpty();
+    }
+
+    /**
+     * Computes the MinHash signature of a text from its character shingles.
+     */
+    private int[] signature(String text) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        String normalised = normalise(text);
+        if (normalised.length() < SHINGLE_SIZE) {
+            normalised = String.format("%-" + SHINGLE_SIZE + "s", normalised);
+        }
+        for (int start = 0; start + SHINGLE_SIZE <= normalised.length(); start++) {
+            int shingle = normalised.substring(start, start + SHINGLE_SIZE).hashCode();
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int hash = mix(hashSeedsA[i] * shingle + hashSeedsB[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Lower-cases the text, drops punctuation and collapses whitespace.
+     */
+    private static String normalise(String text) {
+        if (text == null) return "";
+        return text.toLowerCase().replaceAll("[^a-z0-9 ]", " ").replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * Final avalanche step of MurmurHash3, so nearby inputs spread over the full int range.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Builds the bucket key of one band of a signature; the band number is folded in
+     * so equal rows in different bands do not collide.
+     */
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS_PER_BAND; row < (band + 1) * ROWS_PER_BAND; row++) {
+            key = key * 31 + signature[row];
+        }
+        return key;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of two texts as the fraction of agreeing signature rows.
+     */
+    private static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return (double) same / NUM_HASHES;
+    }
+}
@@ -0,0 +1,86 @@
+package main.utility;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of the strings that repeat across loaded rows, such as neighbourhoods and reused enquiry replies.
+ * The loaders pass such fields through {@link #intern(String)} so that every row refers to one shared copy
+ * instead of the copy its parser made. Only fields that are expected to repeat should be pooled: a unique
+ * value gains nothing and costs a pool entry. The pool stops growing at {@code bto.stringPool.maxEntries}
+ * entries (default 65536).
+ * <p>
+ * Passwords never enter the pool, which is never emptied and would keep every password ever loaded in
+ * memory. The loaders pass them through {@link #sharePassword(String)} instead, which only shares the
+ * default password most accounts still have.
+ */
+public class StringPool {
+
+    private static final int MAX_ENTRIES = Math.max(0, Integer.getInteger("bto.stringPool.maxEntries", 1 << 16));
+
+    private static final ConcurrentHashMap<String, String> pool = new ConcurrentHashMap<>();
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder savedBytes = new LongAdder();
+
+    /** The password every account is created with. */
+    public static final String DEFAULT_PASSWORD = "password";
+
+    private StringPool() {}
+
+    /**
+     * Returns the pooled copy of a string, adding the string to the pool if it is not there yet.
+     *
+     * @param value the string, possibly null
+     * @return an equal string shared with earlier calls, or the value itself
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups.increment();
+        String pooled = pool.get(value);
+        if (pooled == null) {
+            if (pool.size() >= MAX_ENTRIES) {
+                return value;
+            }
+            pooled = pool.putIfAbsent(value, value);
+            if (pooled == null) {
+                return value;
+            }
+        }
+        hits.increment();
+        savedBytes.add(estimateBytes(pooled));
+        return pooled;
+    }
+
+    /**
+     * Returns the shared default password if the password is the default one, and otherwise the password
+     * itself, without adding it to the pool.
+     *
+     * @param password the password, possibly null
+     * @return {@link #DEFAULT_PASSWORD} or the password
+     */
+    public static String sharePassword(String password) {
+        return DEFAULT_PASSWORD.equals(password) ? DEFAULT_PASSWORD : password;
+    }
+
+    /**
+     * Estimates the heap taken by a string: the String object and its byte array, assuming one byte per
+     * character and 8-byte alignment.
+     *
+     * @param value the string
+     * @return the estimated size in bytes
+     */
+    public static long estimateBytes(String value) {
+        return 24 + ((16 + value.length() + 7) & ~7);
+    }
+
+    /**
+     * @return a one-line summary of the pool: entries, lookups, duplicates replaced and bytes saved
+     */
+    public static String getSummary() {
+        return String.format("String pool: %d entries, %d lookups, %d duplicates replaced, ~%d KB saved",
+            pool.size(), lookups.sum(), hits.sum(), savedBytes.sum() / 1024);
+    }
+}